@@ -0,0 +1,83 @@
+package bench;
+
+import calculator.Calculator;
+import calculator.Expression;
+import calculator.IllegalConstruction;
+import calculator.ParseCache;
+import calculator.Parser;
+import calculator.ResultCache;
+
+import java.util.Random;
+
+/**
+ * Latency benchmark for the {@link ParseCache} and the {@link ResultCache}.
+ * It draws requests from a reproducible set of distinct infix expressions, with a skewed distribution
+ * where a few expressions are requested most of the time, and measures the average time to parse and
+ * evaluate a request without any cache, with the parse cache only, and with both caches.
+ *
+ * <p>This is a plain Java program rather than a unit test; run it with the jar of the benchmarks module, e.g.
+ * {@code java -cp bench/target/calculator-bench-0.5.8-shaded.jar bench.CacheBenchmark [distinct] [requests]}.
+ */
+public class CacheBenchmark {
+
+    private static final int DEFAULT_DISTINCT = 5_000;
+    private static final int DEFAULT_REQUESTS = 200_000;
+
+    private CacheBenchmark() {
+        // Benchmark entry point only
+    }
+
+    /**
+     * Runs the benchmark.
+     *
+     * @param args optional number of distinct expressions and number of requests
+     * @throws IllegalConstruction if a generated expression cannot be parsed
+     */
+    public static void main(String[] args) throws IllegalConstruction {
+        int distinct = args.length > 0 ? Integer.parseInt(args[0]) : DEFAULT_DISTINCT;
+        int count = args.length > 1 ? Integer.parseInt(args[1]) : DEFAULT_REQUESTS;
+
+        String[] expressions = new String[distinct];
+        Random random = new Random(42);
+        for (int i = 0; i < distinct; i++) {
+            StringBuilder sb = new StringBuilder().append(random.nextInt(100));
+            for (int t = 0; t < 12; t++) {
+                sb.append("+-*".charAt(random.nextInt(3))).append('(').append(random.nextInt(100))
+                        .append('/').append(1 + random.nextInt(9)).append(')');
+            }
+            expressions[i] = sb.toString();
+        }
+        // Skewed requests: the cube of a uniform variable favours the first expressions
+        String[] requests = new String[count];
+        for (int i = 0; i < count; i++) {
+            double u = random.nextDouble();
+            requests[i] = expressions[(int) (u * u * u * distinct)];
+        }
+
+        run("no cache", requests, null, null);
+        ParseCache parseCache = new ParseCache(1000, 1 << 20);
+        run("parse cache", requests, parseCache, null);
+        System.out.printf("  parse cache hit ratio %.3f%n", parseCache.stats().hitRatio());
+        for (ResultCache.Policy policy : ResultCache.Policy.values()) {
+            ResultCache resultCache = ResultCache.builder().policy(policy).maximumEntries(1000).build();
+            run("parse and result caches, " + policy, requests, new ParseCache(1000, 1 << 20), resultCache);
+            ResultCache.Stats stats = resultCache.stats();
+            System.out.printf("  result cache hit ratio %.3f, average evaluation %.1f us, saved %.0f ms%n",
+                    stats.hitRatio(), stats.averageLoadNanos() / 1e3, stats.savedNanos() / 1e6);
+        }
+    }
+
+    private static void run(String name, String[] requests, ParseCache parseCache, ResultCache resultCache)
+            throws IllegalConstruction {
+        Calculator calculator = new Calculator();
+        calculator.setResultCache(resultCache);
+        long sink = 0;
+        long start = System.nanoTime();
+        for (String s : requests) {
+            Expression e = parseCache == null ? Parser.parse(s, false) : parseCache.parse(s, false);
+            sink += calculator.eval(e).hashCode();
+        }
+        long elapsed = System.nanoTime() - start;
+        System.out.printf("%s: %.2f us per request (checksum %d)%n", name, elapsed / 1e3 / requests.length, sink);
+    }
+}
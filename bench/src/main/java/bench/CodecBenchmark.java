@@ -0,0 +1,80 @@
+package bench;
+
+import calculator.Expression;
+import calculator.ExpressionCodec;
+import calculator.IllegalConstruction;
+import calculator.Parser;
+
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Compares loading a library of expressions from its text with {@link Parser#parse(CharSequence, boolean)}
+ * and from its binary form with {@link ExpressionCodec#readAll(byte[])}, on the corpus of the
+ * {@link ParserBenchmark}, and reports the size of both forms.
+ *
+ * <p>This is a plain Java program rather than a unit test; run it with the jar of the benchmarks module, e.g.
+ * {@code java -cp bench/target/calculator-bench-0.5.8-shaded.jar bench.CodecBenchmark [expressions] [rounds]}.
+ */
+public class CodecBenchmark {
+
+    private static final int DEFAULT_EXPRESSIONS = 20_000;
+    private static final int DEFAULT_ROUNDS = 10;
+
+    private CodecBenchmark() {
+        // Benchmark entry point only
+    }
+
+    /**
+     * Runs the benchmark.
+     *
+     * @param args optional corpus size and number of measured rounds
+     * @throws IllegalConstruction if a generated expression cannot be parsed
+     * @throws IOException if the encoded corpus cannot be decoded
+     */
+    public static void main(String[] args) throws IllegalConstruction, IOException {
+        int count = args.length > 0 ? Integer.parseInt(args[0]) : DEFAULT_EXPRESSIONS;
+        int rounds = args.length > 1 ? Integer.parseInt(args[1]) : DEFAULT_ROUNDS;
+
+        String[] corpus = ParserBenchmark.generate(count);
+        long textBytes = 0;
+        List<Expression> expressions = new ArrayList<>(count);
+        for (String s : corpus) {
+            textBytes += s.getBytes(StandardCharsets.UTF_8).length + 1; // one expression per line
+            expressions.add(Parser.parse(s, true));
+        }
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        ExpressionCodec.write(expressions, new DataOutputStream(out));
+        byte[] encoded = out.toByteArray();
+        if (!ExpressionCodec.readAll(encoded).equals(expressions)) {
+            throw new IllegalStateException("Decoded expressions differ from the parsed ones");
+        }
+
+        long parse = Long.MAX_VALUE;
+        long decode = Long.MAX_VALUE;
+        long sink = 0;
+        for (int r = -3; r < rounds; r++) { // the first three rounds are a warm-up
+            long start = System.nanoTime();
+            for (String s : corpus) {
+                sink += Parser.parse(s, true).hashCode();
+            }
+            long middle = System.nanoTime();
+            sink += ExpressionCodec.readAll(encoded).size();
+            long end = System.nanoTime();
+            if (r >= 0) {
+                parse = Math.min(parse, middle - start);
+                decode = Math.min(decode, end - middle);
+            }
+        }
+
+        System.out.printf("%d expressions, best of %d rounds (checksum %d)%n", count, rounds, sink);
+        System.out.printf("text:   %8d bytes, %.1f ms%n", textBytes, parse / 1e6);
+        System.out.printf("binary: %8d bytes, %.1f ms%n", encoded.length, decode / 1e6);
+        System.out.printf("binary is %.1fx smaller and loads %.1fx faster%n",
+                (double) textBytes / encoded.length, (double) parse / decode);
+    }
+}
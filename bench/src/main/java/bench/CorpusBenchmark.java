@@ -0,0 +1,109 @@
+package bench;
+
+import calculator.CorpusReader;
+import calculator.IllegalConstruction;
+import calculator.Parser;
+
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Compares reading a large file of newline-separated expressions line by line, with a {@link BufferedReader},
+ * and through the memory mappings of a {@link CorpusReader}, on one thread and on every available processor.
+ * Each is measured twice: reading the records alone, then also parsing them.
+ * The file repeats the corpus of the {@link ParserBenchmark}.
+ *
+ * <p>This is a plain Java program rather than a unit test; run it with the jar of the benchmarks module, e.g.
+ * {@code java -cp bench/target/calculator-bench-0.5.8-shaded.jar bench.CorpusBenchmark [lines] [rounds]}.
+ */
+public class CorpusBenchmark {
+
+    private static final int DEFAULT_LINES = 2_000_000;
+    private static final int DEFAULT_ROUNDS = 3;
+
+    private CorpusBenchmark() {
+        // Benchmark entry point only
+    }
+
+    /**
+     * Runs the benchmark.
+     *
+     * @param args optional number of lines in the file and number of measured rounds
+     * @throws IOException if the temporary file cannot be written or read
+     */
+    public static void main(String[] args) throws IOException {
+        int lines = args.length > 0 ? Integer.parseInt(args[0]) : DEFAULT_LINES;
+        int rounds = args.length > 1 ? Integer.parseInt(args[1]) : DEFAULT_ROUNDS;
+        int processors = Runtime.getRuntime().availableProcessors();
+
+        String[] corpus = ParserBenchmark.generate(20_000);
+        Path file = Files.createTempFile("corpus", ".txt");
+        try {
+            try (BufferedWriter writer = Files.newBufferedWriter(file, StandardCharsets.UTF_8)) {
+                for (int i = 0; i < lines; i++) {
+                    writer.write(corpus[i % corpus.length]);
+                    writer.newLine();
+                }
+            }
+            long size = Files.size(file);
+            System.out.printf("%d lines, %.1f MB%n", lines, size / 1e6);
+            for (int r = 0; r <= rounds; r++) { // the first round is a warm-up
+                boolean measured = r > 0;
+                for (boolean parse : new boolean[] {false, true}) {
+                    String suffix = parse ? " + parse" : "";
+                    measure("BufferedReader" + suffix, size, measured, () -> readLines(file, parse));
+                    measure("CorpusReader, 1 thread" + suffix, size, measured, () -> mapped(file, 1, parse));
+                    measure("CorpusReader, " + processors + " threads" + suffix, size, measured,
+                            () -> mapped(file, processors, parse));
+                }
+            }
+        } finally {
+            Files.delete(file);
+        }
+    }
+
+    @FunctionalInterface
+    private interface Run {
+        long run() throws IOException;
+    }
+
+    private static void measure(String name, long size, boolean print, Run run) throws IOException {
+        long start = System.nanoTime();
+        long checksum = run.run();
+        double seconds = (System.nanoTime() - start) / 1e9;
+        if (print) {
+            System.out.printf("%-36s %7.0f ms, %6.1f MB/s (checksum %d)%n", name, seconds * 1e3, size / seconds / 1e6, checksum);
+        }
+    }
+
+    private static long readLines(Path file, boolean parse) throws IOException {
+        long checksum = 0;
+        try (BufferedReader reader = Files.newBufferedReader(file, StandardCharsets.UTF_8)) {
+            String line;
+            while ((line = reader.readLine()) != null) {
+                checksum += parse ? parse(line) : line.length();
+            }
+        }
+        return checksum;
+    }
+
+    private static long mapped(Path file, int threads, boolean parse) throws IOException {
+        LongAdder checksum = new LongAdder();
+        new CorpusReader(file).process(threads, () -> (offset, expression) ->
+                checksum.add(parse ? parse(expression) : expression.length()));
+        return checksum.sum();
+    }
+
+    private static long parse(CharSequence expression) {
+        try {
+            return Parser.parse(expression, true).hashCode();
+        } catch (IllegalConstruction e) {
+            throw new IllegalStateException(e);
+        }
+    }
+}
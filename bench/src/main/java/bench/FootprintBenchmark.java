@@ -0,0 +1,89 @@
+package bench;
+
+import calculator.Expression;
+import calculator.IllegalConstruction;
+import calculator.Parser;
+
+import java.util.Random;
+
+/**
+ * Footprint benchmark measuring the heap retained by parsed numeric literals.
+ * It parses a large, reproducible mix of integer, decimal, fractional and complex literals,
+ * keeps every resulting {@link Expression} reachable, and reports the average number of bytes
+ * retained per literal for each kind.
+ *
+ * <p>This is a plain Java program rather than a unit test; run it with the jar of the benchmarks module, e.g.
+ * {@code java -cp bench/target/calculator-bench-0.5.8-shaded.jar bench.FootprintBenchmark [count]}.
+ */
+public class FootprintBenchmark {
+
+    private static final int DEFAULT_COUNT = 200_000;
+
+    private FootprintBenchmark() {
+        // Benchmark entry point only
+    }
+
+    /**
+     * Runs the benchmark.
+     *
+     * @param args optional number of literals to parse per kind
+     * @throws IllegalConstruction if a generated literal cannot be parsed
+     */
+    public static void main(String[] args) throws IllegalConstruction {
+        int count = args.length > 0 ? Integer.parseInt(args[0]) : DEFAULT_COUNT;
+
+        String[] kinds = {"integer", "decimal", "fraction", "complex"};
+        long total = 0;
+        for (String kind : kinds) {
+            String[] literals = generate(kind, count);
+            long bytes = retainedBytes(literals);
+            total += bytes;
+            System.out.printf("%-9s %8.1f bytes/literal%n", kind, (double) bytes / count);
+        }
+        System.out.printf("%-9s %8.1f bytes/literal%n", "overall", (double) total / (count * (long) kinds.length));
+    }
+
+    /**
+     * Generates a reproducible set of literals of one kind.
+     */
+    private static String[] generate(String kind, int count) {
+        Random random = new Random(42);
+        String[] literals = new String[count];
+        for (int i = 0; i < count; i++) {
+            int a = random.nextInt(10);
+            int b = random.nextInt(9) + 1;
+            literals[i] = switch (kind) {
+                case "integer" -> String.valueOf(random.nextInt(1000));
+                case "decimal" -> a + "." + b;
+                case "fraction" -> a + "/" + b;
+                case "complex" -> a + "+" + b + "i";
+                default -> throw new IllegalArgumentException(kind);
+            };
+        }
+        return literals;
+    }
+
+    /**
+     * Parses all the literals and returns the heap growth while the results are still reachable.
+     */
+    private static long retainedBytes(String[] literals) throws IllegalConstruction {
+        Expression[] parsed = new Expression[literals.length];
+        long before = usedHeap();
+        for (int i = 0; i < literals.length; i++) {
+            parsed[i] = Parser.parse(literals[i], true);
+        }
+        long after = usedHeap();
+        if (parsed[parsed.length - 1] == null) {
+            throw new IllegalStateException("unreachable");
+        }
+        return after - before;
+    }
+
+    private static long usedHeap() {
+        Runtime runtime = Runtime.getRuntime();
+        for (int i = 0; i < 5; i++) {
+            System.gc();
+        }
+        return runtime.totalMemory() - runtime.freeMemory();
+    }
+}
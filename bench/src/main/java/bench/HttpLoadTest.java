@@ -0,0 +1,208 @@
+package bench;
+
+import server.HttpCalculatorServer;
+
+import java.io.BufferedInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.InetAddress;
+import java.net.Socket;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Closed-loop load test of the {@link HttpCalculatorServer}.
+ * It starts a server on a free port, then runs a number of clients, each on a virtual thread with a
+ * keep-alive connection of its own, that send {@code POST /eval} requests back to back for a given duration,
+ * and reports the requests and expressions served per second and the latency percentiles.
+ * The clients write prebuilt requests and read the responses straight from their sockets, rather than
+ * through {@link java.net.http.HttpClient}, so that as little of the CPU as possible goes to the load itself.
+ * The requests carry one expression each, or a batch of them, drawn from a corpus of a few hundred
+ * distinct expressions, so that the caches of the server are exercised.
+ *
+ * <p>This is a plain Java program rather than a unit test; run it with the jar of the benchmarks module, e.g.
+ * {@code java -cp bench/target/calculator-bench-0.5.8-shaded.jar bench.HttpLoadTest [clients] [seconds] [batch]}.
+ */
+public class HttpLoadTest {
+
+    private static final int DEFAULT_CLIENTS = 64;
+    private static final int DEFAULT_SECONDS = 10;
+    private static final int DEFAULT_BATCH = 1;
+    private static final int CORPUS_SIZE = 500;
+
+    private HttpLoadTest() {
+        // Benchmark entry point only
+    }
+
+    /**
+     * Runs the load test.
+     *
+     * @param args optional number of clients, duration in seconds, and number of expressions per request
+     * @throws Exception if the server cannot be started or a client fails
+     */
+    public static void main(String[] args) throws Exception {
+        int clients = args.length > 0 ? Integer.parseInt(args[0]) : DEFAULT_CLIENTS;
+        int seconds = args.length > 1 ? Integer.parseInt(args[1]) : DEFAULT_SECONDS;
+        int batch = args.length > 2 ? Integer.parseInt(args[2]) : DEFAULT_BATCH;
+
+        HttpCalculatorServer server = new HttpCalculatorServer(0);
+        server.start();
+        try {
+            byte[][] requests = requests(batch, server.port());
+
+            // Warm-up, so that the measured run uses compiled code
+            run(server.port(), requests, clients, Math.max(1, seconds / 3));
+
+            long start = System.nanoTime();
+            long[] latencies = run(server.port(), requests, clients, seconds);
+            double elapsed = (System.nanoTime() - start) / 1e9;
+
+            Arrays.sort(latencies);
+            System.out.printf("%d clients, %d expression(s) per request, %d s%n", clients, batch, seconds);
+            System.out.printf("%.0f requests/s, %.0f expressions/s%n",
+                    latencies.length / elapsed, latencies.length * (double) batch / elapsed);
+            System.out.printf("latency: p50 %.0f us, p90 %.0f us, p99 %.0f us, p99.9 %.0f us, max %.0f us%n",
+                    percentile(latencies, 0.50), percentile(latencies, 0.90), percentile(latencies, 0.99),
+                    percentile(latencies, 0.999), latencies[latencies.length - 1] / 1e3);
+            System.out.println("server: " + server.metrics());
+        } finally {
+            server.stop(0);
+        }
+    }
+
+    /**
+     * Runs the clients for the given duration.
+     *
+     * @return the latencies of all the requests, in nanoseconds
+     */
+    private static long[] run(int port, byte[][] requests, int clients, int seconds) throws Exception {
+        long deadline = System.nanoTime() + seconds * 1_000_000_000L;
+        List<Future<long[]>> results = new ArrayList<>();
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (int c = 0; c < clients; c++) {
+                results.add(executor.submit(() -> client(port, requests, deadline)));
+            }
+        }
+        List<long[]> all = new ArrayList<>();
+        int total = 0;
+        for (Future<long[]> f : results) {
+            long[] latencies = f.get();
+            all.add(latencies);
+            total += latencies.length;
+        }
+        long[] latencies = new long[total];
+        int n = 0;
+        for (long[] l : all) {
+            System.arraycopy(l, 0, latencies, n, l.length);
+            n += l.length;
+        }
+        return latencies;
+    }
+
+    private static long[] client(int port, byte[][] requests, long deadline) throws IOException {
+        long[] latencies = new long[1024];
+        int n = 0;
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        try (Socket socket = new Socket(InetAddress.getLoopbackAddress(), port)) {
+            socket.setTcpNoDelay(true);
+            OutputStream out = socket.getOutputStream();
+            InputStream in = new BufferedInputStream(socket.getInputStream(), 1 << 16);
+            while (System.nanoTime() < deadline) {
+                long start = System.nanoTime();
+                out.write(requests[random.nextInt(requests.length)]);
+                out.flush();
+                readResponse(in);
+                long latency = System.nanoTime() - start;
+                if (n == latencies.length) {
+                    latencies = Arrays.copyOf(latencies, n * 2);
+                }
+                latencies[n++] = latency;
+            }
+        }
+        return Arrays.copyOf(latencies, n);
+    }
+
+    /**
+     * Reads a response, checking its status and skipping its body.
+     */
+    private static void readResponse(InputStream in) throws IOException {
+        StringBuilder line = new StringBuilder();
+        String status = null;
+        long length = -1;
+        while (true) {
+            line.setLength(0);
+            int c;
+            while ((c = in.read()) != '\n') {
+                if (c < 0) {
+                    throw new IOException("Connection closed");
+                }
+                if (c != '\r') {
+                    line.append((char) c);
+                }
+            }
+            if (line.isEmpty()) {
+                break;
+            }
+            if (status == null) {
+                status = line.toString();
+            } else if (line.length() > 15 && line.substring(0, 15).equalsIgnoreCase("Content-Length:")) {
+                length = Long.parseLong(line.substring(15).trim());
+            }
+        }
+        if (status == null || !status.startsWith("HTTP/1.1 200") || length < 0) {
+            throw new IOException("Unexpected response: " + status);
+        }
+        in.skipNBytes(length);
+    }
+
+    /**
+     * @return the given percentile of sorted latencies, in microseconds
+     */
+    private static double percentile(long[] sorted, double p) {
+        if (sorted.length == 0) {
+            return 0.0;
+        }
+        return sorted[(int) Math.min(sorted.length - 1, Math.floor(p * sorted.length))] / 1e3;
+    }
+
+    /**
+     * Generates reproducible requests, each holding {@code batch} expressions.
+     */
+    private static byte[][] requests(int batch, int port) {
+        Random random = new Random(42);
+        String[] corpus = new String[CORPUS_SIZE];
+        for (int i = 0; i < corpus.length; i++) {
+            corpus[i] = switch (random.nextInt(4)) {
+                case 0 -> random.nextInt(1000) + " + " + random.nextInt(1000) + " * " + random.nextInt(100);
+                case 1 -> "(" + random.nextInt(100) + " - " + random.nextInt(100) + ") / " + (1 + random.nextInt(9));
+                case 2 -> "sqrt(" + random.nextInt(10_000) + ") + " + random.nextInt(10) + ".5";
+                default -> random.nextInt(10) + "^" + random.nextInt(20) + " - max(" + random.nextInt(50) + ", 7)";
+            };
+        }
+        byte[][] requests = new byte[CORPUS_SIZE][];
+        for (int i = 0; i < requests.length; i++) {
+            StringBuilder body = new StringBuilder(batch == 1 ? "{\"expression\":" : "{\"expressions\":[");
+            for (int j = 0; j < batch; j++) {
+                if (j > 0) {
+                    body.append(',');
+                }
+                body.append('"').append(corpus[random.nextInt(corpus.length)]).append('"');
+            }
+            byte[] content = body.append(batch == 1 ? "}" : "]}").toString().getBytes(StandardCharsets.UTF_8);
+            String headers = "POST /eval HTTP/1.1\r\nHost: localhost:" + port
+                    + "\r\nContent-Type: application/json\r\nContent-Length: " + content.length + "\r\n\r\n";
+            byte[] header = headers.getBytes(StandardCharsets.US_ASCII);
+            requests[i] = Arrays.copyOf(header, header.length + content.length);
+            System.arraycopy(content, 0, requests[i], header.length, content.length);
+        }
+        return requests;
+    }
+}
@@ -0,0 +1,69 @@
+package bench;
+
+import cli.BatchEvaluator;
+import cli.JsonLinesEvaluator;
+import cli.PipeEvaluator;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Compares the throughput of the modes evaluating a stream of expressions on one thread: the raw lines of
+ * {@code --pipe} and {@code --batch} with one worker, and the JSON requests of {@code --jsonl}, each with
+ * an identifier and options. The input is held in memory and the output is discarded, so that only the
+ * reading, the evaluation and the writing of the responses are measured.
+ * The expressions are those of the {@link ParserBenchmark}.
+ *
+ * <p>This is a plain Java program rather than a unit test; run it with the jar of the benchmarks module, e.g.
+ * {@code java -cp bench/target/calculator-bench-0.5.8-shaded.jar bench.LineModeBenchmark [lines] [rounds]}.
+ */
+public class LineModeBenchmark {
+
+    private static final int DEFAULT_LINES = 1_000_000;
+    private static final int DEFAULT_ROUNDS = 3;
+
+    private LineModeBenchmark() {
+        // Benchmark entry point only
+    }
+
+    /**
+     * Runs the benchmark.
+     *
+     * @param args optional number of lines and number of measured rounds
+     * @throws IOException never, the streams are in memory
+     */
+    public static void main(String[] args) throws IOException {
+        int lines = args.length > 0 ? Integer.parseInt(args[0]) : DEFAULT_LINES;
+        int rounds = args.length > 1 ? Integer.parseInt(args[1]) : DEFAULT_ROUNDS;
+
+        String[] corpus = ParserBenchmark.generate(20_000);
+        StringBuilder raw = new StringBuilder();
+        StringBuilder json = new StringBuilder();
+        for (int i = 0; i < lines; i++) {
+            String expression = corpus[i % corpus.length];
+            raw.append(expression).append('\n');
+            json.append("{\"id\":").append(i).append(",\"expression\":\"").append(expression)
+                    .append("\",\"preserveFractions\":true,\"budget\":1000}\n");
+        }
+        byte[] rawBytes = raw.toString().getBytes(StandardCharsets.UTF_8);
+        byte[] jsonBytes = json.toString().getBytes(StandardCharsets.UTF_8);
+
+        for (int r = 0; r <= rounds; r++) { // the first round is a warm-up
+            boolean measured = r > 0;
+            print("--pipe", measured,
+                    new PipeEvaluator().run(new ByteArrayInputStream(rawBytes), OutputStream.nullOutputStream()));
+            print("--batch, 1 worker", measured,
+                    new BatchEvaluator(1).run(new ByteArrayInputStream(rawBytes), OutputStream.nullOutputStream()));
+            print("--jsonl", measured,
+                    new JsonLinesEvaluator().run(new ByteArrayInputStream(jsonBytes), OutputStream.nullOutputStream()));
+        }
+    }
+
+    private static void print(String name, boolean measured, BatchEvaluator.Report report) {
+        if (measured) {
+            System.out.printf("%-20s %s%n", name, report);
+        }
+    }
+}
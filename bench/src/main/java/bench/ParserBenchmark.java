@@ -0,0 +1,112 @@
+package bench;
+
+import calculator.Expression;
+import calculator.IllegalConstruction;
+import calculator.Parser;
+
+import java.util.Random;
+
+/**
+ * Throughput benchmark for {@link Parser#parse(CharSequence, boolean)} on infix expressions.
+ * It generates a reproducible corpus of expressions mixing integers, decimals, fractions,
+ * complex literals, parentheses and sqrt calls, parses it repeatedly after a warm-up,
+ * and reports the number of expressions and characters parsed per second.
+ *
+ * <p>This is a plain Java program rather than a unit test; run it with the jar of the benchmarks module, e.g.
+ * {@code java -cp bench/target/calculator-bench-0.5.8-shaded.jar bench.ParserBenchmark [expressions] [rounds]}.
+ */
+public class ParserBenchmark {
+
+    private static final int DEFAULT_EXPRESSIONS = 20_000;
+    private static final int DEFAULT_ROUNDS = 10;
+
+    private ParserBenchmark() {
+        // Benchmark entry point only
+    }
+
+    /**
+     * Runs the benchmark.
+     *
+     * @param args optional corpus size and number of measured rounds
+     * @throws IllegalConstruction if a generated expression cannot be parsed
+     */
+    public static void main(String[] args) throws IllegalConstruction {
+        int count = args.length > 0 ? Integer.parseInt(args[0]) : DEFAULT_EXPRESSIONS;
+        int rounds = args.length > 1 ? Integer.parseInt(args[1]) : DEFAULT_ROUNDS;
+
+        String[] corpus = generate(count);
+        long chars = 0;
+        for (String s : corpus) {
+            chars += s.length();
+        }
+
+        // Warm-up, so that the measured rounds run compiled code
+        for (int i = 0; i < 3; i++) {
+            parseAll(corpus);
+        }
+
+        long best = Long.MAX_VALUE;
+        long sink = 0;
+        for (int r = 0; r < rounds; r++) {
+            long start = System.nanoTime();
+            sink += parseAll(corpus);
+            best = Math.min(best, System.nanoTime() - start);
+        }
+
+        double seconds = best / 1e9;
+        System.out.printf("%d expressions, %d chars, best of %d rounds: %.1f ms%n", count, chars, rounds, best / 1e6);
+        System.out.printf("%.0f expressions/s, %.1f MB/s (checksum %d)%n", count / seconds, chars / seconds / 1e6, sink);
+    }
+
+    /**
+     * Parses every expression of the corpus and returns a checksum of the results.
+     */
+    private static long parseAll(String[] corpus) throws IllegalConstruction {
+        long checksum = 0;
+        for (String s : corpus) {
+            Expression e = Parser.parse(s, true);
+            checksum += e.hashCode();
+        }
+        return checksum;
+    }
+
+    /**
+     * Generates a reproducible corpus of infix expressions.
+     */
+    static String[] generate(int count) {
+        Random random = new Random(42);
+        String[] corpus = new String[count];
+        for (int i = 0; i < count; i++) {
+            StringBuilder sb = new StringBuilder();
+            int terms = 3 + random.nextInt(8);
+            for (int t = 0; t < terms; t++) {
+                char operator = "+-*/".charAt(random.nextInt(4));
+                if (t > 0) {
+                    sb.append(operator);
+                }
+                boolean group = random.nextInt(5) == 0;
+                if (group) {
+                    sb.append('(');
+                }
+                // "a/b" is read as a fraction, so a division is never followed by a decimal literal
+                sb.append(t > 0 && operator == '/' && !group ? String.valueOf(1 + random.nextInt(100)) : literal(random));
+                if (group) {
+                    sb.append("+-*".charAt(random.nextInt(3))).append(literal(random)).append(')');
+                }
+            }
+            corpus[i] = sb.toString();
+        }
+        return corpus;
+    }
+
+    private static String literal(Random random) {
+        return switch (random.nextInt(10)) {
+            case 0 -> random.nextInt(10) + "." + random.nextInt(100);
+            case 1 -> (1 + random.nextInt(20)) + "/" + (1 + random.nextInt(20));
+            case 2 -> random.nextInt(10) + "+" + (1 + random.nextInt(9)) + "i";
+            // Parenthesized, since the regex-based tokenizer read "sqrt(x)-y" as "sqrt(x)" followed by "-y"
+            case 3 -> "(sqrt(" + random.nextInt(100) + "))";
+            default -> String.valueOf(random.nextInt(1000));
+        };
+    }
+}
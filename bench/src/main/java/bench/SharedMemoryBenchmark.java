@@ -0,0 +1,94 @@
+package bench;
+
+import server.SharedMemoryCalculatorClient;
+import server.SharedMemoryCalculatorServer;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.Random;
+
+/**
+ * Round-trip latency benchmark of the {@link SharedMemoryCalculatorServer} and the
+ * {@link SharedMemoryCalculatorClient}. It starts a server on a file in {@code /dev/shm} when it exists,
+ * or in the temporary directory otherwise, and evaluates expressions drawn from a small corpus one at a time,
+ * so that the results come from the cache of the server and the round trip itself dominates.
+ * It reports the round trips per second and their latency percentiles.
+ *
+ * <p>The client and the server run in the same process here, on two threads; on a single processor,
+ * every round trip includes two thread switches.
+ *
+ * <p>This is a plain Java program rather than a unit test; run it with the jar of the benchmarks module, e.g.
+ * {@code java -cp bench/target/calculator-bench-0.5.8-shaded.jar bench.SharedMemoryBenchmark [round trips] [rounds]}.
+ */
+public class SharedMemoryBenchmark {
+
+    private static final int DEFAULT_ROUND_TRIPS = 200_000;
+    private static final int DEFAULT_ROUNDS = 5;
+    private static final int CORPUS_SIZE = 64;
+
+    private SharedMemoryBenchmark() {
+        // Benchmark entry point only
+    }
+
+    /**
+     * Runs the benchmark.
+     *
+     * @param args optional number of round trips per round and number of measured rounds
+     * @throws Exception if the server cannot be started or does not answer
+     */
+    public static void main(String[] args) throws Exception {
+        int count = args.length > 0 ? Integer.parseInt(args[0]) : DEFAULT_ROUND_TRIPS;
+        int rounds = args.length > 1 ? Integer.parseInt(args[1]) : DEFAULT_ROUNDS;
+
+        Random random = new Random(42);
+        String[] corpus = new String[CORPUS_SIZE];
+        for (int i = 0; i < corpus.length; i++) {
+            corpus[i] = random.nextInt(1000) + "+" + random.nextInt(1000) + "*" + random.nextInt(100);
+        }
+
+        Path shm = Path.of("/dev/shm");
+        Path parent = Files.isDirectory(shm) ? shm : Path.of(System.getProperty("java.io.tmpdir"));
+        Path dir = Files.createTempDirectory(parent, "calculator");
+        SharedMemoryCalculatorServer server = new SharedMemoryCalculatorServer(dir.resolve("rings"));
+        server.start();
+        try (SharedMemoryCalculatorClient client = SharedMemoryCalculatorClient.connect(server.file())) {
+            long[] latencies = new long[count];
+            // Warm-up, so that the measured rounds run compiled code
+            for (int i = 0; i < 3; i++) {
+                run(client, corpus, latencies);
+            }
+
+            for (int r = 0; r < rounds; r++) {
+                long start = System.nanoTime();
+                run(client, corpus, latencies);
+                double elapsed = (System.nanoTime() - start) / 1e9;
+                Arrays.sort(latencies);
+                System.out.printf("round %d: %.0f round trips/s, p50 %.2f us, p90 %.2f us, p99 %.2f us, "
+                                + "p99.9 %.2f us, max %.2f us%n", r + 1, count / elapsed,
+                        percentile(latencies, 0.50), percentile(latencies, 0.90), percentile(latencies, 0.99),
+                        percentile(latencies, 0.999), latencies[count - 1] / 1e3);
+            }
+            System.out.println("server: " + server.metrics());
+        } finally {
+            server.stop();
+            Files.deleteIfExists(dir);
+        }
+    }
+
+    private static void run(SharedMemoryCalculatorClient client, String[] corpus, long[] latencies)
+            throws Exception {
+        for (int i = 0; i < latencies.length; i++) {
+            long start = System.nanoTime();
+            client.evaluate(corpus[i % corpus.length]);
+            latencies[i] = System.nanoTime() - start;
+        }
+    }
+
+    /**
+     * @return the given percentile of sorted latencies, in microseconds
+     */
+    private static double percentile(long[] sorted, double p) {
+        return sorted[(int) Math.min(sorted.length - 1, Math.floor(p * sorted.length))] / 1e3;
+    }
+}
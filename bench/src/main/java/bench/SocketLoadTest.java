@@ -0,0 +1,150 @@
+package bench;
+
+import server.SocketCalculatorClient;
+import server.SocketCalculatorServer;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+/**
+ * Loopback benchmark of the {@link SocketCalculatorServer} and the {@link SocketCalculatorClient}.
+ * It starts a server on a Unix domain socket in a temporary directory, then runs a number of clients, each with
+ * a connection of its own, that send windows of pipelined requests back to back for a given duration: each
+ * window of {@code depth} requests is written at once, and the next one is sent when all its responses are in.
+ * It reports the requests served per second and the percentiles of the round-trip latency of the requests,
+ * from the write of their window to their response. With a depth of 1, this is the plain request-response latency.
+ *
+ * <p>This is a plain Java program rather than a unit test; run it with the jar of the benchmarks module, e.g.
+ * {@code java -cp bench/target/calculator-bench-0.5.8-shaded.jar bench.SocketLoadTest [clients] [seconds] [depth]}.
+ */
+public class SocketLoadTest {
+
+    private static final int DEFAULT_CLIENTS = 1;
+    private static final int DEFAULT_SECONDS = 10;
+    private static final int DEFAULT_DEPTH = 1;
+    private static final int CORPUS_SIZE = 500;
+
+    private SocketLoadTest() {
+        // Benchmark entry point only
+    }
+
+    /**
+     * Runs the benchmark.
+     *
+     * @param args optional number of clients, duration in seconds, and number of requests per window
+     * @throws Exception if the server cannot be started or a client fails
+     */
+    public static void main(String[] args) throws Exception {
+        int clients = args.length > 0 ? Integer.parseInt(args[0]) : DEFAULT_CLIENTS;
+        int seconds = args.length > 1 ? Integer.parseInt(args[1]) : DEFAULT_SECONDS;
+        int depth = args.length > 2 ? Integer.parseInt(args[2]) : DEFAULT_DEPTH;
+
+        List<String> corpus = corpus();
+        Path dir = Files.createTempDirectory("calculator");
+        SocketCalculatorServer server = new SocketCalculatorServer(dir.resolve("calculator.sock"));
+        server.start();
+        try {
+            // Warm-up, so that the measured run uses compiled code
+            run(server.path(), corpus, clients, Math.max(1, seconds / 3), depth);
+
+            long start = System.nanoTime();
+            long[] latencies = run(server.path(), corpus, clients, seconds, depth);
+            double elapsed = (System.nanoTime() - start) / 1e9;
+
+            Arrays.sort(latencies);
+            System.out.printf("%d clients, %d pipelined request(s), %d s%n", clients, depth, seconds);
+            System.out.printf("%.0f requests/s%n", latencies.length / elapsed);
+            System.out.printf("latency: p50 %.1f us, p90 %.1f us, p99 %.1f us, p99.9 %.1f us, max %.1f us%n",
+                    percentile(latencies, 0.50), percentile(latencies, 0.90), percentile(latencies, 0.99),
+                    percentile(latencies, 0.999), latencies[latencies.length - 1] / 1e3);
+            System.out.println("server: " + server.metrics());
+        } finally {
+            server.stop();
+            Files.deleteIfExists(dir);
+        }
+    }
+
+    /**
+     * Runs the clients for the given duration.
+     *
+     * @return the latencies of all the requests, in nanoseconds
+     */
+    private static long[] run(Path path, List<String> corpus, int clients, int seconds, int depth) throws Exception {
+        long deadline = System.nanoTime() + seconds * 1_000_000_000L;
+        List<Future<long[]>> results = new ArrayList<>();
+        try (ExecutorService executor = Executors.newFixedThreadPool(clients)) {
+            for (int c = 0; c < clients; c++) {
+                int seed = c;
+                results.add(executor.submit(() -> client(path, corpus, deadline, depth, seed)));
+            }
+        }
+        long[] latencies = new long[0];
+        for (Future<long[]> f : results) {
+            long[] l = f.get();
+            int n = latencies.length;
+            latencies = Arrays.copyOf(latencies, n + l.length);
+            System.arraycopy(l, 0, latencies, n, l.length);
+        }
+        return latencies;
+    }
+
+    private static long[] client(Path path, List<String> corpus, long deadline, int depth, int seed) throws Exception {
+        long[] latencies = new long[1 << 16];
+        int n = 0;
+        Random random = new Random(seed);
+        List<String> window = new ArrayList<>(depth);
+        try (SocketCalculatorClient client = SocketCalculatorClient.connect(path)) {
+            while (System.nanoTime() < deadline) {
+                window.clear();
+                for (int i = 0; i < depth; i++) {
+                    window.add(corpus.get(random.nextInt(corpus.size())));
+                }
+                long start = System.nanoTime();
+                List<CompletableFuture<String>> results = client.submitAll(window);
+                for (CompletableFuture<String> result : results) {
+                    result.join();
+                    if (n == latencies.length) {
+                        latencies = Arrays.copyOf(latencies, n * 2);
+                    }
+                    latencies[n++] = System.nanoTime() - start;
+                }
+            }
+        }
+        return Arrays.copyOf(latencies, n);
+    }
+
+    /**
+     * @return the given percentile of sorted latencies, in microseconds
+     */
+    private static double percentile(long[] sorted, double p) {
+        if (sorted.length == 0) {
+            return 0.0;
+        }
+        return sorted[(int) Math.min(sorted.length - 1, Math.floor(p * sorted.length))] / 1e3;
+    }
+
+    /**
+     * Generates a reproducible corpus of expressions.
+     */
+    private static List<String> corpus() {
+        Random random = new Random(42);
+        List<String> corpus = new ArrayList<>(CORPUS_SIZE);
+        for (int i = 0; i < CORPUS_SIZE; i++) {
+            corpus.add(switch (random.nextInt(4)) {
+                case 0 -> random.nextInt(1000) + " + " + random.nextInt(1000) + " * " + random.nextInt(100);
+                case 1 -> "(" + random.nextInt(100) + " - " + random.nextInt(100) + ") / " + (1 + random.nextInt(9));
+                case 2 -> "sqrt(" + random.nextInt(10_000) + ") + " + random.nextInt(10) + ".5";
+                default -> random.nextInt(10) + "^" + random.nextInt(20) + " - max(" + random.nextInt(50) + ", 7)";
+            });
+        }
+        return corpus;
+    }
+}
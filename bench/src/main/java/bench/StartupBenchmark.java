@@ -0,0 +1,85 @@
+package bench;
+
+import java.io.BufferedReader;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Startup benchmark of the command-line interface: it launches {@code calculator.Main --eval 2+3} in a new
+ * virtual machine a number of times, and reports the time to first result, from the start of the process to
+ * the first line of its output, in milliseconds.
+ *
+ * <p>Options for the launched virtual machines can be given after the number of runs, for instance to compare
+ * a run with a class data sharing archive, created as described in the README, to a run without:
+ * {@code ... bench.StartupBenchmark 20 -XX:SharedArchiveFile=calculator.jsa -cp calculator.jar}.
+ * The launched virtual machines use the class path of the benchmark, unless the options give one.
+ *
+ * <p>This is a plain Java program rather than a unit test; run it with the jar of the benchmarks module, e.g.
+ * {@code java -cp bench/target/calculator-bench-0.5.8-shaded.jar bench.StartupBenchmark [runs] [JVM options...]}.
+ */
+public class StartupBenchmark {
+
+    private static final int DEFAULT_RUNS = 20;
+
+    private StartupBenchmark() {
+        // Benchmark entry point only
+    }
+
+    /**
+     * Runs the benchmark.
+     *
+     * @param args optional number of runs, followed by options for the launched virtual machines
+     * @throws IOException if a virtual machine cannot be launched
+     * @throws InterruptedException if interrupted while waiting for a virtual machine
+     */
+    public static void main(String[] args) throws IOException, InterruptedException {
+        int runs = args.length > 0 ? Integer.parseInt(args[0]) : DEFAULT_RUNS;
+        List<String> command = new ArrayList<>();
+        command.add(System.getProperty("java.home") + File.separator + "bin" + File.separator + "java");
+        List<String> options = Arrays.asList(args).subList(Math.min(1, args.length), args.length);
+        command.addAll(options);
+        if (!options.contains("-cp") && !options.contains("-classpath") && !options.contains("--class-path")) {
+            command.addAll(List.of("-cp", System.getProperty("java.class.path")));
+        }
+        command.addAll(List.of("calculator.Main", "--eval", "2+3"));
+
+        // One run to warm the file system cache
+        launch(command);
+
+        double[] millis = new double[runs];
+        for (int i = 0; i < runs; i++) {
+            millis[i] = launch(command);
+        }
+        Arrays.sort(millis);
+        System.out.println(String.join(" ", command.subList(1, command.size())));
+        System.out.printf("time to first result over %d runs: min %.1f ms, median %.1f ms, p90 %.1f ms, max %.1f ms%n",
+                runs, millis[0], millis[runs / 2], millis[(int) Math.min(runs - 1, Math.floor(0.9 * runs))],
+                millis[runs - 1]);
+    }
+
+    /**
+     * Launches a virtual machine and waits for the first line of its output.
+     *
+     * @return the time to first result, in milliseconds
+     */
+    private static double launch(List<String> command) throws IOException, InterruptedException {
+        long start = System.nanoTime();
+        Process process = new ProcessBuilder(command).redirectErrorStream(true).start();
+        String line;
+        try (BufferedReader out = new BufferedReader(
+                new InputStreamReader(process.getInputStream(), StandardCharsets.UTF_8))) {
+            line = out.readLine();
+            double millis = (System.nanoTime() - start) / 1e6;
+            if (!"5".equals(line)) {
+                throw new IOException("Unexpected output: " + line);
+            }
+            process.waitFor();
+            return millis;
+        }
+    }
+}
@@ -0,0 +1,395 @@
+package calculator;
+
+import cli.BatchEvaluator;
+import cli.JsonLinesEvaluator;
+import cli.LineEvaluator;
+import cli.PipeEvaluator;
+import server.HttpCalculatorServer;
+import server.SharedMemoryCalculatorServer;
+import server.SocketCalculatorServer;
+
+import java.io.BufferedOutputStream;
+import java.io.FileDescriptor;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.lang.reflect.InvocationTargetException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Scanner;
+
+/**
+ * Entry point of the Calculator application.
+ * Supports command-line options:
+ * <ul>
+ *   <li><code>--help</code>: display usage information</li>
+ *   <li><code>--repl</code>: start REPL (interactive shell), or the pipe mode when the standard input
+ *   is not a terminal</li>
+ *   <li><code>--pipe</code>: evaluate each line of the standard input as it arrives, without prompt,
+ *   see {@link PipeEvaluator}</li>
+ *   <li><code>--jsonl</code>: evaluate each request, in newline-delimited JSON, of the standard input as it
+ *   arrives, and print a response in JSON for each, see {@link JsonLinesEvaluator}</li>
+ *   <li><code>--gui</code>: launch the JavaFX user interface</li>
+ *   <li><code>--eval &lt;expression&gt;</code>: evaluate the given expression and print the result</li>
+ *   <li><code>--batch &lt;file|-&gt; [--workers &lt;n&gt;]</code>: evaluate every line of a file, or of the standard
+ *   input, in parallel, and print the results in the same order</li>
+ *   <li><code>--serve [port]</code>: serve evaluations over HTTP on the loopback interface,
+ *   see {@link HttpCalculatorServer}</li>
+ *   <li><code>--socket &lt;path&gt;</code>: serve evaluations over a Unix domain socket to clients on the same
+ *   machine, see {@link SocketCalculatorServer}</li>
+ *   <li><code>--shared-memory &lt;file&gt;</code>: serve evaluations to a caller on the same machine through
+ *   ring buffers in a memory-mapped file, see {@link SharedMemoryCalculatorServer}</li>
+ * </ul>
+ *
+ * <p>The JavaFX user interface is only loaded, by name, for {@code --gui}: the command-line options do not load
+ * any JavaFX class, and start faster for it. Their startup can be shortened further with a class data sharing
+ * archive, as described in the README.
+ */
+public class Main {
+
+    /** Main class of the JavaFX user interface, loaded only when the interface is launched */
+    private static final String GUI_CLASS = "ui.MainApp";
+
+    /**
+     * Caches of the REPL and of {@code --eval}, in a holder class so that they are only created by the options
+     * that use them.
+     */
+    private static final class Caches {
+
+        /** Parsed expressions, reused when the same expression is evaluated again in the REPL */
+        static final ParseCache PARSE_CACHE = new ParseCache(1024, 1 << 20);
+
+        /** Results of the expressions evaluated, reused when the same expression is evaluated again in the REPL */
+        static final ResultCache RESULT_CACHE = ResultCache.builder()
+                .policy(ResultCache.Policy.TINY_LFU)
+                .maximumEntries(1024)
+                .build();
+
+        private Caches() {
+        }
+    }
+
+    /** Help message displayed for --help and on incorrect usage */
+    private static final String USAGE = """
+            Calculator - A simple calculator application
+
+            Usage:
+              java -jar calculator.jar [OPTION]
+
+            Options:
+              --help        Display this help message
+              --repl        Start interactive REPL mode, or the pipe mode when the
+                            standard input is not a terminal
+              --pipe        Evaluate each line of the standard input, without prompt,
+                            and print one line per result; errors are printed as
+                            ERROR<tab><line number><tab><reason>
+              --jsonl       Evaluate each JSON request of the standard input, such as
+                            {"id":1,"expression":"1/3+1/6","preserveFractions":true,
+                            "notation":"infix","budget":100}, and print one JSON
+                            response per request, with the result, its type and the
+                            time taken, or the error
+              --gui         Launch graphical user interface
+              --eval <expr> Evaluate the given expression
+              --batch <file|-> [--workers <n>]
+                            Evaluate each line of a file, or of the standard input
+                            with -, on n worker threads (default: one per CPU), and
+                            print the results in order; statistics go to stderr
+              --serve [port]
+                            Serve evaluations over HTTP on localhost (default port:
+                            8080): POST /eval, GET /health and GET /metrics
+              --socket <path>
+                            Serve evaluations over a Unix domain socket created at
+                            the given path, with a pipelined binary protocol
+              --shared-memory <file>
+                            Serve evaluations to a single caller through ring
+                            buffers in a memory-mapped file created at the given path
+
+            If no option is provided, this help message is displayed.
+
+            In REPL mode, you can type expressions for evaluation or special commands.
+
+            Special commands:
+              exit, quit - Exit the calculator
+              help       - Show this help message
+
+            Examples:
+              --eval "2 + 3"
+              --batch expressions.txt --workers 8
+              --pipe < expressions.txt
+              --jsonl < requests.jsonl
+              --serve 9000
+              --socket /tmp/calculator.sock
+              --shared-memory /dev/shm/calculator
+              --repl
+              --gui
+            """;
+
+    /**
+     * Main method to launch the calculator.
+     * Interprets command-line arguments and dispatches accordingly.
+     *
+     * @param args command-line arguments
+     */
+    public static void main(String[] args) {
+        if (args.length == 0) {
+            displayHelp();
+            return;
+        }
+
+        switch (args[0]) {
+            case "--help" -> displayHelp();
+            case "--repl" -> {
+                // Since JDK 22, there is a console even when the standard streams are redirected
+                if (System.console() == null || !System.console().isTerminal()) {
+                    evaluateLines(new PipeEvaluator()); // Piped or redirected input: no prompt, no per-line output
+                } else {
+                    startRepl();
+                }
+            }
+            case "--pipe" -> evaluateLines(new PipeEvaluator());
+            case "--jsonl" -> evaluateLines(new JsonLinesEvaluator());
+            case "--gui" -> launchGui(args); // Launches the JavaFX app
+            case "--eval" -> {
+                if (args.length < 2) {
+                    System.err.println("Error: Missing expression after --eval");
+                    System.exit(1);
+                }
+                // Combine all args after --eval to support multi-word expressions
+                String expression = String.join(" ", java.util.Arrays.copyOfRange(args, 1, args.length));
+                evaluateAndPrint(expression);
+            }
+            case "--batch" -> evaluateBatch(args);
+            case "--serve" -> serve(args);
+            case "--socket" -> serveSocket(args);
+            case "--shared-memory" -> serveSharedMemory(args);
+            default -> {
+                System.err.println("Error: Unknown option: " + args[0]);
+                displayHelp();
+                System.exit(1);
+            }
+        }
+    }
+
+    /**
+     * Displays the help message.
+     */
+    private static void displayHelp() {
+        System.out.println(USAGE);
+    }
+
+    /**
+     * Launches the JavaFX user interface, through the {@code main} method of its class looked up by name,
+     * so that the other options do not link any JavaFX class.
+     *
+     * @param args the command-line arguments, passed on to the user interface
+     */
+    private static void launchGui(String[] args) {
+        try {
+            Class.forName(GUI_CLASS).getMethod("main", String[].class).invoke(null, (Object) args);
+        } catch (InvocationTargetException e) {
+            if (e.getCause() instanceof RuntimeException runtime) {
+                throw runtime;
+            }
+            if (e.getCause() instanceof Error error) {
+                throw error;
+            }
+            throw new IllegalStateException(e.getCause());
+        } catch (ReflectiveOperationException | LinkageError e) {
+            System.err.println("Error: The graphical user interface is not available: " + e);
+            System.exit(1);
+        }
+    }
+
+    /**
+     * Evaluates the given expression string and prints the result.
+     *
+     * @param expression the string representing the arithmetic expression
+     */
+    private static void evaluateAndPrint(String expression) {
+        try {
+            Expression result = evaluateExpression(expression);
+            System.out.println(result);
+        } catch (Exception e) {
+            System.err.println("Error: " + e.getMessage());
+            System.exit(1);
+        }
+    }
+
+    /**
+     * Evaluates a batch of expressions, one per line, and prints the results followed by statistics.
+     *
+     * @param args the command-line arguments, starting with {@code --batch}
+     */
+    private static void evaluateBatch(String[] args) {
+        if (args.length < 2) {
+            System.err.println("Error: Missing file after --batch");
+            System.exit(1);
+        }
+        int workers = Runtime.getRuntime().availableProcessors();
+        if (args.length == 4 && args[2].equals("--workers") && args[3].matches("[0-9]{1,4}")) {
+            workers = Integer.parseInt(args[3]);
+        } else if (args.length != 2) {
+            workers = 0;
+        }
+        if (workers == 0) {
+            System.err.println("Error: Usage: --batch <file|-> [--workers <n>]");
+            System.exit(1);
+        }
+
+        // The results are written in large blocks, straight to the standard output
+        OutputStream out = new BufferedOutputStream(new FileOutputStream(FileDescriptor.out), 1 << 20);
+        try (InputStream in = args[1].equals("-") ? System.in : Files.newInputStream(Path.of(args[1]))) {
+            BatchEvaluator.Report report = new BatchEvaluator(workers).run(in, out);
+            System.err.println("Batch: " + report);
+        } catch (IOException e) {
+            System.err.println("Error: " + e.getMessage());
+            System.exit(1);
+        }
+    }
+
+    /**
+     * Starts the HTTP evaluation service, which runs until the process is stopped.
+     *
+     * @param args the command-line arguments, starting with {@code --serve}
+     */
+    private static void serve(String[] args) {
+        int port = 8080;
+        if (args.length == 2 && args[1].matches("[0-9]{1,5}") && Integer.parseInt(args[1]) <= 65535) {
+            port = Integer.parseInt(args[1]);
+        } else if (args.length != 1) {
+            System.err.println("Error: Usage: --serve [port]");
+            System.exit(1);
+        }
+
+        try {
+            HttpCalculatorServer server = new HttpCalculatorServer(port);
+            server.start();
+            Runtime.getRuntime().addShutdownHook(new Thread(() -> server.stop(1)));
+            System.err.println("Serving on http://localhost:" + server.port() + "/eval");
+        } catch (IOException e) {
+            System.err.println("Error: " + e.getMessage());
+            System.exit(1);
+        }
+    }
+
+    /**
+     * Starts the Unix domain socket evaluation service, which runs until the process is stopped.
+     *
+     * @param args the command-line arguments, starting with {@code --socket}
+     */
+    private static void serveSocket(String[] args) {
+        if (args.length != 2) {
+            System.err.println("Error: Usage: --socket <path>");
+            System.exit(1);
+        }
+
+        try {
+            SocketCalculatorServer server = new SocketCalculatorServer(Path.of(args[1]));
+            server.start();
+            Runtime.getRuntime().addShutdownHook(new Thread(() -> {
+                try {
+                    server.stop();
+                } catch (IOException e) {
+                    System.err.println("Error: " + e.getMessage());
+                }
+            }));
+            System.err.println("Serving on " + server.path());
+        } catch (IOException e) {
+            System.err.println("Error: " + e.getMessage());
+            System.exit(1);
+        }
+    }
+
+    /**
+     * Starts the shared-memory evaluation service, which runs until the process is stopped.
+     *
+     * @param args the command-line arguments, starting with {@code --shared-memory}
+     */
+    private static void serveSharedMemory(String[] args) {
+        if (args.length != 2) {
+            System.err.println("Error: Usage: --shared-memory <file>");
+            System.exit(1);
+        }
+
+        try {
+            SharedMemoryCalculatorServer server = new SharedMemoryCalculatorServer(Path.of(args[1]));
+            server.start();
+            Runtime.getRuntime().addShutdownHook(new Thread(() -> {
+                try {
+                    server.stop();
+                } catch (IOException e) {
+                    System.err.println("Error: " + e.getMessage());
+                }
+            }));
+            System.err.println("Serving through " + server.file());
+        } catch (IOException e) {
+            System.err.println("Error: " + e.getMessage());
+            System.exit(1);
+        }
+    }
+
+    /**
+     * Evaluates each line of the standard input, writing the responses to the standard output in large blocks.
+     *
+     * @param evaluator the evaluator of the lines, for the pipe or the JSON lines mode
+     */
+    private static void evaluateLines(LineEvaluator evaluator) {
+        OutputStream out = new FileOutputStream(FileDescriptor.out);
+        try {
+            evaluator.run(new FileInputStream(FileDescriptor.in), out);
+        } catch (IOException e) {
+            System.err.println("Error: " + e.getMessage());
+            System.exit(1);
+        }
+    }
+
+    /**
+     * Starts an interactive REPL (Read-Eval-Print Loop) for evaluating expressions.
+     * Accepts user input and evaluates expressions until 'exit' or 'quit' is typed.
+     */
+    private static void startRepl() {
+        System.out.println("Calculator REPL started. Type 'help' for usage information or 'exit' to quit.");
+
+        Scanner scanner = new Scanner(System.in);
+
+        while (true) {
+            System.out.print("> ");
+            String input = scanner.nextLine().trim();
+
+            if (input.isEmpty()) continue;
+
+            switch (input.toLowerCase()) {
+                case "exit", "quit" -> {
+                    System.out.println("Goodbye!");
+                    return;
+                }
+                case "help" -> System.out.println(USAGE);
+                default -> {
+                    try {
+                        Expression result = evaluateExpression(input);
+                        System.out.println(result);
+                    } catch (Exception e) {
+                        System.out.println("Error: " + e.getMessage());
+                    }
+                }
+            }
+        }
+    }
+
+    /**
+     * Parses and evaluates the given arithmetic expression string.
+     * Integer-only expressions are evaluated exactly, without floating-point rounding.
+     *
+     * @param expression the expression string to evaluate
+     * @return the resulting Expression object after evaluation
+     * @throws IllegalConstruction if the parsed expression is invalid
+     */
+    private static Expression evaluateExpression(String expression) throws IllegalConstruction {
+        Calculator c = new Calculator();
+        c.getEvaluator().setIntegerMode(true);
+        c.setResultCache(Caches.RESULT_CACHE);
+        return c.eval(Caches.PARSE_CACHE.parse(expression, true));
+    }
+}
@@ -0,0 +1,251 @@
+package cli;
+
+import calculator.Calculator;
+import calculator.Expression;
+import calculator.Parser;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.CharBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayDeque;
+import java.util.Arrays;
+import java.util.Deque;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+/**
+ * Evaluates a stream of newline-separated expressions, such as a file or the standard input,
+ * on a pool of worker threads, and writes one line of output per line of input, in the same order.
+ *
+ * <p>The input is read in chunks of whole lines, of about {@link #DEFAULT_CHUNK_SIZE} bytes, and each chunk
+ * is parsed and evaluated by a worker, with a {@link Calculator} of its own, into a block of output bytes.
+ * The blocks are written in the order of the chunks, so the output of a chunk waits for the chunks before it,
+ * and at most twice as many chunks as workers are in flight: reading waits for writing, and the memory used
+ * does not depend on the size of the input.
+ *
+ * <p>Expressions are evaluated as by {@code --eval}, see {@link LineEvaluator}. The output line of an expression is its result, or an error
+ * line in the format of the {@link PipeEvaluator}: {@code ERROR}, the number of the line in the input, counting
+ * from 1, and the reason it could not be evaluated, separated by tabs. A blank input line gives an empty line.
+ * A carriage return ending a line is ignored.
+ */
+public final class BatchEvaluator {
+
+    /** Default size of the chunks of input handed to the workers, in bytes */
+    public static final int DEFAULT_CHUNK_SIZE = 1 << 20;
+
+    /**
+     * Statistics of a batch.
+     *
+     * @param expressions the number of expressions evaluated, blank lines excluded
+     * @param errors the number of expressions that could not be evaluated
+     * @param bytes the size of the input, in bytes
+     * @param nanos the time taken by the batch, in nanoseconds
+     */
+    public record Report(long expressions, long errors, long bytes, long nanos) {
+
+        /**
+         * @return the number of expressions evaluated per second
+         */
+        public double expressionsPerSecond() {
+            return nanos == 0 ? 0.0 : expressions * 1e9 / nanos;
+        }
+
+        /**
+         * @return the number of megabytes of input read per second
+         */
+        public double megabytesPerSecond() {
+            return nanos == 0 ? 0.0 : bytes * 1e9 / nanos / (1 << 20);
+        }
+
+        /**
+         * Returns a summary of the batch, such as
+         * "1000000 expressions (12 errors) in 1.250 s: 800000 expressions/s, 10.2 MB/s".
+         *
+         * @return the summary
+         */
+        @Override
+        public String toString() {
+            return String.format("%d expressions (%d errors) in %.3f s: %.0f expressions/s, %.1f MB/s",
+                    expressions, errors, nanos / 1e9, expressionsPerSecond(), megabytesPerSecond());
+        }
+    }
+
+    /**
+     * The output of a chunk.
+     *
+     * @param output the lines of output, encoded in UTF-8
+     * @param expressions the number of expressions of the chunk
+     * @param errors the number of expressions that could not be evaluated
+     */
+    private record Block(byte[] output, int expressions, int errors) {
+    }
+
+    private final int workers;
+    private final int chunkSize;
+
+    /** Calculator of each worker thread, since a calculator cannot be shared */
+    private final ThreadLocal<Calculator> calculators = ThreadLocal.withInitial(() -> {
+        Calculator c = new Calculator();
+        c.getEvaluator().setIntegerMode(true);
+        return c;
+    });
+
+    /**
+     * Creates a batch evaluator with chunks of {@link #DEFAULT_CHUNK_SIZE} bytes.
+     *
+     * @param workers the number of worker threads
+     */
+    public BatchEvaluator(int workers) {
+        this(workers, DEFAULT_CHUNK_SIZE);
+    }
+
+    /**
+     * Creates a batch evaluator.
+     *
+     * @param workers the number of worker threads
+     * @param chunkSize the size of the chunks of input handed to the workers, in bytes; a chunk is
+     *                  only larger when a single line is
+     */
+    public BatchEvaluator(int workers, int chunkSize) {
+        if (workers <= 0) {
+            throw new IllegalArgumentException("The number of workers must be positive: " + workers);
+        }
+        if (chunkSize <= 0) {
+            throw new IllegalArgumentException("The chunk size must be positive: " + chunkSize);
+        }
+        this.workers = workers;
+        this.chunkSize = chunkSize;
+    }
+
+    /**
+     * Evaluates all the expressions of the input and writes their results to the output.
+     * Neither stream is closed, but the output is flushed.
+     *
+     * @param in the expressions, one per line, in UTF-8
+     * @param out the destination of the results, one per line, in UTF-8
+     * @return the statistics of the batch
+     * @throws IOException if the input cannot be read or the output cannot be written
+     */
+    public Report run(InputStream in, OutputStream out) throws IOException {
+        long start = System.nanoTime();
+        long bytes = 0;
+        long expressions = 0;
+        long errors = 0;
+        long lines = 0;
+        Deque<Future<Block>> pending = new ArrayDeque<>();
+        try (ExecutorService pool = Executors.newFixedThreadPool(workers)) {
+            byte[] buffer = new byte[chunkSize];
+            int length = 0;
+            boolean eof = false;
+            boolean done = false;
+            while (!done) {
+                // Fill the buffer, then hand over the lines it holds, keeping the last incomplete one
+                while (!eof && length < buffer.length) {
+                    int read = in.read(buffer, length, buffer.length - length);
+                    if (read < 0) {
+                        eof = true;
+                    } else {
+                        length += read;
+                        bytes += read;
+                    }
+                }
+                done = length == 0;
+                if (!done) {
+                    int end = eof ? length : lastNewline(buffer, length) + 1;
+                    if (end == 0) {
+                        // A single line fills the buffer
+                        buffer = Arrays.copyOf(buffer, buffer.length * 2);
+                        continue;
+                    }
+                    byte[] chunk = Arrays.copyOf(buffer, end);
+                    long firstLine = lines + 1;
+                    pending.add(pool.submit(() -> evaluate(chunk, firstLine)));
+                    lines += newlines(chunk);
+                    System.arraycopy(buffer, end, buffer, 0, length - end);
+                    length -= end;
+                }
+
+                // Write the blocks in order, waiting for the oldest one when too many chunks are in flight
+                while (pending.size() >= 2 * workers || (done && !pending.isEmpty())) {
+                    Block block;
+                    try {
+                        block = await(pending.remove());
+                        out.write(block.output());
+                    } catch (IOException e) {
+                        pending.forEach(f -> f.cancel(true));
+                        throw e;
+                    }
+                    expressions += block.expressions();
+                    errors += block.errors();
+                }
+            }
+        }
+        out.flush();
+        return new Report(expressions, errors, bytes, System.nanoTime() - start);
+    }
+
+    private static int newlines(byte[] chunk) {
+        int count = 0;
+        for (byte b : chunk) {
+            if (b == '\n') {
+                count++;
+            }
+        }
+        return count;
+    }
+
+    private static int lastNewline(byte[] buffer, int length) {
+        for (int i = length - 1; i >= 0; i--) {
+            if (buffer[i] == '\n') {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    private static Block await(Future<Block> future) throws IOException {
+        try {
+            return future.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IOException("Interrupted", e);
+        } catch (ExecutionException e) {
+            throw new IOException("Evaluation failed", e.getCause());
+        }
+    }
+
+    /**
+     * Evaluates the lines of a chunk, the first of which has the given number in the input.
+     */
+    private Block evaluate(byte[] chunk, long line) {
+        String text = new String(chunk, StandardCharsets.UTF_8);
+        StringBuilder output = new StringBuilder(text.length());
+        Calculator calculator = calculators.get();
+        int expressions = 0;
+        int errors = 0;
+        int start = 0;
+        while (start < text.length()) {
+            int newline = text.indexOf('\n', start);
+            int end = newline < 0 ? text.length() : newline;
+            CharSequence expression = CharBuffer.wrap(text, start, end);
+            if (!PipeEvaluator.isBlank(expression)) {
+                try {
+                    Expression result = calculator.eval(Parser.parse(expression, true));
+                    output.append(result);
+                } catch (Exception | StackOverflowError e) {
+                    output.append("ERROR\t").append(line).append('\t').append(PipeEvaluator.reason(e));
+                    errors++;
+                }
+                expressions++;
+            }
+            output.append('\n');
+            start = end + 1;
+            line++;
+        }
+        return new Block(output.toString().getBytes(StandardCharsets.UTF_8), expressions, errors);
+    }
+}
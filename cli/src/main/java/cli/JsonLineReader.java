@@ -0,0 +1,438 @@
+package cli;
+
+/**
+ * Pull reader of a JSON object held in a line of bytes, for the requests of a {@link JsonLinesEvaluator}.
+ *
+ * <p>Unlike {@link server.Json}, it builds no tree: the members of the object are read one after the other,
+ * their names are compared in place, their string values are decoded into builders given by the caller, and the
+ * values of the members the caller does not know are checked and skipped. Reading a request allocates nothing,
+ * except for the builders when they grow.
+ *
+ * <p>A reader is reset for each line, and used by one thread at a time.
+ */
+final class JsonLineReader {
+
+    /** Deepest nesting of arrays and objects accepted, so that skipping a value cannot overflow the stack */
+    private static final int MAX_DEPTH = 256;
+
+    private byte[] bytes;
+    private int start;
+    private int pos;
+    private int end;
+    private boolean firstMember;
+
+    /** Bytes of the name of the current member, between its quotes, and whether it holds escape sequences */
+    private int nameStart;
+    private int nameEnd;
+    private boolean nameEscaped;
+    private final StringBuilder decodedName = new StringBuilder();
+
+    /**
+     * Starts reading a line.
+     *
+     * @param bytes the bytes of the line, in UTF-8
+     * @param start the index of the first byte of the line
+     * @param end the index after the last byte of the line
+     */
+    void reset(byte[] bytes, int start, int end) {
+        this.bytes = bytes;
+        this.start = start;
+        this.pos = start;
+        this.end = end;
+    }
+
+    /**
+     * @return the index of the next byte to read
+     */
+    int position() {
+        return pos;
+    }
+
+    /**
+     * Reads the start of the object of the line.
+     *
+     * @throws IllegalArgumentException if the line does not start with an object
+     */
+    void beginObject() {
+        skipWhitespace();
+        if (!consume('{')) {
+            throw error("Expected an object");
+        }
+        firstMember = true;
+    }
+
+    /**
+     * Reads the name of the next member of the object, up to its value.
+     *
+     * @return true if there is a member, false at the end of the object
+     * @throws IllegalArgumentException if the object is not valid JSON
+     */
+    boolean nextMember() {
+        skipWhitespace();
+        if (consume('}')) {
+            return false;
+        }
+        if (!firstMember && !consume(',')) {
+            throw error("Expected ',' or '}'");
+        }
+        firstMember = false;
+        skipWhitespace();
+        nameStart = pos + 1;
+        nameEscaped = skipString();
+        nameEnd = pos - 1;
+        skipWhitespace();
+        if (!consume(':')) {
+            throw error("Expected ':'");
+        }
+        skipWhitespace();
+        return true;
+    }
+
+    /**
+     * Compares the name of the current member to a name.
+     *
+     * @param name the name, in ASCII
+     * @return true if the name of the current member is the given one
+     */
+    boolean nameIs(String name) {
+        if (nameEscaped) {
+            int resume = pos;
+            pos = nameStart - 1;
+            readString(decodedName);
+            pos = resume;
+            return name.contentEquals(decodedName);
+        }
+        int n = name.length();
+        if (nameEnd - nameStart != n) {
+            return false;
+        }
+        for (int i = 0; i < n; i++) {
+            if (bytes[nameStart + i] != name.charAt(i)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Checks that nothing but whitespace follows the object.
+     *
+     * @throws IllegalArgumentException if something else follows
+     */
+    void endOfLine() {
+        skipWhitespace();
+        if (pos != end) {
+            throw error("Unexpected trailing characters");
+        }
+    }
+
+    /**
+     * Reads a string value.
+     *
+     * @param into the builder receiving the string, cleared first
+     * @throws IllegalArgumentException if the value is not a valid string
+     */
+    void readString(StringBuilder into) {
+        into.setLength(0);
+        if (!consume('"')) {
+            throw error("Expected a string");
+        }
+        while (true) {
+            if (pos >= end) {
+                throw error("Unterminated string");
+            }
+            int b = bytes[pos++];
+            if (b == '"') {
+                return;
+            } else if (b == '\\') {
+                into.append(escape());
+            } else if (b >= 0x20) {
+                into.append((char) b);
+            } else if (b >= 0) {
+                throw error("Unescaped control character in a string");
+            } else {
+                decodeMultiByte(b, into);
+            }
+        }
+    }
+
+    /**
+     * Reads a boolean value.
+     *
+     * @return the value
+     * @throws IllegalArgumentException if the value is not a boolean
+     */
+    boolean readBoolean() {
+        if (literal("true")) {
+            return true;
+        }
+        if (literal("false")) {
+            return false;
+        }
+        throw error("Expected true or false");
+    }
+
+    /**
+     * Reads an integer value.
+     *
+     * @return the value
+     * @throws IllegalArgumentException if the value is not an integer that fits in a {@code long}
+     */
+    long readLong() {
+        int from = pos;
+        boolean negative = consume('-');
+        long value = 0;
+        int digits = 0;
+        while (pos < end && bytes[pos] >= '0' && bytes[pos] <= '9') {
+            int digit = bytes[pos++] - '0';
+            if (value < (Long.MIN_VALUE + digit) / 10) {
+                pos = from;
+                throw error("Integer too large");
+            }
+            value = value * 10 - digit;
+            digits++;
+        }
+        if (digits == 0 || (pos < end && (bytes[pos] == '.' || bytes[pos] == 'e' || bytes[pos] == 'E'))) {
+            pos = from;
+            throw error("Expected an integer");
+        }
+        if (!negative) {
+            if (value == Long.MIN_VALUE) {
+                pos = from;
+                throw error("Integer too large");
+            }
+            value = -value;
+        }
+        return value;
+    }
+
+    /**
+     * Checks and skips a value of any type.
+     *
+     * @throws IllegalArgumentException if the value is not valid JSON
+     */
+    void skipValue() {
+        skipValue(0);
+    }
+
+    private void skipValue(int depth) {
+        if (pos >= end) {
+            throw error("Unexpected end of line");
+        }
+        switch (bytes[pos]) {
+            case '{' -> {
+                checkDepth(depth + 1);
+                pos++;
+                skipWhitespace();
+                if (consume('}')) {
+                    return;
+                }
+                do {
+                    skipWhitespace();
+                    skipString();
+                    skipWhitespace();
+                    if (!consume(':')) {
+                        throw error("Expected ':'");
+                    }
+                    skipWhitespace();
+                    skipValue(depth + 1);
+                    skipWhitespace();
+                } while (consume(','));
+                if (!consume('}')) {
+                    throw error("Expected ',' or '}'");
+                }
+            }
+            case '[' -> {
+                checkDepth(depth + 1);
+                pos++;
+                skipWhitespace();
+                if (consume(']')) {
+                    return;
+                }
+                do {
+                    skipWhitespace();
+                    skipValue(depth + 1);
+                    skipWhitespace();
+                } while (consume(','));
+                if (!consume(']')) {
+                    throw error("Expected ',' or ']'");
+                }
+            }
+            case '"' -> skipString();
+            case 't' -> expectLiteral("true");
+            case 'f' -> expectLiteral("false");
+            case 'n' -> expectLiteral("null");
+            default -> skipNumber();
+        }
+    }
+
+    /**
+     * Checks and skips a string.
+     *
+     * @return true if the string holds escape sequences
+     */
+    private boolean skipString() {
+        if (!consume('"')) {
+            throw error("Expected a string");
+        }
+        boolean escaped = false;
+        while (true) {
+            if (pos >= end) {
+                throw error("Unterminated string");
+            }
+            int b = bytes[pos++];
+            if (b == '"') {
+                return escaped;
+            } else if (b == '\\') {
+                escape();
+                escaped = true;
+            } else if (b >= 0 && b < 0x20) {
+                throw error("Unescaped control character in a string");
+            }
+        }
+    }
+
+    private void skipNumber() {
+        int from = pos;
+        consume('-');
+        if (!digits()) {
+            pos = from;
+            throw error("Unexpected character");
+        }
+        if (consume('.') && !digits()) {
+            throw error("Expected a digit");
+        }
+        if (consume('e') || consume('E')) {
+            if (!consume('+')) {
+                consume('-');
+            }
+            if (!digits()) {
+                throw error("Expected a digit");
+            }
+        }
+    }
+
+    private boolean digits() {
+        int from = pos;
+        while (pos < end && bytes[pos] >= '0' && bytes[pos] <= '9') {
+            pos++;
+        }
+        return pos > from;
+    }
+
+    /**
+     * Decodes the escape sequence following a backslash.
+     */
+    private char escape() {
+        if (pos >= end) {
+            throw error("Unterminated string");
+        }
+        return switch (bytes[pos++]) {
+            case '"' -> '"';
+            case '\\' -> '\\';
+            case '/' -> '/';
+            case 'b' -> '\b';
+            case 'f' -> '\f';
+            case 'n' -> '\n';
+            case 'r' -> '\r';
+            case 't' -> '\t';
+            case 'u' -> {
+                if (pos + 4 > end) {
+                    throw error("Invalid unicode escape");
+                }
+                int c = 0;
+                for (int i = 0; i < 4; i++) {
+                    int digit = Character.digit(bytes[pos++], 16);
+                    if (digit < 0) {
+                        throw error("Invalid unicode escape");
+                    }
+                    c = c * 16 + digit;
+                }
+                yield (char) c;
+            }
+            default -> {
+                pos--;
+                throw error("Invalid escape sequence");
+            }
+        };
+    }
+
+    /**
+     * Decodes a character encoded on several bytes in UTF-8, given its first byte.
+     */
+    private void decodeMultiByte(int first, StringBuilder into) {
+        int length;
+        int codePoint;
+        if ((first & 0xE0) == 0xC0) {
+            length = 1;
+            codePoint = first & 0x1F;
+        } else if ((first & 0xF0) == 0xE0) {
+            length = 2;
+            codePoint = first & 0x0F;
+        } else if ((first & 0xF8) == 0xF0) {
+            length = 3;
+            codePoint = first & 0x07;
+        } else {
+            pos--;
+            throw error("Invalid UTF-8");
+        }
+        for (int i = 0; i < length; i++) {
+            if (pos >= end || (bytes[pos] & 0xC0) != 0x80) {
+                throw error("Invalid UTF-8");
+            }
+            codePoint = (codePoint << 6) | (bytes[pos++] & 0x3F);
+        }
+        if (!Character.isValidCodePoint(codePoint)) {
+            throw error("Invalid UTF-8");
+        }
+        into.appendCodePoint(codePoint);
+    }
+
+    private boolean literal(String literal) {
+        int n = literal.length();
+        if (pos + n > end) {
+            return false;
+        }
+        for (int i = 0; i < n; i++) {
+            if (bytes[pos + i] != literal.charAt(i)) {
+                return false;
+            }
+        }
+        pos += n;
+        return true;
+    }
+
+    private void expectLiteral(String literal) {
+        if (!literal(literal)) {
+            throw error("Expected " + literal);
+        }
+    }
+
+    private boolean consume(char c) {
+        if (pos < end && bytes[pos] == c) {
+            pos++;
+            return true;
+        }
+        return false;
+    }
+
+    private void skipWhitespace() {
+        while (pos < end) {
+            byte b = bytes[pos];
+            if (b != ' ' && b != '\t' && b != '\r' && b != '\n') {
+                return;
+            }
+            pos++;
+        }
+    }
+
+    private void checkDepth(int depth) {
+        if (depth > MAX_DEPTH) {
+            throw error("Nested too deeply");
+        }
+    }
+
+    private IllegalArgumentException error(String message) {
+        return new IllegalArgumentException("Invalid JSON at offset " + (pos - start) + ": " + message);
+    }
+}
@@ -0,0 +1,321 @@
+package cli;
+
+import calculator.Calculator;
+import calculator.ComplexNumber;
+import calculator.Expression;
+import calculator.FunctionWrapper;
+import calculator.MyNumber;
+import calculator.Negate;
+import calculator.Notation;
+import calculator.NumberType;
+import calculator.Operation;
+import calculator.Parser;
+import calculator.RationalNumber;
+import calculator.RealNumber;
+import server.Json;
+import visitor.Visitor;
+
+import java.io.IOException;
+import java.util.Locale;
+
+/**
+ * Evaluates a stream of requests in newline-delimited JSON, one after the other, on the calling thread, and writes
+ * a response in newline-delimited JSON for each of them, for data pipelines exchanging JSON lines. Input and output
+ * are buffered as described in {@link LineEvaluator}, so that it has the throughput of {@link PipeEvaluator}.
+ *
+ * <p>Each line of input is a JSON object with the members:
+ * <ul>
+ *   <li>{@code expression}: the expression, a string, required</li>
+ *   <li>{@code preserveFractions}: a boolean, true by default, to keep the results of divisions as fractions
+ *   rather than decimals</li>
+ *   <li>{@code notation}: {@code "infix"}, {@code "prefix"} or {@code "postfix"}, the notation of the
+ *   expression, detected from its first and last characters by default</li>
+ *   <li>{@code budget}: the largest number of operations the expression may have, unlimited by default;
+ *   an expression with more is not evaluated</li>
+ *   <li>{@code id}: any value, copied as is into the response, so that a response can be matched to its
+ *   request without counting lines</li>
+ * </ul>
+ * Other members are ignored. Blank lines are skipped, without response.
+ *
+ * <p>Each response is a JSON object on a line of its own, in the order of the requests: the {@code id} of the
+ * request, if any, then either the {@code result}, as a string formatted as by {@code --eval}, and its
+ * {@code type}, {@code "integer"}, {@code "rational"}, {@code "real"} or {@code "complex"}, or an {@code error},
+ * an object with the {@code kind} of error, {@code "request"} for a line that is not a valid request,
+ * {@code "parse"}, {@code "budget"} or {@code "evaluation"}, its {@code message} and the {@code line} of the
+ * request in the input, counting from 1. Last comes the time taken by the parsing and the evaluation of the
+ * expression, in {@code nanos}, unless the request was not valid. For instance, the request
+ * {@code {"id":7,"expression":"1/3+1/6"}} is answered by {@code {"id":7,"result":"1/2","type":"rational",
+ * "nanos":5210}}.
+ *
+ * <p>Requests are read without building a JSON tree, by a {@link JsonLineReader}, and responses are written
+ * directly into the output buffer, as JSON strings escaped by {@link Json#quote} when they need to be.
+ * Expressions are evaluated as by {@code --eval}, see {@link LineEvaluator}.
+ *
+ * <p>A JSON lines evaluator is used by one thread at a time.
+ */
+public final class JsonLinesEvaluator extends LineEvaluator {
+
+    private static final Notation[] NOTATIONS = Notation.values();
+
+    /** Names of the types of the results, indexed by the ordinal of their {@link NumberType} */
+    private static final String[] TYPE_NAMES = new String[NumberType.values().length];
+
+    static {
+        for (NumberType type : NumberType.values()) {
+            TYPE_NAMES[type.ordinal()] = type.name().toLowerCase(Locale.ROOT);
+        }
+    }
+
+    private final Calculator calculator = new Calculator();
+    private final OperationCounter counter = new OperationCounter();
+    private final JsonLineReader reader = new JsonLineReader();
+    private final StringBuilder expression = new StringBuilder();
+    private final StringBuilder text = new StringBuilder();
+
+    /** Bytes of the id of the request being evaluated in the input, or -1 if it has none */
+    private int idStart;
+    private int idEnd;
+
+    /**
+     * Creates a JSON lines evaluator.
+     */
+    public JsonLinesEvaluator() {
+        calculator.getEvaluator().setIntegerMode(true);
+    }
+
+    @Override
+    protected int evaluate(byte[] buffer, int start, int end, long line) throws IOException {
+        if (isBlank(buffer, start, end)) {
+            return -1;
+        }
+
+        // Request
+        idStart = -1;
+        idEnd = -1;
+        boolean preserveFractions = true;
+        Notation notation = null;
+        long budget = -1;
+        boolean hasExpression = false;
+        try {
+            reader.reset(buffer, start, end);
+            reader.beginObject();
+            while (reader.nextMember()) {
+                if (reader.nameIs("expression")) {
+                    reader.readString(expression);
+                    hasExpression = true;
+                } else if (reader.nameIs("preserveFractions")) {
+                    preserveFractions = reader.readBoolean();
+                } else if (reader.nameIs("notation")) {
+                    reader.readString(text);
+                    notation = notation(text);
+                } else if (reader.nameIs("budget")) {
+                    budget = reader.readLong();
+                    if (budget < 0) {
+                        throw new IllegalArgumentException("The budget must not be negative: " + budget);
+                    }
+                } else if (reader.nameIs("id")) {
+                    idStart = reader.position();
+                    reader.skipValue();
+                    idEnd = reader.position();
+                } else {
+                    reader.skipValue();
+                }
+            }
+            reader.endOfLine();
+            if (!hasExpression) {
+                throw new IllegalArgumentException("Missing expression");
+            }
+        } catch (IllegalArgumentException e) {
+            return error(buffer, "request", e.getMessage(), line, -1);
+        }
+
+        // Parsing
+        long startNanos = System.nanoTime();
+        Expression parsed;
+        try {
+            parsed = notation == null
+                    ? Parser.parse(expression, preserveFractions)
+                    : Parser.parse(expression, notation, preserveFractions);
+        } catch (Exception e) {
+            return error(buffer, "parse", String.valueOf(e.getMessage()), line, System.nanoTime() - startNanos);
+        } catch (StackOverflowError e) {
+            return error(buffer, "parse", "Expression too deep", line, System.nanoTime() - startNanos);
+        }
+
+        // Evaluation
+        Expression result;
+        try {
+            if (budget >= 0 && counter.exceeds(parsed, budget)) {
+                return error(buffer, "budget", "Expression of more than " + budget + " operations", line,
+                        System.nanoTime() - startNanos);
+            }
+            result = calculator.eval(parsed);
+            if (parsed instanceof MyNumber && result instanceof MyNumber number) {
+                // A literal is not computed: report the type an operation with the same value would have
+                result = calculator.getEvaluator().normalizeLiteral(number);
+            }
+        } catch (Exception e) {
+            return error(buffer, "evaluation", String.valueOf(e.getMessage()), line,
+                    System.nanoTime() - startNanos);
+        } catch (StackOverflowError e) {
+            return error(buffer, "evaluation", "Expression too deep", line, System.nanoTime() - startNanos);
+        }
+        long nanos = System.nanoTime() - startNanos;
+
+        beginResponse(buffer);
+        append("\"result\":");
+        appendQuoted(result.toString());
+        if (result instanceof MyNumber number) {
+            append(",\"type\":\"");
+            append(TYPE_NAMES[number.getType().ordinal()]);
+            append("\"");
+        }
+        append(",\"nanos\":");
+        appendNumber(nanos);
+        append("}\n");
+        return 0;
+    }
+
+    /**
+     * Appends an error response.
+     *
+     * @param nanos the time taken by the request, or -1 if it was not valid
+     * @return 1, the value of {@link #evaluate} for an error
+     */
+    private int error(byte[] buffer, String kind, String message, long line, long nanos) throws IOException {
+        beginResponse(buffer);
+        append("\"error\":{\"kind\":\"");
+        append(kind);
+        append("\",\"message\":");
+        appendQuoted(message);
+        append(",\"line\":");
+        appendNumber(line);
+        append("}");
+        if (nanos >= 0) {
+            append(",\"nanos\":");
+            appendNumber(nanos);
+        }
+        append("}\n");
+        return 1;
+    }
+
+    /**
+     * Starts a response with the id of the request, if any, copied from the input.
+     */
+    private void beginResponse(byte[] buffer) throws IOException {
+        if (idStart < 0) {
+            append("{");
+            return;
+        }
+        append("{\"id\":");
+        append(buffer, idStart, idEnd);
+        append(",");
+    }
+
+    /**
+     * Appends a JSON string, escaped by {@link Json#quote} only when it has characters to escape.
+     */
+    private void appendQuoted(String s) throws IOException {
+        for (int i = 0; i < s.length(); i++) {
+            char c = s.charAt(i);
+            if (c < 0x20 || c == '"' || c == '\\') {
+                text.setLength(0);
+                Json.quote(text, s);
+                append(text);
+                return;
+            }
+        }
+        append("\"");
+        append(s);
+        append("\"");
+    }
+
+    private void appendNumber(long n) throws IOException {
+        text.setLength(0);
+        text.append(n);
+        append(text);
+    }
+
+    /**
+     * Counter of the operations of an expression, functions and negations included, which stops as soon as
+     * there are too many. Unlike {@link Expression#countOps()}, it counts each occurrence of an operation,
+     * which is what its evaluation costs, without remembering the operations seen.
+     */
+    private static final class OperationCounter extends Visitor {
+
+        private long remaining;
+
+        /**
+         * @return true if the expression has more than the given number of operations
+         */
+        boolean exceeds(Expression e, long budget) {
+            remaining = budget;
+            e.accept(this);
+            return remaining < 0;
+        }
+
+        @Override
+        public void visit(MyNumber n) {
+            // Not an operation
+        }
+
+        @Override
+        public void visit(RealNumber n) {
+            // Not an operation
+        }
+
+        @Override
+        public void visit(RationalNumber n) {
+            // Not an operation
+        }
+
+        @Override
+        public void visit(ComplexNumber n) {
+            // Not an operation
+        }
+
+        @Override
+        public void visit(Operation o) {
+            if (--remaining >= 0) {
+                for (Expression arg : o.getArgs()) {
+                    arg.accept(this);
+                }
+            }
+        }
+
+        @Override
+        public void visit(FunctionWrapper f) {
+            if (--remaining >= 0) {
+                for (Expression arg : f.arguments()) {
+                    arg.accept(this);
+                }
+            }
+        }
+
+        @Override
+        public void visit(Negate n) {
+            if (--remaining >= 0) {
+                n.argument().accept(this);
+            }
+        }
+    }
+
+    private static Notation notation(CharSequence name) {
+        for (Notation notation : NOTATIONS) {
+            if (notation.name().equalsIgnoreCase(name.toString())) {
+                return notation;
+            }
+        }
+        throw new IllegalArgumentException("Unknown notation: " + name);
+    }
+
+    private static boolean isBlank(byte[] buffer, int start, int end) {
+        for (int i = start; i < end; i++) {
+            byte b = buffer[i];
+            if (b != ' ' && b != '\t' && b != '\r') {
+                return false;
+            }
+        }
+        return true;
+    }
+}
@@ -0,0 +1,177 @@
+package cli;
+
+import calculator.Parser;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+
+/**
+ * Evaluator of a stream of newline-separated requests, one after the other, on the calling thread, writing
+ * its responses to another stream, as a filter in a pipe or a coprocess of another program.
+ *
+ * <p>It reads and writes bytes in large buffers rather than lines: the input is read {@link #BUFFER_SIZE} bytes
+ * at a time, and the responses are gathered in an output buffer, which is only written when it is full, or when
+ * all the input received so far has been answered, just before waiting for more. A program piping lines in gets
+ * their responses as soon as it stops writing, without a write per line when it writes many.
+ *
+ * <p>Subclasses answer each line in {@link #evaluate(byte[], int, int, long)}, appending their response
+ * to the output buffer. A carriage return ending a line is left to them. A line evaluator is used by one thread
+ * at a time.
+ *
+ * <p>The evaluators of this package evaluate expressions as by {@code --eval}: whitespace is ignored, as by
+ * {@link Parser#parse(CharSequence, boolean)}, which removes it itself, and integer-only expressions are computed
+ * exactly.
+ */
+public abstract class LineEvaluator {
+
+    /** Size of the input and output buffers, in bytes */
+    public static final int BUFFER_SIZE = 1 << 16;
+
+    private byte[] output = new byte[BUFFER_SIZE];
+    private int outputLength;
+    private OutputStream out;
+
+    /**
+     * Creates a line evaluator.
+     */
+    protected LineEvaluator() {
+    }
+
+    /**
+     * Evaluates all the lines of the input and writes their responses to the output.
+     * Neither stream is closed, but the output is flushed.
+     *
+     * @param in the requests, one per line, in UTF-8
+     * @param out the destination of the responses, in UTF-8
+     * @return the statistics of the run
+     * @throws IOException if the input cannot be read or the output cannot be written
+     */
+    public final BatchEvaluator.Report run(InputStream in, OutputStream out) throws IOException {
+        long start = System.nanoTime();
+        this.out = out;
+        outputLength = 0;
+        byte[] buffer = new byte[BUFFER_SIZE];
+        int length = 0;
+        long bytes = 0;
+        long line = 0;
+        long expressions = 0;
+        long errors = 0;
+        while (true) {
+            if (in.available() <= 0) {
+                // Everything received so far is answered: send it before waiting for more input
+                flush();
+            }
+            int read = in.read(buffer, length, buffer.length - length);
+            if (read < 0) {
+                break;
+            }
+            bytes += read;
+            int end = length + read;
+            int lineStart = 0;
+            for (int i = length; i < end; i++) {
+                if (buffer[i] == '\n') {
+                    line++;
+                    int result = evaluate(buffer, lineStart, i, line);
+                    expressions += result >= 0 ? 1 : 0;
+                    errors += result > 0 ? 1 : 0;
+                    lineStart = i + 1;
+                }
+            }
+            // Keep the incomplete last line, growing the buffer when a single line fills it
+            length = end - lineStart;
+            System.arraycopy(buffer, lineStart, buffer, 0, length);
+            if (length == buffer.length) {
+                buffer = Arrays.copyOf(buffer, buffer.length * 2);
+            }
+        }
+        if (length > 0) {
+            line++;
+            int result = evaluate(buffer, 0, length, line);
+            expressions += result >= 0 ? 1 : 0;
+            errors += result > 0 ? 1 : 0;
+        }
+        flush();
+        return new BatchEvaluator.Report(expressions, errors, bytes, System.nanoTime() - start);
+    }
+
+    /**
+     * Evaluates a line and appends its response, if any, with {@link #append(CharSequence)}.
+     *
+     * @param buffer the bytes of the input, in UTF-8
+     * @param start the index of the first byte of the line
+     * @param end the index after the last byte of the line, excluding the newline
+     * @param line the number of the line in the input, counting from 1
+     * @return -1 for a line without expression, 0 for a result, 1 for an error
+     * @throws IOException if the output cannot be written
+     */
+    protected abstract int evaluate(byte[] buffer, int start, int end, long line) throws IOException;
+
+    /**
+     * Appends text to the output buffer, writing the buffer when it is full.
+     *
+     * @param text the text to append, encoded in UTF-8
+     * @throws IOException if the output cannot be written
+     */
+    protected final void append(CharSequence text) throws IOException {
+        int n = text.length();
+        if (outputLength + 3 * n > output.length) {
+            drain();
+            if (3 * n > output.length) {
+                output = new byte[3 * n];
+            }
+        }
+        for (int i = 0; i < n; i++) {
+            char c = text.charAt(i);
+            if (c < 0x80) {
+                output[outputLength++] = (byte) c;
+            } else {
+                // Rare: encode the rest of the text at once
+                byte[] encoded = text.subSequence(i, n).toString().getBytes(StandardCharsets.UTF_8);
+                System.arraycopy(encoded, 0, output, outputLength, encoded.length);
+                outputLength += encoded.length;
+                return;
+            }
+        }
+    }
+
+    /**
+     * Appends bytes of the input, already encoded, to the output buffer, writing the buffer when it is full.
+     *
+     * @param bytes the bytes, in UTF-8
+     * @param start the index of the first byte to append
+     * @param end the index after the last byte to append
+     * @throws IOException if the output cannot be written
+     */
+    protected final void append(byte[] bytes, int start, int end) throws IOException {
+        int n = end - start;
+        if (outputLength + n > output.length) {
+            drain();
+            if (n > output.length) {
+                output = new byte[n];
+            }
+        }
+        System.arraycopy(bytes, start, output, outputLength, n);
+        outputLength += n;
+    }
+
+    /**
+     * Writes the output buffer, without flushing the output stream.
+     */
+    private void drain() throws IOException {
+        if (outputLength > 0) {
+            out.write(output, 0, outputLength);
+            outputLength = 0;
+        }
+    }
+
+    /**
+     * Writes the output buffer and flushes the output stream.
+     */
+    private void flush() throws IOException {
+        drain();
+        out.flush();
+    }
+}
@@ -0,0 +1,99 @@
+package cli;
+
+import calculator.Calculator;
+import calculator.Expression;
+import calculator.Parser;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Evaluates a stream of newline-separated expressions one after the other, on the calling thread, for a
+ * non-interactive use of the calculator, such as a pipe from another program, or a coprocess exchanging one line
+ * of results for each line of expressions.
+ *
+ * <p>Unlike the REPL, it prints no prompt, and reads and writes bytes in large buffers rather than lines,
+ * as described in {@link LineEvaluator}.
+ *
+ * <p>Expressions are evaluated as by {@code --eval}, see {@link LineEvaluator}. Each line of input gives one line of output: the result of its expression, an empty line for
+ * a blank one, or, for an expression that cannot be evaluated, an error line made of {@code ERROR}, the number
+ * of the line in the input, counting from 1, and the reason, separated by tabs. Results never contain a tab,
+ * so error lines can be told apart by their {@code ERROR} prefix followed by a tab. A carriage return ending
+ * a line is ignored.
+ *
+ * <p>A pipe evaluator is used by one thread at a time.
+ */
+public final class PipeEvaluator extends LineEvaluator {
+
+    private final Calculator calculator = new Calculator();
+    private final StringBuilder expression = new StringBuilder();
+
+    /**
+     * Creates a pipe evaluator.
+     */
+    public PipeEvaluator() {
+        calculator.getEvaluator().setIntegerMode(true);
+    }
+
+    @Override
+    protected int evaluate(byte[] buffer, int start, int end, long line) throws IOException {
+        expression.setLength(0);
+        int i = start;
+        while (i < end && buffer[i] >= 0) {
+            expression.append((char) buffer[i++]);
+        }
+        if (i < end) {
+            // Rare: decode the rest of the line
+            expression.append(new String(buffer, i, end - i, StandardCharsets.UTF_8));
+        }
+        if (isBlank(expression)) {
+            append("\n");
+            return -1;
+        }
+
+        Throwable error;
+        try {
+            Expression result = calculator.eval(Parser.parse(expression, true));
+            append(result.toString());
+            append("\n");
+            return 0;
+        } catch (Exception | StackOverflowError e) {
+            error = e;
+        }
+        append("ERROR\t");
+        append(Long.toString(line));
+        append("\t");
+        append(reason(error));
+        append("\n");
+        return 1;
+    }
+
+    /**
+     * Checks whether a line holds no expression, only whitespace.
+     *
+     * @param line the line
+     * @return true if the line is empty or only made of whitespace
+     */
+    static boolean isBlank(CharSequence line) {
+        for (int i = 0; i < line.length(); i++) {
+            if (!Character.isWhitespace(line.charAt(i))) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Returns the reason why an expression could not be evaluated, as written in an error line:
+     * the message of the error, on a single line and without tabs.
+     *
+     * @param error the error raised by the parsing or the evaluation of the expression
+     * @return the reason
+     */
+    static String reason(Throwable error) {
+        String message = error instanceof StackOverflowError
+                ? "Expression too deep"
+                : String.valueOf(error.getMessage());
+        return message.replace('\t', ' ').replace('\r', ' ').replace('\n', ' ');
+    }
+}
@@ -0,0 +1,120 @@
+package server;
+
+import calculator.Calculator;
+import calculator.Expression;
+import calculator.IllegalConstruction;
+import calculator.ParseCache;
+import calculator.ResultCache;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Evaluation shared by the servers: expressions are evaluated as by {@code --eval}, that is, whitespace is
+ * ignored, as by {@link calculator.Parser#parse(CharSequence, boolean)}, and integer-only expressions are computed
+ * exactly, with a {@link ParseCache} and a {@link ResultCache} shared by all the requests. Each evaluation uses a {@link Calculator} of its own, since a calculator cannot
+ * be shared and creating one is cheap, so this class is thread-safe.
+ */
+final class EvaluationService {
+
+    /**
+     * Source of the expression to evaluate, which may fail to parse.
+     */
+    @FunctionalInterface
+    private interface Source {
+        Expression get() throws IllegalConstruction;
+    }
+
+    private final ParseCache parseCache;
+    private final ResultCache resultCache;
+    private final LongAdder expressions = new LongAdder();
+    private final LongAdder errors = new LongAdder();
+
+    /**
+     * Creates a service with caches of its own.
+     */
+    EvaluationService() {
+        this(new ParseCache(4096, 1 << 22), ResultCache.builder()
+                .policy(ResultCache.Policy.TINY_LFU)
+                .maximumEntries(1 << 16)
+                .build());
+    }
+
+    /**
+     * Creates a service.
+     *
+     * @param parseCache the cache of the parsed expressions
+     * @param resultCache the cache of the results of the expressions
+     */
+    EvaluationService(ParseCache parseCache, ResultCache resultCache) {
+        this.parseCache = parseCache;
+        this.resultCache = resultCache;
+    }
+
+    /**
+     * Parses and evaluates an expression.
+     *
+     * @param expression the expression
+     * @return the result, as displayed
+     * @throws IllegalArgumentException if the expression cannot be parsed or evaluated, with the reason as message
+     */
+    String evaluate(String expression) {
+        return evaluate(() -> parseCache.parse(expression, true));
+    }
+
+    /**
+     * Evaluates an expression tree.
+     *
+     * @param expression the expression
+     * @return the result, as displayed
+     * @throws IllegalArgumentException if the expression cannot be evaluated, with the reason as message
+     */
+    String evaluate(Expression expression) {
+        return evaluate(() -> expression);
+    }
+
+    private String evaluate(Source source) {
+        expressions.increment();
+        Calculator calculator = new Calculator();
+        calculator.getEvaluator().setIntegerMode(true);
+        calculator.setResultCache(resultCache);
+        try {
+            return calculator.eval(source.get()).toString();
+        } catch (Exception | StackOverflowError e) {
+            errors.increment();
+            throw new IllegalArgumentException(
+                    e instanceof StackOverflowError ? "Expression too deep" : String.valueOf(e.getMessage()), e);
+        }
+    }
+
+    /**
+     * Adds the counters of the evaluations and the statistics of the caches to metrics.
+     *
+     * @param metrics the metrics, by name
+     */
+    void addMetrics(Map<String, Object> metrics) {
+        metrics.put("expressions", expressions.sum());
+        metrics.put("errors", errors.sum());
+
+        ParseCache.Stats parse = parseCache.stats();
+        Map<String, Object> parseMetrics = new LinkedHashMap<>();
+        parseMetrics.put("hits", parse.hits());
+        parseMetrics.put("misses", parse.misses());
+        parseMetrics.put("evictions", parse.evictions());
+        parseMetrics.put("size", parse.size());
+        parseMetrics.put("hitRatio", parse.hitRatio());
+        metrics.put("parseCache", parseMetrics);
+
+        ResultCache.Stats result = resultCache.stats();
+        Map<String, Object> resultMetrics = new LinkedHashMap<>();
+        resultMetrics.put("hits", result.hits());
+        resultMetrics.put("misses", result.misses());
+        resultMetrics.put("evictions", result.evictions());
+        resultMetrics.put("rejections", result.rejections());
+        resultMetrics.put("size", result.size());
+        resultMetrics.put("weight", result.weight());
+        resultMetrics.put("hitRatio", result.hitRatio());
+        metrics.put("resultCache", resultMetrics);
+    }
+}
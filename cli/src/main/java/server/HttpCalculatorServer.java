@@ -0,0 +1,260 @@
+package server;
+
+import calculator.Calculator;
+import calculator.ParseCache;
+import calculator.ResultCache;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Local HTTP service evaluating expressions, built on the JDK {@link HttpServer} and handling
+ * each request on a virtual thread of its own.
+ *
+ * <p>The endpoints are:
+ * <ul>
+ *     <li>{@code POST /eval} with {@code {"expression": "1 + 2"}}, answered with {@code {"result": "3"}},
+ *     or with {@code {"expressions": [...]}}, answered with {@code {"results": [...]}} holding one result
+ *     per expression, in the same order. An expression that cannot be evaluated gives
+ *     {@code {"error": "..."}} in place of its result, and does not fail the request;</li>
+ *     <li>{@code GET /health}, answered with {@code {"status": "UP"}};</li>
+ *     <li>{@code GET /metrics}, answered with the counters of the service and the statistics of its caches.</li>
+ * </ul>
+ * A request that is not valid JSON, or has neither member, is answered with status 400, a body larger
+ * than {@link #MAX_BODY_BYTES} with 413, and a wrong method with 405.
+ *
+ * <p>Expressions are evaluated as by {@code --eval}, see {@link EvaluationService}. All the requests share
+ * a {@link ParseCache} and a {@link ResultCache}, which are thread-safe, while each request evaluates with
+ * a {@link Calculator} of its own.
+ *
+ * <p>Unless the {@code sun.net.httpserver.nodelay} system property is set otherwise, the connections
+ * are used without Nagle's algorithm, so that small responses are not delayed.
+ */
+public final class HttpCalculatorServer {
+
+    /** Largest request body accepted, in bytes */
+    public static final int MAX_BODY_BYTES = 4 << 20;
+
+    /** Largest number of expressions accepted in a single request */
+    public static final int MAX_BATCH_SIZE = 10_000;
+
+    private static final String JSON = "application/json; charset=utf-8";
+
+    static {
+        // The JDK server writes the headers and the body of a response separately: with Nagle's algorithm,
+        // the body waits for the delayed acknowledgement of the headers, some 40 ms on most systems
+        if (System.getProperty("sun.net.httpserver.nodelay") == null) {
+            System.setProperty("sun.net.httpserver.nodelay", "true");
+        }
+    }
+
+    private final HttpServer server;
+    private final ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor();
+    private final EvaluationService service;
+
+    private final LongAdder requests = new LongAdder();
+    private final LongAdder rejected = new LongAdder();
+    private final long startNanos = System.nanoTime();
+
+    /**
+     * Creates a server listening on the loopback interface, with caches of its own.
+     * The server does not accept requests before {@link #start()}.
+     *
+     * @param port the port to listen on, or 0 for any free port
+     * @throws IOException if the port cannot be bound
+     */
+    public HttpCalculatorServer(int port) throws IOException {
+        this(port, new EvaluationService());
+    }
+
+    /**
+     * Creates a server listening on the loopback interface.
+     * The server does not accept requests before {@link #start()}.
+     *
+     * @param port the port to listen on, or 0 for any free port
+     * @param parseCache the cache of the parsed expressions
+     * @param resultCache the cache of the results of the expressions
+     * @throws IOException if the port cannot be bound
+     */
+    public HttpCalculatorServer(int port, ParseCache parseCache, ResultCache resultCache) throws IOException {
+        this(port, new EvaluationService(parseCache, resultCache));
+    }
+
+    private HttpCalculatorServer(int port, EvaluationService service) throws IOException {
+        this.service = service;
+        this.server = HttpServer.create(new InetSocketAddress(InetAddress.getLoopbackAddress(), port), 1024);
+        server.setExecutor(executor);
+        server.createContext("/eval", this::handleEval);
+        server.createContext("/health", this::handleHealth);
+        server.createContext("/metrics", this::handleMetrics);
+    }
+
+    /**
+     * Starts accepting requests.
+     */
+    public void start() {
+        server.start();
+    }
+
+    /**
+     * Stops accepting requests, waits at most the given delay for the requests in progress, and stops the server.
+     *
+     * @param delaySeconds the longest time to wait for the requests in progress, in seconds
+     */
+    public void stop(int delaySeconds) {
+        server.stop(delaySeconds);
+        executor.close();
+    }
+
+    /**
+     * @return the port the server listens on
+     */
+    public int port() {
+        return server.getAddress().getPort();
+    }
+
+    private void handleEval(HttpExchange exchange) throws IOException {
+        try (exchange) {
+            requests.increment();
+            if (!exchange.getRequestMethod().equals("POST")) {
+                reject(exchange, 405, "Method not allowed");
+                return;
+            }
+            byte[] body = readBody(exchange.getRequestBody());
+            if (body == null) {
+                reject(exchange, 413, "Request body larger than " + MAX_BODY_BYTES + " bytes");
+                return;
+            }
+
+            Object request;
+            try {
+                request = Json.parse(new String(body, StandardCharsets.UTF_8));
+            } catch (IllegalArgumentException e) {
+                reject(exchange, 400, e.getMessage());
+                return;
+            }
+
+            StringBuilder response = new StringBuilder(64);
+            if (request instanceof Map<?, ?> map && map.get("expression") instanceof String expression) {
+                evaluate(expression, response);
+            } else if (request instanceof Map<?, ?> map && map.get("expressions") instanceof List<?> list) {
+                if (list.size() > MAX_BATCH_SIZE) {
+                    reject(exchange, 413, "More than " + MAX_BATCH_SIZE + " expressions");
+                    return;
+                }
+                if (!list.stream().allMatch(String.class::isInstance)) {
+                    reject(exchange, 400, "Expressions must be strings");
+                    return;
+                }
+                response.append("{\"results\":[");
+                for (int i = 0; i < list.size(); i++) {
+                    if (i > 0) {
+                        response.append(',');
+                    }
+                    evaluate((String) list.get(i), response);
+                }
+                response.append("]}");
+            } else {
+                reject(exchange, 400, "Expected an object with an \"expression\" or \"expressions\" member");
+                return;
+            }
+            send(exchange, 200, response);
+        }
+    }
+
+    private void handleHealth(HttpExchange exchange) throws IOException {
+        try (exchange) {
+            if (!exchange.getRequestMethod().equals("GET")) {
+                reject(exchange, 405, "Method not allowed");
+                return;
+            }
+            send(exchange, 200, new StringBuilder("{\"status\":\"UP\"}"));
+        }
+    }
+
+    private void handleMetrics(HttpExchange exchange) throws IOException {
+        try (exchange) {
+            if (!exchange.getRequestMethod().equals("GET")) {
+                reject(exchange, 405, "Method not allowed");
+                return;
+            }
+            StringBuilder response = new StringBuilder(512);
+            Json.write(response, metrics());
+            send(exchange, 200, response);
+        }
+    }
+
+    /**
+     * Returns the counters of the service and the statistics of its caches, as served by {@code GET /metrics}.
+     *
+     * @return the metrics, by name
+     */
+    public Map<String, Object> metrics() {
+        Map<String, Object> metrics = new LinkedHashMap<>();
+        metrics.put("uptimeMillis", (System.nanoTime() - startNanos) / 1_000_000);
+        metrics.put("requests", requests.sum());
+        metrics.put("rejectedRequests", rejected.sum());
+        service.addMetrics(metrics);
+        return metrics;
+    }
+
+    /**
+     * Evaluates an expression and appends its result, or the reason it could not be evaluated, as a JSON object.
+     */
+    private void evaluate(String expression, StringBuilder response) {
+        try {
+            String result = service.evaluate(expression);
+            response.append("{\"result\":");
+            Json.quote(response, result);
+        } catch (IllegalArgumentException e) {
+            response.append("{\"error\":");
+            Json.quote(response, e.getMessage());
+        }
+        response.append('}');
+    }
+
+    /**
+     * Reads a request body, or returns {@code null} if it is larger than {@link #MAX_BODY_BYTES}.
+     */
+    private static byte[] readBody(InputStream in) throws IOException {
+        ByteArrayOutputStream body = new ByteArrayOutputStream(256);
+        byte[] buffer = new byte[8192];
+        int read;
+        while ((read = in.read(buffer)) >= 0) {
+            if (body.size() + read > MAX_BODY_BYTES) {
+                return null;
+            }
+            body.write(buffer, 0, read);
+        }
+        return body.toByteArray();
+    }
+
+    private void reject(HttpExchange exchange, int status, String message) throws IOException {
+        rejected.increment();
+        StringBuilder response = new StringBuilder("{\"error\":");
+        Json.quote(response, message);
+        send(exchange, status, response.append('}'));
+    }
+
+    private static void send(HttpExchange exchange, int status, CharSequence response) throws IOException {
+        byte[] bytes = response.toString().getBytes(StandardCharsets.UTF_8);
+        exchange.getResponseHeaders().set("Content-Type", JSON);
+        exchange.sendResponseHeaders(status, bytes.length);
+        try (OutputStream out = exchange.getResponseBody()) {
+            out.write(bytes);
+        }
+    }
+}
@@ -0,0 +1,322 @@
+package server;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Minimal JSON reader and writer for the requests and responses of the calculator services,
+ * so that they do not depend on a JSON library.
+ *
+ * <p>Values are read into plain Java objects: a {@link Map} for an object, keeping the order of its members,
+ * a {@link List} for an array, a {@link String}, a {@link Long} for an integer that fits in one,
+ * a {@link Double} for any other number, a {@link Boolean} or {@code null}. The same types are written back,
+ * as well as any other {@link Number} and, as strings, any other object.
+ */
+public final class Json {
+
+    /** Deepest nesting of arrays and objects accepted, so that reading cannot overflow the stack */
+    private static final int MAX_DEPTH = 256;
+
+    private final String text;
+    private int pos;
+
+    private Json(String text) {
+        this.text = text;
+    }
+
+    /**
+     * Reads a JSON value.
+     *
+     * @param text the JSON text
+     * @return the value read
+     * @throws IllegalArgumentException if the text is not valid JSON
+     */
+    public static Object parse(String text) {
+        Json reader = new Json(text);
+        Object value = reader.value(0);
+        reader.skipWhitespace();
+        if (reader.pos != text.length()) {
+            throw reader.error("Unexpected trailing characters");
+        }
+        return value;
+    }
+
+    /**
+     * Writes a value as JSON.
+     *
+     * @param value the value to write
+     * @return the JSON text
+     */
+    public static String write(Object value) {
+        StringBuilder out = new StringBuilder();
+        write(out, value);
+        return out.toString();
+    }
+
+    /**
+     * Appends a value as JSON.
+     *
+     * @param out the destination of the JSON text
+     * @param value the value to write
+     */
+    public static void write(StringBuilder out, Object value) {
+        switch (value) {
+            case null -> out.append("null");
+            case String s -> quote(out, s);
+            case Boolean b -> out.append(b);
+            case Double d when !Double.isFinite(d) -> out.append("null");
+            case Float f when !Float.isFinite(f) -> out.append("null");
+            case Number n -> out.append(n);
+            case Map<?, ?> map -> {
+                out.append('{');
+                boolean first = true;
+                for (Map.Entry<?, ?> e : map.entrySet()) {
+                    if (!first) {
+                        out.append(',');
+                    }
+                    first = false;
+                    quote(out, String.valueOf(e.getKey()));
+                    out.append(':');
+                    write(out, e.getValue());
+                }
+                out.append('}');
+            }
+            case List<?> list -> {
+                out.append('[');
+                for (int i = 0; i < list.size(); i++) {
+                    if (i > 0) {
+                        out.append(',');
+                    }
+                    write(out, list.get(i));
+                }
+                out.append(']');
+            }
+            default -> quote(out, value.toString());
+        }
+    }
+
+    /**
+     * Appends a string as a JSON string literal, escaping the characters that must be.
+     *
+     * @param out the destination of the JSON text
+     * @param s the string to write
+     */
+    public static void quote(StringBuilder out, String s) {
+        out.append('"');
+        for (int i = 0; i < s.length(); i++) {
+            char c = s.charAt(i);
+            switch (c) {
+                case '"' -> out.append("\\\"");
+                case '\\' -> out.append("\\\\");
+                case '\n' -> out.append("\\n");
+                case '\r' -> out.append("\\r");
+                case '\t' -> out.append("\\t");
+                default -> {
+                    if (c < 0x20) {
+                        out.append(String.format("\\u%04x", (int) c));
+                    } else {
+                        out.append(c);
+                    }
+                }
+            }
+        }
+        out.append('"');
+    }
+
+    private Object value(int depth) {
+        skipWhitespace();
+        if (pos >= text.length()) {
+            throw error("Unexpected end of input");
+        }
+        char c = text.charAt(pos);
+        return switch (c) {
+            case '{' -> object(depth + 1);
+            case '[' -> array(depth + 1);
+            case '"' -> string();
+            case 't' -> literal("true", Boolean.TRUE);
+            case 'f' -> literal("false", Boolean.FALSE);
+            case 'n' -> literal("null", null);
+            default -> {
+                if (c == '-' || (c >= '0' && c <= '9')) {
+                    yield number();
+                }
+                throw error("Unexpected character '" + c + "'");
+            }
+        };
+    }
+
+    private Map<String, Object> object(int depth) {
+        checkDepth(depth);
+        pos++;
+        Map<String, Object> map = new LinkedHashMap<>();
+        skipWhitespace();
+        if (consume('}')) {
+            return map;
+        }
+        do {
+            skipWhitespace();
+            if (pos >= text.length() || text.charAt(pos) != '"') {
+                throw error("Expected a member name");
+            }
+            String name = string();
+            skipWhitespace();
+            if (!consume(':')) {
+                throw error("Expected ':'");
+            }
+            map.put(name, value(depth));
+            skipWhitespace();
+        } while (consume(','));
+        if (!consume('}')) {
+            throw error("Expected ',' or '}'");
+        }
+        return map;
+    }
+
+    private List<Object> array(int depth) {
+        checkDepth(depth);
+        pos++;
+        List<Object> list = new ArrayList<>();
+        skipWhitespace();
+        if (consume(']')) {
+            return list;
+        }
+        do {
+            list.add(value(depth));
+            skipWhitespace();
+        } while (consume(','));
+        if (!consume(']')) {
+            throw error("Expected ',' or ']'");
+        }
+        return list;
+    }
+
+    private String string() {
+        pos++;
+        StringBuilder s = null;
+        int start = pos;
+        while (true) {
+            if (pos >= text.length()) {
+                throw error("Unterminated string");
+            }
+            char c = text.charAt(pos);
+            if (c == '"') {
+                String value = s == null ? text.substring(start, pos) : s.append(text, start, pos).toString();
+                pos++;
+                return value;
+            }
+            if (c < 0x20) {
+                throw error("Control character in string");
+            }
+            if (c != '\\') {
+                pos++;
+                continue;
+            }
+            // Escape sequences are rare: only then is the string copied
+            if (s == null) {
+                s = new StringBuilder();
+            }
+            s.append(text, start, pos);
+            if (pos + 1 >= text.length()) {
+                throw error("Unterminated string");
+            }
+            char e = text.charAt(pos + 1);
+            pos += 2;
+            switch (e) {
+                case '"', '\\', '/' -> s.append(e);
+                case 'b' -> s.append('\b');
+                case 'f' -> s.append('\f');
+                case 'n' -> s.append('\n');
+                case 'r' -> s.append('\r');
+                case 't' -> s.append('\t');
+                case 'u' -> {
+                    if (pos + 4 > text.length()) {
+                        throw error("Invalid unicode escape");
+                    }
+                    try {
+                        s.append((char) Integer.parseInt(text, pos, pos + 4, 16));
+                    } catch (NumberFormatException ex) {
+                        throw error("Invalid unicode escape");
+                    }
+                    pos += 4;
+                }
+                default -> throw error("Invalid escape '\\" + e + "'");
+            }
+            start = pos;
+        }
+    }
+
+    private Number number() {
+        int start = pos;
+        boolean integral = true;
+        consume('-');
+        if (!digits()) {
+            throw error("Invalid number");
+        }
+        if (consume('.')) {
+            integral = false;
+            if (!digits()) {
+                throw error("Invalid number");
+            }
+        }
+        if (consume('e') || consume('E')) {
+            integral = false;
+            if (!consume('+')) {
+                consume('-');
+            }
+            if (!digits()) {
+                throw error("Invalid number");
+            }
+        }
+        String number = text.substring(start, pos);
+        if (integral && pos - start < 19) {
+            return Long.parseLong(number);
+        }
+        return Double.parseDouble(number);
+    }
+
+    private boolean digits() {
+        int start = pos;
+        while (pos < text.length() && text.charAt(pos) >= '0' && text.charAt(pos) <= '9') {
+            pos++;
+        }
+        return pos > start;
+    }
+
+    private Object literal(String word, Object value) {
+        if (!text.startsWith(word, pos)) {
+            throw error("Unexpected character '" + text.charAt(pos) + "'");
+        }
+        pos += word.length();
+        return value;
+    }
+
+    private boolean consume(char c) {
+        if (pos < text.length() && text.charAt(pos) == c) {
+            pos++;
+            return true;
+        }
+        return false;
+    }
+
+    private void skipWhitespace() {
+        while (pos < text.length()) {
+            char c = text.charAt(pos);
+            if (c != ' ' && c != '\t' && c != '\n' && c != '\r') {
+                return;
+            }
+            pos++;
+        }
+    }
+
+    private void checkDepth(int depth) {
+        if (depth > MAX_DEPTH) {
+            throw error("Too deeply nested");
+        }
+    }
+
+    private IllegalArgumentException error(String message) {
+        return new IllegalArgumentException("Invalid JSON at offset " + pos + ": " + message);
+    }
+}
@@ -0,0 +1,166 @@
+package server;
+
+import calculator.Expression;
+import calculator.ExpressionCodec;
+
+import java.io.IOException;
+import java.nio.ByteOrder;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Caller of a {@link SharedMemoryCalculatorServer}, possibly in another process, through the file it created.
+ *
+ * <p>Each evaluation writes a request to the request ring and waits for its response, busy-spinning at first,
+ * as described in {@link SharedMemoryRing#idle(int)}. Since the rings have a single producer and a single
+ * consumer, a server must only have one client at a time; the evaluations of the client are serialized, so
+ * it may still be shared by several threads. An evaluation fails with an {@link IOException} if the server
+ * does not answer within {@link #TIMEOUT_SECONDS} seconds, for instance because it was stopped.
+ */
+public final class SharedMemoryCalculatorClient implements AutoCloseable {
+
+    /** Longest time an evaluation waits for its response */
+    public static final long TIMEOUT_SECONDS = 10;
+
+    private final SharedMemoryRing requests;
+    private final SharedMemoryRing responses;
+    private final ReentrantLock lock = new ReentrantLock();
+
+    /**
+     * Ids of the requests, starting at an arbitrary value, so that the late responses of a former
+     * client of the same server are not mistaken for responses to this one
+     */
+    private int nextId = (int) System.nanoTime();
+
+    /** Response being waited for, set by {@link #receive(int, int, byte[], int)} */
+    private int expectedId;
+    private boolean received;
+    private int status;
+    private String result;
+
+    private SharedMemoryCalculatorClient(MappedByteBuffer mapped, int capacity) {
+        this.requests = new SharedMemoryRing(SharedMemoryCalculatorServer.ring(mapped, 0, capacity));
+        this.responses = new SharedMemoryRing(SharedMemoryCalculatorServer.ring(mapped, 1, capacity));
+    }
+
+    /**
+     * Connects to a server.
+     *
+     * @param file the file created by the server
+     * @return the client
+     * @throws IOException if the file cannot be mapped, or was not created by a server
+     */
+    public static SharedMemoryCalculatorClient connect(Path file) throws IOException {
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ, StandardOpenOption.WRITE)) {
+            if (channel.size() < SharedMemoryCalculatorServer.FILE_HEADER_BYTES) {
+                throw new IOException("Not a calculator file: " + file);
+            }
+            MappedByteBuffer header = channel.map(FileChannel.MapMode.READ_ONLY, 0,
+                    SharedMemoryCalculatorServer.FILE_HEADER_BYTES);
+            header.order(ByteOrder.nativeOrder());
+            int magic = (int) SharedMemoryCalculatorServer.HEADER_INT.getAcquire(header, 0);
+            if (magic != SharedMemoryCalculatorServer.MAGIC) {
+                throw new IOException("Not a calculator file: " + file);
+            }
+            if (header.getInt(4) != SharedMemoryCalculatorServer.VERSION) {
+                throw new IOException("Unsupported version " + header.getInt(4) + " of " + file);
+            }
+            int capacity = header.getInt(8);
+            if (capacity < 4096 || Integer.bitCount(capacity) != 1
+                    || channel.size() < SharedMemoryCalculatorServer.fileSize(capacity)) {
+                throw new IOException("Corrupted calculator file: " + file);
+            }
+            MappedByteBuffer mapped = channel.map(FileChannel.MapMode.READ_WRITE, 0,
+                    SharedMemoryCalculatorServer.fileSize(capacity));
+            return new SharedMemoryCalculatorClient(mapped, capacity);
+        }
+    }
+
+    /**
+     * Evaluates an expression.
+     *
+     * @param expression the expression
+     * @return the result, as displayed
+     * @throws IllegalArgumentException if the expression cannot be evaluated, with the reason as message
+     * @throws IOException if the server does not answer in time
+     */
+    public String evaluate(String expression) throws IOException {
+        return call(SocketProtocol.TEXT, expression.getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * Evaluates an expression tree.
+     *
+     * @param expression the expression
+     * @return the result, as displayed
+     * @throws IllegalArgumentException if the expression cannot be evaluated, with the reason as message
+     * @throws IOException if the server does not answer in time
+     */
+    public String evaluate(Expression expression) throws IOException {
+        return call(SocketProtocol.TREE, ExpressionCodec.toBytes(expression));
+    }
+
+    /**
+     * Releases the client. The mapping of the file is released when the client is garbage collected.
+     */
+    @Override
+    public void close() {
+        // Nothing to release explicitly: a mapping cannot be unmapped before it is unreachable
+    }
+
+    private String call(int kind, byte[] payload) throws IOException {
+        lock.lock();
+        try {
+            long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(TIMEOUT_SECONDS);
+            int id = nextId++;
+            int idle = 0;
+            while (!requests.offer(id, kind, payload)) {
+                checkDeadline(deadline);
+                SharedMemoryRing.idle(idle++);
+            }
+
+            expectedId = id;
+            received = false;
+            SharedMemoryRing.Consumer receiver = this::receive;
+            idle = 0;
+            while (!received) {
+                if (responses.poll(receiver)) {
+                    idle = 0;
+                } else {
+                    checkDeadline(deadline);
+                    SharedMemoryRing.idle(idle++);
+                }
+            }
+            String value = result;
+            result = null;
+            if (status != SocketProtocol.OK) {
+                throw new IllegalArgumentException(value);
+            }
+            return value;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Receives a response, ignoring it if it does not answer the request being waited for.
+     */
+    private void receive(int id, int status, byte[] payload, int length) {
+        if (id == expectedId) {
+            this.status = status;
+            this.result = new String(payload, 0, length, StandardCharsets.UTF_8);
+            this.received = true;
+        }
+    }
+
+    private static void checkDeadline(long deadline) throws IOException {
+        if (System.nanoTime() - deadline > 0) {
+            throw new IOException("No response from the calculator within " + TIMEOUT_SECONDS + " s");
+        }
+    }
+}
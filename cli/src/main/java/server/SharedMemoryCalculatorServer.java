@@ -0,0 +1,199 @@
+package server;
+
+import calculator.ExpressionCodec;
+
+import java.io.IOException;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Evaluation service for a caller on the same machine, exchanging requests and results through a memory-mapped
+ * file rather than a socket, so that a round trip does not go through the kernel at all.
+ *
+ * <p>The file holds a header and two {@link SharedMemoryRing}s: one for the requests of the caller, one for the
+ * responses of the server. The header is the magic number {@code CALC}, the {@link #VERSION version} of the layout
+ * and the size of the data area of each ring; the magic number is written last, with release semantics, so that
+ * a {@link SharedMemoryCalculatorClient} that sees it sees the rest of the layout too. The messages use the kinds
+ * and statuses of the {@link SocketProtocol}: a request is the text of an expression or its tree encoded by
+ * {@link ExpressionCodec}, and a response is the result or the reason of the error, in UTF-8, with the id of
+ * the request.
+ *
+ * <p>Since the rings have a single producer and a single consumer, the server has a single caller at a time,
+ * and answers it on a platform thread of its own, which polls the request ring and waits as described in
+ * {@link SharedMemoryRing#idle(int)} when it is empty. Expressions are evaluated as by {@code --eval},
+ * see {@link EvaluationService}.
+ */
+public final class SharedMemoryCalculatorServer {
+
+    /** Version of the layout of the file */
+    public static final int VERSION = 1;
+
+    /** Default size of the data area of each ring, in bytes */
+    public static final int DEFAULT_CAPACITY = 1 << 20;
+
+    static final int MAGIC = 0x43414C43; // "CALC"
+    static final int FILE_HEADER_BYTES = 128;
+    static final VarHandle HEADER_INT = MethodHandles.byteBufferViewVarHandle(int[].class, ByteOrder.nativeOrder());
+
+    private final Path file;
+    private final SharedMemoryRing requests;
+    private final SharedMemoryRing responses;
+    private final EvaluationService service = new EvaluationService();
+    private final LongAdder served = new LongAdder();
+    private final long startNanos = System.nanoTime();
+
+    private Thread worker;
+    private volatile boolean running;
+
+    /**
+     * Creates the file of a server with rings of {@link #DEFAULT_CAPACITY} bytes.
+     * The server does not answer requests before {@link #start()}.
+     *
+     * @param file the file shared with the caller, replaced if it exists
+     * @throws IOException if the file cannot be created or mapped
+     */
+    public SharedMemoryCalculatorServer(Path file) throws IOException {
+        this(file, DEFAULT_CAPACITY);
+    }
+
+    /**
+     * Creates the file of a server.
+     * The server does not answer requests before {@link #start()}.
+     *
+     * @param file the file shared with the caller, replaced if it exists
+     * @param capacity the size of the data area of each ring, a power of two of at least 4096 bytes
+     * @throws IOException if the file cannot be created or mapped
+     */
+    public SharedMemoryCalculatorServer(Path file, int capacity) throws IOException {
+        if (capacity < 4096 || Integer.bitCount(capacity) != 1) {
+            throw new IllegalArgumentException("The capacity must be a power of two of at least 4096: " + capacity);
+        }
+        this.file = file;
+        MappedByteBuffer mapped;
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.CREATE, StandardOpenOption.READ,
+                StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING)) {
+            mapped = channel.map(FileChannel.MapMode.READ_WRITE, 0, fileSize(capacity));
+        }
+        mapped.order(ByteOrder.nativeOrder());
+        this.requests = new SharedMemoryRing(ring(mapped, 0, capacity));
+        this.responses = new SharedMemoryRing(ring(mapped, 1, capacity));
+        mapped.putInt(4, VERSION);
+        mapped.putInt(8, capacity);
+        HEADER_INT.setRelease(mapped, 0, MAGIC);
+    }
+
+    /**
+     * @return the size of the file of rings with the given capacity
+     */
+    static long fileSize(int capacity) {
+        return FILE_HEADER_BYTES + 2L * (SharedMemoryRing.HEADER_BYTES + capacity);
+    }
+
+    /**
+     * @return the region of the file holding the request ring (0) or the response ring (1)
+     */
+    static ByteBuffer ring(MappedByteBuffer mapped, int ring, int capacity) {
+        int size = SharedMemoryRing.HEADER_BYTES + capacity;
+        return mapped.slice(FILE_HEADER_BYTES + ring * size, size);
+    }
+
+    /**
+     * Starts answering requests, on a platform thread that is not a daemon, so that the server
+     * keeps the virtual machine running until it is stopped.
+     */
+    public synchronized void start() {
+        if (worker == null) {
+            running = true;
+            worker = Thread.ofPlatform().name("calculator-shared-memory").start(this::serve);
+        }
+    }
+
+    /**
+     * Stops answering requests, waits for the thread of the server and deletes the file.
+     *
+     * @throws IOException if the file cannot be deleted
+     */
+    public synchronized void stop() throws IOException {
+        running = false;
+        if (worker != null) {
+            try {
+                worker.join();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+        Files.deleteIfExists(file);
+    }
+
+    /**
+     * @return the file shared with the caller
+     */
+    public Path file() {
+        return file;
+    }
+
+    /**
+     * Returns the counters of the service and the statistics of its caches.
+     *
+     * @return the metrics, by name
+     */
+    public Map<String, Object> metrics() {
+        Map<String, Object> metrics = new LinkedHashMap<>();
+        metrics.put("uptimeMillis", (System.nanoTime() - startNanos) / 1_000_000);
+        metrics.put("requests", served.sum());
+        service.addMetrics(metrics);
+        return metrics;
+    }
+
+    private void serve() {
+        SharedMemoryRing.Consumer handler = this::answer;
+        int idle = 0;
+        while (running) {
+            if (requests.poll(handler)) {
+                idle = 0;
+            } else {
+                SharedMemoryRing.idle(idle++);
+            }
+        }
+    }
+
+    private void answer(int id, int kind, byte[] payload, int length) {
+        String result;
+        int status = SocketProtocol.OK;
+        try {
+            result = switch (kind) {
+                case SocketProtocol.TEXT -> service.evaluate(new String(payload, 0, length, StandardCharsets.UTF_8));
+                case SocketProtocol.TREE -> service.evaluate(ExpressionCodec.read(ByteBuffer.wrap(payload, 0, length)));
+                default -> throw new IllegalArgumentException("Unknown request type: " + kind);
+            };
+        } catch (IllegalArgumentException e) {
+            result = e.getMessage();
+            status = SocketProtocol.ERROR;
+        } catch (IOException e) {
+            result = "Malformed expression tree: " + e.getMessage();
+            status = SocketProtocol.ERROR;
+        }
+        served.increment();
+
+        byte[] bytes = result.getBytes(StandardCharsets.UTF_8);
+        if (bytes.length > responses.maxPayload()) {
+            bytes = "Result too large".getBytes(StandardCharsets.UTF_8);
+            status = SocketProtocol.ERROR;
+        }
+        int idle = 0;
+        while (!responses.offer(id, status, bytes) && running) {
+            SharedMemoryRing.idle(idle++);
+        }
+    }
+}
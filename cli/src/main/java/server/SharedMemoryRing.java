@@ -0,0 +1,200 @@
+package server;
+
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.util.Arrays;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Single-producer, single-consumer ring buffer of messages, laid out in a region of memory that may be
+ * shared between processes, such as a memory-mapped file.
+ *
+ * <p>The region starts with two counters, each on a cache line of its own: the head, the total number of bytes
+ * written, and the tail, the total number of bytes read. The messages follow, in a data area whose size is a
+ * power of two. A message is a header of three {@code int}s, the length of its payload, an id and a kind,
+ * followed by the payload and padded to a multiple of 8 bytes. A message never wraps around the end of the data
+ * area: when it does not fit before the end, a length of {@code -1} marks the rest of the area as skipped.
+ *
+ * <p>The producer writes a message with plain stores, then publishes it by storing the new head with release
+ * semantics. The consumer loads the head with acquire semantics, which makes the whole message visible to it,
+ * and frees the space by storing the new tail with release semantics, which the producer loads with acquire
+ * semantics before reusing the space. Each side caches the last counter it loaded from the other side, so that
+ * the shared cache lines are only touched when the ring looks full or empty.
+ *
+ * <p>An instance is used by a single thread on each side: either the producer, or the consumer.
+ */
+final class SharedMemoryRing {
+
+    /** Size of the counters at the start of the region */
+    static final int HEADER_BYTES = 128;
+
+    /** Size of the header of a message */
+    static final int MESSAGE_HEADER_BYTES = 12;
+
+    private static final int HEAD = 0;
+    private static final int TAIL = 64;
+    private static final int SKIP = -1;
+
+    /** Number of busy-spins before yielding: none on a single processor, where spinning only delays the other side */
+    private static final int SPINS = Runtime.getRuntime().availableProcessors() > 1 ? 1000 : 0;
+
+    private static final VarHandle COUNTER =
+            MethodHandles.byteBufferViewVarHandle(long[].class, ByteOrder.nativeOrder());
+
+    /**
+     * Receiver of the messages read from a ring.
+     */
+    @FunctionalInterface
+    interface Consumer {
+
+        /**
+         * Receives a message.
+         *
+         * @param id the id of the message
+         * @param kind the kind of the message
+         * @param payload the payload, only valid during the call
+         * @param length the length of the payload
+         */
+        void accept(int id, int kind, byte[] payload, int length);
+    }
+
+    private final ByteBuffer region;
+    private final int capacity;
+
+    /** Last tail loaded by the producer, or last head loaded by the consumer */
+    private long cached;
+
+    /** Copy of the payload of the message being consumed */
+    private byte[] payload = new byte[256];
+
+    /**
+     * Creates a view of a ring laid out in a region, which must be zeroed for a new ring.
+     *
+     * @param region the region, aligned on 8 bytes, of {@link #HEADER_BYTES} bytes plus a power of two
+     */
+    SharedMemoryRing(ByteBuffer region) {
+        this.region = region.order(ByteOrder.nativeOrder());
+        this.capacity = region.capacity() - HEADER_BYTES;
+        if (capacity < 64 || Integer.bitCount(capacity) != 1) {
+            throw new IllegalArgumentException("The data area of a ring must be a power of two: " + capacity);
+        }
+    }
+
+    /**
+     * @return the largest payload a message can hold
+     */
+    int maxPayload() {
+        return capacity - MESSAGE_HEADER_BYTES;
+    }
+
+    /**
+     * Writes a message, if there is room for it.
+     *
+     * @param id the id of the message
+     * @param kind the kind of the message
+     * @param payload the payload
+     * @return true if the message was written, false if the ring is too full
+     * @throws IllegalArgumentException if the payload is larger than {@link #maxPayload()}
+     */
+    boolean offer(int id, int kind, byte[] payload) {
+        if (payload.length > maxPayload()) {
+            throw new IllegalArgumentException("Message larger than " + maxPayload() + " bytes");
+        }
+        int size = align(MESSAGE_HEADER_BYTES + payload.length);
+        long head = (long) COUNTER.getOpaque(region, HEAD);
+        int index = (int) head & (capacity - 1);
+        int untilEnd = capacity - index;
+        if (size > untilEnd) {
+            // Skip the end of the data area, which is published alone so that the consumer can free it
+            if (!hasRoom(head, untilEnd)) {
+                return false;
+            }
+            region.putInt(HEADER_BYTES + index, SKIP);
+            head += untilEnd;
+            COUNTER.setRelease(region, HEAD, head);
+            index = 0;
+        }
+        if (!hasRoom(head, size)) {
+            return false;
+        }
+        int at = HEADER_BYTES + index;
+        region.putInt(at, payload.length);
+        region.putInt(at + 4, id);
+        region.putInt(at + 8, kind);
+        region.put(at + MESSAGE_HEADER_BYTES, payload);
+        COUNTER.setRelease(region, HEAD, head + size);
+        return true;
+    }
+
+    private boolean hasRoom(long head, int size) {
+        if (head + size - cached > capacity) {
+            cached = (long) COUNTER.getAcquire(region, TAIL);
+            return head + size - cached <= capacity;
+        }
+        return true;
+    }
+
+    /**
+     * Reads the next message, if any.
+     *
+     * @param consumer the receiver of the message
+     * @return true if a message was read, false if the ring is empty
+     * @throws IllegalStateException if the ring holds a message that cannot have been written by {@link #offer}
+     */
+    boolean poll(Consumer consumer) {
+        long tail = (long) COUNTER.getOpaque(region, TAIL);
+        while (true) {
+            if (cached - tail <= 0) {
+                // Not known to be published yet, or not loaded yet by a view opened on an existing ring
+                cached = (long) COUNTER.getAcquire(region, HEAD);
+                if (cached - tail <= 0) {
+                    return false;
+                }
+            }
+            int index = (int) tail & (capacity - 1);
+            int at = HEADER_BYTES + index;
+            int length = region.getInt(at);
+            if (length == SKIP) {
+                tail += capacity - index;
+                COUNTER.setRelease(region, TAIL, tail);
+                continue;
+            }
+            if (length < 0 || length > maxPayload()) {
+                throw new IllegalStateException("Corrupted ring: message of " + length + " bytes");
+            }
+            if (length > payload.length) {
+                payload = Arrays.copyOf(payload, Math.max(length, 2 * payload.length));
+            }
+            int id = region.getInt(at + 4);
+            int kind = region.getInt(at + 8);
+            region.get(at + MESSAGE_HEADER_BYTES, payload, 0, length);
+            // The message is copied: its space can be reused before it is handled
+            COUNTER.setRelease(region, TAIL, tail + align(MESSAGE_HEADER_BYTES + length));
+            consumer.accept(id, kind, payload, length);
+            return true;
+        }
+    }
+
+    private static int align(int size) {
+        return (size + 7) & ~7;
+    }
+
+    /**
+     * Waits a little before polling a ring again: busy-spinning at first on a multiprocessor, so that a message
+     * arriving soon is seen within a fraction of a microsecond, then yielding the processor, and finally parking
+     * for up to {@code 100} microseconds when nothing has arrived for a while.
+     *
+     * @param idleCount the number of times in a row nothing was found
+     */
+    static void idle(int idleCount) {
+        if (idleCount < SPINS) {
+            Thread.onSpinWait();
+        } else if (idleCount < SPINS + 1000) {
+            Thread.yield();
+        } else {
+            LockSupport.parkNanos(Math.min(100_000, 1_000L * (idleCount - SPINS - 999)));
+        }
+    }
+}
@@ -0,0 +1,264 @@
+package server;
+
+import calculator.Expression;
+import calculator.ExpressionCodec;
+
+import java.io.IOException;
+import java.net.StandardProtocolFamily;
+import java.net.UnixDomainSocketAddress;
+import java.nio.ByteBuffer;
+import java.nio.channels.SocketChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Client of a {@link SocketCalculatorServer}, over a single connection that may be shared by several threads.
+ *
+ * <p>Requests are pipelined: {@link #submit(String)} sends a request and returns at once with a future of
+ * its result, and {@link #submitAll(List)} sends a whole batch in a single write. A thread of the client reads
+ * the responses and completes the futures, matching them with their requests by id. The future of an expression
+ * that could not be evaluated fails with an {@link IllegalArgumentException} holding the reason, and all
+ * the futures still pending fail with an {@link IOException} when the connection is lost or closed.
+ */
+public final class SocketCalculatorClient implements AutoCloseable {
+
+    private static final int BUFFER_BYTES = 1 << 16;
+
+    private final SocketChannel channel;
+    private final Map<Integer, CompletableFuture<String>> pending = new ConcurrentHashMap<>();
+    private final AtomicInteger nextId = new AtomicInteger();
+    private final Thread reader;
+
+    /** Guards the output buffer and the writes to the channel */
+    private final ReentrantLock writeLock = new ReentrantLock();
+    private ByteBuffer out = ByteBuffer.allocate(BUFFER_BYTES);
+
+    private volatile boolean closed;
+
+    private SocketCalculatorClient(SocketChannel channel) {
+        this.channel = channel;
+        // A platform thread rather than a virtual one: it blocks in the read itself, without waking up a poller
+        this.reader = Thread.ofPlatform().daemon().name("calculator-client-reader").start(this::readLoop);
+    }
+
+    /**
+     * Connects to a server.
+     *
+     * @param path the path of the socket of the server
+     * @return the client
+     * @throws IOException if the connection fails
+     */
+    public static SocketCalculatorClient connect(Path path) throws IOException {
+        SocketChannel channel = SocketChannel.open(StandardProtocolFamily.UNIX);
+        try {
+            channel.connect(UnixDomainSocketAddress.of(path));
+        } catch (IOException e) {
+            channel.close();
+            throw e;
+        }
+        return new SocketCalculatorClient(channel);
+    }
+
+    /**
+     * Evaluates an expression, waiting for its result.
+     *
+     * @param expression the expression
+     * @return the result, as displayed
+     * @throws IllegalArgumentException if the expression cannot be evaluated, with the reason as message
+     * @throws IOException if the connection is lost
+     */
+    public String evaluate(String expression) throws IOException {
+        return await(submit(expression));
+    }
+
+    /**
+     * Evaluates an expression tree, waiting for its result.
+     *
+     * @param expression the expression
+     * @return the result, as displayed
+     * @throws IllegalArgumentException if the expression cannot be evaluated, with the reason as message
+     * @throws IOException if the connection is lost
+     */
+    public String evaluate(Expression expression) throws IOException {
+        return await(submit(expression));
+    }
+
+    /**
+     * Sends an expression to evaluate.
+     *
+     * @param expression the expression
+     * @return the future of its result
+     */
+    public CompletableFuture<String> submit(String expression) {
+        return submitAll(List.of(expression)).getFirst();
+    }
+
+    /**
+     * Sends an expression tree to evaluate.
+     *
+     * @param expression the expression
+     * @return the future of its result
+     * @throws IllegalArgumentException if the expression contains a node that cannot be encoded
+     */
+    public CompletableFuture<String> submit(Expression expression) {
+        return send(List.of(ExpressionCodec.toBytes(expression)), SocketProtocol.TREE).getFirst();
+    }
+
+    /**
+     * Sends expressions to evaluate, in a single write.
+     *
+     * @param expressions the expressions
+     * @return the futures of their results, in the same order
+     */
+    public List<CompletableFuture<String>> submitAll(List<String> expressions) {
+        List<byte[]> payloads = new ArrayList<>(expressions.size());
+        for (String expression : expressions) {
+            payloads.add(expression.getBytes(StandardCharsets.UTF_8));
+        }
+        return send(payloads, SocketProtocol.TEXT);
+    }
+
+    /**
+     * Closes the connection. The results still pending fail with an {@link IOException}.
+     *
+     * @throws IOException if the connection cannot be closed
+     */
+    @Override
+    public void close() throws IOException {
+        closed = true;
+        channel.close();
+        try {
+            reader.join();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private List<CompletableFuture<String>> send(List<byte[]> payloads, byte type) {
+        List<CompletableFuture<String>> futures = new ArrayList<>(payloads.size());
+        writeLock.lock();
+        try {
+            for (byte[] payload : payloads) {
+                int size = SocketProtocol.HEADER_BYTES + payload.length;
+                if (size > SocketProtocol.MAX_FRAME_BYTES) {
+                    futures.add(CompletableFuture.failedFuture(new IllegalArgumentException(
+                            "Expression larger than " + SocketProtocol.MAX_FRAME_BYTES + " bytes")));
+                    continue;
+                }
+                if (out.remaining() < size) {
+                    flush();
+                    if (out.capacity() < size) {
+                        out = ByteBuffer.allocate(size);
+                    }
+                }
+                int id = nextId.getAndIncrement();
+                CompletableFuture<String> future = new CompletableFuture<>();
+                pending.put(id, future);
+                futures.add(future);
+                out.putInt(size - 4).putInt(id).put(type).put(payload);
+            }
+            flush();
+        } catch (IOException e) {
+            fail(e);
+        } finally {
+            writeLock.unlock();
+        }
+        if (closed) {
+            // The reader may have failed the pending futures before these were registered
+            fail(new IOException("Connection closed"));
+        }
+        return futures;
+    }
+
+    private void flush() throws IOException {
+        out.flip();
+        try {
+            while (out.hasRemaining()) {
+                channel.write(out);
+            }
+        } finally {
+            out.clear();
+        }
+    }
+
+    private void readLoop() {
+        ByteBuffer in = ByteBuffer.allocate(BUFFER_BYTES);
+        try {
+            while (channel.read(in) >= 0) {
+                in.flip();
+                while (in.remaining() >= 4) {
+                    int length = in.getInt(in.position());
+                    if (length < SocketProtocol.HEADER_BYTES - 4) {
+                        throw new IOException("Malformed response");
+                    }
+                    if (in.remaining() < 4 + length) {
+                        if (4 + length > in.capacity()) {
+                            ByteBuffer grown = ByteBuffer.allocate(Math.max(4 + length, 2 * in.capacity()));
+                            in = grown.put(in).flip();
+                        }
+                        break;
+                    }
+                    int start = in.position();
+                    int id = in.getInt(start + 4);
+                    byte status = in.get(start + 8);
+                    String text = new String(in.array(), start + SocketProtocol.HEADER_BYTES, length - 5,
+                            StandardCharsets.UTF_8);
+                    in.position(start + 4 + length);
+                    CompletableFuture<String> future = pending.remove(id);
+                    if (future != null) {
+                        if (status == SocketProtocol.OK) {
+                            future.complete(text);
+                        } else {
+                            future.completeExceptionally(new IllegalArgumentException(text));
+                        }
+                    }
+                }
+                in.compact();
+            }
+            fail(new IOException("Connection closed by the server"));
+        } catch (IOException e) {
+            fail(closed ? new IOException("Connection closed") : e);
+        }
+    }
+
+    /**
+     * Marks the connection as closed and fails all the pending futures.
+     */
+    private void fail(IOException cause) {
+        closed = true;
+        try {
+            channel.close();
+        } catch (IOException e) {
+            cause.addSuppressed(e);
+        }
+        for (Integer id : pending.keySet()) {
+            CompletableFuture<String> future = pending.remove(id);
+            if (future != null) {
+                future.completeExceptionally(cause);
+            }
+        }
+    }
+
+    private static String await(CompletableFuture<String> future) throws IOException {
+        try {
+            return future.join();
+        } catch (CompletionException e) {
+            switch (e.getCause()) {
+                case IllegalArgumentException cause -> throw new IllegalArgumentException(cause.getMessage(), cause);
+                case IOException cause -> throw new IOException(cause.getMessage(), cause);
+                default -> throw e;
+            }
+        } catch (CancellationException e) {
+            throw new IOException("Cancelled", e);
+        }
+    }
+}
@@ -0,0 +1,251 @@
+package server;
+
+import calculator.ExpressionCodec;
+import calculator.ParseCache;
+import calculator.ResultCache;
+
+import java.io.IOException;
+import java.net.StandardProtocolFamily;
+import java.net.UnixDomainSocketAddress;
+import java.nio.ByteBuffer;
+import java.nio.channels.ClosedChannelException;
+import java.nio.channels.ServerSocketChannel;
+import java.nio.channels.SocketChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Evaluation service for clients on the same machine, speaking the {@link SocketProtocol} over a Unix domain socket.
+ * Each connection is served by a virtual thread of its own, which reads the requests, evaluates them in order,
+ * and writes their responses. The responses of the requests already received are written together, just before
+ * the thread waits for more requests, so that a client pipelining its requests gets its responses in few writes.
+ *
+ * <p>Expressions are evaluated as by {@code --eval}, see {@link EvaluationService}, with a {@link ParseCache}
+ * and a {@link ResultCache} shared by all the connections.
+ * Expression trees are evaluated as they are decoded, without going through the parse cache.
+ */
+public final class SocketCalculatorServer {
+
+    /** Initial size of the buffers of a connection */
+    private static final int BUFFER_BYTES = 1 << 16;
+
+    private final Path path;
+    private final ServerSocketChannel serverChannel;
+    private final ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor();
+    private final Set<SocketChannel> connections = ConcurrentHashMap.newKeySet();
+    private final EvaluationService service;
+    private Thread acceptor;
+
+    private final LongAdder accepted = new LongAdder();
+    private final LongAdder requests = new LongAdder();
+    private final long startNanos = System.nanoTime();
+
+    /**
+     * Creates a server listening on a Unix domain socket, with caches of its own.
+     * The server does not accept connections before {@link #start()}.
+     *
+     * @param path the path of the socket, which must not exist
+     * @throws IOException if the socket cannot be bound
+     */
+    public SocketCalculatorServer(Path path) throws IOException {
+        this(path, new EvaluationService());
+    }
+
+    /**
+     * Creates a server listening on a Unix domain socket.
+     * The server does not accept connections before {@link #start()}.
+     *
+     * @param path the path of the socket, which must not exist
+     * @param parseCache the cache of the parsed expressions
+     * @param resultCache the cache of the results of the expressions
+     * @throws IOException if the socket cannot be bound
+     */
+    public SocketCalculatorServer(Path path, ParseCache parseCache, ResultCache resultCache) throws IOException {
+        this(path, new EvaluationService(parseCache, resultCache));
+    }
+
+    private SocketCalculatorServer(Path path, EvaluationService service) throws IOException {
+        this.path = path;
+        this.service = service;
+        this.serverChannel = ServerSocketChannel.open(StandardProtocolFamily.UNIX);
+        try {
+            serverChannel.bind(UnixDomainSocketAddress.of(path));
+        } catch (IOException e) {
+            serverChannel.close();
+            throw e;
+        }
+    }
+
+    /**
+     * Starts accepting connections, on a platform thread that is not a daemon, so that the server
+     * keeps the virtual machine running until it is stopped, like the JDK HTTP server.
+     */
+    public synchronized void start() {
+        if (acceptor == null) {
+            acceptor = Thread.ofPlatform().name("calculator-socket-acceptor").start(this::acceptLoop);
+        }
+    }
+
+    /**
+     * Stops accepting connections, closes the open ones, waits for their threads and deletes the socket.
+     *
+     * @throws IOException if the socket cannot be deleted
+     */
+    public synchronized void stop() throws IOException {
+        serverChannel.close();
+        if (acceptor != null) {
+            try {
+                acceptor.join();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+        for (SocketChannel channel : connections) {
+            channel.close();
+        }
+        executor.close();
+        Files.deleteIfExists(path);
+    }
+
+    /**
+     * @return the path of the socket the server listens on
+     */
+    public Path path() {
+        return path;
+    }
+
+    /**
+     * Returns the counters of the service and the statistics of its caches.
+     *
+     * @return the metrics, by name
+     */
+    public Map<String, Object> metrics() {
+        Map<String, Object> metrics = new LinkedHashMap<>();
+        metrics.put("uptimeMillis", (System.nanoTime() - startNanos) / 1_000_000);
+        metrics.put("connections", accepted.sum());
+        metrics.put("openConnections", connections.size());
+        metrics.put("requests", requests.sum());
+        service.addMetrics(metrics);
+        return metrics;
+    }
+
+    private void acceptLoop() {
+        while (serverChannel.isOpen()) {
+            SocketChannel channel;
+            try {
+                channel = serverChannel.accept();
+            } catch (IOException e) {
+                return; // closed by stop()
+            }
+            accepted.increment();
+            connections.add(channel);
+            executor.submit(() -> serve(channel));
+        }
+    }
+
+    /**
+     * Serves the requests of a connection until the client closes it, or sends a malformed frame.
+     */
+    private void serve(SocketChannel channel) {
+        ByteBuffer in = ByteBuffer.allocate(BUFFER_BYTES);
+        ByteBuffer out = ByteBuffer.allocate(BUFFER_BYTES);
+        try (channel) {
+            while (channel.read(in) >= 0) {
+                in.flip();
+                while (in.remaining() >= 4) {
+                    int length = in.getInt(in.position());
+                    if (length < SocketProtocol.HEADER_BYTES - 4 || length > SocketProtocol.MAX_FRAME_BYTES - 4) {
+                        return; // malformed frame: close the connection
+                    }
+                    if (in.remaining() < 4 + length) {
+                        if (4 + length > in.capacity()) {
+                            in = grow(in, 4 + length);
+                        }
+                        break;
+                    }
+                    int start = in.position();
+                    int id = in.getInt(start + 4);
+                    byte type = in.get(start + 8);
+                    ByteBuffer payload = in.slice(start + SocketProtocol.HEADER_BYTES, length - 5);
+                    in.position(start + 4 + length);
+                    String result;
+                    byte status = SocketProtocol.OK;
+                    try {
+                        result = switch (type) {
+                            case SocketProtocol.TEXT -> service.evaluate(new String(in.array(),
+                                    start + SocketProtocol.HEADER_BYTES, length - 5, StandardCharsets.UTF_8));
+                            case SocketProtocol.TREE -> service.evaluate(ExpressionCodec.read(payload));
+                            default -> throw new IOException("Unknown request type: " + type);
+                        };
+                    } catch (IllegalArgumentException e) {
+                        result = e.getMessage();
+                        status = SocketProtocol.ERROR;
+                    } catch (IOException e) {
+                        if (type != SocketProtocol.TREE) {
+                            return; // unknown request type: close the connection
+                        }
+                        result = "Malformed expression tree: " + e.getMessage();
+                        status = SocketProtocol.ERROR;
+                    }
+                    requests.increment();
+                    out = respond(channel, out, id, status, result);
+                }
+                in.compact();
+                // No complete request left: send the responses before waiting for more requests
+                flush(channel, out);
+            }
+        } catch (ClosedChannelException e) {
+            // Closed by stop()
+        } catch (IOException e) {
+            // The client is gone: nothing left to answer
+        } finally {
+            connections.remove(channel);
+        }
+    }
+
+    /**
+     * Appends a response to the output buffer, flushing or growing it when it is full.
+     *
+     * @return the output buffer
+     */
+    private static ByteBuffer respond(SocketChannel channel, ByteBuffer out, int id, byte status, String result)
+            throws IOException {
+        byte[] bytes = result.getBytes(StandardCharsets.UTF_8);
+        int size = SocketProtocol.HEADER_BYTES + bytes.length;
+        if (out.remaining() < size) {
+            flush(channel, out);
+            if (out.capacity() < size) {
+                out = ByteBuffer.allocate(size);
+            }
+        }
+        out.putInt(size - 4).putInt(id).put(status).put(bytes);
+        return out;
+    }
+
+    private static void flush(SocketChannel channel, ByteBuffer out) throws IOException {
+        out.flip();
+        while (out.hasRemaining()) {
+            channel.write(out);
+        }
+        out.clear();
+    }
+
+    /**
+     * Returns a buffer of at least the given capacity holding the data remaining in a buffer,
+     * both in reading mode.
+     */
+    private static ByteBuffer grow(ByteBuffer buffer, int capacity) {
+        ByteBuffer grown = ByteBuffer.allocate(Math.max(capacity, 2 * buffer.capacity()));
+        grown.put(buffer);
+        grown.flip();
+        return grown;
+    }
+}
@@ -0,0 +1,43 @@
+package server;
+
+/**
+ * Binary protocol spoken over a Unix domain socket by the {@link SocketCalculatorServer} and the
+ * {@link SocketCalculatorClient}, for clients on the same machine for which HTTP framing would cost more than
+ * the evaluations themselves.
+ *
+ * <p>Requests and responses are frames made of a big-endian header followed by a payload:
+ * <ul>
+ *     <li>a request is the {@code int} length of the rest of the frame, the {@code int} id of the request,
+ *     chosen by the client, a type byte, {@link #TEXT} or {@link #TREE}, and the expression: its text in UTF-8,
+ *     or its tree in the format of {@link calculator.ExpressionCodec};</li>
+ *     <li>a response is the {@code int} length of the rest of the frame, the id of the request it answers,
+ *     a status byte, {@link #OK} or {@link #ERROR}, and the result or the reason of the error, in UTF-8.</li>
+ * </ul>
+ * A client may send any number of requests without waiting for their responses. The server answers the
+ * requests of a connection in the order they were sent, but a client should match the responses by id.
+ * A frame longer than {@link #MAX_FRAME_BYTES}, or of unknown type, closes the connection.
+ */
+public final class SocketProtocol {
+
+    /** Type of a request holding the text of an expression */
+    public static final byte TEXT = 0;
+
+    /** Type of a request holding an expression tree encoded by {@link calculator.ExpressionCodec} */
+    public static final byte TREE = 1;
+
+    /** Status of a response holding a result */
+    public static final byte OK = 0;
+
+    /** Status of a response holding the reason an expression could not be evaluated */
+    public static final byte ERROR = 1;
+
+    /** Size of the header of a frame: its length, the id of the request and the type or status byte */
+    public static final int HEADER_BYTES = 9;
+
+    /** Largest frame accepted, header included */
+    public static final int MAX_FRAME_BYTES = 4 << 20;
+
+    private SocketProtocol() {
+        // Constants only
+    }
+}
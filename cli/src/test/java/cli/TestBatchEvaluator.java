@@ -0,0 +1,98 @@
+package cli;
+
+import static org.junit.jupiter.api.Assertions.*;
+import org.junit.jupiter.api.*;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+
+class TestBatchEvaluator {
+
+    private static String run(BatchEvaluator batch, String input) throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        batch.run(new ByteArrayInputStream(input.getBytes(StandardCharsets.UTF_8)), out);
+        return out.toString(StandardCharsets.UTF_8);
+    }
+
+    @Test
+    void testResults() throws IOException {
+        String input = "1 + 2\n\n3/4\r\n2*(3\nsqrt(16)+max(1,2)\n2^100\n3*π";
+        String expected = "3\n\n3/4\nERROR\t4\tMismatched parentheses\n6\n1267650600228229401496703205376\n"
+                + 3 * Math.PI + "\n";
+        assertEquals(expected, run(new BatchEvaluator(2), input));
+
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        BatchEvaluator.Report report = new BatchEvaluator(2)
+                .run(new ByteArrayInputStream(input.getBytes(StandardCharsets.UTF_8)), out);
+        assertEquals(6, report.expressions());
+        assertEquals(1, report.errors());
+        assertEquals(input.getBytes(StandardCharsets.UTF_8).length, report.bytes());
+        assertTrue(report.toString().startsWith("6 expressions (1 errors) in "));
+    }
+
+    @Test
+    void testEmptyInput() throws IOException {
+        assertEquals("", run(new BatchEvaluator(1), ""));
+        assertEquals("\n\n", run(new BatchEvaluator(1), "\n\n"));
+    }
+
+    @Test
+    void testOrderAcrossChunks() throws IOException {
+        // Tiny chunks, so that many are in flight and finish out of order
+        StringBuilder input = new StringBuilder();
+        StringBuilder expected = new StringBuilder();
+        for (int i = 0; i < 5000; i++) {
+            input.append(i).append("*2+1\n");
+            expected.append(i * 2 + 1).append('\n');
+        }
+        // A line longer than a chunk
+        input.append("1+".repeat(100)).append("1\n");
+        expected.append("101\n");
+        assertEquals(expected.toString(), run(new BatchEvaluator(4, 16), input.toString()));
+        assertEquals(expected.toString(), run(new BatchEvaluator(1, 7), input.toString()));
+    }
+
+    @Test
+    void testSameOutputAsPipe() throws IOException {
+        // Errors are numbered by their line in the whole input, whatever the chunk holding them
+        StringBuilder input = new StringBuilder();
+        for (int i = 0; i < 500; i++) {
+            input.append(i % 7 == 0 ? "2*(" + i : i % 11 == 0 ? "" : "foo(" + i + ")")
+                    .append(i % 3 == 0 ? "\r\n" : "\n");
+        }
+        ByteArrayOutputStream pipe = new ByteArrayOutputStream();
+        new PipeEvaluator().run(new ByteArrayInputStream(input.toString().getBytes(StandardCharsets.UTF_8)), pipe);
+        String expected = pipe.toString(StandardCharsets.UTF_8);
+        assertTrue(expected.contains("ERROR\t499\tUnknown function: foo\n"));
+        assertEquals(expected, run(new BatchEvaluator(4, 16), input.toString()));
+        assertEquals(expected, run(new BatchEvaluator(1), input.toString()));
+    }
+
+    @Test
+    void testFailures() {
+        assertThrows(IllegalArgumentException.class, () -> new BatchEvaluator(0));
+        assertThrows(IllegalArgumentException.class, () -> new BatchEvaluator(1, 0));
+
+        InputStream failing = new InputStream() {
+            @Override
+            public int read() throws IOException {
+                throw new IOException("Broken input");
+            }
+        };
+        assertThrows(IOException.class, () -> new BatchEvaluator(2).run(failing, OutputStream.nullOutputStream()));
+
+        OutputStream broken = new OutputStream() {
+            @Override
+            public void write(int b) throws IOException {
+                throw new IOException("Broken output");
+            }
+        };
+        String input = "1+1\n".repeat(1000);
+        assertThrows(IOException.class, () -> new BatchEvaluator(2, 64)
+                .run(new ByteArrayInputStream(input.getBytes(StandardCharsets.UTF_8)), broken));
+    }
+}
@@ -0,0 +1,165 @@
+package cli;
+
+import static org.junit.jupiter.api.Assertions.*;
+import org.junit.jupiter.api.*;
+
+import server.Json;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.Map;
+
+class TestJsonLinesEvaluator {
+
+    private static List<Map<?, ?>> run(String input) throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        new JsonLinesEvaluator().run(new ByteArrayInputStream(input.getBytes(StandardCharsets.UTF_8)), out);
+        String output = out.toString(StandardCharsets.UTF_8);
+        assertTrue(output.isEmpty() || output.endsWith("\n"));
+        return output.lines().<Map<?, ?>>map(line -> (Map<?, ?>) Json.parse(line)).toList();
+    }
+
+    private static Map<?, ?> single(String request) throws IOException {
+        List<Map<?, ?>> responses = run(request);
+        assertEquals(1, responses.size());
+        return responses.get(0);
+    }
+
+    @Test
+    void testResults() throws IOException {
+        List<Map<?, ?>> responses = run("""
+                {"id":7,"expression":"1/3 + 1/6"}
+
+                {"expression":"2^100"}\r
+                  {"id":"b" , "expression" : "sqrt(16)+max(1,2)"}
+                {"expression":"2+3i"}
+                {"expression":"3 * π"}""");
+        assertEquals(5, responses.size());
+
+        Map<?, ?> first = responses.get(0);
+        assertEquals(List.of("id", "result", "type", "nanos"), List.copyOf(first.keySet()));
+        assertEquals(7L, first.get("id"));
+        assertEquals("1/2", first.get("result"));
+        assertEquals("rational", first.get("type"));
+        assertTrue((Long) first.get("nanos") >= 0);
+
+        assertEquals("1267650600228229401496703205376", responses.get(1).get("result"));
+        assertEquals("integer", responses.get(1).get("type"));
+        assertFalse(responses.get(1).containsKey("id"));
+        assertEquals("b", responses.get(2).get("id"));
+        assertEquals("6", responses.get(2).get("result"));
+        assertEquals("2 + 3i", responses.get(3).get("result"));
+        assertEquals("complex", responses.get(3).get("type"));
+        assertEquals(String.valueOf(3 * Math.PI), responses.get(4).get("result"));
+        assertEquals("real", responses.get(4).get("type"));
+        assertEquals(List.of(), run(""));
+        assertEquals(List.of(), run("\n  \n"));
+    }
+
+    @Test
+    void testTypeOfLiterals() throws IOException {
+        assertEquals("integer", single("{\"expression\":\"3\"}").get("type"));
+        assertEquals("3", single("{\"expression\":\"3\"}").get("result"));
+        // A literal has the type of an operation with the same value, whatever the options
+        for (String literal : List.of("3", "-3", "3.0", "1.5", "3/4", "2i", "1+2i")) {
+            for (String options : List.of("", ",\"preserveFractions\":false")) {
+                Map<?, ?> bare = single("{\"expression\":\"" + literal + "\"" + options + "}");
+                Map<?, ?> sum = single("{\"expression\":\"(" + literal + ")+0\"" + options + "}");
+                assertEquals(sum.get("type"), bare.get("type"), literal + options);
+            }
+        }
+    }
+
+    @Test
+    void testOptions() throws IOException {
+        assertEquals("3/4", single("{\"expression\":\"3/4\"}").get("result"));
+        assertEquals("0.75", single("{\"expression\":\"3/4\",\"preserveFractions\":false}").get("result"));
+        assertEquals("7", single("{\"expression\":\"+(1,*(2,3))\",\"notation\":\"prefix\"}").get("result"));
+        assertEquals("7", single("{\"expression\":\"(1,(2,3)*)+\",\"notation\":\"POSTFIX\"}").get("result"));
+        assertEquals("7", single("{\"expression\":\"1+2*3\",\"budget\":2}").get("result"));
+        assertEquals("5", single("{\"expression\":\"2+3\",\"comment\":{\"tags\":[\"a\",1.5e3,null,true]}}")
+                .get("result"));
+        // The id is copied as is, whatever its type
+        assertEquals(List.of(1L, Map.of("k", "v")),
+                single("{\"id\":[1,{\"k\":\"v\"}],\"expression\":\"1\"}").get("id"));
+    }
+
+    @Test
+    void testStrings() throws IOException {
+        assertEquals("3", single("{\"expression\":\"\\u0031\\t+\\n2\"}").get("result"));
+        assertEquals(String.valueOf(2 * Math.PI), single("{\"expression\":\"2*\\u03c0\"}").get("result"));
+        assertEquals(String.valueOf(2 * Math.PI), single("{\"expression\":\"2*π\"}").get("result"));
+        assertEquals("é", single("{\"id\":\"é\",\"expression\":\"1\"}").get("id"));
+        assertEquals("3", single("{\"expr\\u0065ssion\":\"1+2\"}").get("result"));
+    }
+
+    @Test
+    void testErrors() throws IOException {
+        List<Map<?, ?>> responses = run("""
+                {"id":1,"expression":"2*(3"}
+                {"id":2,"expression":"1+2*3","budget":1}
+                {"id":3,"expression":"foo(1)"}""");
+        assertEquals(Map.of("kind", "parse", "message", "Mismatched parentheses", "line", 1L),
+                responses.get(0).get("error"));
+        assertEquals(1L, responses.get(0).get("id"));
+        assertTrue(responses.get(0).containsKey("nanos"));
+        assertEquals(Map.of("kind", "budget", "message", "Expression of more than 1 operations", "line", 2L),
+                responses.get(1).get("error"));
+        assertEquals("Unknown function: foo", ((Map<?, ?>) responses.get(2).get("error")).get("message"));
+
+        for (String request : List.of("2+3", "{\"expression\":\"1\"", "{\"expression\":\"1\"} x", "{\"id\":1}",
+                "{\"expression\":1}", "{\"expression\":\"1\",\"preserveFractions\":\"yes\"}",
+                "{\"expression\":\"1\",\"notation\":\"reverse\"}", "{\"expression\":\"1\",\"budget\":-1}",
+                "{\"expression\":\"1\",\"budget\":1.5}", "{\"expression\":\"1\",\"budget\":99999999999999999999}",
+                "{\"expression\":\"1\",\"x\":[1,}", "{\"expression\":\"1\\q\"}", "[" + "[".repeat(1000))) {
+            Map<?, ?> response = single(request);
+            Map<?, ?> error = (Map<?, ?>) response.get("error");
+            assertNotNull(error, request);
+            assertEquals("request", error.get("kind"), request);
+            assertFalse(response.containsKey("nanos"), request);
+        }
+        assertEquals("Missing expression",
+                ((Map<?, ?>) single("{\"id\":\"x\"}").get("error")).get("message"));
+        assertEquals("x", single("{\"id\":\"x\"}").get("id"));
+        assertTrue(((String) ((Map<?, ?>) single("{\"expression\":1}").get("error")).get("message"))
+                .startsWith("Invalid JSON at offset 14"));
+    }
+
+    @Test
+    void testBudgetBoundsTheCost() throws IOException {
+        // The cost of an evaluation grows with the number of operations, not exponentially with their depth
+        int depth = 500;
+        String deep = "(".repeat(depth) + "1" + "+1/3)".repeat(depth);
+        assertEquals("503/3", single("{\"expression\":\"" + deep + "\",\"budget\":" + depth + "}")
+                .get("result"));
+        Map<?, ?> error = (Map<?, ?>) single("{\"expression\":\"" + deep + "\",\"budget\":100}").get("error");
+        assertEquals("budget", error.get("kind"));
+    }
+
+    @Test
+    void testMessagesAreEscaped() throws IOException {
+        Map<?, ?> error = (Map<?, ?>) single("{\"expression\":\"\\\"quoted\\\"(1)\"}").get("error");
+        assertEquals("parse", error.get("kind"));
+    }
+
+    @Test
+    void testReport() throws IOException {
+        byte[] input = "{\"expression\":\"1+1\"}\n{\"expression\":\"foo(2)\"}\n\n{}\n{\"expression\":\"4*4\"}\n"
+                .getBytes(StandardCharsets.UTF_8);
+        BatchEvaluator.Report report = new JsonLinesEvaluator()
+                .run(new ByteArrayInputStream(input), new ByteArrayOutputStream());
+        assertEquals(4, report.expressions());
+        assertEquals(2, report.errors());
+        assertEquals(input.length, report.bytes());
+    }
+
+    @Test
+    void testLongLine() throws IOException {
+        String expression = "1" + "+1".repeat(LineEvaluator.BUFFER_SIZE);
+        Map<?, ?> response = single("{\"expression\":\"" + expression + "\"}");
+        assertEquals(String.valueOf(LineEvaluator.BUFFER_SIZE + 1), response.get("result"));
+    }
+}
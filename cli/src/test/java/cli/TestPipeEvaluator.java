@@ -0,0 +1,94 @@
+package cli;
+
+import static org.junit.jupiter.api.Assertions.*;
+import org.junit.jupiter.api.*;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+
+class TestPipeEvaluator {
+
+    private static String run(String input) throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        new PipeEvaluator().run(new ByteArrayInputStream(input.getBytes(StandardCharsets.UTF_8)), out);
+        return out.toString(StandardCharsets.UTF_8);
+    }
+
+    @Test
+    void testResults() throws IOException {
+        String input = "1 + 2\n\n3/4\r\n2*(3\nsqrt(16)+max(1,2)\n2^100\n3 * π";
+        String expected = "3\n\n3/4\nERROR\t4\tMismatched parentheses\n6\n1267650600228229401496703205376\n"
+                + 3 * Math.PI + "\n";
+        assertEquals(expected, run(input));
+        assertEquals("", run(""));
+        assertEquals("\n\n", run("\n \n"));
+    }
+
+    @Test
+    void testReasonIsOneField() {
+        // An error line stays a single line of three fields, whatever the message
+        assertEquals("a b  c", PipeEvaluator.reason(new IllegalStateException("a\nb\r\tc")));
+        assertEquals("null", PipeEvaluator.reason(new IllegalStateException()));
+        assertEquals("Expression too deep", PipeEvaluator.reason(new StackOverflowError()));
+    }
+
+    @Test
+    void testReport() throws IOException {
+        byte[] input = "1+1\nfoo(2)\n\n4*4\n".getBytes(StandardCharsets.UTF_8);
+        BatchEvaluator.Report report = new PipeEvaluator()
+                .run(new ByteArrayInputStream(input), new ByteArrayOutputStream());
+        assertEquals(3, report.expressions());
+        assertEquals(1, report.errors());
+        assertEquals(input.length, report.bytes());
+    }
+
+    @Test
+    void testLongInput() throws IOException {
+        StringBuilder input = new StringBuilder();
+        StringBuilder expected = new StringBuilder();
+        for (int i = 0; i < 50_000; i++) {
+            input.append(i).append(" * 2\n");
+            expected.append(2L * i).append('\n');
+        }
+        String longLine = "1+".repeat(100_000) + "1";
+        input.append(longLine);
+        expected.append(100_001).append('\n');
+        assertEquals(expected.toString(), run(input.toString()));
+    }
+
+    @Test
+    void testFlushesBeforeWaitingForInput() throws IOException {
+        // Input arriving in two parts: the results of the first part must be flushed before the second is read
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        int[] flushedBeforeSecondRead = {-1};
+        InputStream in = new InputStream() {
+            private final byte[][] parts = {"1+1\n2+2\n".getBytes(StandardCharsets.UTF_8),
+                    "3+3\n".getBytes(StandardCharsets.UTF_8)};
+            private int part;
+
+            @Override
+            public int read() {
+                throw new UnsupportedOperationException();
+            }
+
+            @Override
+            public int read(byte[] b, int off, int len) {
+                if (part == 1) {
+                    flushedBeforeSecondRead[0] = out.size();
+                }
+                if (part == parts.length) {
+                    return -1;
+                }
+                byte[] p = parts[part++];
+                System.arraycopy(p, 0, b, off, p.length);
+                return p.length;
+            }
+        };
+        new PipeEvaluator().run(in, out);
+        assertEquals(4, flushedBeforeSecondRead[0]);
+        assertEquals("2\n4\n6\n", out.toString(StandardCharsets.UTF_8));
+    }
+}
@@ -0,0 +1,86 @@
+package server;
+
+import static org.junit.jupiter.api.Assertions.*;
+import org.junit.jupiter.api.*;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.util.List;
+import java.util.Map;
+
+class TestHttpCalculatorServer {
+
+    private static HttpCalculatorServer server;
+    private static HttpClient client;
+
+    @BeforeAll
+    static void start() throws IOException {
+        server = new HttpCalculatorServer(0);
+        server.start();
+        client = HttpClient.newHttpClient();
+    }
+
+    @AfterAll
+    static void stop() {
+        client.close();
+        server.stop(0);
+    }
+
+    private static HttpResponse<String> send(String method, String path, String body) throws Exception {
+        HttpRequest request = HttpRequest.newBuilder(URI.create("http://localhost:" + server.port() + path))
+                .method(method, body == null ? HttpRequest.BodyPublishers.noBody() : HttpRequest.BodyPublishers.ofString(body))
+                .build();
+        return client.send(request, HttpResponse.BodyHandlers.ofString());
+    }
+
+    @Test
+    void testEval() throws Exception {
+        HttpResponse<String> response = send("POST", "/eval", "{\"expression\": \"1 + 2 * 3\"}");
+        assertEquals(200, response.statusCode());
+        assertEquals("{\"result\":\"7\"}", response.body());
+        assertTrue(response.headers().firstValue("Content-Type").orElse("").startsWith("application/json"));
+
+        response = send("POST", "/eval", "{\"expression\": \"2*(3\"}");
+        assertEquals(200, response.statusCode());
+        assertEquals("{\"error\":\"Mismatched parentheses\"}", response.body());
+    }
+
+    @Test
+    void testBatch() throws Exception {
+        HttpResponse<String> response = send("POST", "/eval", "{\"expressions\": [\"2^10\", \"1/0\", \"max(1, 4)\", \"\"]}");
+        assertEquals(200, response.statusCode());
+        Map<?, ?> body = (Map<?, ?>) Json.parse(response.body());
+        List<?> results = (List<?>) body.get("results");
+        assertEquals(4, results.size());
+        assertEquals(Map.of("result", "1024"), results.get(0));
+        assertEquals(Map.of("result", "4"), results.get(2));
+        assertTrue(((Map<?, ?>) results.get(3)).containsKey("error"));
+    }
+
+    @Test
+    void testInvalidRequests() throws Exception {
+        assertEquals(400, send("POST", "/eval", "{\"expression\": ").statusCode());
+        assertEquals(400, send("POST", "/eval", "{\"expr\": \"1\"}").statusCode());
+        assertEquals(400, send("POST", "/eval", "{\"expressions\": [1]}").statusCode());
+        assertEquals(405, send("GET", "/eval", null).statusCode());
+        assertEquals(413, send("POST", "/eval", "\"" + "1".repeat(HttpCalculatorServer.MAX_BODY_BYTES) + "\"").statusCode());
+    }
+
+    @Test
+    void testHealthAndMetrics() throws Exception {
+        HttpResponse<String> health = send("GET", "/health", null);
+        assertEquals(200, health.statusCode());
+        assertEquals("{\"status\":\"UP\"}", health.body());
+
+        send("POST", "/eval", "{\"expression\": \"40 + 2\"}");
+        send("POST", "/eval", "{\"expression\": \"40+2\"}");
+        Map<?, ?> metrics = (Map<?, ?>) Json.parse(send("GET", "/metrics", null).body());
+        assertTrue((Long) metrics.get("expressions") >= 2);
+        assertTrue((Long) ((Map<?, ?>) metrics.get("parseCache")).get("hits") >= 1);
+        assertTrue((Long) ((Map<?, ?>) metrics.get("resultCache")).get("hits") >= 1);
+        assertEquals(metrics.keySet(), server.metrics().keySet());
+    }
+}
@@ -0,0 +1,50 @@
+package server;
+
+import static org.junit.jupiter.api.Assertions.*;
+import org.junit.jupiter.api.*;
+
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+class TestJson {
+
+    @Test
+    void testParse() {
+        Object value = Json.parse(" {\"a\": [1, -2.5, 3e2, true, false, null], \"b\": {\"c\": \"d\"}, \"e\": []} ");
+        Map<String, Object> expected = new LinkedHashMap<>();
+        expected.put("a", Arrays.asList(1L, -2.5, 300.0, true, false, null));
+        expected.put("b", Map.of("c", "d"));
+        expected.put("e", List.of());
+        assertEquals(expected, value);
+        assertEquals(12345678901234567890.0, Json.parse("12345678901234567890"));
+    }
+
+    @Test
+    void testStrings() {
+        assertEquals("a\"b\\c/d\n\t\u00e9", Json.parse("\"a\\\"b\\\\c\\/d\\n\\t\\u00e9\""));
+        assertEquals("π", Json.parse("\"π\""));
+        assertEquals("\"a\\\"b\\\\c\\n\\u0001\"", Json.write("a\"b\\c\n\u0001"));
+    }
+
+    @Test
+    void testWrite() {
+        Map<String, Object> map = new LinkedHashMap<>();
+        map.put("n", 3L);
+        map.put("x", 0.5);
+        map.put("nan", Double.NaN);
+        map.put("list", Arrays.asList("a", null, true));
+        assertEquals("{\"n\":3,\"x\":0.5,\"nan\":null,\"list\":[\"a\",null,true]}", Json.write(map));
+        assertEquals(map.get("list"), Json.parse(Json.write(map.get("list"))));
+    }
+
+    @Test
+    void testInvalid() {
+        for (String text : List.of("", "{", "[1,]", "{\"a\" 1}", "{a:1}", "\"abc", "01x", "-", "1.", "tru",
+                "\"\\x\"", "\"\\u12\"", "[1] 2", "\"a\nb\"")) {
+            assertThrows(IllegalArgumentException.class, () -> Json.parse(text), text);
+        }
+        assertThrows(IllegalArgumentException.class, () -> Json.parse("[".repeat(10_000)));
+    }
+}
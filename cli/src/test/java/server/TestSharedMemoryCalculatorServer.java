@@ -0,0 +1,45 @@
+package server;
+
+import static org.junit.jupiter.api.Assertions.*;
+import org.junit.jupiter.api.*;
+import org.junit.jupiter.api.io.TempDir;
+
+import calculator.Parser;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+class TestSharedMemoryCalculatorServer {
+
+    @TempDir
+    Path dir;
+
+    @Test
+    void testEvaluate() throws Exception {
+        SharedMemoryCalculatorServer server = new SharedMemoryCalculatorServer(dir.resolve("calculator"), 4096);
+        server.start();
+        try (SharedMemoryCalculatorClient client = SharedMemoryCalculatorClient.connect(server.file())) {
+            assertEquals("7", client.evaluate("1 + 2 * 3"));
+            assertEquals("1024", client.evaluate(Parser.parse("2^10", true)));
+            assertEquals(String.valueOf(3 * Math.PI), client.evaluate("3*π"));
+            IllegalArgumentException e = assertThrows(IllegalArgumentException.class, () -> client.evaluate("2*(3"));
+            assertEquals("Mismatched parentheses", e.getMessage());
+            // Enough requests to wrap around the rings many times
+            for (int i = 0; i < 10_000; i++) {
+                assertEquals(String.valueOf(i + 1), client.evaluate(i + "+1"));
+            }
+        } finally {
+            server.stop();
+        }
+        assertEquals(10_004L, server.metrics().get("requests"));
+        assertFalse(Files.exists(server.file()));
+    }
+
+    @Test
+    void testNotACalculatorFile() throws IOException {
+        Path file = Files.write(dir.resolve("other"), new byte[1024]);
+        assertThrows(IOException.class, () -> SharedMemoryCalculatorClient.connect(file));
+        assertThrows(IllegalArgumentException.class, () -> new SharedMemoryCalculatorServer(file, 1000));
+    }
+}
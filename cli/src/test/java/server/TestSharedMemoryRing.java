@@ -0,0 +1,77 @@
+package server;
+
+import static org.junit.jupiter.api.Assertions.*;
+import org.junit.jupiter.api.*;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+
+class TestSharedMemoryRing {
+
+    private static SharedMemoryRing ring(ByteBuffer region) {
+        return new SharedMemoryRing(region);
+    }
+
+    private static String poll(SharedMemoryRing ring) {
+        List<String> messages = new ArrayList<>();
+        boolean read = ring.poll((id, kind, payload, length) ->
+                messages.add(id + ":" + kind + ":" + new String(payload, 0, length, StandardCharsets.UTF_8)));
+        assertEquals(read, !messages.isEmpty());
+        return read ? messages.getFirst() : null;
+    }
+
+    @Test
+    void testOfferAndPoll() {
+        SharedMemoryRing ring = ring(ByteBuffer.allocateDirect(SharedMemoryRing.HEADER_BYTES + 256));
+        assertNull(poll(ring));
+        assertTrue(ring.offer(1, 0, "1+2".getBytes(StandardCharsets.UTF_8)));
+        assertTrue(ring.offer(2, 1, new byte[0]));
+        assertEquals("1:0:1+2", poll(ring));
+        assertEquals("2:1:", poll(ring));
+        assertNull(poll(ring));
+    }
+
+    @Test
+    void testFullAndWrapAround() {
+        ByteBuffer region = ByteBuffer.allocateDirect(SharedMemoryRing.HEADER_BYTES + 128);
+        SharedMemoryRing producer = ring(region);
+        SharedMemoryRing consumer = ring(region.duplicate());
+        byte[] payload = new byte[36]; // 48 bytes per message
+        int written = 0;
+        int read = 0;
+        for (int round = 0; round < 100; round++) {
+            while (producer.offer(written, 0, payload)) {
+                written++;
+            }
+            assertTrue(written - read <= 2, "at most two messages fit in 128 bytes");
+            String message;
+            while ((message = poll(consumer)) != null) {
+                assertTrue(message.startsWith(read + ":"), message);
+                read++;
+            }
+        }
+        assertEquals(written, read);
+        assertTrue(written > 100);
+        assertThrows(IllegalArgumentException.class, () -> producer.offer(0, 0, new byte[128]));
+    }
+
+    @Test
+    void testViewOfExistingRing() {
+        ByteBuffer region = ByteBuffer.allocateDirect(SharedMemoryRing.HEADER_BYTES + 256);
+        SharedMemoryRing first = ring(region);
+        assertTrue(first.offer(1, 0, new byte[8]));
+        assertEquals("1:0:" + new String(new byte[8], StandardCharsets.UTF_8), poll(first));
+        assertTrue(first.offer(2, 0, new byte[8]));
+
+        // A new view, as opened by another process, starts where the ring is
+        assertEquals("2:0:" + new String(new byte[8], StandardCharsets.UTF_8), poll(ring(region.duplicate())));
+    }
+
+    @Test
+    void testInvalidRegion() {
+        ByteBuffer region = ByteBuffer.allocateDirect(SharedMemoryRing.HEADER_BYTES + 100);
+        assertThrows(IllegalArgumentException.class, () -> ring(region));
+    }
+}
@@ -0,0 +1,110 @@
+package server;
+
+import static org.junit.jupiter.api.Assertions.*;
+import org.junit.jupiter.api.*;
+import org.junit.jupiter.api.io.TempDir;
+
+import calculator.Parser;
+
+import java.io.IOException;
+import java.net.StandardProtocolFamily;
+import java.net.UnixDomainSocketAddress;
+import java.nio.ByteBuffer;
+import java.nio.channels.SocketChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+class TestSocketCalculatorServer {
+
+    @TempDir
+    Path dir;
+
+    private SocketCalculatorServer server;
+
+    @BeforeEach
+    void start() throws IOException {
+        server = new SocketCalculatorServer(dir.resolve("calculator.sock"));
+        server.start();
+    }
+
+    @AfterEach
+    void stop() throws IOException {
+        server.stop();
+        assertFalse(Files.exists(server.path()));
+    }
+
+    @Test
+    void testEvaluate() throws Exception {
+        try (SocketCalculatorClient client = SocketCalculatorClient.connect(server.path())) {
+            assertEquals("7", client.evaluate("1 + 2 * 3"));
+            assertEquals("1024", client.evaluate(Parser.parse("2^10", true)));
+            IllegalArgumentException e = assertThrows(IllegalArgumentException.class, () -> client.evaluate("2*(3"));
+            assertEquals("Mismatched parentheses", e.getMessage());
+            assertEquals(String.valueOf(3 * Math.PI), client.evaluate("3*π"));
+        }
+    }
+
+    @Test
+    void testPipelining() throws Exception {
+        List<String> expressions = new ArrayList<>();
+        for (int i = 0; i < 10_000; i++) {
+            expressions.add(i + "*2");
+        }
+        try (SocketCalculatorClient client = SocketCalculatorClient.connect(server.path())) {
+            List<CompletableFuture<String>> results = client.submitAll(expressions);
+            for (int i = 0; i < results.size(); i++) {
+                assertEquals(String.valueOf(2 * i), results.get(i).join());
+            }
+        }
+        assertEquals(10_000L, server.metrics().get("requests"));
+    }
+
+    @Test
+    void testSharedClient() throws Exception {
+        try (SocketCalculatorClient client = SocketCalculatorClient.connect(server.path());
+             ExecutorService executor = Executors.newFixedThreadPool(4)) {
+            List<Future<?>> futures = new ArrayList<>();
+            for (int t = 0; t < 4; t++) {
+                int base = t * 1000;
+                futures.add(executor.submit(() -> {
+                    for (int i = base; i < base + 1000; i++) {
+                        assertEquals(String.valueOf(i + 1), client.evaluate(i + "+1"));
+                    }
+                    return null;
+                }));
+            }
+            for (Future<?> f : futures) {
+                f.get();
+            }
+        }
+    }
+
+    @Test
+    void testMalformedFrameClosesConnection() throws Exception {
+        try (SocketChannel channel = SocketChannel.open(StandardProtocolFamily.UNIX)) {
+            channel.connect(UnixDomainSocketAddress.of(server.path()));
+            channel.write(ByteBuffer.allocate(9).putInt(5).putInt(1).put((byte) 7).flip());
+            assertEquals(-1, channel.read(ByteBuffer.allocate(16)));
+        }
+        try (SocketCalculatorClient client = SocketCalculatorClient.connect(server.path())) {
+            assertEquals("2", client.evaluate("1+1"));
+        }
+    }
+
+    @Test
+    void testClosedClient() throws Exception {
+        SocketCalculatorClient client = SocketCalculatorClient.connect(server.path());
+        client.close();
+        CompletableFuture<String> result = client.submit("1+1");
+        CompletionException e = assertThrows(CompletionException.class, result::join);
+        assertInstanceOf(IOException.class, e.getCause());
+        assertThrows(IOException.class, () -> client.evaluate("1+1"));
+    }
+}
@@ -0,0 +1,63 @@
+package calculator;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * A reusable view of a record of ASCII bytes as characters, so that an expression can be parsed
+ * straight from the bytes of a buffer, such as a memory-mapped file, without being decoded into a string.
+ * The record is bulk-copied into an array owned by the view, which is only enlarged for longer records:
+ * reading the characters of an array is much cheaper than reading them one by one from a mapped buffer,
+ * which checks its bounds and the liveness of the mapping on every access.
+ */
+final class ByteSequence implements CharSequence {
+
+    private byte[] bytes = new byte[256];
+    private int length;
+
+    /**
+     * Moves the view to the given range of a buffer.
+     *
+     * @param buffer the buffer holding the record
+     * @param start the offset of the first byte
+     * @param end the offset following the last byte
+     * @return this view
+     */
+    ByteSequence set(ByteBuffer buffer, int start, int end) {
+        length = end - start;
+        if (length > bytes.length) {
+            bytes = new byte[Math.max(length, bytes.length * 2)];
+        }
+        buffer.get(start, bytes, 0, length);
+        return this;
+    }
+
+    @Override
+    public int length() {
+        return length;
+    }
+
+    @Override
+    public char charAt(int index) {
+        if (index >= length) {
+            throw new IndexOutOfBoundsException(index);
+        }
+        return (char) (bytes[index] & 0xFF);
+    }
+
+    /**
+     * Returns a copy of the given range, which remains valid once the view has moved.
+     */
+    @Override
+    public CharSequence subSequence(int from, int to) {
+        if (from < 0 || from > to || to > length) {
+            throw new IndexOutOfBoundsException("[" + from + ", " + to + ") out of " + length);
+        }
+        return new String(bytes, from, to - from, StandardCharsets.ISO_8859_1);
+    }
+
+    @Override
+    public String toString() {
+        return new String(bytes, 0, length, StandardCharsets.ISO_8859_1);
+    }
+}
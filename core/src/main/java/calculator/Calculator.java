@@ -1,6 +1,7 @@
 package calculator;
 
 import visitor.Evaluator;
+import visitor.TypeInference;
 
 /**
  * This class represents the core logic of a Calculator.
@@ -17,6 +18,9 @@ public class Calculator {
      */
     private Evaluator evaluator = new Evaluator(false);
 
+    /** Cache of the results of the expressions evaluated, or {@code null} if results are not cached */
+    private ResultCache resultCache;
+
     /**
      * Default constructor.
      * Currently, does not require any initialization.
@@ -52,10 +56,23 @@ public class Calculator {
 
     /**
      * Evaluates an arithmetic expression using the configured Evaluator.
+     * The numeric types of the subtrees are inferred first, so that the evaluator can pick
+     * the cheapest way to compute each operation.
+     * If a {@link ResultCache} is installed, a result computed before with the same evaluator settings
+     * is returned from the cache instead, unless the expression calls an impure function.
      * @param e the arithmetic Expression to be evaluated
      * @return The result of the evaluation
+     * @see TypeInference
      */
     public Expression eval(Expression e) {
+        if (resultCache != null) {
+            return resultCache.get(e, evaluator.isPreserveFractions(), evaluator.isIntegerMode(), () -> evaluate(e));
+        }
+        return evaluate(e);
+    }
+
+    private Expression evaluate(Expression e) {
+        TypeInference.infer(e, evaluator.isPreserveFractions(), evaluator.isIntegerMode());
         e.accept(evaluator); // This triggers the visit of the expression by the evaluator
         return evaluator.getResult();
     }
@@ -77,6 +94,22 @@ public class Calculator {
         this.evaluator = eval;
     }
 
+    /**
+     * Returns the cache of results used by this Calculator.
+     * @return the result cache, or {@code null} if results are not cached
+     */
+    public ResultCache getResultCache() {
+        return resultCache;
+    }
+
+    /**
+     * Sets the cache of results used by this Calculator. A cache may be shared by several calculators.
+     * @param cache the result cache, or {@code null} to stop caching results
+     */
+    public void setResultCache(ResultCache cache) {
+        this.resultCache = cache;
+    }
+
     /*
      * Potential additional methods for future implementation:
      * - A read method to parse a String input into an Expression, enabling a full REPL (Read-Eval-Print Loop):
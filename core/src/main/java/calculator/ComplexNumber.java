@@ -0,0 +1,159 @@
+package calculator;
+
+/**
+ * This class represents a complex number composed of two rational numbers:
+ * a real part and an imaginary part. The form is: a + bi.
+ * This class extends {@link MyNumber}, which allows it to be treated as an expression.
+ *
+ * <p>Both parts are stored as primitive numerator and denominator values rather than as
+ * {@link RationalNumber} objects; {@link #getRealPart()} and {@link #getImaginaryPart()}
+ * materialize them on demand. This is a value-based class: instances are immutable and
+ * code must never rely on their identity.
+ */
+public final class ComplexNumber extends MyNumber {
+
+    /** Numerator of the real part */
+    private final double realNominator;
+
+    /** Denominator of the real part */
+    private final double realDenominator;
+
+    /** Numerator of the imaginary part */
+    private final double imaginaryNominator;
+
+    /** Denominator of the imaginary part */
+    private final double imaginaryDenominator;
+
+    /**
+     * Constructs a complex number with a real and an imaginary part.
+     * Both parts must be {@link RationalNumber} instances; otherwise, a cast exception is thrown.
+     *
+     * @param realPart the real part of the complex number
+     * @param imaginaryPart the imaginary part of the complex number
+     */
+    public ComplexNumber(MyNumber realPart, MyNumber imaginaryPart) {
+        RationalNumber re = (RationalNumber) realPart;
+        RationalNumber im = (RationalNumber) imaginaryPart;
+        this.realNominator = re.getNominatorValue();
+        this.realDenominator = re.getDenominatorValue();
+        this.imaginaryNominator = im.getNominatorValue();
+        this.imaginaryDenominator = im.getDenominatorValue();
+    }
+
+    /**
+     * Constructs a complex number from parts that are already normalized.
+     */
+    private ComplexNumber(double realNominator, double realDenominator,
+                          double imaginaryNominator, double imaginaryDenominator) {
+        this.realNominator = realNominator;
+        this.realDenominator = realDenominator;
+        this.imaginaryNominator = imaginaryNominator;
+        this.imaginaryDenominator = imaginaryDenominator;
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * @return {@link NumberType#COMPLEX}
+     */
+    @Override
+    public NumberType getType() {
+        return NumberType.COMPLEX;
+    }
+
+    /**
+     * {@inheritDoc}
+     * Both parts are already reduced, so only the signs of their numerators change.
+     *
+     * @return the opposite complex number
+     */
+    @Override
+    public ComplexNumber negate() {
+        return new ComplexNumber(-realNominator + 0.0, realDenominator, -imaginaryNominator + 0.0, imaginaryDenominator);
+    }
+
+    /**
+     * @return the real part of the complex number
+     */
+    public RationalNumber getRealPart() {
+        return RationalNumber.valueOf(realNominator, realDenominator);
+    }
+
+    /**
+     * @return the imaginary part of the complex number
+     */
+    public RationalNumber getImaginaryPart() {
+        return RationalNumber.valueOf(imaginaryNominator, imaginaryDenominator);
+    }
+
+    /**
+     * Returns a string representation of the complex number in standard format.
+     * It handles special cases such as zero, unit imaginary part, and sign formatting.
+     *
+     * @return the string representation of the complex number
+     */
+    @Override
+    public String toString() {
+        RationalNumber realPart = getRealPart();
+        RationalNumber imaginaryPart = getImaginaryPart();
+        if (imaginaryPart.equals(RationalNumber.ZERO)) {
+            return realPart.toString();
+        }
+        if (realPart.equals(RationalNumber.ZERO)) {
+            return imaginaryPart + "i";
+        }
+        if (imaginaryPart.equals(RationalNumber.ONE)) {
+            return realPart + " + i";
+        }
+        if (imaginaryPart.equals(RationalNumber.MINUS_ONE)) {
+            return realPart + " - i";
+        }
+        if (imaginaryPart.isNegative()) {
+            return realPart + " - " + imaginaryPart.getOpposite() + "i";
+        }
+
+        return realPart + " + " + imaginaryPart + "i";
+    }
+
+    /**
+     * Compares this complex number to another object for equality.
+     * Two complex numbers are equal if both their real and imaginary parts are equal.
+     *
+     * @param obj the object to compare to
+     * @return true if the objects represent the same complex number, false otherwise
+     */
+    @Override
+    public boolean equals(Object obj) {
+        if (this == obj) return true;
+        if (!(obj instanceof ComplexNumber that)) return false;
+        // Both parts are normalized rationals, so comparing the components is enough
+        return Double.doubleToLongBits(realNominator) == Double.doubleToLongBits(that.realNominator)
+                && Double.doubleToLongBits(realDenominator) == Double.doubleToLongBits(that.realDenominator)
+                && Double.doubleToLongBits(imaginaryNominator) == Double.doubleToLongBits(that.imaginaryNominator)
+                && Double.doubleToLongBits(imaginaryDenominator) == Double.doubleToLongBits(that.imaginaryDenominator);
+    }
+
+    /**
+     * Computes a hash code for the complex number, based on its components.
+     *
+     * @return the hash code of the complex number
+     */
+    @Override
+    public int hashCode() {
+        int result = Double.hashCode(realNominator);
+        result = 31 * result + Double.hashCode(realDenominator);
+        result = 31 * result + Double.hashCode(imaginaryNominator);
+        return 31 * result + Double.hashCode(imaginaryDenominator);
+    }
+
+    /**
+     * Returns the simplified form of this complex number.
+     * Both parts are reduced when the rational numbers they come from are constructed,
+     * so this returns the number itself.
+     *
+     * @return this {@link ComplexNumber}
+     */
+    public ComplexNumber simplify() {
+        return this;
+    }
+}
@@ -0,0 +1,256 @@
+package calculator;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.function.Supplier;
+
+/**
+ * Reads a file of newline-separated expressions, possibly of several gigabytes, without reading
+ * its lines into strings.
+ *
+ * <p>The file is cut into segments ending at line boundaries, which are memory-mapped and processed in parallel.
+ * Within a segment, records are found by looking for newlines eight bytes at a time, and each record is
+ * handed to a {@link RecordHandler} as a {@link CharSequence} viewing the mapped bytes in place, which
+ * {@link Parser#parse(CharSequence, boolean)} reads without copying. Only records holding non-ASCII
+ * characters, such as π, are decoded into strings. Blank lines are skipped, and a carriage return
+ * ending a record is ignored.
+ */
+public final class CorpusReader {
+
+    /** Default largest size of a segment, in bytes */
+    static final long DEFAULT_SEGMENT_SIZE = 64L << 20;
+
+    /** Smallest size of a segment worth handing to another worker, in bytes */
+    private static final long MIN_SEGMENT_SIZE = 1L << 20;
+
+    private static final long ONES = 0x0101010101010101L;
+    private static final long HIGH_BITS = 0x8080808080808080L;
+    private static final long NEWLINES = 0x0A0A0A0A0A0A0A0AL;
+
+    /**
+     * Receives the records of a segment, in the order of the file.
+     */
+    @FunctionalInterface
+    public interface RecordHandler {
+        /**
+         * Handles a record.
+         *
+         * @param offset the offset of the record in the file, in bytes
+         * @param expression the record, only valid during the call: it must be copied to be kept
+         */
+        void record(long offset, CharSequence expression);
+    }
+
+    private final Path file;
+    private final long segmentSize;
+
+    /**
+     * Creates a reader of the given file.
+     *
+     * @param file the file of newline-separated expressions, in UTF-8
+     */
+    public CorpusReader(Path file) {
+        this(file, DEFAULT_SEGMENT_SIZE);
+    }
+
+    /**
+     * Creates a reader of the given file, mapping at most the given number of bytes at once.
+     *
+     * @param file the file of newline-separated expressions, in UTF-8
+     * @param segmentSize the largest size of a segment, in bytes
+     */
+    CorpusReader(Path file, long segmentSize) {
+        if (segmentSize <= 0 || segmentSize > Integer.MAX_VALUE) {
+            throw new IllegalArgumentException("Invalid segment size: " + segmentSize);
+        }
+        this.file = file;
+        this.segmentSize = segmentSize;
+    }
+
+    /**
+     * Processes every record of the file on the given number of threads.
+     * Each segment is processed by a single thread, with a handler of its own, so handlers need not be thread-safe.
+     * An exception thrown by a handler stops the processing and is rethrown.
+     *
+     * @param parallelism the number of threads
+     * @param handlers supplies a handler for each segment
+     * @return the number of records processed
+     * @throws IOException if the file cannot be read, or holds a line longer than 2 GB
+     */
+    public long process(int parallelism, Supplier<? extends RecordHandler> handlers) throws IOException {
+        if (parallelism < 1) {
+            throw new IllegalArgumentException("Invalid parallelism: " + parallelism);
+        }
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            long[] bounds = segments(channel, parallelism);
+            if (parallelism == 1 || bounds.length == 2) {
+                long records = 0;
+                for (int i = 0; i + 1 < bounds.length; i++) {
+                    records += scan(channel, bounds[i], bounds[i + 1], handlers.get());
+                }
+                return records;
+            }
+            try (ExecutorService workers = Executors.newFixedThreadPool(Math.min(parallelism, bounds.length - 1))) {
+                List<Future<Long>> results = new ArrayList<>();
+                for (int i = 0; i + 1 < bounds.length; i++) {
+                    long start = bounds[i];
+                    long end = bounds[i + 1];
+                    results.add(workers.submit(() -> scan(channel, start, end, handlers.get())));
+                }
+                long records = 0;
+                try {
+                    for (Future<Long> result : results) {
+                        records += result.get();
+                    }
+                } catch (ExecutionException e) {
+                    results.forEach(r -> r.cancel(true));
+                    throw unwrap(e.getCause());
+                } catch (InterruptedException e) {
+                    results.forEach(r -> r.cancel(true));
+                    Thread.currentThread().interrupt();
+                    throw new IOException("Interrupted while processing " + file, e);
+                }
+                return records;
+            }
+        }
+    }
+
+    private static IOException unwrap(Throwable cause) {
+        return switch (cause) {
+            case IOException e -> e;
+            case UncheckedIOException e -> e.getCause();
+            case RuntimeException e -> throw e;
+            case Error e -> throw e;
+            default -> new IOException(cause);
+        };
+    }
+
+    /**
+     * Cuts the file into segments starting at the beginning of a line: at least one per thread, as long
+     * as they are large enough, and no larger than the segment size, unless a single line is larger.
+     *
+     * @return the offsets of the segments, followed by the size of the file
+     */
+    private long[] segments(FileChannel channel, int parallelism) throws IOException {
+        long size = channel.size();
+        long count = Math.max((size + segmentSize - 1) / segmentSize, Math.min(parallelism, size / MIN_SEGMENT_SIZE));
+        count = Math.max(count, 1);
+        long[] bounds = new long[(int) count + 1];
+        int n = 1;
+        ByteBuffer probe = ByteBuffer.allocate(4096);
+        for (long k = 1; k < count; k++) {
+            long boundary = lineStart(channel, Math.max(size / count * k, bounds[n - 1]), size, probe);
+            if (boundary > bounds[n - 1] && boundary < size) {
+                bounds[n++] = boundary;
+            }
+        }
+        bounds[n++] = size;
+        return Arrays.copyOf(bounds, n);
+    }
+
+    /**
+     * Returns the offset following the first newline at or after the given offset, or the size of the file.
+     */
+    private static long lineStart(FileChannel channel, long from, long size, ByteBuffer probe) throws IOException {
+        long position = from;
+        while (position < size) {
+            probe.clear();
+            int read = channel.read(probe, position);
+            if (read <= 0) {
+                break;
+            }
+            for (int i = 0; i < read; i++) {
+                if (probe.get(i) == '\n') {
+                    return position + i + 1;
+                }
+            }
+            position += read;
+        }
+        return size;
+    }
+
+    /**
+     * Maps a segment and hands each of its records to the handler.
+     *
+     * @return the number of records
+     */
+    private static long scan(FileChannel channel, long offset, long end, RecordHandler handler) throws IOException {
+        if (end - offset > Integer.MAX_VALUE) {
+            throw new IOException("Line too long at offset " + offset);
+        }
+        MappedByteBuffer mapped = channel.map(FileChannel.MapMode.READ_ONLY, offset, end - offset);
+        ByteBuffer buffer = mapped.order(ByteOrder.LITTLE_ENDIAN);
+        ByteSequence view = new ByteSequence();
+        int length = buffer.limit();
+        long records = 0;
+        int start = 0;
+        boolean ascii = true;
+        int i = 0;
+        while (i < length) {
+            if (i + Long.BYTES <= length) {
+                long word = buffer.getLong(i);
+                long x = word ^ NEWLINES;
+                if (((x - ONES) & ~x & HIGH_BITS) == 0) {
+                    // No newline among these eight bytes
+                    ascii &= (word & HIGH_BITS) == 0;
+                    i += Long.BYTES;
+                    continue;
+                }
+            }
+            // A newline may be among the next eight bytes, which are checked one at a time
+            for (int stop = Math.min(i + Long.BYTES, length); i < stop; i++) {
+                byte b = buffer.get(i);
+                if (b == '\n') {
+                    records += record(buffer, view, offset, start, i, ascii, handler);
+                    start = i + 1;
+                    ascii = true;
+                } else if (b < 0) {
+                    ascii = false;
+                }
+            }
+        }
+        if (start < length) {
+            records += record(buffer, view, offset, start, length, ascii, handler);
+        }
+        return records;
+    }
+
+    /**
+     * Hands a record to the handler unless it is blank.
+     *
+     * @return 1 if the record was handled, 0 if it was skipped
+     */
+    private static int record(ByteBuffer buffer, ByteSequence view, long offset, int start, int end, boolean ascii,
+                              RecordHandler handler) {
+        if (end > start && buffer.get(end - 1) == '\r') {
+            end--;
+        }
+        int first = start;
+        while (first < end && Character.isWhitespace(buffer.get(first))) {
+            first++;
+        }
+        if (first == end) {
+            return 0;
+        }
+        if (ascii) {
+            handler.record(offset + start, view.set(buffer, start, end));
+        } else {
+            handler.record(offset + start, StandardCharsets.UTF_8.decode(buffer.slice(start, end - start)).toString());
+        }
+        return 1;
+    }
+}
@@ -0,0 +1,108 @@
+package calculator;
+
+import java.math.BigInteger;
+import java.util.List;
+
+/**
+ * This class represents the arithmetic division operation ("/").
+ * It supports division for real numbers, rational numbers, and complex numbers.
+ * It extends the abstract class {@link Operation}, which defines the behavior of arithmetic expressions.
+ *
+ * @see Operation
+ * @see Minus
+ * @see Times
+ * @see Plus
+ */
+public final class Divides extends Operation {
+
+    /**
+     * Constructor for division with a list of expressions.
+     *
+     * @param elist the list of expressions to divide
+     * @throws IllegalConstruction if the list is null
+     * @see #Divides(List, Notation)
+     */
+    public Divides(List<Expression> elist) throws IllegalConstruction {
+        this(elist, null);
+    }
+
+    /**
+     * Constructor for division with a list of expressions and a specific notation.
+     *
+     * @param elist the list of expressions to divide
+     * @param n     the notation (INFIX, PREFIX, or POSTFIX)
+     * @throws IllegalConstruction if the list is null
+     */
+    public Divides(List<Expression> elist, Notation n) throws IllegalConstruction {
+        super(elist, n);
+        symbol = "/";
+        neutral = 1;
+    }
+
+    /**
+     * Performs division between two doubles.
+     * As for real numbers, a division by zero yields NaN.
+     *
+     * @param l dividend
+     * @param r divisor
+     * @return result of the division
+     */
+    @Override
+    public double op(double l, double r) {
+        return r == 0 ? Double.NaN : l / r;
+    }
+
+    /**
+     * Performs exact division between two integers.
+     * Only divisions without remainder have an integer result; the other ones,
+     * as well as divisions by zero, are rejected so that the caller can fall back
+     * to rational or real arithmetic.
+     *
+     * @param l dividend
+     * @param r divisor
+     * @return result of the exact division
+     * @throws ArithmeticException if the divisor is zero, the division is inexact, or the result overflows a long
+     */
+    @Override
+    public long op(long l, long r) {
+        if (r == 0) {
+            throw new ArithmeticException("Division by zero");
+        }
+        if (l % r != 0) {
+            throw new ArithmeticException("Inexact division");
+        }
+        return Math.divideExact(l, r);
+    }
+
+    /**
+     * Performs exact division between two arbitrary-precision integers.
+     *
+     * @param l dividend
+     * @param r divisor
+     * @return result of the exact division
+     * @throws ArithmeticException if the divisor is zero or the division is inexact
+     */
+    @Override
+    public BigInteger op(BigInteger l, BigInteger r) {
+        BigInteger[] qr = l.divideAndRemainder(r);
+        if (qr[1].signum() != 0) {
+            throw new ArithmeticException("Inexact division");
+        }
+        return qr[0];
+    }
+
+    /**
+     * Performs division between two {@link MyNumber} instances.
+     * Supports RealNumber, RationalNumber, and ComplexNumber combinations
+     * through {@link NumericOps#div(MyNumber, MyNumber)}.
+     *
+     * @param left  the left operand
+     * @param right the right operand
+     * @return the result of the division
+     * @throws IllegalConstruction if the operation is not properly constructed
+     */
+    @Override
+    public MyNumber compute(MyNumber left, MyNumber right) throws IllegalConstruction {
+        return NumericOps.div(left, right);
+    }
+}
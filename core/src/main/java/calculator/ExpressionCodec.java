@@ -0,0 +1,689 @@
+package calculator;
+
+import java.io.ByteArrayOutputStream;
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.DataOutputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.math.BigInteger;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Compact, versioned binary format for {@link Expression} trees, so that a library of expressions
+ * can be loaded without parsing its text again.
+ *
+ * <p>An encoded library is made of:
+ * <ol>
+ *     <li>a header: the magic bytes {@code EXPR} and the {@link #VERSION version} of the format;</li>
+ *     <li>a constant pool: the number of constants, followed by each distinct number and function name
+ *     used by the expressions, introduced by a tag byte. The most used constants come first;</li>
+ *     <li>the expressions: their number, followed by each tree in pre-order.</li>
+ * </ol>
+ * Each node starts with a single byte, which also holds the beginning of its operand:
+ * <ul>
+ *     <li>{@code 0b0cxxxxxx}: a number, whose operand is its index in the constant pool;</li>
+ *     <li>{@code 0b1kkkcxxx}: an operation, a function or a negation of kind {@code kkk}, whose operand is
+ *     the number of arguments of an operation, the index of the name of a function in the constant pool,
+ *     or zero for a negation, which has a single argument.</li>
+ * </ul>
+ * The number of arguments of a function call is not written: it is the arity of the function registered
+ * under its name in the {@link FunctionRegistry} when the data is read.
+ * The {@code x} bits are the low bits of the operand. When the {@code c} bit is set, the remaining bits
+ * of the operand follow as a varint, so that most nodes fit in one or two bytes.
+ *
+ * <p>Counts and integers are unsigned LEB128 varints: seven bits per byte, the least significant group first.
+ * Signed integers are zigzag encoded, so that small negative values stay short. A double is written as a
+ * zigzag varint of twice its value when it is an integer, exactly representable, and otherwise as the
+ * varint {@code 1} followed by its 8-byte IEEE 754 representation, so numbers are restored bit for bit.
+ * Only the structure of the expressions is encoded, not the {@link Notation} used to display operations.
+ *
+ * <p>Neither writing nor reading recurses, so trees of any depth can be encoded.
+ * Malformed data is reported with an {@link IOException}.
+ */
+public final class ExpressionCodec {
+
+    /** Version of the format written, the only one read */
+    public static final int VERSION = 1;
+
+    private static final byte[] MAGIC = {'E', 'X', 'P', 'R'};
+
+    // Tags of the constants
+    private static final int TAG_REAL = 1;
+    private static final int TAG_RATIONAL = 2;
+    private static final int TAG_COMPLEX = 3;
+    private static final int TAG_INTEGER = 4;
+    private static final int TAG_BIG_INTEGER = 5;
+    private static final int TAG_NAME = 6;
+
+    // Kinds of the operation and function nodes
+    private static final int KIND_PLUS = 0;
+    private static final int KIND_MINUS = 1;
+    private static final int KIND_TIMES = 2;
+    private static final int KIND_DIVIDES = 3;
+    private static final int KIND_FUNCTION = 4;
+    private static final int KIND_NEGATE = 5;
+    private static final int KIND_POWER = 6;
+
+    /** Largest integer such that it and all smaller integers are exactly representable as doubles */
+    private static final double MAX_EXACT_INTEGER = 0x1p53;
+
+    private ExpressionCodec() {
+        // Static helpers only
+    }
+
+    /**
+     * Encodes a single expression.
+     *
+     * @param e the expression to encode
+     * @param out the destination of the encoded expression
+     * @throws IOException if the expression cannot be written
+     * @throws IllegalArgumentException if the expression contains an unsupported node
+     */
+    public static void write(Expression e, DataOutput out) throws IOException {
+        write(List.of(e), out);
+    }
+
+    /**
+     * Encodes a library of expressions, sharing a single constant pool.
+     *
+     * @param expressions the expressions to encode
+     * @param out the destination of the encoded expressions
+     * @throws IOException if the expressions cannot be written
+     * @throws IllegalArgumentException if an expression contains an unsupported node
+     */
+    public static void write(List<? extends Expression> expressions, DataOutput out) throws IOException {
+        Encoder encoder = new Encoder();
+        for (Expression e : expressions) {
+            encoder.count(e);
+        }
+        encoder.sortConstants();
+        for (Object constant : encoder.constants) {
+            encoder.constant(constant);
+        }
+        encoder.varint(expressions.size());
+        for (Expression e : expressions) {
+            encoder.tree(e);
+        }
+        out.write(MAGIC);
+        out.writeByte(VERSION);
+        out.write(encoder.bytes, 0, encoder.size);
+    }
+
+    /**
+     * Encodes a single expression into a new array.
+     *
+     * @param e the expression to encode
+     * @return the encoded expression
+     * @throws IllegalArgumentException if the expression contains an unsupported node
+     */
+    public static byte[] toBytes(Expression e) {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try {
+            write(e, new DataOutputStream(bytes));
+        } catch (IOException ex) {
+            throw new UncheckedIOException(ex); // never thrown in memory
+        }
+        return bytes.toByteArray();
+    }
+
+    /**
+     * Decodes a single expression.
+     *
+     * @param in the source of the encoded expression
+     * @return the expression
+     * @throws IOException if the data cannot be read, is malformed, or does not hold exactly one expression
+     */
+    public static Expression read(DataInput in) throws IOException {
+        return single(readAll(in));
+    }
+
+    /**
+     * Decodes a library of expressions.
+     *
+     * @param in the source of the encoded expressions
+     * @return the expressions, in the order they were written
+     * @throws IOException if the data cannot be read or is malformed
+     */
+    public static List<Expression> readAll(DataInput in) throws IOException {
+        return new Decoder(new Source() {
+            @Override
+            public int readByte() throws IOException {
+                return in.readUnsignedByte();
+            }
+
+            @Override
+            public double readDouble() throws IOException {
+                return in.readDouble();
+            }
+
+            @Override
+            public void readFully(byte[] bytes, int offset, int length) throws IOException {
+                in.readFully(bytes, offset, length);
+            }
+        }).readAll();
+    }
+
+    /**
+     * Decodes a single expression from a buffer, starting at its position.
+     *
+     * @param buffer the encoded expression
+     * @return the expression
+     * @throws IOException if the data is malformed or does not hold exactly one expression
+     */
+    public static Expression read(ByteBuffer buffer) throws IOException {
+        return single(readAll(buffer));
+    }
+
+    /**
+     * Decodes a library of expressions from a buffer, starting at its position.
+     * The position of the buffer is moved past the encoded expressions.
+     *
+     * @param buffer the encoded expressions
+     * @return the expressions, in the order they were written
+     * @throws IOException if the data is malformed
+     */
+    public static List<Expression> readAll(ByteBuffer buffer) throws IOException {
+        ByteBuffer in = buffer.duplicate().order(ByteOrder.BIG_ENDIAN);
+        try {
+            List<Expression> expressions = new Decoder(new Source() {
+                @Override
+                public int readByte() {
+                    return in.get() & 0xFF;
+                }
+
+                @Override
+                public double readDouble() {
+                    return in.getDouble();
+                }
+
+                @Override
+                public void readFully(byte[] bytes, int offset, int length) {
+                    in.get(bytes, offset, length);
+                }
+            }).readAll();
+            buffer.position(in.position());
+            return expressions;
+        } catch (BufferUnderflowException e) {
+            throw new EOFException("Truncated expression data");
+        }
+    }
+
+    /**
+     * Decodes a library of expressions from an array.
+     *
+     * @param bytes the encoded expressions
+     * @return the expressions, in the order they were written
+     * @throws IOException if the data is malformed
+     */
+    public static List<Expression> readAll(byte[] bytes) throws IOException {
+        return readAll(ByteBuffer.wrap(bytes));
+    }
+
+    private static Expression single(List<Expression> expressions) throws IOException {
+        if (expressions.size() != 1) {
+            throw new IOException("Expected a single expression, found " + expressions.size());
+        }
+        return expressions.getFirst();
+    }
+
+    /**
+     * Growable byte buffer writing the constant pool and the trees.
+     */
+    private static final class Encoder {
+        private byte[] bytes = new byte[256];
+        private int size;
+
+        /** Distinct constants, with their number of uses and then their indexes in the pool */
+        private final List<Object> constants = new ArrayList<>();
+        private final Map<Object, int[]> indexes = new HashMap<>();
+
+        private void write(int b) {
+            if (size == bytes.length) {
+                bytes = Arrays.copyOf(bytes, size * 2);
+            }
+            bytes[size++] = (byte) b;
+        }
+
+        private void write(byte[] b) {
+            if (size + b.length > bytes.length) {
+                bytes = Arrays.copyOf(bytes, Math.max(size * 2, size + b.length));
+            }
+            System.arraycopy(b, 0, bytes, size, b.length);
+            size += b.length;
+        }
+
+        private void varint(long value) {
+            while ((value & ~0x7FL) != 0) {
+                write((int) ((value & 0x7F) | 0x80));
+                value >>>= 7;
+            }
+            write((int) value);
+        }
+
+        private void signed(long value) {
+            varint((value << 1) ^ (value >> 63));
+        }
+
+        private void number(double d) {
+            if (d == Math.rint(d) && Math.abs(d) <= MAX_EXACT_INTEGER && Double.doubleToRawLongBits(d) != Long.MIN_VALUE) {
+                signed((long) d << 1);
+            } else {
+                varint(1);
+                long bits = Double.doubleToRawLongBits(d);
+                for (int shift = 56; shift >= 0; shift -= 8) {
+                    write((int) (bits >>> shift));
+                }
+            }
+        }
+
+        /**
+         * Writes the first byte of a node, holding the low {@code bits} bits of its operand,
+         * followed by the rest of the operand if it does not fit.
+         */
+        private void node(int prefix, int bits, int operand) {
+            int mask = (1 << bits) - 1;
+            if (operand <= mask) {
+                write(prefix | operand);
+            } else {
+                write(prefix | 1 << bits | operand & mask);
+                varint(operand >>> bits);
+            }
+        }
+
+        private void use(Object constant) {
+            int[] uses = indexes.get(constant);
+            if (uses == null) {
+                constants.add(constant);
+                indexes.put(constant, new int[] {1});
+            } else {
+                uses[0]++;
+            }
+        }
+
+        /**
+         * Counts the uses of the constants of a tree, using an explicit stack.
+         */
+        private void count(Expression root) {
+            Deque<Expression> pending = new ArrayDeque<>();
+            pending.push(root);
+            while (!pending.isEmpty()) {
+                switch (pending.pop()) {
+                    case Operation o -> {
+                        kind(o);
+                        o.getArgs().forEach(pending::push);
+                    }
+                    case FunctionWrapper f -> {
+                        use(f.functionName());
+                        f.arguments().forEach(pending::push);
+                    }
+                    case Negate n -> pending.push(n.argument());
+                    case MyNumber n -> use(n);
+                    case Expression e ->
+                            throw new IllegalArgumentException("Unsupported expression: " + e.getClass().getName());
+                }
+            }
+        }
+
+        /**
+         * Orders the constants by decreasing number of uses, so that the most used have the shortest indexes,
+         * and writes the size of the pool.
+         */
+        private void sortConstants() {
+            constants.sort(Comparator.comparingInt(c -> -indexes.get(c)[0]));
+            for (int i = 0; i < constants.size(); i++) {
+                indexes.get(constants.get(i))[0] = i;
+            }
+            varint(constants.size());
+        }
+
+        private int index(Object constant) {
+            return indexes.get(constant)[0];
+        }
+
+        /**
+         * Writes a tree in pre-order, using an explicit stack.
+         */
+        private void tree(Expression root) {
+            Deque<Expression> pending = new ArrayDeque<>();
+            pending.push(root);
+            while (!pending.isEmpty()) {
+                Expression e = pending.pop();
+                if (e instanceof Operation o) {
+                    List<Expression> args = o.getArgs();
+                    node(0x80 | kind(o) << 4, 3, args.size());
+                    for (int i = args.size() - 1; i >= 0; i--) {
+                        pending.push(args.get(i));
+                    }
+                } else if (e instanceof FunctionWrapper f) {
+                    node(0x80 | KIND_FUNCTION << 4, 3, index(f.functionName()));
+                    for (int i = f.arguments().size() - 1; i >= 0; i--) {
+                        pending.push(f.arguments().get(i));
+                    }
+                } else if (e instanceof Negate n) {
+                    node(0x80 | KIND_NEGATE << 4, 3, 0);
+                    pending.push(n.argument());
+                } else {
+                    node(0, 6, index(e));
+                }
+            }
+        }
+
+        private static int kind(Operation o) {
+            return switch (o) {
+                case Plus p -> KIND_PLUS;
+                case Minus m -> KIND_MINUS;
+                case Times t -> KIND_TIMES;
+                case Divides d -> KIND_DIVIDES;
+                case Power p -> KIND_POWER;
+                default -> throw new IllegalArgumentException("Unsupported operation: " + o.getClass().getName());
+            };
+        }
+
+        private void constant(Object constant) {
+            switch (constant) {
+                case RealNumber r -> {
+                    write(TAG_REAL);
+                    number(r.getValue());
+                }
+                case RationalNumber r -> {
+                    write(TAG_RATIONAL);
+                    number(r.getNominatorValue());
+                    number(r.getDenominatorValue());
+                }
+                case ComplexNumber c -> {
+                    write(TAG_COMPLEX);
+                    number(c.getRealPart().getNominatorValue());
+                    number(c.getRealPart().getDenominatorValue());
+                    number(c.getImaginaryPart().getNominatorValue());
+                    number(c.getImaginaryPart().getDenominatorValue());
+                }
+                case IntegerNumber n when n.isLong() -> {
+                    write(TAG_INTEGER);
+                    signed(n.longValue());
+                }
+                case IntegerNumber n -> {
+                    write(TAG_BIG_INTEGER);
+                    byte[] b = n.bigIntegerValue().toByteArray();
+                    varint(b.length);
+                    write(b);
+                }
+                case String name -> {
+                    write(TAG_NAME);
+                    byte[] b = name.getBytes(StandardCharsets.UTF_8);
+                    varint(b.length);
+                    write(b);
+                }
+                default -> throw new IllegalArgumentException("Unsupported number: " + constant.getClass().getName());
+            }
+        }
+    }
+
+    /**
+     * Primitive reads shared by the {@link DataInput} and {@link ByteBuffer} decoders.
+     */
+    private interface Source {
+        int readByte() throws IOException;
+
+        double readDouble() throws IOException;
+
+        void readFully(byte[] bytes, int offset, int length) throws IOException;
+    }
+
+    private static final class Decoder {
+        private final Source in;
+        private Object[] constants;
+
+        // Stack of the operations and functions whose arguments are being decoded: their kind, the function
+        // called, the number of arguments left to read, and the offset of their first argument in values
+        private int depth;
+        private int[] kinds = new int[16];
+        private MathFunction[] functions = new MathFunction[16];
+        private int[] remaining = new int[16];
+        private int[] starts = new int[16];
+
+        // Stack of the arguments read so far
+        private int top;
+        private Expression[] values = new Expression[16];
+
+        private Decoder(Source in) {
+            this.in = in;
+        }
+
+        private List<Expression> readAll() throws IOException {
+            for (byte b : MAGIC) {
+                if (in.readByte() != b) {
+                    throw new IOException("Not an encoded expression");
+                }
+            }
+            int version = in.readByte();
+            if (version != VERSION) {
+                throw new IOException("Unsupported expression format version " + version + ", expected " + VERSION);
+            }
+
+            int count = count();
+            constants = new Object[Math.min(count, 1 << 16)];
+            for (int i = 0; i < count; i++) {
+                if (i == constants.length) {
+                    constants = Arrays.copyOf(constants, Math.min(count, constants.length * 2));
+                }
+                constants[i] = constant();
+            }
+
+            int expressions = count();
+            List<Expression> result = new ArrayList<>(Math.min(expressions, 1 << 16));
+            for (int i = 0; i < expressions; i++) {
+                result.add(tree());
+            }
+            return result;
+        }
+
+        private long varint() throws IOException {
+            long value = 0;
+            for (int shift = 0; shift < 64; shift += 7) {
+                int b = in.readByte();
+                value |= (long) (b & 0x7F) << shift;
+                if ((b & 0x80) == 0) {
+                    return value;
+                }
+            }
+            throw new IOException("Malformed varint");
+        }
+
+        private long signed() throws IOException {
+            long v = varint();
+            return (v >>> 1) ^ -(v & 1);
+        }
+
+        private int count() throws IOException {
+            return checkCount(varint());
+        }
+
+        private static int checkCount(long value) throws IOException {
+            if (value < 0 || value > Integer.MAX_VALUE) {
+                throw new IOException("Malformed count");
+            }
+            return (int) value;
+        }
+
+        private double number() throws IOException {
+            long v = signed();
+            if ((v & 1) == 0) {
+                return v >> 1;
+            }
+            if (v != -1) {
+                throw new IOException("Malformed number");
+            }
+            return in.readDouble();
+        }
+
+        /**
+         * Reads a length-prefixed array of bytes. The array grows as the bytes are read, so that a corrupted
+         * length runs into the end of the data instead of allocating an array of that length up front.
+         */
+        private byte[] bytes() throws IOException {
+            int length = count();
+            byte[] b = new byte[Math.min(length, 1 << 16)];
+            for (int read = 0; read < length; read = b.length) {
+                if (read == b.length) {
+                    b = Arrays.copyOf(b, (int) Math.min(length, 2L * b.length));
+                }
+                in.readFully(b, read, b.length - read);
+            }
+            return b;
+        }
+
+        private Object constant() throws IOException {
+            int tag = in.readByte();
+            return switch (tag) {
+                case TAG_REAL -> RealNumber.valueOf(number());
+                case TAG_RATIONAL -> RationalNumber.valueOf(number(), number());
+                case TAG_COMPLEX -> new ComplexNumber(
+                        RationalNumber.valueOf(number(), number()),
+                        RationalNumber.valueOf(number(), number()));
+                case TAG_INTEGER -> IntegerNumber.valueOf(signed());
+                case TAG_BIG_INTEGER -> IntegerNumber.valueOf(bigInteger());
+                case TAG_NAME -> new String(bytes(), StandardCharsets.UTF_8);
+                default -> throw new IOException("Unknown constant tag " + tag);
+            };
+        }
+
+        private BigInteger bigInteger() throws IOException {
+            byte[] magnitude = bytes();
+            if (magnitude.length == 0) {
+                throw new IOException("Malformed big integer");
+            }
+            return new BigInteger(magnitude);
+        }
+
+        /**
+         * Reads the operand of a node, whose low {@code bits} bits are in its first byte.
+         */
+        private int operand(int first, int bits) throws IOException {
+            int low = first & (1 << bits) - 1;
+            if ((first & 1 << bits) == 0) {
+                return low;
+            }
+            long high = varint();
+            if (high > Integer.MAX_VALUE >>> bits) {
+                throw new IOException("Malformed operand");
+            }
+            return checkCount(low | high << bits);
+        }
+
+        private <T> T constant(int index, Class<T> type) throws IOException {
+            if (index >= constants.length || !type.isInstance(constants[index])) {
+                throw new IOException("Invalid constant index " + index);
+            }
+            return type.cast(constants[index]);
+        }
+
+        /**
+         * Reads a tree in pre-order, using explicit stacks of the nodes whose arguments are pending,
+         * and of their arguments.
+         */
+        private Expression tree() throws IOException {
+            depth = 0;
+            top = 0;
+            while (true) {
+                int first = in.readByte();
+                Expression value;
+                if (first < 0x80) {
+                    value = constant(operand(first, 6), MyNumber.class);
+                } else {
+                    int kind = (first >>> 4) & 0x7;
+                    int operand = operand(first, 3);
+                    if (kind == KIND_FUNCTION) {
+                        MathFunction function = function(constant(operand, String.class));
+                        push(kind, function, function.arity());
+                        continue;
+                    }
+                    if (kind == KIND_NEGATE) {
+                        push(kind, null, 1);
+                        continue;
+                    }
+                    if (kind > KIND_POWER) {
+                        throw new IOException("Unknown node kind " + kind);
+                    }
+                    if (operand > 0) {
+                        push(kind, null, operand);
+                        continue;
+                    }
+                    value = operation(kind, List.of());
+                }
+
+                // Complete the nodes whose last argument was just read
+                while (true) {
+                    if (depth == 0) {
+                        return value;
+                    }
+                    if (top == values.length) {
+                        values = Arrays.copyOf(values, top * 2);
+                    }
+                    values[top++] = value;
+                    if (--remaining[depth - 1] > 0) {
+                        break;
+                    }
+                    depth--;
+                    int start = starts[depth];
+                    value = switch (kinds[depth]) {
+                        case KIND_FUNCTION -> new FunctionWrapper(functions[depth],
+                                Arrays.asList(values).subList(start, top));
+                        case KIND_NEGATE -> new Negate(values[start]);
+                        default -> operation(kinds[depth], Arrays.asList(values).subList(start, top));
+                    };
+                    Arrays.fill(values, start, top, null);
+                    top = start;
+                }
+            }
+        }
+
+        private void push(int kind, MathFunction function, int count) {
+            if (depth == kinds.length) {
+                kinds = Arrays.copyOf(kinds, depth * 2);
+                functions = Arrays.copyOf(functions, depth * 2);
+                remaining = Arrays.copyOf(remaining, depth * 2);
+                starts = Arrays.copyOf(starts, depth * 2);
+            }
+            kinds[depth] = kind;
+            functions[depth] = function;
+            remaining[depth] = count;
+            starts[depth] = top;
+            depth++;
+        }
+
+        private static MathFunction function(String name) throws IOException {
+            try {
+                return FunctionRegistry.resolve(name);
+            } catch (IllegalArgumentException e) {
+                throw new IOException(e.getMessage(), e);
+            }
+        }
+
+        private static Operation operation(int kind, List<Expression> args) throws IOException {
+            try {
+                return switch (kind) {
+                    case KIND_PLUS -> new Plus(args);
+                    case KIND_MINUS -> new Minus(args);
+                    case KIND_TIMES -> new Times(args);
+                    case KIND_POWER -> new Power(args);
+                    default -> new Divides(args);
+                };
+            } catch (IllegalConstruction e) {
+                throw new IOException("Invalid operation", e);
+            }
+        }
+    }
+}
@@ -0,0 +1,154 @@
+package calculator;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.DoubleBinaryOperator;
+import java.util.function.DoubleUnaryOperator;
+
+/**
+ * Registry of the functions that can be called in expressions, shared by all the parsers.
+ * It holds the standard functions below, and any function registered by the application:
+ * <ul>
+ *     <li>{@code sqrt}, {@code abs}, {@code exp}, {@code ln} (natural logarithm) and {@code log} (base 10);</li>
+ *     <li>{@code sin}, {@code cos} and {@code tan}, of an angle in radians;</li>
+ *     <li>{@code pow(x, y)}, {@code min(x, y)} and {@code max(x, y)}.</li>
+ * </ul>
+ * The transcendental functions are memoized, see {@link MathFunction}. The others are compiled to single
+ * instructions by the JIT, and are cheaper to compute again than to look up.
+ *
+ * <p>Names are resolved when an expression is parsed or decoded: registering a function again under the same
+ * name replaces it for the expressions parsed afterwards only, and not for those already parsed, such as the
+ * trees held by a {@link ParseCache}.
+ */
+public final class FunctionRegistry {
+
+    private static final Map<String, MathFunction> FUNCTIONS = new ConcurrentHashMap<>();
+
+    private static final MethodType UNARY = MethodType.methodType(double.class, double.class);
+    private static final MethodType BINARY = MethodType.methodType(double.class, double.class, double.class);
+
+    static {
+        builtin("sqrt", "sqrt", UNARY, false);
+        builtin("abs", "abs", UNARY, false);
+        builtin("exp", "exp", UNARY, true);
+        builtin("ln", "log", UNARY, true);
+        builtin("log", "log10", UNARY, true);
+        builtin("sin", "sin", UNARY, true);
+        builtin("cos", "cos", UNARY, true);
+        builtin("tan", "tan", UNARY, true);
+        builtin("pow", "pow", BINARY, true);
+        builtin("min", "min", BINARY, false);
+        builtin("max", "max", BINARY, false);
+    }
+
+    private FunctionRegistry() {
+        // Static utility class
+    }
+
+    private static void builtin(String name, String method, MethodType type, boolean memoized) {
+        try {
+            MethodHandle handle = MethodHandles.publicLookup().findStatic(Math.class, method, type);
+            register(new MathFunction(name, handle, true, memoized));
+        } catch (ReflectiveOperationException e) {
+            throw new ExceptionInInitializerError(e);
+        }
+    }
+
+    /**
+     * Registers a function, replacing any function of the same name.
+     *
+     * @param function the function to register
+     * @return the function registered
+     */
+    public static MathFunction register(MathFunction function) {
+        FUNCTIONS.put(function.name(), function);
+        return function;
+    }
+
+    /**
+     * Registers a function given as a method handle, replacing any function of the same name.
+     *
+     * @param name the name of the function
+     * @param handle the function, taking one or more {@code double}s and returning a {@code double}
+     * @param pure true if the function always returns the same result for the same arguments, so that
+     *             its results can be memoized
+     * @return the function registered
+     * @throws IllegalArgumentException if the name is invalid or the handle does not have the expected type
+     */
+    public static MathFunction register(String name, MethodHandle handle, boolean pure) {
+        return register(new MathFunction(name, handle, pure));
+    }
+
+    /**
+     * Registers a function of one argument, replacing any function of the same name.
+     *
+     * @param name the name of the function
+     * @param function the function
+     * @param pure true if the function always returns the same result for the same argument
+     * @return the function registered
+     * @throws IllegalArgumentException if the name is invalid
+     */
+    public static MathFunction register(String name, DoubleUnaryOperator function, boolean pure) {
+        return register(name, bind(DoubleUnaryOperator.class, UNARY, function), pure);
+    }
+
+    /**
+     * Registers a function of two arguments, replacing any function of the same name.
+     *
+     * @param name the name of the function
+     * @param function the function
+     * @param pure true if the function always returns the same result for the same arguments
+     * @return the function registered
+     * @throws IllegalArgumentException if the name is invalid
+     */
+    public static MathFunction register(String name, DoubleBinaryOperator function, boolean pure) {
+        return register(name, bind(DoubleBinaryOperator.class, BINARY, function), pure);
+    }
+
+    private static <T> MethodHandle bind(Class<T> type, MethodType methodType, T function) {
+        try {
+            return MethodHandles.publicLookup().findVirtual(type, "applyAsDouble", methodType).bindTo(function);
+        } catch (ReflectiveOperationException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    /**
+     * Removes a function from the registry. Expressions already parsed keep calling it.
+     *
+     * @param name the name of the function
+     * @return true if a function was removed
+     */
+    public static boolean unregister(String name) {
+        return FUNCTIONS.remove(name) != null;
+    }
+
+    /**
+     * Resolves a function by name.
+     *
+     * @param name the name of the function
+     * @return the function registered under this name
+     * @throws IllegalArgumentException if no function has this name
+     */
+    public static MathFunction resolve(String name) {
+        MathFunction function = FUNCTIONS.get(name);
+        if (function == null) {
+            throw new IllegalArgumentException("Unknown function: " + name);
+        }
+        return function;
+    }
+
+    /**
+     * Returns the names of the registered functions.
+     *
+     * @return the names, in alphabetical order
+     */
+    public static Set<String> names() {
+        return new TreeSet<>(FUNCTIONS.keySet());
+    }
+}
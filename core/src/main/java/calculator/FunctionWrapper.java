@@ -0,0 +1,119 @@
+package calculator;
+
+import visitor.Visitor;
+
+import java.util.List;
+
+/**
+ * Represents a call to a mathematical function, such as sqrt(x), sin(x) or max(x, y).
+ * This class wraps both the function, resolved by name in the {@link FunctionRegistry} when the call
+ * is parsed, and its arguments, and supports the Visitor pattern.
+ * Two calls are equal if they call the same registered function with equal arguments.
+ *
+ * @param function the function called
+ * @param arguments the expressions the function is applied to, as many as its arity
+ */
+public record FunctionWrapper(MathFunction function, List<Expression> arguments) implements Expression {
+
+    /**
+     * Creates a function call.
+     *
+     * @param function the function called
+     * @param arguments the expressions the function is applied to
+     * @throws IllegalArgumentException if the number of arguments does not match the arity of the function
+     */
+    public FunctionWrapper {
+        arguments = List.copyOf(arguments);
+        if (arguments.size() != function.arity()) {
+            throw new IllegalArgumentException("Function " + function.name() + " expects " + function.arity()
+                    + " argument(s), not " + arguments.size());
+        }
+    }
+
+    /**
+     * Creates a call to a function of the {@link FunctionRegistry}.
+     *
+     * @param functionName the name of the function (e.g., "sqrt", "sin", "max")
+     * @param arguments the expressions the function is applied to
+     * @throws IllegalArgumentException if the function is unknown or the number of arguments does not match its arity
+     */
+    public FunctionWrapper(String functionName, Expression... arguments) {
+        this(FunctionRegistry.resolve(functionName), List.of(arguments));
+    }
+
+    /**
+     * @return the name of the function called
+     */
+    public String functionName() {
+        return function.name();
+    }
+
+    /**
+     * Accepts a visitor to process this function expression.
+     * As for an {@link Operation}, the visitor descends into the arguments itself.
+     *
+     * @param v the visitor to accept
+     */
+    @Override
+    public void accept(Visitor v) {
+        v.visit(this);
+    }
+
+    /**
+     * Calculates the depth of the expression tree.
+     * A function wrapper adds one level of depth to its deepest argument.
+     *
+     * @return the depth of this expression
+     */
+    @Override
+    public int countDepth() {
+        int depth = 0;
+        for (Expression a : arguments) {
+            depth = Math.max(depth, a.countDepth());
+        }
+        return 1 + depth;
+    }
+
+    /**
+     * Counts the number of operations in the expression tree.
+     * A function wrapper is considered as one operation.
+     *
+     * @return the number of operations
+     */
+    @Override
+    public int countOps() {
+        int ops = 1;
+        for (Expression a : arguments) {
+            ops += a.countOps();
+        }
+        return ops;
+    }
+
+    /**
+     * Counts the number of numerical values (leaves) in the expression.
+     *
+     * @return the number of operands (numeric values)
+     */
+    @Override
+    public int countNbs() {
+        int nbs = 0;
+        for (Expression a : arguments) {
+            nbs += a.countNbs();
+        }
+        return nbs;
+    }
+
+    /**
+     * Returns a string representation of the function in standard notation.
+     *
+     * @return a string like "sin(x)", "sqrt(3 + 5)" or "max(1, 2)"
+     */
+    @Override
+    public String toString() {
+        StringBuilder s = new StringBuilder(function.name()).append('(');
+        for (int i = 0; i < arguments.size(); i++) {
+            s.append(i == 0 ? "" : ", ").append(arguments.get(i));
+        }
+        return s.append(')').toString();
+    }
+}
@@ -0,0 +1,206 @@
+package calculator;
+
+import calculator.Lexer.Token;
+import calculator.Lexer.TokenType;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Precedence-climbing (Pratt) parser for infix expressions.
+ * It pulls tokens one at a time from a {@link Lexer} and builds the {@link Expression} tree directly,
+ * in a single pass, without any intermediate token list or postfix conversion.
+ *
+ * <p>The grammar handled is the usual one:
+ * <ul>
+ *     <li>{@code +} and {@code -} bind less tightly than {@code *} and {@code /}, and all of them are left-associative;</li>
+ *     <li>a unary minus binds more tightly than any of these operators, and produces a {@link Negate}, folded by
+ *     {@link Negate#of(Expression)} when it applies to a number or to another negation;</li>
+ *     <li>{@code ^} binds more tightly than a unary minus and is right-associative: {@code -(2) ^ 2} is
+ *     {@code -(2 ^ 2)} and {@code 2 ^ 3 ^ 2} is {@code 2 ^ (3 ^ 2)}. The {@link Lexer} merges neither a sign
+ *     nor a fraction into a literal next to {@code ^}, so {@code -2 ^ 2} is {@code -(2 ^ 2)} as well, and
+ *     {@code 8/2 ^ 2} is {@code 8 / (2 ^ 2)};</li>
+ *     <li>operands are number literals, function calls such as {@code sqrt(...)} or {@code max(..., ...)},
+ *     resolved in the {@link FunctionRegistry}, and parenthesized expressions.</li>
+ * </ul>
+ * A chain of the same operator other than {@code ^}, such as {@code 1 + 2 + 3}, is flattened into a single n-ary
+ * {@link Operation}, which {@link Operation#compute(List)} folds from left to right.
+ */
+final class InfixParser {
+
+    private static final int ADDITIVE = 1;
+    private static final int MULTIPLICATIVE = 2;
+    private static final int UNARY = 3;
+    private static final int POWER = 4;
+
+    private final Lexer lexer;
+    private final boolean preserveFractions;
+
+    /** The current token, not consumed yet */
+    private Token token;
+
+    private InfixParser(Lexer lexer, boolean preserveFractions) {
+        this.lexer = lexer;
+        this.preserveFractions = preserveFractions;
+        this.token = lexer.next();
+    }
+
+    /**
+     * Parses an infix expression.
+     *
+     * @param lexer the lexer over the expression
+     * @param preserveFractions whether to preserve rational form
+     * @return the constructed Expression tree
+     * @throws IllegalConstruction if an operation cannot be built
+     * @throws IllegalArgumentException if the expression is malformed
+     */
+    static Expression parse(Lexer lexer, boolean preserveFractions) throws IllegalConstruction {
+        InfixParser parser = new InfixParser(lexer, preserveFractions);
+        Expression e = parser.parseBinary(ADDITIVE);
+        if (parser.token.type() != TokenType.EOF) {
+            throw new IllegalArgumentException(parser.token.type() == TokenType.RIGHT_PAREN
+                    ? "Mismatched parentheses" : "Invalid expression");
+        }
+        return e;
+    }
+
+    /**
+     * Parses a sequence of operands joined by binary operators of at least the given precedence.
+     *
+     * @param minPrecedence the lowest precedence of the operators to consume
+     * @return the expression
+     */
+    private Expression parseBinary(int minPrecedence) throws IllegalConstruction {
+        Expression left = parseUnary();
+        while (true) {
+            char operator = binaryOperator();
+            int precedence = precedence(operator);
+            if (precedence < minPrecedence) {
+                return left;
+            }
+            advance();
+            if (operator == '^') {
+                // Right-associative: the exponent extends over any further power
+                left = new Power(List.of(left, parseBinary(POWER)));
+                continue;
+            }
+
+            List<Expression> args = new ArrayList<>();
+            args.add(left);
+            args.add(parseBinary(precedence + 1));
+            // Flatten a chain of the same operator into a single n-ary operation
+            while (binaryOperator() == operator) {
+                advance();
+                args.add(parseBinary(precedence + 1));
+            }
+            left = createOperation(operator, args);
+        }
+    }
+
+    /**
+     * Parses an operand, possibly preceded by unary minus signs.
+     *
+     * @return the expression
+     */
+    private Expression parseUnary() throws IllegalConstruction {
+        if (token.type() == TokenType.NEGATE || isOperator('-')) {
+            advance();
+            return Negate.of(parseBinary(UNARY));
+        }
+        return parsePrimary();
+    }
+
+    /**
+     * Parses a number literal, a function call or a parenthesized expression.
+     *
+     * @return the expression
+     */
+    private Expression parsePrimary() throws IllegalConstruction {
+        Token t = token;
+        switch (t.type()) {
+            case INTEGER, REAL, COMPLEX, RATIONAL, PI -> {
+                Expression number = lexer.literal(t, preserveFractions);
+                advance();
+                return number;
+            }
+            case FUNCTION -> {
+                MathFunction function = FunctionRegistry.resolve(lexer.text(t));
+                advance();
+                return new FunctionWrapper(function, parseArguments());
+            }
+            case LEFT_PAREN -> {
+                advance();
+                return parseParenthesized();
+            }
+            default -> throw new IllegalArgumentException("Invalid expression");
+        }
+    }
+
+    /**
+     * Parses an expression followed by a closing parenthesis, the opening one being already consumed.
+     *
+     * @return the expression
+     */
+    private Expression parseParenthesized() throws IllegalConstruction {
+        Expression e = parseBinary(ADDITIVE);
+        if (token.type() != TokenType.RIGHT_PAREN) {
+            throw new IllegalArgumentException("Mismatched parentheses");
+        }
+        advance();
+        return e;
+    }
+
+    /**
+     * Parses the comma-separated arguments of a function call followed by a closing parenthesis,
+     * the opening one being already consumed.
+     *
+     * @return the arguments
+     */
+    private List<Expression> parseArguments() throws IllegalConstruction {
+        List<Expression> args = new ArrayList<>(2);
+        args.add(parseBinary(ADDITIVE));
+        while (token.type() == TokenType.COMMA) {
+            advance();
+            args.add(parseBinary(ADDITIVE));
+        }
+        if (token.type() != TokenType.RIGHT_PAREN) {
+            throw new IllegalArgumentException("Mismatched parentheses");
+        }
+        advance();
+        return args;
+    }
+
+    private void advance() {
+        token = lexer.next();
+    }
+
+    private boolean isOperator(char c) {
+        return token.type() == TokenType.OPERATOR && lexer.firstChar(token) == c;
+    }
+
+    /**
+     * Returns the binary operator of the current token, or 0 if it is not one.
+     */
+    private char binaryOperator() {
+        return token.type() == TokenType.OPERATOR ? lexer.firstChar(token) : 0;
+    }
+
+    private static int precedence(char operator) {
+        return switch (operator) {
+            case '+', '-' -> ADDITIVE;
+            case '*', '/' -> MULTIPLICATIVE;
+            case '^' -> POWER;
+            default -> 0;
+        };
+    }
+
+    private static Operation createOperation(char operator, List<Expression> args) throws IllegalConstruction {
+        return switch (operator) {
+            case '+' -> new Plus(args);
+            case '-' -> new Minus(args);
+            case '*' -> new Times(args);
+            case '/' -> new Divides(args);
+            default -> throw new IllegalArgumentException("Unknown operator: " + operator);
+        };
+    }
+}
@@ -0,0 +1,165 @@
+package calculator;
+
+import java.math.BigInteger;
+
+/**
+ * This class represents an exact integer produced by the integer evaluation mode.
+ * The value is kept in a primitive {@code long} as long as it fits, and is promoted
+ * to a {@link BigInteger} only when an operation overflows the {@code long} range.
+ *
+ * <p>Integer numbers are not created by the parser: literals are still parsed as {@link RealNumber}s.
+ * They are the results of the operations flagged by {@link Operation#isIntegral()} when the
+ * {@link visitor.Evaluator} runs in integer mode. Mixed with other types, they are promoted
+ * to real numbers by {@link NumericOps}.
+ *
+ * <p>This is a value-based class: instances are immutable and code must never rely on their identity.
+ */
+public final class IntegerNumber extends MyNumber {
+
+    /** Lowest value kept in the cache of shared instances */
+    private static final int CACHE_LOW = -128;
+
+    /** Highest value kept in the cache of shared instances */
+    private static final int CACHE_HIGH = 127;
+
+    /** Shared instances for the small values, as {@link Long#valueOf(long)} does */
+    private static final IntegerNumber[] CACHE = new IntegerNumber[CACHE_HIGH - CACHE_LOW + 1];
+
+    static {
+        for (int i = 0; i < CACHE.length; i++) {
+            CACHE[i] = new IntegerNumber(CACHE_LOW + i, null);
+        }
+    }
+
+    private static final BigInteger LONG_MIN = BigInteger.valueOf(Long.MIN_VALUE);
+    private static final BigInteger LONG_MAX = BigInteger.valueOf(Long.MAX_VALUE);
+
+    /** The value, when it fits in a long */
+    private final long value;
+
+    /** The value, when it does not fit in a long; {@code null} otherwise */
+    private final BigInteger big;
+
+    private IntegerNumber(long value, BigInteger big) {
+        this.value = value;
+        this.big = big;
+    }
+
+    /**
+     * Returns an integer number with the given value.
+     *
+     * @param value the value of the number
+     * @return an {@link IntegerNumber} representing {@code value}
+     */
+    public static IntegerNumber valueOf(long value) {
+        if (value >= CACHE_LOW && value <= CACHE_HIGH) {
+            return CACHE[(int) value - CACHE_LOW];
+        }
+        return new IntegerNumber(value, null);
+    }
+
+    /**
+     * Returns an integer number with the given value.
+     * The value is narrowed to a {@code long} when it fits.
+     *
+     * @param value the value of the number
+     * @return an {@link IntegerNumber} representing {@code value}
+     */
+    public static IntegerNumber valueOf(BigInteger value) {
+        if (value.compareTo(LONG_MIN) >= 0 && value.compareTo(LONG_MAX) <= 0) {
+            return valueOf(value.longValue());
+        }
+        return new IntegerNumber(0L, value);
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * @return {@link NumberType#INTEGER}
+     */
+    @Override
+    public NumberType getType() {
+        return NumberType.INTEGER;
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * @return the exact opposite integer
+     */
+    @Override
+    public IntegerNumber negate() {
+        return big == null && value != Long.MIN_VALUE ? valueOf(-value) : valueOf(bigIntegerValue().negate());
+    }
+
+    /**
+     * Checks whether the value fits in a {@code long}.
+     *
+     * @return true if {@link #longValue()} is exact, false otherwise
+     */
+    public boolean isLong() {
+        return big == null;
+    }
+
+    /**
+     * Returns the value as a {@code long}.
+     * The result is only exact when {@link #isLong()} is true.
+     *
+     * @return the value as a {@code long}
+     */
+    public long longValue() {
+        return big == null ? value : big.longValue();
+    }
+
+    /**
+     * Returns the value as a {@link BigInteger}.
+     *
+     * @return the exact value
+     */
+    public BigInteger bigIntegerValue() {
+        return big == null ? BigInteger.valueOf(value) : big;
+    }
+
+    /**
+     * Returns the value as a {@code double}, rounding it if needed.
+     *
+     * @return the closest double to the value
+     */
+    public double doubleValue() {
+        return big == null ? value : big.doubleValue();
+    }
+
+    /**
+     * Returns the exact decimal representation of the value.
+     *
+     * @return the string representation of the number
+     */
+    @Override
+    public String toString() {
+        return big == null ? Long.toString(value) : big.toString();
+    }
+
+    /**
+     * Computes the hash code based on the value.
+     *
+     * @return the hash code
+     */
+    @Override
+    public int hashCode() {
+        return big == null ? Long.hashCode(value) : big.hashCode();
+    }
+
+    /**
+     * Compares this integer number with another object for equality.
+     * Since values are narrowed whenever they fit in a long, comparing the fields is enough.
+     *
+     * @param obj the object to compare with
+     * @return true if the objects represent the same value, false otherwise
+     */
+    @Override
+    public boolean equals(Object obj) {
+        if (this == obj) return true;
+        if (!(obj instanceof IntegerNumber that)) return false;
+        return value == that.value && (big == null ? that.big == null : big.equals(that.big));
+    }
+}
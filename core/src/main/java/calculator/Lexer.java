@@ -0,0 +1,417 @@
+package calculator;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.io.UncheckedIOException;
+import java.nio.CharBuffer;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Hand-written lexer turning an expression into a sequence of {@link Token}s.
+ * It is a small state machine working character by character on a {@link CharSequence} or a {@link Reader}:
+ * the input is scanned once, from left to right, without regular expressions and without
+ * copying any part of it. Tokens only record their type and their offsets in the input,
+ * and number literals are converted in place with {@link #literal(Token, boolean)}.
+ *
+ * <p>The literals recognized are those of the {@link Parser}:
+ * <ul>
+ *     <li>integers ({@code 12}), decimals ({@code 2.5}, {@code .5}) and {@code π};</li>
+ *     <li>fractions ({@code 3/4});</li>
+ *     <li>complex numbers written as a single literal ({@code 2+3i}, {@code 1.5-i},
+ *     {@code 3+1/2i}, {@code 4i}, {@code i}).</li>
+ * </ul>
+ * A minus sign belongs to the literal that follows it when it cannot be a binary operator,
+ * that is at the start of the input, after an operator, an opening parenthesis or a comma;
+ * in the same position, a minus sign followed by a parenthesis is a {@link TokenType#NEGATE} token.
+ * Since {@code ^} binds more tightly than a sign or a division, neither a sign nor a fraction is merged into
+ * a literal raised to a power, and neither a fraction nor a complex sum is merged into an exponent:
+ * {@code -2^2} is lexed as {@code -}, {@code 2}, {@code ^}, {@code 2}, {@code 8/2^2} and {@code 2^1/2} as plain
+ * divisions, and {@code 1+2i^2} and {@code 2^1+2i} as sums.
+ * The name of a function call such as {@code sqrt(...)}, made of ASCII letters and digits and directly followed
+ * by a parenthesis, is returned as a {@link TokenType#FUNCTION} token which also consumes the opening parenthesis,
+ * so that the arguments are lexed like any parenthesized expression. The name is resolved by the parsers.
+ * Commas separate the arguments of function calls and of the prefix and postfix notations.
+ * Whitespace separates tokens and is otherwise ignored.
+ *
+ * <p>When reading from a {@link Reader}, only a sliding window of the input is kept in memory:
+ * the characters preceding the current token are discarded whenever the window is refilled,
+ * so the text of a token must be read before the next token is requested. The window only grows
+ * beyond its initial capacity for a single token longer than that.
+ */
+final class Lexer {
+
+    /**
+     * Token type enumeration for recognizing parts of an expression.
+     */
+    enum TokenType {
+        INTEGER, REAL, COMPLEX, RATIONAL, PI, OPERATOR, NEGATE, LEFT_PAREN, RIGHT_PAREN, COMMA, FUNCTION, EOF
+    }
+
+    /**
+     * A token, identified by its type and the range {@code [start, end)} it covers in the input.
+     *
+     * @param type the type of the token
+     * @param start the offset of the first character of the token
+     * @param end the offset following the last character of the token
+     */
+    record Token(TokenType type, int start, int end) {
+
+        /**
+         * Tells whether this token is a number literal.
+         *
+         * @return true for integers, decimals, fractions, complex numbers and π
+         */
+        boolean isNumber() {
+            return switch (type) {
+                case INTEGER, REAL, COMPLEX, RATIONAL, PI -> true;
+                default -> false;
+            };
+        }
+    }
+
+    /** The whole input, or {@code null} when reading from a {@link Reader} */
+    private final CharSequence input;
+
+    /** The source of the input, or {@code null} when it is held in memory */
+    private final Reader reader;
+
+    /** Characters of the input read so far and not discarded yet, when reading from a {@link Reader} */
+    private char[] window;
+
+    /** View of the window as a character sequence, for the conversion of literals */
+    private CharBuffer windowView;
+
+    /** The offset in the input of the first character of the window */
+    private int base;
+
+    /** The offset following the last character available, in memory or in the window */
+    private int limit;
+
+    /** Whether the reader is exhausted */
+    private boolean eof;
+
+    private int pos;
+
+    /** The offset of the first character that must be kept, that is the start of the current token */
+    private int mark;
+
+    /** Whether the previous token ends an operand, in which case a minus sign is a binary operator */
+    private boolean afterOperand;
+
+    /** Whether the previous token is the {@code ^} operator, in which case a literal is an exponent */
+    private boolean afterPower;
+
+    /**
+     * Creates a lexer over the given input.
+     *
+     * @param input the expression to tokenize
+     */
+    Lexer(CharSequence input) {
+        this.input = input;
+        this.reader = null;
+        this.limit = input.length();
+    }
+
+    /**
+     * Creates a lexer reading its input from a stream of characters.
+     * I/O errors are rethrown as {@link UncheckedIOException}s by {@link #next()}.
+     *
+     * @param reader the source of the expression to tokenize
+     * @param capacity the initial size of the window over the input
+     */
+    Lexer(Reader reader, int capacity) {
+        if (capacity <= 0) {
+            throw new IllegalArgumentException("Capacity must be positive: " + capacity);
+        }
+        this.input = null;
+        this.reader = reader;
+        this.window = new char[capacity];
+        this.windowView = CharBuffer.wrap(window);
+    }
+
+    /**
+     * Tokenizes the whole input.
+     *
+     * @return the list of tokens, without the final {@link TokenType#EOF} token
+     * @throws IllegalArgumentException if the input contains an unexpected character
+     */
+    List<Token> tokenize() {
+        List<Token> tokens = new ArrayList<>();
+        for (Token t = next(); t.type() != TokenType.EOF; t = next()) {
+            tokens.add(t);
+        }
+        return tokens;
+    }
+
+    /**
+     * Returns the next token of the input.
+     *
+     * @return the next token, or a {@link TokenType#EOF} token at the end of the input
+     * @throws IllegalArgumentException if the input contains an unexpected character
+     */
+    Token next() {
+        // The previous token is released, and so is whitespace as it is skipped
+        mark = pos;
+        int c = at(pos);
+        while (c >= 0 && Character.isWhitespace(c)) {
+            mark = ++pos;
+            c = at(pos);
+        }
+        int start = pos;
+        mark = start;
+        if (c < 0) {
+            return new Token(TokenType.EOF, start, start);
+        }
+
+        Token token;
+        int call = functionNameEnd(pos);
+        if (call > 0) {
+            token = new Token(TokenType.FUNCTION, start, call);
+        } else if (c == '-' && !afterOperand && startsLiteral(pos + 1)) {
+            token = number(start, pos + 1);
+            if (isPower(token.end())) {
+                // The sign applies to the power, not to its base
+                token = new Token(TokenType.OPERATOR, start, start + 1);
+            }
+        } else if (c == '-' && !afterOperand && at(skipWhitespace(pos + 1)) == '(') {
+            token = new Token(TokenType.NEGATE, start, start + 1);
+        } else if (startsLiteral(pos)) {
+            token = number(start, pos);
+        } else if (c == '+' || c == '-' || c == '*' || c == '/' || c == '^') {
+            token = new Token(TokenType.OPERATOR, start, start + 1);
+        } else if (c == '(') {
+            token = new Token(TokenType.LEFT_PAREN, start, start + 1);
+        } else if (c == ')') {
+            token = new Token(TokenType.RIGHT_PAREN, start, start + 1);
+        } else if (c == ',') {
+            token = new Token(TokenType.COMMA, start, start + 1);
+        } else {
+            throw new IllegalArgumentException("Unexpected character '" + (char) c + "' at position " + pos);
+        }
+
+        // The opening parenthesis of a function call is consumed with its name
+        pos = token.type() == TokenType.FUNCTION ? token.end() + 1 : token.end();
+        afterOperand = token.isNumber() || token.type() == TokenType.RIGHT_PAREN;
+        afterPower = token.type() == TokenType.OPERATOR && c == '^';
+        return token;
+    }
+
+    /**
+     * Returns the text of a token. When reading from a {@link Reader}, this must be called
+     * before the next token is requested.
+     *
+     * @param token the last token returned by {@link #next()}
+     * @return the characters covered by the token
+     */
+    String text(Token token) {
+        if (input != null) {
+            return input.subSequence(token.start(), token.end()).toString();
+        }
+        return new String(window, token.start() - base, token.end() - token.start());
+    }
+
+    /**
+     * Converts a number literal, reading its characters in place.
+     * When reading from a {@link Reader}, this must be called before the next token is requested.
+     *
+     * @param token the last token returned by {@link #next()}, which must be a number
+     * @param preserveFractions whether to preserve rational numbers or convert them to divisions
+     * @return the number, or the division of a fraction
+     * @see NumberParser#createNumber(TokenType, CharSequence, int, int, boolean)
+     */
+    Expression literal(Token token, boolean preserveFractions) {
+        if (input != null) {
+            return NumberParser.createNumber(token.type(), input, token.start(), token.end(), preserveFractions);
+        }
+        return NumberParser.createNumber(token.type(), windowView, token.start() - base, token.end() - base,
+                preserveFractions);
+    }
+
+    /**
+     * Returns the first character of a token, such as the symbol of an operator.
+     *
+     * @param token the last token returned by {@link #next()}
+     * @return the first character of the token
+     */
+    char firstChar(Token token) {
+        return (char) at(token.start());
+    }
+
+    /**
+     * Tells whether the {@code ^} operator follows the given offset, possibly after whitespace.
+     */
+    private boolean isPower(int i) {
+        return at(skipWhitespace(i)) == '^';
+    }
+
+    /**
+     * Returns the offset of the first non-whitespace character at or after the given offset.
+     */
+    private int skipWhitespace(int i) {
+        while (Character.isWhitespace(at(i))) {
+            i++;
+        }
+        return i;
+    }
+
+    /**
+     * Returns the character at the given offset, or -1 past the end of the input.
+     */
+    private int at(int i) {
+        if (i < limit) {
+            return input != null ? input.charAt(i) : window[i - base];
+        }
+        return input == null && fill(i) ? window[i - base] : -1;
+    }
+
+    /**
+     * Reads from the reader until the character at the given offset is available.
+     * The characters preceding the mark are discarded first, and the window is only
+     * enlarged if it is still full.
+     *
+     * @param i the offset of the character needed
+     * @return true if the character is available, false if the input ends before it
+     */
+    private boolean fill(int i) {
+        while (i >= limit && !eof) {
+            if (mark > base) {
+                System.arraycopy(window, mark - base, window, 0, limit - mark);
+                base = mark;
+            }
+            if (limit - base == window.length) {
+                window = Arrays.copyOf(window, window.length * 2);
+                windowView = CharBuffer.wrap(window);
+            }
+            int read;
+            try {
+                read = reader.read(window, limit - base, window.length - (limit - base));
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+            if (read < 0) {
+                eof = true;
+            } else {
+                limit += read;
+            }
+        }
+        return i < limit;
+    }
+
+    private static boolean isDigit(int c) {
+        return c >= '0' && c <= '9';
+    }
+
+    /**
+     * Tells whether a number literal starts at the given offset.
+     */
+    private boolean startsLiteral(int i) {
+        int c = at(i);
+        return isDigit(c) || c == 'π' || (c == '.' && isDigit(at(i + 1))) || isImaginaryUnit(i);
+    }
+
+    /**
+     * Tells whether the imaginary unit is at the given offset, and not the first letter of a function name.
+     */
+    private boolean isImaginaryUnit(int i) {
+        int next = at(i + 1);
+        return at(i) == 'i' && !MathFunction.isLetter(next) && !isDigit(next) && next != '(';
+    }
+
+    /**
+     * Returns the offset following the name of the function called at the given offset,
+     * or -1 if no function call starts there.
+     */
+    private int functionNameEnd(int i) {
+        if (!MathFunction.isLetter(at(i))) {
+            return -1;
+        }
+        do {
+            i++;
+        } while (MathFunction.isLetter(at(i)) || isDigit(at(i)));
+        return at(i) == '(' ? i : -1;
+    }
+
+    /**
+     * Returns the offset following the run of digits starting at the given offset.
+     */
+    private int digits(int i) {
+        while (isDigit(at(i))) {
+            i++;
+        }
+        return i;
+    }
+
+    /**
+     * Returns the offset following the optional decimal part ({@code .5}) or denominator
+     * ({@code /4}, {@code /-4}) starting at the given offset, or the offset itself if there is none.
+     */
+    private int fraction(int i) {
+        if (at(i) == '.' && isDigit(at(i + 1))) {
+            return digits(i + 1);
+        }
+        if (at(i) == '/') {
+            int j = at(i + 1) == '-' ? i + 2 : i + 1;
+            if (isDigit(at(j))) {
+                return digits(j);
+            }
+        }
+        return i;
+    }
+
+    /**
+     * Scans a number literal.
+     *
+     * @param start the offset of the literal, including its sign if any
+     * @param i the offset of the first character following the sign
+     * @return the literal token
+     */
+    private Token number(int start, int i) {
+        int c = at(i);
+        if (isImaginaryUnit(i)) {
+            return new Token(TokenType.COMPLEX, start, i + 1);
+        }
+        if (c == 'π') {
+            return new Token(TokenType.PI, start, i + 1);
+        }
+        if (c == '.') {
+            return new Token(TokenType.REAL, start, digits(i + 1));
+        }
+
+        int integerEnd = digits(i);
+        // A plain fraction takes precedence over a complex literal, so "1/2i" is 1/2 followed by i,
+        // unless it is the base or the exponent of a power, which is then only its numerator or its denominator
+        if (at(integerEnd) == '/' && isDigit(at(integerEnd + 1))) {
+            int fractionEnd = digits(integerEnd + 1);
+            if (afterPower || isPower(fractionEnd)) {
+                return new Token(TokenType.INTEGER, start, integerEnd);
+            }
+            return new Token(TokenType.RATIONAL, start, fractionEnd);
+        }
+
+        // Complex literals: "a i", or "a + b i" and "a - b i" where b may be omitted. As for a fraction,
+        // the sum is not merged into the base or the exponent of a power, which is then only its real part
+        int realEnd = fraction(integerEnd);
+        if (isImaginaryUnit(realEnd)) {
+            return new Token(TokenType.COMPLEX, start, realEnd + 1);
+        }
+        if ((at(realEnd) == '+' || at(realEnd) == '-') && !afterPower) {
+            int j = realEnd + 1;
+            if (isImaginaryUnit(j) && !isPower(j + 1)) {
+                return new Token(TokenType.COMPLEX, start, j + 1);
+            }
+            if (isDigit(at(j))) {
+                int imaginaryEnd = fraction(digits(j));
+                if (isImaginaryUnit(imaginaryEnd) && !isPower(imaginaryEnd + 1)) {
+                    return new Token(TokenType.COMPLEX, start, imaginaryEnd + 1);
+                }
+            }
+        }
+
+        if (at(integerEnd) == '.' && isDigit(at(integerEnd + 1))) {
+            return new Token(TokenType.REAL, start, digits(integerEnd + 1));
+        }
+        return new Token(TokenType.INTEGER, start, integerEnd);
+    }
+}
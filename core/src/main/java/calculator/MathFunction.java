@@ -0,0 +1,186 @@
+package calculator;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodType;
+import java.util.Arrays;
+import java.util.Collections;
+
+/**
+ * A named mathematical function of one or more real arguments, such as {@code sin} or {@code max},
+ * as called by a {@link FunctionWrapper}. Functions are registered in the {@link FunctionRegistry}
+ * and resolved by the parsers, so that evaluating a call invokes a {@link MethodHandle} directly
+ * instead of looking the function up by name.
+ *
+ * <p>The results of a pure function, which always returns the same value for the same arguments,
+ * can be memoized in a small table of its own. The table is direct-mapped: each combination of arguments
+ * has a single slot, and a new result simply replaces the one in its slot, so the memory used is bounded
+ * and a lookup is a hash and a comparison. The table is shared by all the threads without any lock:
+ * its entries are immutable, so a thread sees either a complete entry or a stale one, which is then a miss.
+ */
+public final class MathFunction {
+
+    /** Number of slots of the memo table of a memoized function */
+    public static final int MEMO_SIZE = 256;
+
+    /**
+     * A memoized result.
+     *
+     * @param args the arguments of the call
+     * @param value the result of the call
+     */
+    private record Memo(double[] args, double value) {
+    }
+
+    private final String name;
+    private final int arity;
+    private final boolean pure;
+
+    /** The function, of type {@code (double, ..., double)double} */
+    private final MethodHandle handle;
+
+    /** The function taking its arguments as an array, for arities above 2 */
+    private final MethodHandle spreader;
+
+    /** Results of previous calls, or {@code null} if they are not memoized */
+    private final Memo[] memo;
+
+    /**
+     * Creates a function. The results of a pure function are memoized.
+     *
+     * @param name the name of the function, made of ASCII letters and digits and starting with a letter
+     * @param handle the function, taking one or more {@code double}s and returning a {@code double}
+     * @param pure true if the function always returns the same result for the same arguments, without side effects
+     * @throws IllegalArgumentException if the name is invalid or the handle does not have the expected type
+     */
+    public MathFunction(String name, MethodHandle handle, boolean pure) {
+        this(name, handle, pure, pure);
+    }
+
+    /**
+     * Creates a function, possibly pure but not memoized when it is cheaper to compute than to look up.
+     *
+     * @param name the name of the function
+     * @param handle the function
+     * @param pure true if the function always returns the same result for the same arguments
+     * @param memoized true to memoize the results of the function, which requires it to be pure
+     */
+    MathFunction(String name, MethodHandle handle, boolean pure, boolean memoized) {
+        if (!isValidName(name)) {
+            throw new IllegalArgumentException("Invalid function name: " + name);
+        }
+        int count = handle.type().parameterCount();
+        if (count == 0 || !handle.type().equals(MethodType.methodType(double.class,
+                Collections.nCopies(count, double.class)))) {
+            throw new IllegalArgumentException("Function " + name + " must take doubles and return a double, not "
+                    + handle.type());
+        }
+        this.name = name;
+        this.arity = count;
+        this.pure = pure;
+        this.handle = handle;
+        this.spreader = handle.asSpreader(double[].class, count);
+        this.memo = pure && memoized ? new Memo[MEMO_SIZE] : null;
+    }
+
+    /**
+     * Tells whether a name can be given to a function, that is whether the lexer reads it as a function name.
+     *
+     * @param name the name to check
+     * @return true if the name is made of ASCII letters and digits and starts with a letter
+     */
+    static boolean isValidName(String name) {
+        if (name == null || name.isEmpty() || !isLetter(name.charAt(0))) {
+            return false;
+        }
+        for (int i = 1; i < name.length(); i++) {
+            char c = name.charAt(i);
+            if (!isLetter(c) && (c < '0' || c > '9')) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    static boolean isLetter(int c) {
+        return (c >= 'a' && c <= 'z') || (c >= 'A' && c <= 'Z');
+    }
+
+    /**
+     * @return the name of the function
+     */
+    public String name() {
+        return name;
+    }
+
+    /**
+     * @return the number of arguments of the function
+     */
+    public int arity() {
+        return arity;
+    }
+
+    /**
+     * @return true if the function always returns the same result for the same arguments
+     */
+    public boolean isPure() {
+        return pure;
+    }
+
+    /**
+     * @return true if the results of the function are memoized
+     */
+    public boolean isMemoized() {
+        return memo != null;
+    }
+
+    /**
+     * Applies the function, serving the result from the memo table when the same arguments were seen before.
+     *
+     * @param args the arguments, which must not be modified afterwards
+     * @return the result of the function
+     * @throws IllegalArgumentException if the number of arguments does not match the arity of the function
+     */
+    public double apply(double... args) {
+        if (args.length != arity) {
+            throw new IllegalArgumentException("Function " + name + " expects " + arity + " argument(s), not "
+                    + args.length);
+        }
+        if (memo == null) {
+            return invoke(args);
+        }
+        int slot = Arrays.hashCode(args);
+        slot = (slot ^ slot >>> 16) & (MEMO_SIZE - 1);
+        Memo m = memo[slot];
+        // Arrays.equals compares the bits of the doubles, so NaN, 0.0 and -0.0 are told apart correctly
+        if (m != null && Arrays.equals(m.args, args)) {
+            return m.value;
+        }
+        double value = invoke(args);
+        memo[slot] = new Memo(args, value);
+        return value;
+    }
+
+    private double invoke(double[] args) {
+        try {
+            return switch (arity) {
+                case 1 -> (double) handle.invokeExact(args[0]);
+                case 2 -> (double) handle.invokeExact(args[0], args[1]);
+                default -> (double) spreader.invokeExact(args);
+            };
+        } catch (RuntimeException | Error e) {
+            throw e;
+        } catch (Throwable t) {
+            throw new IllegalStateException("Function " + name + " failed", t);
+        }
+    }
+
+    /**
+     * Returns the name of the function.
+     *
+     * @return the name of the function
+     */
+    @Override
+    public String toString() {
+        return name;
+    }
+}
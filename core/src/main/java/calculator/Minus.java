@@ -1,5 +1,6 @@
 package calculator;
 
+import java.math.BigInteger;
 import java.util.List;
 
 /**
@@ -39,20 +40,45 @@ public final class Minus extends Operation {
     }
 
     /**
-     * Performs basic subtraction between two integers.
+     * Performs subtraction between two doubles.
      *
      * @param l the left operand (minuend)
      * @param r the right operand (subtrahend)
      * @return the result of l - r
      */
     @Override
-    public int op(int l, int r) {
+    public double op(double l, double r) {
         return l - r;
     }
 
+    /**
+     * Performs exact subtraction between two integers.
+     *
+     * @param l the left operand (minuend)
+     * @param r the right operand (subtrahend)
+     * @return the result of l - r
+     * @throws ArithmeticException if the result overflows a long
+     */
+    @Override
+    public long op(long l, long r) {
+        return Math.subtractExact(l, r);
+    }
+
+    /**
+     * Performs subtraction between two arbitrary-precision integers.
+     *
+     * @param l the left operand (minuend)
+     * @param r the right operand (subtrahend)
+     * @return the result of l - r
+     */
+    @Override
+    public BigInteger op(BigInteger l, BigInteger r) {
+        return l.subtract(r);
+    }
+
     /**
      * Performs subtraction between two {@link MyNumber} instances.
-     * Supports mixed types (Real, Rational, Complex).
+     * Supports mixed types (Real, Rational, Complex) through {@link NumericOps#sub(MyNumber, MyNumber)}.
      *
      * @param left  the left operand
      * @param right the right operand
@@ -61,55 +87,7 @@ public final class Minus extends Operation {
      */
     @Override
     public MyNumber compute(MyNumber left, MyNumber right) throws IllegalConstruction {
-        if (left instanceof RealNumber l && right instanceof RealNumber r) {
-            return new RealNumber(l.getValue() - r.getValue());
-        }
-
-        if (left instanceof RationalNumber l && right instanceof RationalNumber r) {
-            Times times = new Times(List.of());
-            Minus minus = new Minus(List.of());
-
-            RealNumber numerator = (RealNumber) minus.compute(
-                    times.compute(l.getNominator(), r.getDenominator()),
-                    times.compute(r.getNominator(), l.getDenominator())
-            );
-            RealNumber denominator = (RealNumber) times.compute(l.getDenominator(), r.getDenominator());
-            return new RationalNumber(numerator, denominator);
-        }
-
-        if (left instanceof RealNumber l && right instanceof RationalNumber r) {
-            return compute(new RationalNumber(l), r);
-        }
-
-        if (left instanceof RationalNumber l && right instanceof RealNumber r) {
-            return compute(l, new RationalNumber(r));
-        }
-
-        if (left instanceof ComplexNumber l && right instanceof ComplexNumber r) {
-            Minus minus = new Minus(List.of());
-            return new ComplexNumber(
-                    minus.compute(l.getRealPart(), r.getRealPart()),
-                    minus.compute(l.getImaginaryPart(), r.getImaginaryPart())
-            );
-        }
-
-        if (left instanceof ComplexNumber complex && (right instanceof RealNumber || right instanceof RationalNumber)) {
-            Minus minus = new Minus(List.of());
-            return new ComplexNumber(
-                    minus.compute(complex.getRealPart(), right),
-                    complex.getImaginaryPart()
-            );
-        }
-
-        if ((left instanceof RealNumber || left instanceof RationalNumber) && right instanceof ComplexNumber complex) {
-            Minus minus = new Minus(List.of());
-            return new ComplexNumber(
-                    minus.compute(left, complex.getRealPart()),
-                    complex.getImaginaryPart().getOpposite()
-            );
-        }
-
-        throw new IllegalArgumentException("Unsupported types for subtraction");
+        return NumericOps.sub(left, right);
     }
 
     /**
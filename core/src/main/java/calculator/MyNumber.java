@@ -19,6 +19,21 @@ import visitor.Visitor;
  */
 public abstract class MyNumber implements Expression {
 
+    /**
+     * Returns the numeric kind of this number.
+     * The ordinal of the returned type is used by {@link NumericOps} to select the arithmetic kernel.
+     *
+     * @return the {@link NumberType} of this number
+     */
+    public abstract NumberType getType();
+
+    /**
+     * Returns the opposite of this number, by flipping its sign.
+     *
+     * @return the opposite of this number
+     */
+    public abstract MyNumber negate();
+
     /**
      * Accepts a {@link Visitor} according to the Visitor design pattern.
      * The visitor will process this numeric expression directly.
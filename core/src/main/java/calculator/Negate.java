@@ -0,0 +1,113 @@
+package calculator;
+
+import visitor.Visitor;
+
+/**
+ * Represents the unary negation of an expression, such as {@code -(2+3)} or {@code -sqrt(4)}.
+ * Negating a value only flips its sign, instead of multiplying it by -1 with a {@link Times},
+ * which costs an extra number, an extra operation and, for rational and complex values, gcd computations.
+ *
+ * <p>Negations should be built with {@link #of(Expression)}, which folds double negations
+ * and negated numbers.
+ *
+ * @param argument the expression whose opposite is taken
+ */
+public record Negate(Expression argument) implements Expression {
+
+    /**
+     * Builds the negation of an expression, simplifying it when possible:
+     * the negation of a negation is its argument, and the negation of a number is its opposite.
+     *
+     * @param argument the expression to negate
+     * @return the negated expression
+     */
+    public static Expression of(Expression argument) {
+        return switch (argument) {
+            case Negate n -> n.argument();
+            case MyNumber n -> n.negate();
+            default -> new Negate(argument);
+        };
+    }
+
+    /**
+     * Tells whether the argument only involves integers, in the sense of {@link Operation#isIntegral()}.
+     *
+     * @return true if the negation can be evaluated with exact integer arithmetic
+     */
+    public boolean isIntegral() {
+        return Operation.isIntegral(argument);
+    }
+
+    /**
+     * Computes the opposite of the evaluated argument.
+     *
+     * @param value the value of the argument
+     * @return the opposite of the value
+     */
+    public MyNumber compute(MyNumber value) {
+        return value.negate();
+    }
+
+    /**
+     * Computes the exact integer opposite of the evaluated argument.
+     *
+     * @param value the value of the argument
+     * @return the exact opposite, or {@code null} if the value is not an exactly representable integer
+     */
+    public IntegerNumber computeExact(Expression value) {
+        IntegerNumber exact = Operation.toExactInteger(value);
+        return exact == null ? null : exact.negate();
+    }
+
+    /**
+     * Accepts a visitor. Unlike an {@link Operation}, the argument is not visited first:
+     * the visitor descends into it itself, so that it is only traversed once.
+     *
+     * @param v the visitor to accept
+     */
+    @Override
+    public void accept(Visitor v) {
+        v.visit(this);
+    }
+
+    /**
+     * A negation adds one level of depth to its argument.
+     *
+     * @return the depth of this expression
+     */
+    @Override
+    public int countDepth() {
+        return 1 + argument.countDepth();
+    }
+
+    /**
+     * A negation is counted as one operation.
+     *
+     * @return the number of operations
+     */
+    @Override
+    public int countOps() {
+        return 1 + argument.countOps();
+    }
+
+    /**
+     * Counts the numbers of the argument.
+     *
+     * @return the number of operands (numeric values)
+     */
+    @Override
+    public int countNbs() {
+        return argument.countNbs();
+    }
+
+    /**
+     * Returns a string representation of the negation, such as "-( 2 + 3 )" or "-(2.0)".
+     *
+     * @return the opposite sign followed by the argument
+     */
+    @Override
+    public String toString() {
+        String s = argument.toString();
+        return argument instanceof MyNumber ? "-(" + s + ")" : "-" + s;
+    }
+}
@@ -0,0 +1,273 @@
+package calculator;
+
+import calculator.Lexer.TokenType;
+
+import java.math.BigInteger;
+import java.util.List;
+
+/**
+ * Converts number literals into numbers, reading their characters directly from the input:
+ * a literal is given as a range of a {@link CharSequence}, and is never copied into a string of its own,
+ * split or matched against a regular expression.
+ *
+ * <p>Decimal literals are converted with {@link #parseDouble(CharSequence, int, int)}, which reads the
+ * significant digits into a {@code long} and then computes the closest double:
+ * <ul>
+ *     <li>exactly, with a single multiplication or division, when both the digits and the power of ten
+ *     are exactly representable as doubles (Clinger's fast path);</li>
+ *     <li>otherwise with the algorithm of Eisel and Lemire, multiplying the digits by a 128-bit
+ *     approximation of the power of ten;</li>
+ *     <li>and in the rare cases where neither can decide the rounding, such as literals of more
+ *     than 19 significant digits or subnormal results, with {@link Double#parseDouble(String)}.</li>
+ * </ul>
+ * The result is always the correctly rounded double, as returned by {@link Double#parseDouble(String)}.
+ */
+final class NumberParser {
+
+    private static final int SMALLEST_POWER_OF_TEN = -342;
+    private static final int LARGEST_POWER_OF_TEN = 308;
+
+    /** Powers of ten exactly representable as doubles */
+    private static final double[] EXACT_POWERS_OF_TEN = {
+            1e0, 1e1, 1e2, 1e3, 1e4, 1e5, 1e6, 1e7, 1e8, 1e9, 1e10, 1e11,
+            1e12, 1e13, 1e14, 1e15, 1e16, 1e17, 1e18, 1e19, 1e20, 1e21, 1e22
+    };
+
+    /**
+     * 128-bit approximations of the powers of five from 5^-342 to 5^308, normalized so that their most
+     * significant bit is set, as pairs of high and low 64-bit words. Positive powers are truncated and
+     * negative powers are rounded up, as required by the Eisel-Lemire algorithm.
+     */
+    private static final long[] POWERS_OF_FIVE = new long[2 * (LARGEST_POWER_OF_TEN - SMALLEST_POWER_OF_TEN + 1)];
+
+    static {
+        BigInteger five = BigInteger.valueOf(5);
+        for (int q = SMALLEST_POWER_OF_TEN; q <= LARGEST_POWER_OF_TEN; q++) {
+            BigInteger power;
+            if (q < 0) {
+                BigInteger divisor = five.pow(-q);
+                int z = divisor.bitLength();
+                int b = q >= -27 ? z + 127 : 2 * z + 128;
+                power = BigInteger.ONE.shiftLeft(b).divide(divisor).add(BigInteger.ONE);
+            } else {
+                power = five.pow(q).shiftLeft(128);
+            }
+            power = power.shiftRight(power.bitLength() - 128);
+            int index = 2 * (q - SMALLEST_POWER_OF_TEN);
+            POWERS_OF_FIVE[index] = power.shiftRight(64).longValue();
+            POWERS_OF_FIVE[index + 1] = power.longValue();
+        }
+    }
+
+    private NumberParser() {
+        // Static helpers only
+    }
+
+    /**
+     * Creates a numerical {@link Expression} from a number literal, based on its {@link TokenType}.
+     * Handles integers, real numbers, π, rationals, and the various formats of complex numbers.
+     *
+     * @param type the type of the literal
+     * @param s the input containing the literal
+     * @param start the offset of the first character of the literal, including its sign
+     * @param end the offset following the last character of the literal
+     * @param preserveFractions whether to preserve rational numbers or convert them to divisions
+     * @return the corresponding Expression (RealNumber, RationalNumber, Divides or ComplexNumber)
+     * @throws IllegalArgumentException if the literal is invalid or unsupported
+     */
+    static Expression createNumber(TokenType type, CharSequence s, int start, int end, boolean preserveFractions) {
+        switch (type) {
+            case INTEGER, REAL:
+                return RealNumber.valueOf(parseDouble(s, start, end));
+            case PI:
+                return RealNumber.valueOf(s.charAt(start) == '-' ? -Math.PI : Math.PI);
+            case COMPLEX:
+                return createComplex(s, start, end);
+            case RATIONAL:
+                int slash = indexOf(s, '/', start, end);
+                RealNumber num = RealNumber.valueOf(parseDouble(s, start, slash));
+                RealNumber den = RealNumber.valueOf(parseDouble(s, slash + 1, end));
+                if (preserveFractions) {
+                    return new RationalNumber(num, den).simplify();
+                }
+                try {
+                    return new Divides(List.of(num, den));
+                } catch (IllegalConstruction e) {
+                    throw new IllegalArgumentException(e);
+                }
+            default:
+                throw new IllegalArgumentException("Unexpected token type: " + type);
+        }
+    }
+
+    /**
+     * Decomposes a complex literal such as {@code i}, {@code -4i}, {@code 5/4i}, {@code 2.5-3.2i},
+     * {@code -1/5+2/3i} or {@code 3-i} into its real and imaginary parts.
+     * The imaginary part starts at the first sign following the first character,
+     * unless it is the sign of a denominator.
+     */
+    private static ComplexNumber createComplex(CharSequence s, int start, int end) {
+        int imaginaryEnd = end - 1; // the final 'i'
+        int split = -1;
+        for (int k = start + 1; k < imaginaryEnd; k++) {
+            char c = s.charAt(k);
+            if ((c == '+' || c == '-') && s.charAt(k - 1) != '/') {
+                split = k;
+                break;
+            }
+        }
+        RationalNumber real = split < 0 ? RationalNumber.ZERO : rational(s, start, split);
+        RationalNumber imaginary = rational(s, split < 0 ? start : split, imaginaryEnd);
+        return new ComplexNumber(real, imaginary);
+    }
+
+    /**
+     * Converts a signed decimal or fraction to a rational number. A sign alone stands for one.
+     */
+    private static RationalNumber rational(CharSequence s, int start, int end) {
+        if (start == end || (end - start == 1 && (s.charAt(start) == '+' || s.charAt(start) == '-'))) {
+            return start < end && s.charAt(start) == '-' ? RationalNumber.MINUS_ONE : RationalNumber.ONE;
+        }
+        int slash = indexOf(s, '/', start, end);
+        if (slash < 0) {
+            return RationalNumber.valueOf(parseDouble(s, start, end), 1.0);
+        }
+        return RationalNumber.valueOf(parseDouble(s, start, slash), parseDouble(s, slash + 1, end));
+    }
+
+    private static int indexOf(CharSequence s, char c, int start, int end) {
+        for (int k = start; k < end; k++) {
+            if (s.charAt(k) == c) {
+                return k;
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * Converts a decimal literal, made of an optional sign, digits and an optional decimal part
+     * ({@code 12}, {@code -2.5}, {@code .5}), to the closest double.
+     *
+     * @param s the input containing the literal
+     * @param start the offset of the first character of the literal
+     * @param end the offset following the last character of the literal
+     * @return the correctly rounded value of the literal
+     * @throws NumberFormatException if the range is not a decimal literal
+     */
+    static double parseDouble(CharSequence s, int start, int end) {
+        int i = start;
+        boolean negative = false;
+        if (i < end && (s.charAt(i) == '-' || s.charAt(i) == '+')) {
+            negative = s.charAt(i) == '-';
+            i++;
+        }
+
+        long w = 0;          // significant digits, as an unsigned integer since 19 digits may exceed Long.MAX_VALUE
+        int digits = 0;      // number of significant digits in w
+        int q = 0;           // power of ten applied to w
+        boolean exact = true;
+        int first = i;
+        for (; i < end && isDigit(s.charAt(i)); i++) {
+            if (digits < 19) {
+                w = w * 10 + (s.charAt(i) - '0');
+                digits += w == 0 ? 0 : 1;
+            } else {
+                exact = false;
+            }
+        }
+        boolean any = i > first;
+        if (i < end && s.charAt(i) == '.') {
+            first = ++i;
+            for (; i < end && isDigit(s.charAt(i)); i++) {
+                if (digits < 19) {
+                    w = w * 10 + (s.charAt(i) - '0');
+                    digits += w == 0 ? 0 : 1;
+                    q--;
+                } else {
+                    exact = false;
+                }
+            }
+            any |= i > first;
+        }
+        if (!any || i != end) {
+            throw new NumberFormatException("Invalid number: " + s.subSequence(start, end));
+        }
+
+        double value;
+        if (!exact) {
+            value = Double.NaN;
+        } else if (w == 0) {
+            value = 0.0;
+        } else if (Long.compareUnsigned(w, 1L << 53) <= 0 && q >= -22 && q <= 22) {
+            value = q < 0 ? w / EXACT_POWERS_OF_TEN[-q] : w * EXACT_POWERS_OF_TEN[q];
+        } else {
+            value = eiselLemire(w, q);
+        }
+        if (Double.isNaN(value)) {
+            return Double.parseDouble(s.subSequence(start, end).toString());
+        }
+        return negative ? -value : value;
+    }
+
+    private static boolean isDigit(char c) {
+        return c >= '0' && c <= '9';
+    }
+
+    /**
+     * Computes the double closest to {@code w * 10^q} with the Eisel-Lemire algorithm.
+     *
+     * @param w the significant digits, not zero
+     * @param q the power of ten
+     * @return the correctly rounded double, or NaN if the algorithm cannot decide the rounding
+     */
+    private static double eiselLemire(long w, int q) {
+        if (q < SMALLEST_POWER_OF_TEN) {
+            return 0.0;
+        }
+        if (q > LARGEST_POWER_OF_TEN) {
+            return Double.POSITIVE_INFINITY;
+        }
+        int lz = Long.numberOfLeadingZeros(w);
+        w <<= lz;
+
+        // 128-bit product of w by the power of five, refined with the low word when needed
+        int index = 2 * (q - SMALLEST_POWER_OF_TEN);
+        long high = Math.unsignedMultiplyHigh(w, POWERS_OF_FIVE[index]);
+        long low = w * POWERS_OF_FIVE[index];
+        if ((high & 0x1FF) == 0x1FF) {
+            long secondHigh = Math.unsignedMultiplyHigh(w, POWERS_OF_FIVE[index + 1]);
+            low += secondHigh;
+            if (Long.compareUnsigned(secondHigh, low) > 0) {
+                high++;
+            }
+            if (low == -1L && (q < -27 || q > 55)) {
+                return Double.NaN; // the truncated product may be off by one
+            }
+        }
+
+        int upperBit = (int) (high >>> 63);
+        int shift = upperBit + 9;
+        long mantissa = high >>> shift;
+        int power2 = (((152170 + 65536) * q) >> 16) + 63 + upperBit - lz + 1023;
+        if (power2 <= 0) {
+            return Double.NaN; // subnormal
+        }
+
+        // Exactly halfway between two doubles: round to even rather than up
+        if (Long.compareUnsigned(low, 1) <= 0 && q >= -4 && q <= 23 && (mantissa & 3) == 1
+                && (mantissa << shift) == high) {
+            mantissa &= ~1L;
+        }
+        mantissa += mantissa & 1;
+        mantissa >>>= 1;
+        if (mantissa >= 2L << 52) {
+            mantissa = 1L << 52;
+            power2++;
+        }
+        mantissa &= ~(1L << 52);
+        if (power2 >= 0x7FF) {
+            return Double.POSITIVE_INFINITY;
+        }
+        return Double.longBitsToDouble(mantissa | (long) power2 << 52);
+    }
+}
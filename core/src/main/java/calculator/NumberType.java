@@ -0,0 +1,39 @@
+package calculator;
+
+/**
+ * Enumeration of the numeric kinds a {@link MyNumber} can have.
+ * The ordinal of each constant is used by {@link NumericOps} to index its dispatch tables,
+ * so the order of the constants must match the rows and columns of those tables.
+ *
+ * <ul>
+ *   <li>{@link #REAL} — a {@link RealNumber}</li>
+ *   <li>{@link #RATIONAL} — a {@link RationalNumber}</li>
+ *   <li>{@link #COMPLEX} — a {@link ComplexNumber}</li>
+ *   <li>{@link #INTEGER} — an {@link IntegerNumber}</li>
+ * </ul>
+ *
+ * @see MyNumber#getType()
+ * @see NumericOps
+ */
+public enum NumberType {
+
+    /**
+     * A real number backed by a double value.
+     */
+    REAL,
+
+    /**
+     * A fraction made of a numerator and a denominator.
+     */
+    RATIONAL,
+
+    /**
+     * A complex number made of a rational real part and a rational imaginary part.
+     */
+    COMPLEX,
+
+    /**
+     * An exact integer, produced by the integer evaluation mode.
+     */
+    INTEGER
+}
@@ -0,0 +1,448 @@
+package calculator;
+
+import java.math.BigInteger;
+import java.util.function.BinaryOperator;
+import java.util.function.LongBinaryOperator;
+
+/**
+ * Static arithmetic kernel shared by all the {@link Operation} subclasses.
+ * For each of the four basic operations, a kernel is registered for every pair of
+ * {@link NumberType}s in a two-dimensional table indexed by the ordinals of the operand types.
+ * Resolving a kernel is therefore a pair of array accesses instead of a chain of
+ * {@code instanceof} checks, and no temporary {@link Operation} is created along the way.
+ *
+ * <p>The semantics are those of {@link Plus}, {@link Minus}, {@link Times} and {@link Divides}:
+ * real and rational operands are promoted to rationals when mixed, and complex numbers
+ * are combined part by part. Exact {@link IntegerNumber}s are added, subtracted and multiplied
+ * exactly between themselves, and promoted to real numbers in every other case.
+ *
+ * <p>Powers are not dispatched through a table, since their result depends on the value of the exponent
+ * rather than on its type: see {@link #pow(MyNumber, MyNumber)}.
+ *
+ * @see NumberType
+ * @see Operation#compute(MyNumber, MyNumber)
+ */
+public final class NumericOps {
+
+    /**
+     * A binary arithmetic kernel for one specific pair of operand types.
+     */
+    @FunctionalInterface
+    private interface Kernel {
+        MyNumber apply(MyNumber left, MyNumber right);
+    }
+
+    private static final int REAL = NumberType.REAL.ordinal();
+    private static final int RATIONAL = NumberType.RATIONAL.ordinal();
+    private static final int COMPLEX = NumberType.COMPLEX.ordinal();
+    private static final int INTEGER = NumberType.INTEGER.ordinal();
+    private static final int TYPES = NumberType.values().length;
+
+    private static final Kernel[][] ADD = new Kernel[TYPES][TYPES];
+    private static final Kernel[][] SUB = new Kernel[TYPES][TYPES];
+    private static final Kernel[][] MUL = new Kernel[TYPES][TYPES];
+    private static final Kernel[][] DIV = new Kernel[TYPES][TYPES];
+
+    /** Largest number of bits of an exact integer power, beyond which it is computed as a real */
+    static final int MAX_EXACT_POWER_BITS = 1 << 16;
+
+    /** Largest magnitude of the numerator and the denominator of an exact rational power, 2^53 */
+    private static final double MAX_EXACT_RATIONAL = 0x1p53;
+
+    static {
+        // Addition
+        ADD[REAL][REAL] = (l, r) -> RealNumber.valueOf(real(l) + real(r));
+        ADD[RATIONAL][RATIONAL] = (l, r) -> addRational((RationalNumber) l, (RationalNumber) r);
+        ADD[REAL][RATIONAL] = (l, r) -> addRational(toRational(l), (RationalNumber) r);
+        ADD[RATIONAL][REAL] = (l, r) -> addRational((RationalNumber) l, toRational(r));
+        ADD[COMPLEX][COMPLEX] = (l, r) -> {
+            ComplexNumber a = (ComplexNumber) l;
+            ComplexNumber b = (ComplexNumber) r;
+            return new ComplexNumber(add(a.getRealPart(), b.getRealPart()), add(a.getImaginaryPart(), b.getImaginaryPart()));
+        };
+        ADD[COMPLEX][REAL] = ADD[COMPLEX][RATIONAL] = (l, r) -> {
+            ComplexNumber c = (ComplexNumber) l;
+            return new ComplexNumber(add(c.getRealPart(), r), c.getImaginaryPart());
+        };
+        ADD[REAL][COMPLEX] = ADD[RATIONAL][COMPLEX] = (l, r) -> {
+            ComplexNumber c = (ComplexNumber) r;
+            return new ComplexNumber(add(c.getRealPart(), l), c.getImaginaryPart());
+        };
+
+        // Subtraction
+        SUB[REAL][REAL] = (l, r) -> RealNumber.valueOf(real(l) - real(r));
+        SUB[RATIONAL][RATIONAL] = (l, r) -> subRational((RationalNumber) l, (RationalNumber) r);
+        SUB[REAL][RATIONAL] = (l, r) -> subRational(toRational(l), (RationalNumber) r);
+        SUB[RATIONAL][REAL] = (l, r) -> subRational((RationalNumber) l, toRational(r));
+        SUB[COMPLEX][COMPLEX] = (l, r) -> {
+            ComplexNumber a = (ComplexNumber) l;
+            ComplexNumber b = (ComplexNumber) r;
+            return new ComplexNumber(sub(a.getRealPart(), b.getRealPart()), sub(a.getImaginaryPart(), b.getImaginaryPart()));
+        };
+        SUB[COMPLEX][REAL] = SUB[COMPLEX][RATIONAL] = (l, r) -> {
+            ComplexNumber c = (ComplexNumber) l;
+            return new ComplexNumber(sub(c.getRealPart(), r), c.getImaginaryPart());
+        };
+        SUB[REAL][COMPLEX] = SUB[RATIONAL][COMPLEX] = (l, r) -> {
+            ComplexNumber c = (ComplexNumber) r;
+            return new ComplexNumber(sub(l, c.getRealPart()), c.getImaginaryPart().getOpposite());
+        };
+
+        // Multiplication
+        MUL[REAL][REAL] = (l, r) -> RealNumber.valueOf(real(l) * real(r));
+        MUL[RATIONAL][RATIONAL] = (l, r) -> mulRational((RationalNumber) l, (RationalNumber) r);
+        MUL[REAL][RATIONAL] = (l, r) -> mulRational(toRational(l), (RationalNumber) r);
+        MUL[RATIONAL][REAL] = (l, r) -> mulRational((RationalNumber) l, toRational(r));
+        MUL[COMPLEX][COMPLEX] = (l, r) -> {
+            // (a + bi)(c + di) = (ac - bd) + (ad + bc)i
+            ComplexNumber x = (ComplexNumber) l;
+            ComplexNumber y = (ComplexNumber) r;
+            MyNumber realPart = sub(mul(x.getRealPart(), y.getRealPart()), mul(x.getImaginaryPart(), y.getImaginaryPart()));
+            MyNumber imaginaryPart = add(mul(x.getRealPart(), y.getImaginaryPart()), mul(x.getImaginaryPart(), y.getRealPart()));
+            return new ComplexNumber(realPart, imaginaryPart);
+        };
+        MUL[COMPLEX][REAL] = MUL[COMPLEX][RATIONAL] = (l, r) -> scaleComplex((ComplexNumber) l, r);
+        MUL[REAL][COMPLEX] = MUL[RATIONAL][COMPLEX] = (l, r) -> scaleComplex((ComplexNumber) r, l);
+
+        // Division
+        DIV[REAL][REAL] = (l, r) -> real(r) == 0 ? RealNumber.NaN : RealNumber.valueOf(real(l) / real(r));
+        DIV[RATIONAL][RATIONAL] = (l, r) -> divRational((RationalNumber) l, (RationalNumber) r);
+        DIV[REAL][RATIONAL] = (l, r) -> divRational(toRational(l), (RationalNumber) r);
+        DIV[RATIONAL][REAL] = (l, r) -> divRational((RationalNumber) l, toRational(r));
+        DIV[COMPLEX][COMPLEX] = (l, r) -> divComplex((ComplexNumber) l, (ComplexNumber) r);
+        DIV[COMPLEX][REAL] = DIV[COMPLEX][RATIONAL] = (l, r) -> {
+            ComplexNumber c = (ComplexNumber) l;
+            MyNumber realPart = div(c.getRealPart(), r);
+            MyNumber imaginaryPart = div(c.getImaginaryPart(), r);
+            if (realPart.equals(RealNumber.NaN)) return RealNumber.NaN;
+            return new ComplexNumber(realPart, imaginaryPart);
+        };
+        DIV[REAL][COMPLEX] = DIV[RATIONAL][COMPLEX] = (l, r) -> {
+            // a / (c + di) = a(c - di) / (c² + d²)
+            ComplexNumber c = (ComplexNumber) r;
+            RationalNumber denominator = squaredModulus(c);
+            ComplexNumber numerator = new ComplexNumber(mul(l, c.getRealPart()), mul(l, c.getImaginaryPart().getOpposite()));
+            return div(numerator, denominator);
+        };
+
+        // Integers
+        ADD[INTEGER][INTEGER] = exactInteger(Math::addExact, BigInteger::add);
+        SUB[INTEGER][INTEGER] = exactInteger(Math::subtractExact, BigInteger::subtract);
+        MUL[INTEGER][INTEGER] = exactInteger(Math::multiplyExact, BigInteger::multiply);
+        DIV[INTEGER][INTEGER] = (l, r) -> div(toReal(l), toReal(r));
+        for (Kernel[][] table : new Kernel[][][]{ADD, SUB, MUL, DIV}) {
+            for (int type = 0; type < TYPES; type++) {
+                if (type == INTEGER) continue;
+                Kernel integerLeft = table[REAL][type];
+                Kernel integerRight = table[type][REAL];
+                table[INTEGER][type] = (l, r) -> integerLeft.apply(toReal(l), r);
+                table[type][INTEGER] = (l, r) -> integerRight.apply(l, toReal(r));
+            }
+        }
+    }
+
+    private NumericOps() {
+        // Static utility class
+    }
+
+    /**
+     * Adds two numbers of any supported type.
+     *
+     * @param left the left operand
+     * @param right the right operand
+     * @return the sum {@code left + right}
+     * @throws IllegalArgumentException if the operand types are not supported
+     */
+    public static MyNumber add(MyNumber left, MyNumber right) {
+        return kernel(ADD, left, right, "addition").apply(left, right);
+    }
+
+    /**
+     * Subtracts two numbers of any supported type.
+     *
+     * @param left the left operand (minuend)
+     * @param right the right operand (subtrahend)
+     * @return the difference {@code left - right}
+     * @throws IllegalArgumentException if the operand types are not supported
+     */
+    public static MyNumber sub(MyNumber left, MyNumber right) {
+        return kernel(SUB, left, right, "subtraction").apply(left, right);
+    }
+
+    /**
+     * Multiplies two numbers of any supported type.
+     *
+     * @param left the left operand
+     * @param right the right operand
+     * @return the product {@code left * right}
+     * @throws IllegalArgumentException if the operand types are not supported
+     */
+    public static MyNumber mul(MyNumber left, MyNumber right) {
+        return kernel(MUL, left, right, "multiplication").apply(left, right);
+    }
+
+    /**
+     * Divides two numbers of any supported type.
+     * A division by zero yields {@link RealNumber#NaN}.
+     *
+     * @param left the dividend
+     * @param right the divisor
+     * @return the quotient {@code left / right}
+     * @throws IllegalArgumentException if the operand types are not supported
+     */
+    public static MyNumber div(MyNumber left, MyNumber right) {
+        return kernel(DIV, left, right, "division").apply(left, right);
+    }
+
+    /**
+     * Raises a number to the power of another one.
+     * A real base is raised with {@link Math#pow(double, double)}, like {@link Power#op(double, double)}.
+     * Otherwise, an integral exponent is applied by squaring, so that rational and complex powers stay exact:
+     * a negative exponent gives the inverse of the positive power, and exact integers are raised exactly
+     * unless the exponent is negative or the result would be too large, in which case they are promoted
+     * to real numbers. Since rationals are stored as doubles, a rational power whose numerator or denominator
+     * would exceed 2^53 is promoted to a real number as well, and such a complex power is an error.
+     * The other exponents are only supported for non-complex numbers, as real powers.
+     *
+     * @param base the base
+     * @param exponent the exponent
+     * @return the power {@code base ^ exponent}
+     * @throws IllegalArgumentException if the operand types are not supported, or if a complex power
+     * cannot be computed exactly
+     */
+    public static MyNumber pow(MyNumber base, MyNumber exponent) {
+        if (base == null || exponent == null) {
+            throw new IllegalArgumentException("Unsupported types for exponentiation");
+        }
+        if (base instanceof RealNumber b && exponent.getType() != NumberType.COMPLEX) {
+            return RealNumber.valueOf(Math.pow(b.getValue(), doubleValue(exponent)));
+        }
+        IntegerNumber n = Operation.toExactInteger(exponent);
+        if (n == null || !n.isLong()) {
+            return RealNumber.valueOf(Math.pow(doubleValue(base), doubleValue(exponent)));
+        }
+        long e = n.longValue();
+        if (base instanceof IntegerNumber i) {
+            IntegerNumber exact = e < 0 ? null : powExact(i, e);
+            return exact != null ? exact : RealNumber.valueOf(Math.pow(i.doubleValue(), e));
+        }
+        if (e == 0) {
+            return RationalNumber.ONE;
+        }
+        // The magnitude of the exponent is read as unsigned, which also holds for -Long.MIN_VALUE
+        MyNumber power = powBySquaring(base, e < 0 ? -e : e);
+        if (power == null) {
+            if (base instanceof ComplexNumber) {
+                throw new IllegalArgumentException("Complex power too large to be computed exactly");
+            }
+            return RealNumber.valueOf(Math.pow(doubleValue(base), e));
+        }
+        return e < 0 ? div(RationalNumber.ONE, power) : power;
+    }
+
+    /**
+     * Raises an integer to a non-negative integer power by squaring, exactly.
+     *
+     * @param base the base
+     * @param exponent the exponent
+     * @return the power {@code base ^ exponent}
+     * @throws ArithmeticException if the exponent is negative or the result overflows a long
+     */
+    static long powExact(long base, long exponent) {
+        if (exponent < 0) {
+            throw new ArithmeticException("Negative exponent");
+        }
+        long result = 1;
+        while (true) {
+            if ((exponent & 1) != 0) {
+                result = Math.multiplyExact(result, base);
+            }
+            exponent >>= 1;
+            if (exponent == 0) {
+                return result;
+            }
+            base = Math.multiplyExact(base, base);
+        }
+    }
+
+    /**
+     * Raises an arbitrary-precision integer to a non-negative integer power, exactly.
+     *
+     * @param base the base
+     * @param exponent the exponent
+     * @return the power {@code base ^ exponent}
+     * @throws ArithmeticException if the exponent is negative, or if the result would have more than
+     * {@link #MAX_EXACT_POWER_BITS} bits
+     */
+    static BigInteger powExact(BigInteger base, BigInteger exponent) {
+        if (exponent.signum() < 0) {
+            throw new ArithmeticException("Negative exponent");
+        }
+        if (base.abs().compareTo(BigInteger.ONE) <= 0) {
+            // 0, 1 and -1 keep their magnitude whatever the exponent
+            return exponent.signum() == 0 ? BigInteger.ONE : exponent.testBit(0) ? base : base.abs();
+        }
+        if (exponent.bitLength() >= Integer.SIZE
+                || (long) base.bitLength() * exponent.intValue() > MAX_EXACT_POWER_BITS) {
+            throw new ArithmeticException("Power too large");
+        }
+        return base.pow(exponent.intValue());
+    }
+
+    // Exact on longs, falling back to arbitrary precision on overflow, or null if the result is too large
+    private static IntegerNumber powExact(IntegerNumber base, long exponent) {
+        if (base.isLong()) {
+            try {
+                return IntegerNumber.valueOf(powExact(base.longValue(), exponent));
+            } catch (ArithmeticException e) {
+                // Overflow: use arbitrary precision below
+            }
+        }
+        try {
+            return IntegerNumber.valueOf(powExact(base.bigIntegerValue(), BigInteger.valueOf(exponent)));
+        } catch (ArithmeticException e) {
+            return null;
+        }
+    }
+
+    // Exponentiation by squaring, the exponent being a positive unsigned long, or null if the result is not exact
+    private static MyNumber powBySquaring(MyNumber base, long exponent) {
+        MyNumber result = null;
+        while (true) {
+            if ((exponent & 1) != 0) {
+                result = result == null ? base : mul(result, base);
+                if (!isExact(result)) {
+                    return null;
+                }
+            }
+            exponent >>>= 1;
+            if (exponent == 0) {
+                return result;
+            }
+            base = mul(base, base);
+            if (!isExact(base)) {
+                return null;
+            }
+        }
+    }
+
+    // Whether the numerators and denominators of a rational or complex number are exact integers on doubles
+    private static boolean isExact(MyNumber n) {
+        return switch (n) {
+            case RationalNumber r -> Math.abs(r.getNominatorValue()) <= MAX_EXACT_RATIONAL
+                    && Math.abs(r.getDenominatorValue()) <= MAX_EXACT_RATIONAL;
+            case ComplexNumber c -> isExact(c.getRealPart()) && isExact(c.getImaginaryPart());
+            default -> true;
+        };
+    }
+
+    /**
+     * Looks up the kernel registered for the types of both operands.
+     *
+     * @param table the dispatch table of the operation
+     * @param left the left operand
+     * @param right the right operand
+     * @param name the name of the operation, used in the error message
+     * @return the kernel to apply
+     * @throws IllegalArgumentException if no kernel exists for the operand types
+     */
+    private static Kernel kernel(Kernel[][] table, MyNumber left, MyNumber right, String name) {
+        if (left == null || right == null) {
+            throw new IllegalArgumentException("Unsupported types for " + name);
+        }
+        return table[left.getType().ordinal()][right.getType().ordinal()];
+    }
+
+    private static double real(MyNumber n) {
+        return ((RealNumber) n).getValue();
+    }
+
+    private static double doubleValue(MyNumber n) {
+        return switch (n) {
+            case RealNumber r -> r.getValue();
+            case RationalNumber r -> r.getNominatorValue() / r.getDenominatorValue();
+            case IntegerNumber i -> i.doubleValue();
+            default -> throw new IllegalArgumentException("Unsupported types for exponentiation");
+        };
+    }
+
+    private static RealNumber toReal(MyNumber n) {
+        return RealNumber.valueOf(((IntegerNumber) n).doubleValue());
+    }
+
+    // Exact on longs, falling back to arbitrary precision on overflow
+    private static Kernel exactInteger(LongBinaryOperator longOp, BinaryOperator<BigInteger> bigOp) {
+        return (l, r) -> {
+            IntegerNumber a = (IntegerNumber) l;
+            IntegerNumber b = (IntegerNumber) r;
+            if (a.isLong() && b.isLong()) {
+                try {
+                    return IntegerNumber.valueOf(longOp.applyAsLong(a.longValue(), b.longValue()));
+                } catch (ArithmeticException e) {
+                    // Overflow: use arbitrary precision below
+                }
+            }
+            return IntegerNumber.valueOf(bigOp.apply(a.bigIntegerValue(), b.bigIntegerValue()));
+        };
+    }
+
+    private static RationalNumber toRational(MyNumber n) {
+        return RationalNumber.valueOf(real(n), 1.0);
+    }
+
+    // a/b + c/d = (a*d + c*b) / (b*d)
+    private static RationalNumber addRational(RationalNumber l, RationalNumber r) {
+        double a = l.getNominatorValue();
+        double b = l.getDenominatorValue();
+        double c = r.getNominatorValue();
+        double d = r.getDenominatorValue();
+        return RationalNumber.valueOf(a * d + c * b, b * d);
+    }
+
+    // a/b - c/d = (a*d - c*b) / (b*d)
+    private static RationalNumber subRational(RationalNumber l, RationalNumber r) {
+        double a = l.getNominatorValue();
+        double b = l.getDenominatorValue();
+        double c = r.getNominatorValue();
+        double d = r.getDenominatorValue();
+        return RationalNumber.valueOf(a * d - c * b, b * d);
+    }
+
+    // (a/b) * (c/d) = (a*c) / (b*d)
+    private static RationalNumber mulRational(RationalNumber l, RationalNumber r) {
+        return RationalNumber.valueOf(
+                l.getNominatorValue() * r.getNominatorValue(),
+                l.getDenominatorValue() * r.getDenominatorValue());
+    }
+
+    // (a/b) / (c/d) = (a*d) / (b*c)
+    private static MyNumber divRational(RationalNumber l, RationalNumber r) {
+        if (r.getNominatorValue() == 0) return RealNumber.NaN;
+        return RationalNumber.valueOf(
+                l.getNominatorValue() * r.getDenominatorValue(),
+                l.getDenominatorValue() * r.getNominatorValue());
+    }
+
+    private static ComplexNumber scaleComplex(ComplexNumber c, MyNumber factor) {
+        return new ComplexNumber(mul(c.getRealPart(), factor), mul(c.getImaginaryPart(), factor));
+    }
+
+    private static RationalNumber squaredModulus(ComplexNumber c) {
+        return (RationalNumber) add(mul(c.getRealPart(), c.getRealPart()), mul(c.getImaginaryPart(), c.getImaginaryPart()));
+    }
+
+    // (a + bi) / (c + di) = ((ac + bd) + (bc - ad)i) / (c² + d²)
+    private static MyNumber divComplex(ComplexNumber l, ComplexNumber r) {
+        RationalNumber a = l.getRealPart();
+        RationalNumber b = l.getImaginaryPart();
+        RationalNumber c = r.getRealPart();
+        RationalNumber d = r.getImaginaryPart();
+
+        RationalNumber denominator = squaredModulus(r);
+        if (denominator.getNominatorValue() == 0) return RealNumber.NaN;
+
+        MyNumber realPart = div(add(mul(a, c), mul(b, d)), denominator);
+        MyNumber imaginaryPart = div(sub(mul(b, c), mul(a, d)), denominator);
+        return new ComplexNumber(realPart, imaginaryPart);
+    }
+}
@@ -0,0 +1,388 @@
+package calculator;
+
+import visitor.CountVisitor;
+import visitor.OutputVisitor;
+import visitor.Visitor;
+
+import java.math.BigInteger;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * {@code Operation} is an abstract class that represents an arithmetic operation
+ * such as addition, subtraction, multiplication, or division.
+ * Each operation works on a list of sub-expressions (its arguments) and
+ * supports different notations (prefix, infix, postfix).
+ *
+ * <p>This class implements the {@link Expression} interface and is the base for concrete operations like
+ * {@link Plus}, {@link Minus}, {@link Times}, {@link Divides} and {@link Power}.
+ *
+ * @see Expression
+ * @see MyNumber
+ */
+public abstract class Operation implements Expression {
+
+	/** List of argument expressions used in this operation */
+	public List<Expression> args;
+
+	/** Symbol representing this operation (e.g., "+", "-", "*", "/", "^") */
+	protected String symbol;
+
+	/** The neutral element for this operation (e.g., 0 for addition, 1 for multiplication) */
+	protected int neutral;
+
+	/** The notation used for string representation (default: INFIX) */
+	public Notation notation = Notation.INFIX;
+
+	/** Largest magnitude up to which every integral double is exactly representable */
+	private static final double EXACT_RANGE = 0x1p53;
+
+	/** Whether every argument is an integral literal or an integral operation */
+	private boolean integral;
+
+	/** Result type inferred by {@link visitor.TypeInference}, or {@code null} if the operation was not analyzed */
+	private NumberType inferredType;
+
+	/**
+	 * Constructs an operation with a list of expressions as arguments.
+	 * Default notation (INFIX) is used if none is specified.
+	 *
+	 * @param elist the list of argument expressions
+	 * @throws IllegalConstruction if the list is null
+	 */
+	protected Operation(List<Expression> elist) throws IllegalConstruction {
+		this(elist, null);
+	}
+
+	/**
+	 * Constructs an operation with a list of expressions and a specified notation.
+	 *
+	 * @param elist the list of argument expressions
+	 * @param n the notation to use (INFIX, PREFIX, POSTFIX)
+	 * @throws IllegalConstruction if the list is null
+	 */
+	protected Operation(List<Expression> elist, Notation n) throws IllegalConstruction {
+		if (elist == null) {
+			throw new IllegalConstruction("Operation cannot be constructed with a null list of expressions");
+		}
+		this.args = new ArrayList<>(elist);
+		if (n != null) this.notation = n;
+		this.integral = computeIntegral();
+	}
+
+	/**
+	 * Returns the list of argument expressions.
+	 *
+	 * @return list of expressions
+	 */
+	public List<Expression> getArgs() {
+		return args;
+	}
+
+	/**
+	 * Returns the operation symbol (e.g., "+", "-", "*", "/").
+	 *
+	 * @return the operation symbol
+	 */
+	public String getSymbol() {
+		return symbol;
+	}
+
+	/**
+	 * Adds more expressions to the argument list.
+	 *
+	 * @param params the list of expressions to add
+	 */
+	public void addMoreParams(List<Expression> params) {
+		args.addAll(params);
+		this.integral = computeIntegral();
+	}
+
+	/**
+	 * Tells whether this operation only involves integers: each argument is either
+	 * an integral-valued literal or itself an integral operation.
+	 * The flag is computed when the operation is built by the parser, so that the integer
+	 * evaluation mode of the {@link visitor.Evaluator} can recognize integer-only subtrees
+	 * without inspecting them again.
+	 *
+	 * @return true if the operation can be evaluated with exact integer arithmetic
+	 * @see #computeExact(List)
+	 */
+	public boolean isIntegral() {
+		return integral;
+	}
+
+	/**
+	 * Returns the numeric type of the result of this operation, as inferred by the last
+	 * {@link visitor.TypeInference} pass run over the tree.
+	 *
+	 * @return the inferred result type, or {@code null} if the operation has not been analyzed
+	 */
+	public NumberType getInferredType() {
+		return inferredType;
+	}
+
+	/**
+	 * Records the numeric type inferred for the result of this operation.
+	 *
+	 * @param inferredType the inferred result type
+	 */
+	public void setInferredType(NumberType inferredType) {
+		this.inferredType = inferredType;
+	}
+
+	/**
+	 * Determines whether all the arguments of this operation are integral.
+	 *
+	 * @return true if the operation has at least two integral arguments and nothing else
+	 */
+	private boolean computeIntegral() {
+		if (args.size() < 2) {
+			return false;
+		}
+		for (Expression a : args) {
+			if (!isIntegral(a)) {
+				return false;
+			}
+		}
+		return true;
+	}
+
+	/**
+	 * Determines whether an argument is integral: an integral operation, an integral-valued literal,
+	 * or the negation of either.
+	 *
+	 * @param e the argument to check
+	 * @return true if the argument can be evaluated with exact integer arithmetic
+	 */
+	static boolean isIntegral(Expression e) {
+		return switch (e) {
+			case Operation o -> o.integral;
+			case Negate n -> isIntegral(n.argument());
+			default -> toExactInteger(e) != null;
+		};
+	}
+
+	/**
+	 * Implements the Visitor pattern. The arguments are not visited first:
+	 * the visitor descends into them itself, so that each of them is only traversed once.
+	 *
+	 * @param v the visitor object
+	 */
+	@Override
+	public void accept(Visitor v) {
+		v.visit(this);
+	}
+
+	/**
+	 * Returns the depth of this expression.
+	 *
+	 * @return the maximum level of nested operations
+	 */
+	@Override
+	public final int countDepth() {
+		CountVisitor v = new CountVisitor();
+		v.visit(this);
+		return v.getDepthCount();
+	}
+
+	/**
+	 * Counts the number of operations in this expression tree.
+	 *
+	 * @return number of operations
+	 */
+	@Override
+	public final int countOps() {
+		CountVisitor v = new CountVisitor();
+		v.visit(this);
+		return v.getOpsCount();
+	}
+
+	/**
+	 * Counts the number of numeric operands (leaves) in this expression tree.
+	 *
+	 * @return number of numbers
+	 */
+	@Override
+	public final int countNbs() {
+		CountVisitor v = new CountVisitor();
+		v.visit(this);
+		return v.getNbCount();
+	}
+
+	/**
+	 * Converts the operation to a string using the default notation.
+	 *
+	 * @return string representation of the operation
+	 */
+	@Override
+	public final String toString() {
+		return toString(notation);
+	}
+
+	/**
+	 * Converts the operation to a string using the specified notation.
+	 *
+	 * @param n the notation to use (INFIX, PREFIX, POSTFIX)
+	 * @return string representation of the operation
+	 */
+	public final String toString(Notation n) {
+		OutputVisitor outputVisitor = new OutputVisitor();
+		accept(outputVisitor);
+		return outputVisitor.getOutput();
+	}
+
+	/**
+	 * Defines the actual binary arithmetic operation on primitive doubles.
+	 * It must agree with {@link #compute(MyNumber, MyNumber)} on two {@link RealNumber}s,
+	 * and is used to evaluate subtrees inferred as purely real without creating intermediate numbers.
+	 *
+	 * @param l left operand
+	 * @param r right operand
+	 * @return result of the binary operation
+	 */
+	public abstract double op(double l, double r);
+
+	/**
+	 * Defines the actual binary arithmetic operation on integers.
+	 * Implementations must be exact: they throw instead of overflowing or rounding.
+	 *
+	 * @param l left operand
+	 * @param r right operand
+	 * @return result of the binary operation
+	 * @throws ArithmeticException if the result is not an integer or does not fit in a long
+	 */
+	public abstract long op(long l, long r);
+
+	/**
+	 * Defines the actual binary arithmetic operation on arbitrary-precision integers.
+	 * It is used when {@link #op(long, long)} overflows.
+	 *
+	 * @param l left operand
+	 * @param r right operand
+	 * @return result of the binary operation
+	 * @throws ArithmeticException if the result is not an integer
+	 */
+	public abstract BigInteger op(BigInteger l, BigInteger r);
+
+	/**
+	 * Computes the exact integer result of the operation, applying {@link #op(long, long)}
+	 * from left to right and switching to {@link #op(BigInteger, BigInteger)} on overflow.
+	 *
+	 * @param evaluatedArgs list of already-evaluated expressions
+	 * @return the exact result, or {@code null} if an argument is not an integer
+	 * @throws ArithmeticException if a step has no integer result, such as an inexact division
+	 */
+	public IntegerNumber computeExact(List<Expression> evaluatedArgs) {
+		if (evaluatedArgs.size() < 2) {
+			return null;
+		}
+		IntegerNumber result = toExactInteger(evaluatedArgs.getFirst());
+		for (int i = 1; i < evaluatedArgs.size() && result != null; i++) {
+			IntegerNumber next = toExactInteger(evaluatedArgs.get(i));
+			result = next == null ? null : computeExact(result, next);
+		}
+		return result;
+	}
+
+	/**
+	 * Applies the operation to two exact integers.
+	 *
+	 * @param left the left operand
+	 * @param right the right operand
+	 * @return the exact result
+	 * @throws ArithmeticException if the result is not an integer
+	 */
+	public IntegerNumber computeExact(IntegerNumber left, IntegerNumber right) {
+		if (left.isLong() && right.isLong()) {
+			try {
+				return IntegerNumber.valueOf(op(left.longValue(), right.longValue()));
+			} catch (ArithmeticException e) {
+				// Overflow: retry below with arbitrary precision, which rethrows if the result is not an integer
+			}
+		}
+		return IntegerNumber.valueOf(op(left.bigIntegerValue(), right.bigIntegerValue()));
+	}
+
+	/**
+	 * Converts an evaluated argument to an exact integer when it represents one.
+	 *
+	 * @param e the expression to convert
+	 * @return the exact integer, or {@code null} if the expression is not an exactly representable integer
+	 */
+	public static IntegerNumber toExactInteger(Expression e) {
+		return switch (e) {
+			case IntegerNumber i -> i;
+			case RealNumber r -> toExactInteger(r.getValue());
+			case RationalNumber r -> r.getDenominatorValue() == 1.0 ? toExactInteger(r.getNominatorValue()) : null;
+			default -> null;
+		};
+	}
+
+	private static IntegerNumber toExactInteger(double v) {
+		return Math.abs(v) <= EXACT_RANGE && v == Math.rint(v) ? IntegerNumber.valueOf((long) v) : null;
+	}
+
+	/**
+	 * Computes the result of the operation by evaluating each argument in order.
+	 * Applies the binary operator from left to right.
+	 *
+	 * @param evaluatedArgs list of already-evaluated expressions
+	 * @return the resulting value
+	 * @throws IllegalConstruction if arguments are invalid
+	 */
+	public MyNumber compute(List<Expression> evaluatedArgs) throws IllegalConstruction {
+		if (evaluatedArgs.size() < 2) {
+			return RealNumber.ZERO;  // default fallback
+		}
+		MyNumber result = (MyNumber) evaluatedArgs.getFirst();
+		for (int i = 1; i < evaluatedArgs.size(); i++) {
+			MyNumber next = (MyNumber) evaluatedArgs.get(i);
+			result = compute(result, next);
+		}
+		return result;
+	}
+
+	/**
+	 * Computes the result of applying the operation to two numeric operands.
+	 * This method must be overridden by each concrete operation.
+	 *
+	 * @param left the left operand
+	 * @param right the right operand
+	 * @return the result of the operation
+	 * @throws IllegalConstruction if the operation is invalid
+	 */
+	public abstract MyNumber compute(MyNumber left, MyNumber right) throws IllegalConstruction;
+
+	/**
+	 * Compares this operation with another object for equality.
+	 * Operations are equal if they have the same class and argument list.
+	 *
+	 * @param o the object to compare
+	 * @return true if both represent the same operation
+	 */
+	@Override
+	public boolean equals(Object o) {
+		if (o == null) return false;
+		if (this == o) return true;
+		if (getClass() != o.getClass()) return false;
+
+		Operation other = (Operation) o;
+		return this.args.equals(other.getArgs());
+	}
+
+	/**
+	 * Computes a hash code consistent with {@link #equals(Object)}.
+	 *
+	 * @return hash code for this operation
+	 */
+	@Override
+	public int hashCode() {
+		int result = 5;
+		int prime = 31;
+		result = prime * result + neutral;
+		result = prime * result + symbol.hashCode();
+		result = prime * result + args.hashCode();
+		return result;
+	}
+}
@@ -0,0 +1,169 @@
+package calculator;
+
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Bounded, thread-safe cache of parsed expressions, placed in front of {@link Parser#parse(CharSequence, boolean)}.
+ * Parsing a string seen before returns the tree built the first time, without tokenizing it again.
+ *
+ * <p>Entries are keyed by the {@link #normalize(String) whitespace-normalized} expression and the
+ * {@code preserveFractions} flag, and are evicted in least-recently-used order as soon as the cache
+ * holds more than {@code maxEntries} entries, or more than {@code maxWeight} characters of keys.
+ * The weight of an entry is the length of its normalized text, which is proportional to the size of its tree.
+ * Hits, misses and evictions are counted, see {@link #stats()}.
+ *
+ * <p>The trees returned are shared by all the callers parsing the same text, and must be treated as
+ * immutable: they must not be modified, for instance with {@link Operation#addMoreParams(java.util.List)}.
+ * Evaluating a shared tree concurrently is safe, including with different evaluator settings: the type
+ * annotations written by {@link visitor.TypeInference} are only hints, checked against the settings of
+ * the {@link visitor.Evaluator} before they are used.
+ *
+ * <p>The map is guarded by the cache itself, but expressions are parsed outside the lock, so that a slow
+ * parse never blocks the lookups of other threads. Expressions that fail to parse are not cached.
+ */
+public final class ParseCache {
+
+    /**
+     * Key of a cached expression.
+     *
+     * @param text the normalized expression
+     * @param preserveFractions whether the expression was parsed preserving rational form
+     */
+    private record Key(String text, boolean preserveFractions) {
+    }
+
+    /**
+     * Snapshot of the statistics of a cache.
+     *
+     * @param hits the number of lookups that found the expression in the cache
+     * @param misses the number of lookups that had to parse the expression
+     * @param evictions the number of entries evicted to respect the bounds of the cache
+     * @param size the number of entries currently cached
+     * @param weight the total weight of the entries currently cached
+     */
+    public record Stats(long hits, long misses, long evictions, int size, long weight) {
+
+        /**
+         * Computes the proportion of lookups served from the cache.
+         *
+         * @return the hit ratio, between 0 and 1, or 0 if there was no lookup
+         */
+        public double hitRatio() {
+            long lookups = hits + misses;
+            return lookups == 0 ? 0.0 : (double) hits / lookups;
+        }
+    }
+
+    private final int maxEntries;
+    private final long maxWeight;
+
+    /** Entries in access order: the eldest entry is the least recently used one */
+    private final LinkedHashMap<Key, Expression> entries = new LinkedHashMap<>(16, 0.75f, true);
+
+    /** Total length of the keys cached, guarded by the cache */
+    private long weight;
+
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder evictions = new LongAdder();
+
+    /**
+     * Creates an empty cache.
+     *
+     * @param maxEntries the maximum number of expressions cached
+     * @param maxWeight the maximum total length of the expressions cached
+     * @throws IllegalArgumentException if a bound is not positive
+     */
+    public ParseCache(int maxEntries, long maxWeight) {
+        if (maxEntries <= 0 || maxWeight <= 0) {
+            throw new IllegalArgumentException("Cache bounds must be positive");
+        }
+        this.maxEntries = maxEntries;
+        this.maxWeight = maxWeight;
+    }
+
+    /**
+     * Parses an expression, or returns the tree cached for the same normalized text.
+     *
+     * @param expression the expression string
+     * @param preserveFractions whether to preserve rational form
+     * @return the constructed Expression tree, shared with the other callers
+     * @throws IllegalConstruction if structure is invalid
+     * @see Parser#parse(CharSequence, boolean)
+     */
+    public Expression parse(String expression, boolean preserveFractions) throws IllegalConstruction {
+        Key key = new Key(normalize(expression), preserveFractions);
+        Expression e;
+        synchronized (this) {
+            e = entries.get(key);
+        }
+        if (e != null) {
+            hits.increment();
+            return e;
+        }
+
+        misses.increment();
+        e = Parser.parse(key.text(), preserveFractions);
+        synchronized (this) {
+            // Another thread may have parsed the same expression in the meantime
+            Expression previous = entries.putIfAbsent(key, e);
+            if (previous != null) {
+                return previous;
+            }
+            weight += key.text().length();
+            evict();
+        }
+        return e;
+    }
+
+    /**
+     * Removes the least recently used entries until the bounds are respected.
+     * The entry just added is kept even if it is heavier than the maximum weight on its own.
+     */
+    private void evict() {
+        Iterator<Key> eldest = entries.keySet().iterator();
+        while ((entries.size() > maxEntries || weight > maxWeight) && entries.size() > 1) {
+            Key key = eldest.next();
+            eldest.remove();
+            weight -= key.text().length();
+            evictions.increment();
+        }
+    }
+
+    /**
+     * Removes all the entries. The statistics are not reset.
+     */
+    public synchronized void clear() {
+        entries.clear();
+        weight = 0;
+    }
+
+    /**
+     * Returns the statistics of this cache.
+     *
+     * @return a snapshot of the counters and of the current size of the cache
+     */
+    public Stats stats() {
+        int size;
+        long w;
+        synchronized (this) {
+            size = entries.size();
+            w = weight;
+        }
+        return new Stats(hits.sum(), misses.sum(), evictions.sum(), size, w);
+    }
+
+    /**
+     * Normalizes the whitespace of an expression, so that spellings differing only by their layout
+     * share the same entry. Since {@link Parser#parse(CharSequence, boolean)} ignores whitespace,
+     * all of it is removed.
+     *
+     * @param expression the expression string
+     * @return the normalized expression, parsed exactly as the original one
+     */
+    static String normalize(String expression) {
+        return Parser.removeWhitespace(expression).toString();
+    }
+}
@@ -0,0 +1,219 @@
+package calculator;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.io.UncheckedIOException;
+import java.nio.channels.Channels;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.charset.Charset;
+
+import static java.lang.Character.isDigit;
+
+/**
+ * Parser class to convert a string representation of a mathematical expression
+ * into a structured {@link Expression} object, supporting infix, prefix, and postfix notation,
+ * as well as real, rational, and complex number formats.
+ */
+public class Parser {
+
+    /** Initial size, in characters, of the window over an expression parsed from a stream */
+    private static final int STREAM_BUFFER_SIZE = 8192;
+
+    /**
+     * Parses an expression string in prefix, infix or postfix notation.
+     * The notation is detected from the first and last characters of the expression:
+     * for example, "+(1,2)", "1+2" and "(1,2)+" are all parsed as Plus(1,2).
+     *
+     * Whitespace is ignored, as if it were removed before parsing: "1 / 2" is the fraction 1/2, like "1/2",
+     * and "2 3" is the number 23. The characters are read in place, without copying the expression unless
+     * it contains whitespace, so the expression may be a view over a larger buffer.
+     *
+     * @param expression         the expression string
+     * @param preserveFractions whether to preserve rational form
+     * @return the constructed Expression tree
+     * @throws IllegalConstruction if structure is invalid
+     */
+    public static Expression parse(CharSequence expression, boolean preserveFractions) throws IllegalConstruction {
+        CharSequence compact = removeWhitespace(expression);
+        return parse(new Lexer(compact), detectNotation(compact), preserveFractions);
+    }
+
+    /**
+     * Parses an expression string in the given notation, rather than in the notation detected from its first
+     * and last characters, see {@link #parse(CharSequence, boolean)}. Whitespace is ignored in the same way.
+     *
+     * @param expression        the expression string
+     * @param notation          the notation of the expression
+     * @param preserveFractions whether to preserve rational form
+     * @return the constructed Expression tree
+     * @throws IllegalConstruction if structure is invalid
+     */
+    public static Expression parse(CharSequence expression, Notation notation, boolean preserveFractions)
+            throws IllegalConstruction {
+        return parse(new Lexer(removeWhitespace(expression)), notation, preserveFractions);
+    }
+
+    /**
+     * Parses an expression read from a stream of characters, in the given notation.
+     * The expression is parsed while it is read, through a window of {@value #STREAM_BUFFER_SIZE} characters
+     * which is only enlarged for a longer literal: the text is never held in memory as a whole, so that
+     * the memory used while parsing is proportional to the tree built rather than to the length of the text.
+     * Since the notation cannot be detected without looking at the end of the expression, it must be given.
+     * Unlike {@link #parse(CharSequence, boolean)}, which ignores whitespace, whitespace separates tokens here,
+     * so that "1 / 2" is a division and "2 3" is an error. The reader is not closed.
+     *
+     * @param reader            the source of the expression
+     * @param notation          the notation of the expression
+     * @param preserveFractions whether to preserve rational form
+     * @return the constructed Expression tree
+     * @throws IllegalConstruction if structure is invalid
+     * @throws IOException if the expression cannot be read
+     */
+    public static Expression parse(Reader reader, Notation notation, boolean preserveFractions)
+            throws IllegalConstruction, IOException {
+        try {
+            return parse(new Lexer(reader, STREAM_BUFFER_SIZE), notation, preserveFractions);
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        }
+    }
+
+    /**
+     * Parses an expression read from a channel, in the given notation.
+     * The bytes are decoded as they are read, see {@link #parse(Reader, Notation, boolean)}.
+     * The channel is not closed.
+     *
+     * @param channel           the source of the expression
+     * @param charset           the encoding of the expression
+     * @param notation          the notation of the expression
+     * @param preserveFractions whether to preserve rational form
+     * @return the constructed Expression tree
+     * @throws IllegalConstruction if structure is invalid
+     * @throws IOException if the expression cannot be read
+     */
+    public static Expression parse(ReadableByteChannel channel, Charset charset, Notation notation, boolean preserveFractions)
+            throws IllegalConstruction, IOException {
+        return parse(Channels.newReader(channel, charset.newDecoder(), -1), notation, preserveFractions);
+    }
+
+    private static Expression parse(Lexer lexer, Notation notation, boolean preserveFractions) throws IllegalConstruction {
+        return switch (notation) {
+            case PREFIX -> PolishNotationParser.parsePrefix(lexer, preserveFractions);
+            case POSTFIX -> PolishNotationParser.parsePostfix(lexer, preserveFractions);
+            case INFIX -> InfixParser.parse(lexer, preserveFractions);
+        };
+    }
+
+    /**
+     * Removes the whitespace of an expression, copying it only if it has any.
+     *
+     * @param s the expression
+     * @return the expression without whitespace
+     */
+    static CharSequence removeWhitespace(CharSequence s) {
+        int length = s.length();
+        for (int i = 0; i < length; i++) {
+            if (Character.isWhitespace(s.charAt(i))) {
+                StringBuilder sb = new StringBuilder(length).append(s, 0, i);
+                for (i++; i < length; i++) {
+                    char c = s.charAt(i);
+                    if (!Character.isWhitespace(c)) {
+                        sb.append(c);
+                    }
+                }
+                return sb;
+            }
+        }
+        return s;
+    }
+
+    /**
+     * Detects the notation of an expression by looking at its first two and last non-whitespace characters.
+     * A function call is seen as the first letter of its name and π as a digit.
+     *
+     * @param expression the expression string
+     * @return the detected notation
+     * @throws IllegalArgumentException if the expression is empty or in no supported notation
+     */
+    private static Notation detectNotation(CharSequence expression) {
+        int length = expression.length();
+        int first = skipWhitespace(expression, 0);
+        if (first == length) {
+            throw new IllegalArgumentException("Empty expression");
+        }
+        int second = skipWhitespace(expression, first + 1);
+        int last = length - 1;
+        while (Character.isWhitespace(expression.charAt(last))) {
+            last--;
+        }
+        char c0 = digitForPi(expression.charAt(first));
+        char c1 = second < length ? digitForPi(expression.charAt(second)) : 0;
+        char cl = digitForPi(expression.charAt(last));
+        boolean longEnough = hasAtLeast(expression, 6);
+
+        if (longEnough && isOperator(c0) && c1 == '(' && cl == ')'
+                && (c0 != '-' || hasTopLevelComma(expression, second))) {
+            return Notation.PREFIX;
+        } else if (longEnough && isOperator(cl) && c0 == '(') {
+            return Notation.POSTFIX;
+        } else if (c0 == '(' || (MathFunction.isLetter(c0) && c0 != 'i') || c0 == '.' ||
+                ((isDigit(c0) || c0 == 'i' || (c0 == '-' && (isDigit(c1) || c1 == '(' || MathFunction.isLetter(c1))))
+                        && (isDigit(cl) || cl == ')' || cl == 'i'))) {
+            return Notation.INFIX;
+        } else {
+            throw new IllegalArgumentException("Unsupported notation type");
+        }
+    }
+
+    /**
+     * Checks whether the group opened by the parenthesis at the given offset holds several arguments,
+     * so that "-(1, 2)" is a prefix subtraction while "-(1 - 2)" is an infix negation.
+     */
+    private static boolean hasTopLevelComma(CharSequence s, int open) {
+        int depth = 0;
+        for (int i = open; i < s.length(); i++) {
+            char c = s.charAt(i);
+            if (c == '(') {
+                depth++;
+            } else if (c == ')' && --depth == 0) {
+                return false;
+            } else if (c == ',' && depth == 1) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static int skipWhitespace(CharSequence s, int i) {
+        while (i < s.length() && Character.isWhitespace(s.charAt(i))) {
+            i++;
+        }
+        return i;
+    }
+
+    private static char digitForPi(char c) {
+        return c == 'π' ? '3' : c;
+    }
+
+    /**
+     * Checks whether an expression has at least the given number of non-whitespace characters.
+     */
+    private static boolean hasAtLeast(CharSequence s, int count) {
+        for (int i = 0; i < s.length() && count > 0; i++) {
+            if (!Character.isWhitespace(s.charAt(i))) {
+                count--;
+            }
+        }
+        return count == 0;
+    }
+
+    /**
+     * Determines whether the given character is a valid binary operator.
+     *
+     * @param c the character to check
+     * @return true if the character is one of +, -, *, /, ^
+     */
+    private static boolean isOperator(char c) {
+        return c == '+' || c == '-' || c == '*' || c == '/' || c == '^';
+    }
+}
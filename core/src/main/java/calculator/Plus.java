@@ -0,0 +1,98 @@
+package calculator;
+
+import java.math.BigInteger;
+import java.util.List;
+
+/**
+ * This class represents the arithmetic addition operation "+".
+ * It extends the abstract {@link Operation} class and implements the actual logic
+ * for computing sums between various types of {@link MyNumber}, including:
+ * <ul>
+ *     <li>{@link RealNumber}</li>
+ *     <li>{@link RationalNumber}</li>
+ *     <li>{@link ComplexNumber}</li>
+ * </ul>
+ *
+ * @see Operation
+ * @see Minus
+ * @see Times
+ * @see Divides
+ */
+public final class Plus extends Operation {
+
+    /**
+     * Constructor to create a Plus operation with a list of expressions.
+     *
+     * @param elist The list of expressions to add
+     * @throws IllegalConstruction If the list is null
+     * @see #Plus(List, Notation)
+     */
+    public Plus(List<Expression> elist) throws IllegalConstruction {
+        this(elist, null);
+    }
+
+    /**
+     * Constructor to create a Plus operation with a list of expressions and a given notation.
+     *
+     * @param elist The list of expressions to add
+     * @param n The {@link Notation} used for formatting the expression
+     * @throws IllegalConstruction If the list is null
+     */
+    public Plus(List<Expression> elist, Notation n) throws IllegalConstruction {
+        super(elist, n);
+        symbol = "+";
+        neutral = 0;
+    }
+
+    /**
+     * Computes the sum of two doubles.
+     *
+     * @param l The left operand
+     * @param r The right operand
+     * @return The result of l + r
+     */
+    @Override
+    public double op(double l, double r) {
+        return l + r;
+    }
+
+    /**
+     * Computes the exact sum of two integers.
+     *
+     * @param l The left integer
+     * @param r The right integer
+     * @return The result of l + r
+     * @throws ArithmeticException If the result overflows a long
+     */
+    @Override
+    public long op(long l, long r) {
+        return Math.addExact(l, r);
+    }
+
+    /**
+     * Computes the sum of two arbitrary-precision integers.
+     *
+     * @param l The left integer
+     * @param r The right integer
+     * @return The result of l + r
+     */
+    @Override
+    public BigInteger op(BigInteger l, BigInteger r) {
+        return l.add(r);
+    }
+
+    /**
+     * Computes the result of adding two {@link MyNumber} operands.
+     * Handles combinations of real, rational, and complex numbers, including mixed types,
+     * by delegating to the {@link NumericOps#add(MyNumber, MyNumber)} kernel.
+     *
+     * @param left The left operand
+     * @param right The right operand
+     * @return The resulting {@link MyNumber} after addition
+     * @throws IllegalConstruction If the operation cannot be completed due to unsupported types
+     */
+    @Override
+    public MyNumber compute(MyNumber left, MyNumber right) throws IllegalConstruction {
+        return NumericOps.add(left, right);
+    }
+}
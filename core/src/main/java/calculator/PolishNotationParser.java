@@ -0,0 +1,172 @@
+package calculator;
+
+import calculator.Lexer.Token;
+import calculator.Lexer.TokenType;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.List;
+
+/**
+ * Parser for the prefix and postfix notations, where an operation is written as its operator
+ * followed or preceded by the parenthesized, comma-separated list of its arguments:
+ * {@code +(1,*(2,3))} and {@code (1,(2,3)*)+} are both parsed as Plus(1,Times(2,3)).
+ *
+ * <p>Both parsers pull tokens from a single {@link Lexer} moving over the input, and never copy
+ * any part of it but the number literals. They do not recurse either: the operations being built
+ * are kept on an explicit stack, each with the arguments parsed so far. Parsing is therefore linear
+ * in the length of the input, and the nesting depth it accepts is only limited by the available memory.
+ * Evaluating or printing the parsed expression still recurses over its levels, though, so that the depth
+ * of an expression that can be evaluated is limited by the thread stack, to a few thousand levels.
+ * The arguments of a function call, as in {@code sqrt(+(1,3))} or {@code max(1,*(2,3))}, are written
+ * in the same notation as the rest of the expression.
+ */
+final class PolishNotationParser {
+
+    /**
+     * An operation or a function call whose arguments are being parsed.
+     * In prefix notation the operator is known when the operation is opened; in postfix
+     * notation it is only read after the closing parenthesis.
+     */
+    private static final class Frame {
+        private final char operator;
+        private final MathFunction function;
+        private final List<Expression> args = new ArrayList<>();
+
+        private Frame(char operator, MathFunction function) {
+            this.operator = operator;
+            this.function = function;
+        }
+    }
+
+    private final Lexer lexer;
+    private final boolean preserveFractions;
+    private final Deque<Frame> stack = new ArrayDeque<>();
+
+    private PolishNotationParser(Lexer lexer, boolean preserveFractions) {
+        this.lexer = lexer;
+        this.preserveFractions = preserveFractions;
+    }
+
+    /**
+     * Parses a prefix expression, such as "+(1,2)".
+     *
+     * @param lexer the lexer over the expression
+     * @param preserveFractions whether to preserve rational form
+     * @return the constructed Expression tree
+     * @throws IllegalConstruction if an operation cannot be built
+     * @throws IllegalArgumentException if the expression is malformed
+     */
+    static Expression parsePrefix(Lexer lexer, boolean preserveFractions) throws IllegalConstruction {
+        return new PolishNotationParser(lexer, preserveFractions).parse(true);
+    }
+
+    /**
+     * Parses a postfix expression, such as "(1,2)+".
+     *
+     * @param lexer the lexer over the expression
+     * @param preserveFractions whether to preserve rational form
+     * @return the constructed Expression tree
+     * @throws IllegalConstruction if an operation cannot be built
+     * @throws IllegalArgumentException if the expression is malformed
+     */
+    static Expression parsePostfix(Lexer lexer, boolean preserveFractions) throws IllegalConstruction {
+        return new PolishNotationParser(lexer, preserveFractions).parse(false);
+    }
+
+    /**
+     * Parses the whole input.
+     *
+     * @param prefix true for the prefix notation, false for the postfix notation
+     * @return the expression
+     */
+    private Expression parse(boolean prefix) throws IllegalConstruction {
+        while (true) {
+            // Open operations until an operand is found
+            Token t = lexer.next();
+            Expression value;
+            if (prefix && isOperator(t)) {
+                char operator = lexer.firstChar(t);
+                if (lexer.next().type() != TokenType.LEFT_PAREN) {
+                    throw new IllegalArgumentException("Invalid expression");
+                }
+                stack.push(new Frame(operator, null));
+                continue;
+            } else if (!prefix && t.type() == TokenType.LEFT_PAREN) {
+                stack.push(new Frame((char) 0, null));
+                continue;
+            } else if (t.type() == TokenType.FUNCTION) {
+                stack.push(new Frame((char) 0, FunctionRegistry.resolve(lexer.text(t))));
+                continue;
+            } else {
+                value = operand(t);
+            }
+
+            // Close the operations ending after this operand, until another argument follows
+            while (true) {
+                Frame frame = stack.peek();
+                if (frame == null) {
+                    if (lexer.next().type() != TokenType.EOF) {
+                        throw new IllegalArgumentException("Invalid expression");
+                    }
+                    return value;
+                }
+                frame.args.add(value);
+
+                t = lexer.next();
+                if (t.type() == TokenType.COMMA) {
+                    break;
+                } else if (t.type() != TokenType.RIGHT_PAREN) {
+                    throw new IllegalArgumentException(t.type() == TokenType.EOF
+                            ? "Mismatched parentheses" : "Invalid expression");
+                }
+                stack.pop();
+
+                if (frame.function != null) {
+                    value = new FunctionWrapper(frame.function, frame.args);
+                    continue;
+                }
+                char operator = frame.operator;
+                if (!prefix) {
+                    Token op = lexer.next();
+                    if (!isOperator(op)) {
+                        throw new IllegalArgumentException("Invalid expression");
+                    }
+                    operator = lexer.firstChar(op);
+                }
+                value = createOperation(operator, frame.args);
+            }
+        }
+    }
+
+    /**
+     * Builds a number literal.
+     */
+    private Expression operand(Token t) {
+        if (t.isNumber()) {
+            return lexer.literal(t, preserveFractions);
+        }
+        throw new IllegalArgumentException(t.type() == TokenType.RIGHT_PAREN || t.type() == TokenType.EOF
+                ? "Mismatched parentheses" : "Invalid expression");
+    }
+
+    /**
+     * Tells whether a token is an operator. A minus sign followed by a parenthesis is lexed as
+     * {@link TokenType#NEGATE}, which in prefix notation is the subtraction operator.
+     */
+    private static boolean isOperator(Token t) {
+        return t.type() == TokenType.OPERATOR || t.type() == TokenType.NEGATE;
+    }
+
+    private static Operation createOperation(char operator, List<Expression> args) throws IllegalConstruction {
+        return switch (operator) {
+            case '+' -> new Plus(args);
+            case '-' -> new Minus(args);
+            case '*' -> new Times(args);
+            case '/' -> new Divides(args);
+            case '^' -> new Power(args);
+            default -> throw new IllegalArgumentException("Unknown operator: " + operator);
+        };
+    }
+}
@@ -0,0 +1,97 @@
+package calculator;
+
+import java.math.BigInteger;
+import java.util.List;
+
+/**
+ * This class represents the exponentiation operation "^".
+ * Unlike the other operations, a power has exactly two arguments, a base and an exponent:
+ * the infix parser reads {@code 2 ^ 3 ^ 2} as {@code 2 ^ (3 ^ 2)}, so a power is never flattened
+ * into a chain that would be folded from left to right.
+ *
+ * <p>Integer exponents are computed by squaring through {@link NumericOps#pow(MyNumber, MyNumber)},
+ * with a number of multiplications proportional to the number of bits of the exponent.
+ *
+ * @see Operation
+ * @see Times
+ */
+public final class Power extends Operation {
+
+    /**
+     * Constructor for a power with a list of two expressions, the base and the exponent.
+     *
+     * @param elist the base and the exponent
+     * @throws IllegalConstruction if the list is null or does not hold exactly two expressions
+     */
+    public Power(List<Expression> elist) throws IllegalConstruction {
+        this(elist, null);
+    }
+
+    /**
+     * Constructor for a power with a list of two expressions and a specific notation.
+     *
+     * @param elist the base and the exponent
+     * @param n     the {@link Notation} used to format the operation
+     * @throws IllegalConstruction if the list is null or does not hold exactly two expressions
+     */
+    public Power(List<Expression> elist, Notation n) throws IllegalConstruction {
+        super(elist, n);
+        if (args.size() != 2) {
+            throw new IllegalConstruction("A power takes exactly two arguments, a base and an exponent");
+        }
+        symbol = "^";
+        neutral = 1;
+    }
+
+    /**
+     * Raises a double to a double power.
+     *
+     * @param l the base
+     * @param r the exponent
+     * @return l raised to the power r
+     */
+    @Override
+    public double op(double l, double r) {
+        return Math.pow(l, r);
+    }
+
+    /**
+     * Raises an integer to a non-negative integer power, by squaring.
+     *
+     * @param l the base
+     * @param r the exponent
+     * @return l raised to the power r
+     * @throws ArithmeticException if the exponent is negative or the result overflows a long
+     */
+    @Override
+    public long op(long l, long r) {
+        return NumericOps.powExact(l, r);
+    }
+
+    /**
+     * Raises an arbitrary-precision integer to a non-negative integer power.
+     *
+     * @param l the base
+     * @param r the exponent
+     * @return l raised to the power r
+     * @throws ArithmeticException if the exponent is negative or the result is too large to be computed exactly
+     */
+    @Override
+    public BigInteger op(BigInteger l, BigInteger r) {
+        return NumericOps.powExact(l, r);
+    }
+
+    /**
+     * Raises a {@link MyNumber} to the power of another one
+     * through {@link NumericOps#pow(MyNumber, MyNumber)}.
+     *
+     * @param left  the base
+     * @param right the exponent
+     * @return the power as a {@link MyNumber}
+     * @throws IllegalConstruction if the combination of types is unsupported
+     */
+    @Override
+    public MyNumber compute(MyNumber left, MyNumber right) throws IllegalConstruction {
+        return NumericOps.pow(left, right);
+    }
+}
@@ -0,0 +1,358 @@
+package calculator;
+
+import java.math.BigDecimal;
+
+/**
+ * This class represents a rational number (a fraction), composed of a numerator and a denominator,
+ * both stored as primitive {@code double} values. It extends {@link MyNumber} so it can be used as an {@link Expression}.
+ *
+ * <p>Fractions are normalized once, at construction: the sign is carried by the numerator and both
+ * components are reduced by their greatest common divisor, so that 28/24 and -7/-6 are both stored as 7/6.
+ * Equality and hashing are therefore plain comparisons of the stored components.
+ *
+ * <p>This is a value-based class: instances are immutable, equality is defined by their value only,
+ * and {@link #valueOf(double, double)} may return shared instances for common values.
+ * Code must therefore never rely on the identity of a {@code RationalNumber}.
+ */
+public final class RationalNumber extends MyNumber {
+
+    /** Constant representing the fraction 0/1 */
+    public static final RationalNumber ZERO = new RationalNumber(0.0, 1.0);
+
+    /** Constant representing the fraction 1/1 */
+    public static final RationalNumber ONE = new RationalNumber(1.0, 1.0);
+
+    /** Constant representing the fraction -1/1 */
+    public static final RationalNumber MINUS_ONE = new RationalNumber(-1.0, 1.0);
+
+    /** Constant representing the fraction 2/1 */
+    public static final RationalNumber TWO = new RationalNumber(2.0, 1.0);
+
+    /** Constant representing the fraction 1/2 */
+    public static final RationalNumber HALF = new RationalNumber(1.0, 2.0);
+
+    /** Largest magnitude for which an integral double can be converted to a long without loss */
+    private static final double LONG_RANGE = 0x1p63;
+
+    private final double nominator;
+    private final double denominator;
+
+    /** Cached hash code, computed on first use (0 means not yet computed) */
+    private int hash;
+
+    /**
+     * Constructs a rational number with a given numerator and denominator.
+     *
+     * @param number the numerator
+     * @param denominator the denominator
+     */
+    public RationalNumber(RealNumber number, RealNumber denominator) {
+        this(number.getValue(), denominator.getValue());
+    }
+
+    /**
+     * Constructs a rational number with a given numerator and an implicit denominator of 1.
+     *
+     * @param number the numerator
+     */
+    public RationalNumber(RealNumber number) {
+        this(number.getValue(), 1.0);
+    }
+
+    /**
+     * Constructs a rational number from primitive numerator and denominator values.
+     * The fraction is normalized: the sign moves to the numerator and both values are reduced by their GCD.
+     * Prefer {@link #valueOf(double, double)}, which reuses shared instances for common values.
+     *
+     * @param nominator the numerator
+     * @param denominator the denominator
+     */
+    public RationalNumber(double nominator, double denominator) {
+        double divisor = canonicalDivisor(nominator, denominator);
+        // Adding 0.0 turns a -0.0 numerator into 0.0
+        this.nominator = nominator / divisor + 0.0;
+        this.denominator = denominator / divisor;
+    }
+
+    /**
+     * Constructs a rational number from components that are already normalized.
+     *
+     * @param nominator the reduced numerator, carrying the sign
+     * @param denominator the reduced, positive denominator
+     * @param normalized marker distinguishing this constructor, always {@code true}
+     */
+    private RationalNumber(double nominator, double denominator, boolean normalized) {
+        this.nominator = nominator;
+        this.denominator = denominator;
+    }
+
+    /**
+     * Returns a rational number with the given numerator and denominator,
+     * reusing one of the shared constants when the fraction is 0/1, 1/1, -1/1, 2/1 or 1/2.
+     *
+     * @param nominator the numerator
+     * @param denominator the denominator
+     * @return a {@link RationalNumber} representing {@code nominator/denominator}
+     */
+    public static RationalNumber valueOf(double nominator, double denominator) {
+        double divisor = canonicalDivisor(nominator, denominator);
+        nominator = nominator / divisor + 0.0;
+        denominator = denominator / divisor;
+        if (denominator == 1.0) {
+            if (nominator == 0.0 && Double.doubleToRawLongBits(nominator) == 0L) return ZERO;
+            if (nominator == 1.0) return ONE;
+            if (nominator == -1.0) return MINUS_ONE;
+            if (nominator == 2.0) return TWO;
+        } else if (denominator == 2.0 && nominator == 1.0) {
+            return HALF;
+        }
+        return new RationalNumber(nominator, denominator, true);
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * @return {@link NumberType#RATIONAL}
+     */
+    @Override
+    public NumberType getType() {
+        return NumberType.RATIONAL;
+    }
+
+    /**
+     * {@inheritDoc}
+     * The fraction is already reduced, so only the sign of the numerator changes.
+     *
+     * @return the opposite rational number
+     */
+    @Override
+    public RationalNumber negate() {
+        return new RationalNumber(-nominator + 0.0, denominator, true);
+    }
+
+    /**
+     * Returns the numerator of the rational number.
+     *
+     * @return the numerator as a {@link RealNumber}
+     */
+    public RealNumber getNominator() {
+        return RealNumber.valueOf(this.nominator);
+    }
+
+    /**
+     * Returns the denominator of the rational number.
+     *
+     * @return the denominator as a {@link RealNumber}
+     */
+    public RealNumber getDenominator() {
+        return RealNumber.valueOf(this.denominator);
+    }
+
+    /**
+     * Returns the numerator of the rational number as a primitive value,
+     * without creating a {@link RealNumber}.
+     *
+     * @return the numerator
+     */
+    public double getNominatorValue() {
+        return this.nominator;
+    }
+
+    /**
+     * Returns the denominator of the rational number as a primitive value,
+     * without creating a {@link RealNumber}.
+     *
+     * @return the denominator
+     */
+    public double getDenominatorValue() {
+        return this.denominator;
+    }
+
+    /**
+     * Returns a string representation of the rational number.
+     * If the denominator is 1, only the numerator is displayed.
+     *
+     * @return the string representation
+     */
+    @Override
+    public String toString() {
+        if (denominator == 1.0) {
+            return getNominator().toString();
+        } else {
+            return getNominator().toString() + "/" + getDenominator();
+        }
+    }
+
+    /**
+     * Computes a hash code for this rational number.
+     *
+     * @return the hash code
+     */
+    @Override
+    public int hashCode() {
+        int h = hash;
+        if (h == 0) {
+            h = 31 * (31 + Double.hashCode(nominator)) + Double.hashCode(denominator);
+            hash = h;
+        }
+        return h;
+    }
+
+    /**
+     * Compares this rational number to another object for equality.
+     * Since fractions are normalized at construction, two rational numbers are equal
+     * if their numerators and denominators are equal.
+     *
+     * @param o the object to compare
+     * @return true if the two objects are equal, false otherwise
+     */
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (!(o instanceof RationalNumber that)) return false;
+        return Double.doubleToLongBits(nominator) == Double.doubleToLongBits(that.nominator)
+                && Double.doubleToLongBits(denominator) == Double.doubleToLongBits(that.denominator);
+    }
+
+    /**
+     * Checks whether the rational number is negative.
+     *
+     * @return true if the value is negative, false otherwise
+     */
+    public boolean isNegative() {
+        return (this.nominator < 0 && this.denominator > 0)
+                || (this.nominator > 0 && this.denominator < 0);
+    }
+
+    /**
+     * Returns the opposite of this rational number (negates the numerator).
+     *
+     * @return the opposite {@link RationalNumber}
+     */
+    public RationalNumber getOpposite() {
+        return valueOf(-this.nominator, this.denominator);
+    }
+
+    /**
+     * Returns the simplified form of this rational number.
+     * Fractions are already reduced at construction, so this returns the number itself.
+     *
+     * @return this {@link RationalNumber}
+     */
+    public RationalNumber simplify() {
+        return this;
+    }
+
+    /**
+     * Simplifies the rational number and returns either a RationalNumber or RealNumber
+     * depending on whether the result is reducible to an integer and the flag preserveFraction.
+     *
+     * @param preserveFraction if true, always return a RationalNumber; otherwise return RealNumber when possible
+     * @return a simplified {@link MyNumber} (either RationalNumber or RealNumber)
+     */
+    public MyNumber simplify(boolean preserveFraction) {
+        RationalNumber simplified = this.simplify();
+        if (preserveFraction) {
+            return simplified;
+        } else if (simplified.denominator == 1.0) {
+            return simplified.getNominator(); // Convert to RealNumber
+        } else {
+            return simplified;
+        }
+    }
+
+    /**
+     * Computes the signed value by which both components must be divided to normalize a fraction.
+     * Fractions with a zero or non-finite component are left untouched, and a zero numerator
+     * always yields 0/1.
+     *
+     * @param nominator the numerator
+     * @param denominator the denominator
+     * @return the divisor to apply, whose sign is the sign of the denominator
+     */
+    private static double canonicalDivisor(double nominator, double denominator) {
+        if (denominator == 0 || !Double.isFinite(nominator) || !Double.isFinite(denominator)) {
+            return 1.0;
+        }
+        if (nominator == 0) {
+            return denominator;
+        }
+        double sign = denominator < 0 ? -1.0 : 1.0;
+        if (denominator == sign) {
+            return sign;
+        }
+        return sign * gcd(nominator, denominator);
+    }
+
+    /**
+     * Computes the greatest common divisor (GCD) of two non-zero finite values.
+     * Integral values use the binary GCD algorithm on longs; other values fall back
+     * to a decimal-scaled Euclidean algorithm.
+     *
+     * @param numA the first value
+     * @param numB the second value
+     * @return the greatest common divisor as a positive double
+     */
+    private static double gcd(double numA, double numB) {
+        double a = Math.abs(numA);
+        double b = Math.abs(numB);
+        if (a < LONG_RANGE && b < LONG_RANGE && (long) a == a && (long) b == b) {
+            return binaryGcd((long) a, (long) b);
+        }
+        return decimalGcd(numA, numB);
+    }
+
+    /**
+     * Computes the GCD of two positive longs with Stein's binary algorithm,
+     * which only uses shifts and subtractions.
+     *
+     * @param a the first value, positive
+     * @param b the second value, positive
+     * @return the greatest common divisor
+     */
+    static long binaryGcd(long a, long b) {
+        int shift = Long.numberOfTrailingZeros(a | b);
+        a >>= Long.numberOfTrailingZeros(a);
+        do {
+            b >>= Long.numberOfTrailingZeros(b);
+            if (a > b) {
+                long t = b;
+                b = a;
+                a = t;
+            }
+            b -= a;
+        } while (b != 0);
+        return a << shift;
+    }
+
+    /**
+     * Computes the greatest common divisor (GCD) of two values using the Euclidean algorithm.
+     * Handles decimals by converting to integers based on precision.
+     *
+     * @param numA the first value
+     * @param numB the second value
+     * @return the greatest common divisor as a double
+     */
+    private static double decimalGcd(double numA, double numB) {
+        int maxDecimals = Math.max(
+                BigDecimal.valueOf(numA).scale(),
+                BigDecimal.valueOf(numB).scale()
+        );
+
+        double a = Math.abs(numA);
+        double b = Math.abs(numB);
+
+        if (maxDecimals > 0) {
+            a *= Math.pow(10, maxDecimals);
+            b *= Math.pow(10, maxDecimals);
+        }
+
+        while (b != 0) {
+            double temp = b;
+            b = a % b;
+            a = temp;
+        }
+
+        return a / Math.pow(10, maxDecimals);
+    }
+}
@@ -0,0 +1,160 @@
+package calculator;
+
+/**
+ * This class represents a real number as a leaf node in an arithmetic expression.
+ * It extends {@link MyNumber} and encapsulates a primitive {@code double} value.
+ *
+ * <p>This is a value-based class: instances are immutable, equality is defined by their value only,
+ * and {@link #valueOf(double)} may return shared instances for common values.
+ * Code must therefore never rely on the identity of a {@code RealNumber}.
+ */
+public final class RealNumber extends MyNumber {
+
+    /** Lowest integral value kept in the cache of shared instances */
+    private static final int CACHE_LOW = -128;
+
+    /** Highest integral value kept in the cache of shared instances */
+    private static final int CACHE_HIGH = 127;
+
+    /** Shared instances for the small integral values, as {@link Integer#valueOf(int)} does */
+    private static final RealNumber[] CACHE = new RealNumber[CACHE_HIGH - CACHE_LOW + 1];
+
+    static {
+        for (int i = 0; i < CACHE.length; i++) {
+            CACHE[i] = new RealNumber(CACHE_LOW + i);
+        }
+    }
+
+    /** Constant representing the real number 0.0 */
+    public static final RealNumber ZERO = valueOf(0.0);
+
+    /** Constant representing the real number 1.0 */
+    public static final RealNumber ONE = valueOf(1.0);
+
+    /** Constant representing the real number -1.0 */
+    public static final RealNumber MINUS_ONE = valueOf(-1.0);
+
+    /** Constant representing the real number 2.0 */
+    public static final RealNumber TWO = valueOf(2.0);
+
+    /** Constant representing Not-a-Number (NaN) */
+    public static final RealNumber NaN = new RealNumber(Double.NaN);
+
+    /** The internal value of the real number */
+    private final double value;
+
+    /**
+     * Constructs a real number from a {@code double} value.
+     * Prefer {@link #valueOf(double)}, which reuses shared instances for common values.
+     *
+     * @param value the double value representing this real number
+     */
+    public RealNumber(double value) {
+        this.value = value;
+    }
+
+    /**
+     * Returns a real number with the given value, reusing a shared instance
+     * for the small integral values (from -128 to 127).
+     *
+     * @param value the double value of the number
+     * @return a {@link RealNumber} representing {@code value}
+     */
+    public static RealNumber valueOf(double value) {
+        int i = (int) value;
+        if (i == value && i >= CACHE_LOW && i <= CACHE_HIGH && Double.doubleToRawLongBits(value) != Long.MIN_VALUE) {
+            return CACHE[i - CACHE_LOW];
+        }
+        return new RealNumber(value);
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * @return {@link NumberType#REAL}
+     */
+    @Override
+    public NumberType getType() {
+        return NumberType.REAL;
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * @return a real number with the opposite value
+     */
+    @Override
+    public RealNumber negate() {
+        return valueOf(-value);
+    }
+
+    /**
+     * Returns the internal double value of this real number.
+     *
+     * @return the value as a {@code double}
+     */
+    public double getValue() {
+        return this.value;
+    }
+
+    /**
+     * Returns the additive inverse of this real number.
+     *
+     * @return a {@link RealNumber} that is the negation of this one
+     */
+    public RealNumber getOpposite() {
+        return valueOf(-this.value);
+    }
+
+    /**
+     * Returns a string representation of the number, with formatting simplifications:
+     * <ul>
+     *     <li>If the value is close to 0, returns "0"</li>
+     *     <li>If the value is close to 1, returns "1"</li>
+     *     <li>If the value is close to -1, returns "-1"</li>
+     *     <li>If the value has no decimal part, it's printed as an integer</li>
+     *     <li>Otherwise, the decimal value is returned as-is</li>
+     * </ul>
+     *
+     * @return a string representation of the number
+     */
+    @Override
+    public String toString() {
+        if (Math.abs(value) < 1e-10) return "0";
+        if (Math.abs(value - 1.0) < 1e-10) return "1";
+        if (Math.abs(value + 1.0) < 1e-10) return "-1";
+
+        // If the value is a whole number that fits in a long, return it as an integer
+        if (value % 1 == 0 && Math.abs(value) < 0x1p63) {
+            return String.valueOf((long) value);
+        }
+
+        // Otherwise, return as double
+        return String.valueOf(value);
+    }
+
+    /**
+     * Computes the hash code based on the internal value.
+     *
+     * @return the hash code
+     */
+    @Override
+    public int hashCode() {
+        return Double.hashCode(value);
+    }
+
+    /**
+     * Compares this real number with another object for equality.
+     * Two {@link RealNumber} instances are equal if their values are exactly equal
+     * (with the semantics of {@link Double#equals(Object)}, so NaN equals NaN).
+     *
+     * @param obj the object to compare with
+     * @return true if the objects represent the same value, false otherwise
+     */
+    @Override
+    public boolean equals(Object obj) {
+        if (this == obj) return true;
+        if (!(obj instanceof RealNumber that)) return false;
+        return Double.doubleToLongBits(value) == Double.doubleToLongBits(that.value);
+    }
+}
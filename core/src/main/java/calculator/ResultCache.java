@@ -0,0 +1,550 @@
+package calculator;
+
+import java.time.Duration;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.LongSupplier;
+import java.util.function.Supplier;
+
+/**
+ * Bounded, concurrent cache of evaluation results, used by {@link Calculator#eval(Expression)}
+ * once installed with {@link Calculator#setResultCache(ResultCache)}.
+ * Evaluating an expression equal to one evaluated before, with the same evaluator settings,
+ * returns the cached result without redoing any arithmetic.
+ *
+ * <p>Results are keyed by the structure of the expression, as defined by {@link Operation#equals(Object)}
+ * and the {@code equals} methods of the numbers, and by the settings of the {@link visitor.Evaluator} that
+ * affect the result. The cache is bounded by a maximum number of entries, a maximum estimated size in bytes,
+ * or both, and entries may expire a fixed time after they were computed. It is created with a {@link Builder}:
+ * <pre>{@code
+ * ResultCache cache = ResultCache.builder()
+ *         .policy(ResultCache.Policy.TINY_LFU)
+ *         .maximumEntries(10_000)
+ *         .expireAfterWrite(Duration.ofMinutes(5))
+ *         .build();
+ * }</pre>
+ *
+ * <p>Two eviction policies are available, see {@link Policy}. In both, the victim is the least recently
+ * used entry; with {@link Policy#TINY_LFU}, a new entry is only admitted if it was requested more often
+ * than the victim, so that a burst of one-off expressions cannot flush the hot ones.
+ *
+ * <p>There is no global lock: the entries are spread over independent segments, each guarded by its own
+ * lock and holding an equal share of the capacity, and results are computed outside any lock.
+ * Expressions used as keys are shared with the cache and must not be modified afterwards.
+ * Results that could not be computed are not cached, nor are those of expressions calling a function that is
+ * not {@linkplain MathFunction#isPure() pure}, which are computed again on every request.
+ */
+public final class ResultCache {
+
+    /**
+     * Eviction policies.
+     */
+    public enum Policy {
+        /** Least recently used entries are evicted, and every new entry is admitted */
+        LRU,
+        /** Least recently used entries are evicted, but only in favour of more frequently requested entries */
+        TINY_LFU
+    }
+
+    /**
+     * Snapshot of the statistics of a cache.
+     *
+     * @param hits the number of results served from the cache
+     * @param misses the number of results that had to be computed
+     * @param evictions the number of entries evicted to respect the bounds of the cache
+     * @param rejections the number of results not admitted by the {@link Policy#TINY_LFU} policy
+     * @param expirations the number of entries found expired
+     * @param size the number of entries currently cached
+     * @param weight the estimated size in bytes of the entries currently cached
+     * @param loadNanos the total time spent computing the results of the misses
+     * @param savedNanos the total time the hits would have taken to compute again
+     */
+    public record Stats(long hits, long misses, long evictions, long rejections, long expirations,
+                        long size, long weight, long loadNanos, long savedNanos) {
+
+        /**
+         * Computes the proportion of results served from the cache.
+         *
+         * @return the hit ratio, between 0 and 1, or 0 if nothing was requested
+         */
+        public double hitRatio() {
+            long requests = hits + misses;
+            return requests == 0 ? 0.0 : (double) hits / requests;
+        }
+
+        /**
+         * Computes the average time taken to compute a result that was not cached.
+         *
+         * @return the average load time in nanoseconds, or 0 if there was no miss
+         */
+        public double averageLoadNanos() {
+            return misses == 0 ? 0.0 : (double) loadNanos / misses;
+        }
+    }
+
+    /** Estimated size of a cached operation or function node, including its list of arguments */
+    private static final long OPERATION_BYTES = 64;
+
+    /** Estimated size of a cached number */
+    private static final long NUMBER_BYTES = 32;
+
+    /** Estimated size of an entry, besides its expression and its result */
+    private static final long ENTRY_BYTES = 96;
+
+    /** Estimated size of the entry of an expression with a single operation */
+    private static final long SMALL_ENTRY_BYTES = ENTRY_BYTES + OPERATION_BYTES + 3 * NUMBER_BYTES;
+
+    private static final int MAX_SEGMENTS = 16;
+
+    /**
+     * Key of a cached result. The hash code of the expression is computed once, since it walks the whole tree.
+     */
+    private static final class Key {
+        private final Expression expression;
+        private final boolean preserveFractions;
+        private final boolean integerMode;
+        private final int hash;
+
+        private Key(Expression expression, boolean preserveFractions, boolean integerMode) {
+            this.expression = expression;
+            this.preserveFractions = preserveFractions;
+            this.integerMode = integerMode;
+            this.hash = spread(31 * (31 * expression.hashCode() + Boolean.hashCode(preserveFractions))
+                    + Boolean.hashCode(integerMode));
+        }
+
+        @Override
+        public int hashCode() {
+            return hash;
+        }
+
+        @Override
+        public boolean equals(Object obj) {
+            if (this == obj) return true;
+            if (!(obj instanceof Key that)) return false;
+            return hash == that.hash && preserveFractions == that.preserveFractions
+                    && integerMode == that.integerMode && expression.equals(that.expression);
+        }
+    }
+
+    /**
+     * Cached result.
+     *
+     * @param result the result of the evaluation
+     * @param weight the estimated size in bytes of the entry
+     * @param loadNanos the time taken to compute the result
+     * @param expiresAt the time at which the entry expires, on the scale of the ticker, if results expire
+     */
+    private record Entry(Expression result, long weight, long loadNanos, long expiresAt) {
+    }
+
+    /**
+     * A share of the cache, guarded by its own lock.
+     */
+    private static final class Segment {
+        /** Entries in access order: the eldest entry is the least recently used one */
+        private final LinkedHashMap<Key, Entry> entries = new LinkedHashMap<>(16, 0.75f, true);
+        private long weight;
+    }
+
+    private final Policy policy;
+    private final long maxEntriesPerSegment;
+    private final long maxWeightPerSegment;
+    private final long expireAfterNanos;
+    private final LongSupplier ticker;
+    private final Segment[] segments;
+    private final FrequencySketch sketch;
+
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder evictions = new LongAdder();
+    private final LongAdder rejections = new LongAdder();
+    private final LongAdder expirations = new LongAdder();
+    private final LongAdder loadNanos = new LongAdder();
+    private final LongAdder savedNanos = new LongAdder();
+
+    private ResultCache(Builder builder) {
+        // Number of entries the cache is expected to hold
+        long capacity = Math.max(1, Math.min(
+                builder.maximumEntries > 0 ? builder.maximumEntries : Long.MAX_VALUE,
+                builder.maximumBytes > 0 ? builder.maximumBytes / SMALL_ENTRY_BYTES : Long.MAX_VALUE));
+        int count = MAX_SEGMENTS;
+        while (count > 1 && capacity < count * 8L) {
+            count >>= 1; // keep enough entries per segment for the eviction order to be meaningful
+        }
+        this.segments = new Segment[count];
+        for (int i = 0; i < count; i++) {
+            segments[i] = new Segment();
+        }
+        this.policy = builder.policy;
+        this.maxEntriesPerSegment = builder.maximumEntries > 0
+                ? Math.ceilDiv(builder.maximumEntries, count) : Long.MAX_VALUE;
+        this.maxWeightPerSegment = builder.maximumBytes > 0
+                ? Math.ceilDiv(builder.maximumBytes, count) : Long.MAX_VALUE;
+        this.expireAfterNanos = builder.expireAfter == null ? Long.MAX_VALUE : builder.expireAfter.toNanos();
+        this.ticker = builder.ticker;
+        this.sketch = policy == Policy.TINY_LFU ? new FrequencySketch(capacity) : null;
+    }
+
+    /**
+     * Creates a builder of result caches.
+     *
+     * @return a builder with the {@link Policy#LRU} policy and no bound set
+     */
+    public static Builder builder() {
+        return new Builder();
+    }
+
+    /**
+     * Returns the result cached for an expression evaluated with the given settings,
+     * or computes it and caches it unless the expression calls an impure function.
+     *
+     * @param expression the expression to evaluate
+     * @param preserveFractions whether the evaluator preserves fractions
+     * @param integerMode whether the evaluator computes integral operations exactly
+     * @param evaluation computes the result when it is not cached
+     * @return the result of the evaluation
+     */
+    public Expression get(Expression expression, boolean preserveFractions, boolean integerMode,
+                          Supplier<Expression> evaluation) {
+        Key key = new Key(expression, preserveFractions, integerMode);
+        int hash = key.hash;
+        Segment segment = segments[hash & (segments.length - 1)];
+        if (sketch != null) {
+            sketch.increment(hash);
+        }
+
+        Entry entry;
+        synchronized (segment) {
+            entry = segment.entries.get(key);
+            if (entry != null && isExpired(entry)) {
+                segment.entries.remove(key);
+                segment.weight -= entry.weight();
+                expirations.increment();
+                entry = null;
+            }
+        }
+        if (entry != null) {
+            hits.increment();
+            savedNanos.add(entry.loadNanos());
+            return entry.result();
+        }
+
+        misses.increment();
+        long start = ticker.getAsLong();
+        Expression result = evaluation.get();
+        long end = ticker.getAsLong();
+        loadNanos.add(end - start);
+        // Only a miss walks the tree for impure calls: such a tree is never cached, so it is never a hit
+        if (!isPure(expression)) {
+            return result;
+        }
+
+        long expiresAt = expireAfterNanos == Long.MAX_VALUE ? 0 : end + expireAfterNanos;
+        Entry computed = new Entry(result, weigh(expression, result), end - start, expiresAt);
+        synchronized (segment) {
+            admit(segment, key, hash, computed);
+        }
+        return result;
+    }
+
+    private boolean isExpired(Entry entry) {
+        return expireAfterNanos != Long.MAX_VALUE && ticker.getAsLong() - entry.expiresAt() >= 0;
+    }
+
+    /**
+     * Inserts an entry in a segment and evicts the least recently used entries until the bounds are respected.
+     * With {@link Policy#TINY_LFU}, the entry is rejected instead if it is not requested more often than the
+     * first victim. An entry heavier than a whole segment is never cached.
+     */
+    private void admit(Segment segment, Key key, int hash, Entry entry) {
+        if (entry.weight() > maxWeightPerSegment) {
+            rejections.increment();
+            return;
+        }
+        Entry previous = segment.entries.put(key, entry);
+        segment.weight += entry.weight() - (previous == null ? 0 : previous.weight());
+
+        Iterator<Map.Entry<Key, Entry>> eldest = segment.entries.entrySet().iterator();
+        boolean first = true;
+        while (segment.entries.size() > maxEntriesPerSegment || segment.weight > maxWeightPerSegment) {
+            Map.Entry<Key, Entry> victim = eldest.next();
+            if (first && sketch != null && victim.getKey() != key
+                    && sketch.frequency(hash) <= sketch.frequency(victim.getKey().hash)) {
+                segment.entries.remove(key);
+                segment.weight -= entry.weight();
+                rejections.increment();
+                return;
+            }
+            first = false;
+            eldest.remove();
+            segment.weight -= victim.getValue().weight();
+            evictions.increment();
+        }
+    }
+
+    /**
+     * Checks that an expression only calls pure functions, walking it with an explicit stack.
+     */
+    private static boolean isPure(Expression expression) {
+        Deque<Expression> pending = new ArrayDeque<>();
+        pending.push(expression);
+        while (!pending.isEmpty()) {
+            Expression e = pending.pop();
+            if (e instanceof Operation o) {
+                o.getArgs().forEach(pending::push);
+            } else if (e instanceof FunctionWrapper f) {
+                if (!f.function().isPure()) {
+                    return false;
+                }
+                f.arguments().forEach(pending::push);
+            } else if (e instanceof Negate n) {
+                pending.push(n.argument());
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Estimates the size in bytes of an entry, from the number of nodes of its expression and its result.
+     */
+    private static long weigh(Expression expression, Expression result) {
+        return ENTRY_BYTES + weigh(expression) + weigh(result);
+    }
+
+    /**
+     * Estimates the size in bytes of an expression tree, walking it with an explicit stack.
+     */
+    private static long weigh(Expression expression) {
+        long bytes = 0;
+        Deque<Expression> pending = new ArrayDeque<>();
+        pending.push(expression);
+        while (!pending.isEmpty()) {
+            Expression e = pending.pop();
+            if (e instanceof Operation o) {
+                bytes += OPERATION_BYTES;
+                o.getArgs().forEach(pending::push);
+            } else if (e instanceof FunctionWrapper f) {
+                bytes += OPERATION_BYTES;
+                f.arguments().forEach(pending::push);
+            } else if (e instanceof Negate n) {
+                bytes += NUMBER_BYTES;
+                pending.push(n.argument());
+            } else {
+                bytes += NUMBER_BYTES;
+            }
+        }
+        return bytes;
+    }
+
+    /**
+     * Mixes the bits of a hash code, so that structurally close expressions spread over the segments.
+     */
+    private static int spread(int h) {
+        h *= 0x9E3779B9;
+        return h ^ (h >>> 16);
+    }
+
+    /**
+     * Removes all the entries. The statistics are not reset.
+     */
+    public void clear() {
+        for (Segment segment : segments) {
+            synchronized (segment) {
+                segment.entries.clear();
+                segment.weight = 0;
+            }
+        }
+    }
+
+    /**
+     * Returns the statistics of this cache.
+     *
+     * @return a snapshot of the counters and of the current size of the cache
+     */
+    public Stats stats() {
+        long size = 0;
+        long weight = 0;
+        for (Segment segment : segments) {
+            synchronized (segment) {
+                size += segment.entries.size();
+                weight += segment.weight;
+            }
+        }
+        return new Stats(hits.sum(), misses.sum(), evictions.sum(), rejections.sum(), expirations.sum(),
+                size, weight, loadNanos.sum(), savedNanos.sum());
+    }
+
+    /**
+     * Builder of {@link ResultCache}s. At least one of the maximum number of entries
+     * and the maximum size must be set.
+     */
+    public static final class Builder {
+        private Policy policy = Policy.LRU;
+        private long maximumEntries;
+        private long maximumBytes;
+        private Duration expireAfter;
+        private LongSupplier ticker = System::nanoTime;
+
+        private Builder() {
+        }
+
+        /**
+         * Sets the eviction policy.
+         *
+         * @param policy the eviction policy
+         * @return this builder
+         */
+        public Builder policy(Policy policy) {
+            if (policy == null) {
+                throw new IllegalArgumentException("Policy must not be null");
+            }
+            this.policy = policy;
+            return this;
+        }
+
+        /**
+         * Sets the maximum number of results cached.
+         *
+         * @param maximumEntries the maximum number of entries
+         * @return this builder
+         */
+        public Builder maximumEntries(long maximumEntries) {
+            if (maximumEntries <= 0) {
+                throw new IllegalArgumentException("Maximum entries must be positive: " + maximumEntries);
+            }
+            this.maximumEntries = maximumEntries;
+            return this;
+        }
+
+        /**
+         * Sets the maximum estimated size of the cache, in bytes.
+         * The size of an entry is estimated from the number of nodes of its expression and result.
+         *
+         * @param maximumBytes the maximum size in bytes
+         * @return this builder
+         */
+        public Builder maximumBytes(long maximumBytes) {
+            if (maximumBytes <= 0) {
+                throw new IllegalArgumentException("Maximum bytes must be positive: " + maximumBytes);
+            }
+            this.maximumBytes = maximumBytes;
+            return this;
+        }
+
+        /**
+         * Makes the results expire a fixed time after they were computed.
+         *
+         * @param duration the time to live of the results
+         * @return this builder
+         */
+        public Builder expireAfterWrite(Duration duration) {
+            if (duration == null || duration.isNegative() || duration.isZero()) {
+                throw new IllegalArgumentException("Time to live must be positive: " + duration);
+            }
+            this.expireAfter = duration;
+            return this;
+        }
+
+        /**
+         * Sets the source of time, in nanoseconds, used for expiration and latency measurements.
+         *
+         * @param ticker the source of time
+         * @return this builder
+         */
+        Builder ticker(LongSupplier ticker) {
+            this.ticker = ticker;
+            return this;
+        }
+
+        /**
+         * Creates the cache.
+         *
+         * @return a new, empty cache
+         * @throws IllegalStateException if no bound was set
+         */
+        public ResultCache build() {
+            if (maximumEntries == 0 && maximumBytes == 0) {
+                throw new IllegalStateException("A maximum number of entries or bytes must be set");
+            }
+            return new ResultCache(this);
+        }
+    }
+
+    /**
+     * Count-min sketch estimating how often each key was requested recently, for the {@link Policy#TINY_LFU}
+     * admission policy. Each key is counted in four 4-bit counters, and its frequency is the smallest of them.
+     * Once the number of increments reaches ten times the capacity of the cache, all the counters are halved,
+     * so that the frequencies reflect the recent requests.
+     *
+     * <p>Counters are packed sixteen to a {@code long} and updated with compare-and-set, without any lock;
+     * halving them concurrently with increments may lose a few of them, which only makes the estimates
+     * slightly less accurate.
+     */
+    private static final class FrequencySketch {
+        private static final long RESET_MASK = 0x7777777777777777L;
+        private static final int[] SEEDS = {0x97CB3127, 0xB0E1C1D7, 0x5E2B1A6F, 0x7F4A7C15};
+
+        private final AtomicLongArray table;
+        private final int mask;
+        private final int sampleSize;
+        private final AtomicInteger increments = new AtomicInteger();
+
+        private FrequencySketch(long capacity) {
+            int size = (int) Math.min(1 << 24, Math.max(16, Long.highestOneBit(Math.max(1, capacity) - 1) << 1));
+            this.table = new AtomicLongArray(size);
+            this.mask = size - 1;
+            this.sampleSize = (int) Math.min(Integer.MAX_VALUE / 2, 10L * Math.max(1, capacity));
+        }
+
+        /**
+         * Returns the offset of the counter of a key for the given hash function,
+         * as the index of a long times 16 plus the index of a nibble.
+         */
+        private int counter(int hash, int i) {
+            int h = (hash ^ SEEDS[i]) * SEEDS[i];
+            h ^= h >>> 15;
+            return ((h & mask) << 4) | ((h >>> 24) & 15);
+        }
+
+        private void increment(int hash) {
+            for (int i = 0; i < SEEDS.length; i++) {
+                int c = counter(hash, i);
+                int index = c >>> 4;
+                int shift = (c & 15) << 2;
+                long current;
+                do {
+                    current = table.get(index);
+                    if (((current >>> shift) & 15) == 15) {
+                        break;
+                    }
+                } while (!table.compareAndSet(index, current, current + (1L << shift)));
+            }
+            if (increments.incrementAndGet() >= sampleSize) {
+                reset();
+            }
+        }
+
+        private int frequency(int hash) {
+            int frequency = 15;
+            for (int i = 0; i < SEEDS.length; i++) {
+                int c = counter(hash, i);
+                frequency = Math.min(frequency, (int) ((table.get(c >>> 4) >>> ((c & 15) << 2)) & 15));
+            }
+            return frequency;
+        }
+
+        private void reset() {
+            increments.set(0);
+            for (int i = 0; i < table.length(); i++) {
+                table.set(i, (table.get(i) >>> 1) & RESET_MASK);
+            }
+        }
+    }
+}
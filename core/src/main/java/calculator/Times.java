@@ -0,0 +1,92 @@
+package calculator;
+
+import java.math.BigInteger;
+import java.util.List;
+
+/**
+ * This class represents the arithmetic multiplication operation "*".
+ * It extends the abstract class {@link Operation} and implements multiplication logic
+ * for combinations of numeric types: {@link RealNumber}, {@link RationalNumber}, and {@link ComplexNumber}.
+ *
+ * @see Operation
+ * @see Plus
+ * @see Minus
+ * @see Divides
+ */
+public final class Times extends Operation {
+
+    /**
+     * Constructor for a multiplication operation with a list of expressions.
+     *
+     * @param elist the list of expressions to multiply
+     * @throws IllegalConstruction if the list is null
+     */
+    public Times(List<Expression> elist) throws IllegalConstruction {
+        this(elist, null);
+    }
+
+    /**
+     * Constructor for a multiplication operation with a list of expressions and a specific notation.
+     *
+     * @param elist the list of expressions to multiply
+     * @param n     the {@link Notation} used to format the operation
+     * @throws IllegalConstruction if the list is null
+     */
+    public Times(List<Expression> elist, Notation n) throws IllegalConstruction {
+        super(elist, n);
+        symbol = "*";
+        neutral = 1;
+    }
+
+    /**
+     * Performs multiplication between two doubles.
+     *
+     * @param l the left operand
+     * @param r the right operand
+     * @return the product of l and r
+     */
+    @Override
+    public double op(double l, double r) {
+        return l * r;
+    }
+
+    /**
+     * Performs exact integer multiplication.
+     *
+     * @param l the left operand
+     * @param r the right operand
+     * @return the product of l and r
+     * @throws ArithmeticException if the result overflows a long
+     */
+    @Override
+    public long op(long l, long r) {
+        return Math.multiplyExact(l, r);
+    }
+
+    /**
+     * Performs multiplication between two arbitrary-precision integers.
+     *
+     * @param l the left operand
+     * @param r the right operand
+     * @return the product of l and r
+     */
+    @Override
+    public BigInteger op(BigInteger l, BigInteger r) {
+        return l.multiply(r);
+    }
+
+    /**
+     * Computes the result of multiplying two {@link MyNumber} instances.
+     * Supports all combinations of {@link RealNumber}, {@link RationalNumber}, and {@link ComplexNumber}
+     * through {@link NumericOps#mul(MyNumber, MyNumber)}.
+     *
+     * @param left  the left operand
+     * @param right the right operand
+     * @return the product of both operands as a {@link MyNumber}
+     * @throws IllegalConstruction if the combination of types is unsupported
+     */
+    @Override
+    public MyNumber compute(MyNumber left, MyNumber right) throws IllegalConstruction {
+        return NumericOps.mul(left, right);
+    }
+}
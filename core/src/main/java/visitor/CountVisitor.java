@@ -101,7 +101,23 @@ public class CountVisitor extends Visitor {
         opsCount++; // Count the function as an operation
         currentDepth++;
         maxDepth = Math.max(maxDepth, currentDepth);
-        f.argument().accept(this);
+        for (Expression a : f.arguments()) {
+            a.accept(this);
+        }
+        currentDepth--;
+    }
+
+    /**
+     * Visits a negation and treats it as an operation.
+     *
+     * @param n the negation
+     */
+    @Override
+    public void visit(Negate n) {
+        opsCount++;
+        currentDepth++;
+        maxDepth = Math.max(maxDepth, currentDepth);
+        n.argument().accept(this);
         currentDepth--;
     }
 
@@ -0,0 +1,307 @@
+package visitor;
+
+import calculator.*;
+
+import java.util.ArrayList;
+
+/**
+ * Visitor implementation used to evaluate an arithmetic expression tree.
+ * It supports real, rational, and complex numbers as well as function wrappers like sqrt and negations.
+ * This evaluator respects a preservation flag to retain rational representations when needed.
+ *
+ * <p>In integer mode, operations flagged as {@link Operation#isIntegral() integral} by the parser
+ * are computed exactly on longs, promoting to {@link java.math.BigInteger} on overflow, and produce
+ * {@link IntegerNumber}s. An inexact division or a division by zero falls back to the regular arithmetic.
+ *
+ * <p>Operations annotated as {@link NumberType#REAL} by a {@link TypeInference} pass are computed
+ * on primitive doubles with {@link Operation#op(double, double)}, without creating a {@link RealNumber}
+ * for each intermediate result. The other operations go through {@link Operation#compute(java.util.List)}.
+ */
+public class Evaluator extends Visitor {
+
+    private Expression result;
+    private boolean preserveFractions = false;
+    private boolean integerMode = false;
+
+    /**
+     * Constructs an evaluator with a flag indicating whether to preserve rational forms.
+     *
+     * @param preserveFractions true to keep fractions, false to simplify to real numbers
+     */
+    public Evaluator(boolean preserveFractions) {
+        this.preserveFractions = preserveFractions;
+    }
+
+    /**
+     * Constructs an evaluator with flags for fraction preservation and integer mode.
+     *
+     * @param preserveFractions true to keep fractions, false to simplify to real numbers
+     * @param integerMode true to evaluate integer-only operations exactly
+     */
+    public Evaluator(boolean preserveFractions, boolean integerMode) {
+        this.preserveFractions = preserveFractions;
+        this.integerMode = integerMode;
+    }
+
+    /**
+     * Enables or disables the exact integer evaluation mode.
+     *
+     * @param integerMode true to evaluate integer-only operations exactly, false otherwise
+     */
+    public void setIntegerMode(boolean integerMode) {
+        this.integerMode = integerMode;
+    }
+
+    /**
+     * Enables or disables fraction preservation mode.
+     *
+     * @param preserveFractions true to preserve rational forms, false otherwise
+     */
+    public void setPreserveFractions(boolean preserveFractions) {
+        this.preserveFractions = preserveFractions;
+    }
+
+    /**
+     * @return true if rational forms are preserved, false otherwise
+     */
+    public boolean isPreserveFractions() {
+        return preserveFractions;
+    }
+
+    /**
+     * @return true if integer-only operations are evaluated exactly, false otherwise
+     */
+    public boolean isIntegerMode() {
+        return integerMode;
+    }
+
+    /**
+     * Retrieves the result of the evaluation after visiting an expression.
+     *
+     * @return the final evaluated expression
+     */
+    public Expression getResult() {
+        return result;
+    }
+
+    /**
+     * Visits a basic number (used as a fallback).
+     */
+    @Override
+    public void visit(MyNumber n) {
+        result = n;
+    }
+
+    /**
+     * Visits a real number and sets it as the result.
+     */
+    @Override
+    public void visit(RealNumber n) {
+        result = n;
+    }
+
+    /**
+     * Visits a rational number and simplifies it according to the mode.
+     */
+    @Override
+    public void visit(RationalNumber n) {
+        result = preserveFractions ? n.simplify(true) : n.simplify(false);
+    }
+
+    /**
+     * Visits a complex number and leaves it unchanged.
+     */
+    @Override
+    public void visit(ComplexNumber n) {
+        result = n;
+    }
+
+    /**
+     * Visits an operation, evaluates its arguments, and computes the result.
+     * Handles rational simplification and complex number flattening when needed.
+     *
+     * @param o the operation to evaluate
+     */
+    @Override
+    public void visit(Operation o) {
+        if (isRealKernel(o)) {
+            result = RealNumber.valueOf(computeReal(o));
+            return;
+        }
+
+        ArrayList<Expression> evaluatedArgs = new ArrayList<>();
+        for (Expression arg : o.args) {
+            arg.accept(this);
+            evaluatedArgs.add(result);
+        }
+
+        if (integerMode && o.isIntegral()) {
+            try {
+                IntegerNumber exact = o.computeExact(evaluatedArgs);
+                if (exact != null) {
+                    result = exact;
+                    return;
+                }
+            } catch (ArithmeticException e) {
+                // No integer result (inexact division or division by zero): use the regular arithmetic
+            }
+        }
+
+        try {
+            result = normalize(o.compute(evaluatedArgs));
+        } catch (Exception e) {
+            throw new IllegalArgumentException("Error during evaluation: " + e.getMessage());
+        }
+    }
+
+    /**
+     * Visits a negation, evaluates its argument once and flips its sign.
+     * In integer mode, an {@link Negate#isIntegral() integral} negation produces an {@link IntegerNumber}.
+     *
+     * @param n the negation to evaluate
+     */
+    @Override
+    public void visit(Negate n) {
+        n.argument().accept(this);
+        if (integerMode && n.isIntegral()) {
+            IntegerNumber exact = n.computeExact(result);
+            if (exact != null) {
+                result = exact;
+                return;
+            }
+        }
+        result = normalize(n.compute((MyNumber) result));
+    }
+
+    /**
+     * Brings a number evaluated on its own, as a whole expression, to the form of the result of an operation,
+     * so that its type does not depend on the shape of the tree: in integer mode, an integral value becomes
+     * an {@link IntegerNumber}, and a real becomes a fraction when fractions are preserved.
+     *
+     * @param n the result of the evaluation of a number
+     * @return the normalized number
+     */
+    public MyNumber normalizeLiteral(MyNumber n) {
+        IntegerNumber exact = integerMode ? Operation.toExactInteger(n) : null;
+        if (exact != null) {
+            return exact;
+        }
+        return n instanceof RealNumber r ? (MyNumber) normalize(r) : n;
+    }
+
+    /**
+     * Brings a computed value to the form expected by the settings of this evaluator:
+     * fractions are simplified, or converted to reals unless they are preserved,
+     * and reals become fractions when fractions are preserved.
+     *
+     * @param computed the computed value
+     * @return the normalized value
+     */
+    private Expression normalize(MyNumber computed) {
+        return switch (computed) {
+            case RationalNumber r -> r.simplify(preserveFractions);
+
+            case ComplexNumber c -> {
+                MyNumber simplifiedReal = c.getRealPart();
+                MyNumber simplifiedImag = c.getImaginaryPart();
+
+                if (simplifiedReal instanceof RationalNumber rr) {
+                    simplifiedReal = rr.simplify(preserveFractions);
+                }
+                if (simplifiedImag instanceof RationalNumber ri) {
+                    simplifiedImag = ri.simplify(preserveFractions);
+                }
+
+                if (simplifiedReal instanceof RealNumber) {
+                    simplifiedReal = RationalNumber.valueOf(((RealNumber) simplifiedReal).getValue(), 1.0);
+                }
+                if (simplifiedImag instanceof RealNumber) {
+                    simplifiedImag = RationalNumber.valueOf(((RealNumber) simplifiedImag).getValue(), 1.0);
+                }
+
+                yield new ComplexNumber(simplifiedReal, simplifiedImag);
+            }
+
+            case RealNumber r -> preserveFractions ? RationalNumber.valueOf(r.getValue(), 1.0).simplify(true) : r;
+
+            default -> computed;
+        };
+    }
+
+    /**
+     * Checks whether an operation can be computed on primitive doubles.
+     * The type inferred for the operation is only trusted when it matches the settings of this evaluator.
+     *
+     * @param o the operation to check
+     * @return true if the operation was inferred as real and is not handled by the integer mode
+     */
+    private boolean isRealKernel(Operation o) {
+        return o.getInferredType() == NumberType.REAL && !preserveFractions && !(integerMode && o.isIntegral());
+    }
+
+    /**
+     * Computes a real operation on primitive doubles, applying its operator from left to right.
+     *
+     * @param o the operation to compute, for which {@link #isRealKernel(Operation)} holds
+     * @return the value of the operation
+     */
+    private double computeReal(Operation o) {
+        if (o.args.size() < 2) {
+            return 0.0; // same fallback as Operation.compute
+        }
+        double value = realValue(o.args.getFirst());
+        for (int i = 1; i < o.args.size(); i++) {
+            value = o.op(value, realValue(o.args.get(i)));
+        }
+        return value;
+    }
+
+    /**
+     * Evaluates an argument of a real operation as a primitive double.
+     *
+     * @param e the argument
+     * @return the value of the argument
+     */
+    private double realValue(Expression e) {
+        if (e instanceof RealNumber r) {
+            return r.getValue();
+        }
+        if (e instanceof Operation o && isRealKernel(o)) {
+            return computeReal(o);
+        }
+        if (e instanceof Negate n) {
+            return -realValue(n.argument());
+        }
+        e.accept(this);
+        return switch (result) {
+            case RealNumber r -> r.getValue();
+            case IntegerNumber i -> i.doubleValue();
+            default -> throw new IllegalStateException("Inferred type does not match the value " + result);
+        };
+    }
+
+    /**
+     * Visits a function call (e.g. sqrt or max), evaluates its arguments, and invokes the function
+     * resolved when the call was parsed.
+     * Only supports real-based functions at this stage.
+     *
+     * @param f the function wrapper
+     */
+    @Override
+    public void visit(FunctionWrapper f) {
+        double[] x = new double[f.arguments().size()];
+        for (int i = 0; i < x.length; i++) {
+            f.arguments().get(i).accept(this);
+            if (!(result instanceof MyNumber value)) {
+                throw new IllegalArgumentException("Function argument must be a number");
+            }
+            x[i] = switch (value) {
+                case RationalNumber r -> r.getNominatorValue() / r.getDenominatorValue();
+                case RealNumber r -> r.getValue();
+                case IntegerNumber n -> n.doubleValue();
+                default -> throw new IllegalArgumentException("Unsupported number type in function: " + value);
+            };
+        }
+        result = RealNumber.valueOf(f.function().apply(x));
+    }
+}
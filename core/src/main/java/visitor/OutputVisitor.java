@@ -2,6 +2,7 @@ package visitor;
 
 import calculator.*;
 
+import java.util.stream.IntStream;
 import java.util.stream.Stream;
 
 /**
@@ -78,10 +79,13 @@ public class OutputVisitor extends Visitor {
      */
     @Override
     public void visit(Operation o) {
-        Stream<String> s = o.args.stream().map(arg -> {
+        boolean infixPower = o instanceof Power && o.notation == Notation.INFIX;
+        Stream<String> s = IntStream.range(0, o.args.size()).mapToObj(i -> {
+            Expression arg = o.args.get(i);
             OutputVisitor subVisitor = new OutputVisitor();
             arg.accept(subVisitor);
-            return subVisitor.getOutput();
+            String text = subVisitor.getOutput();
+            return infixPower && needsParentheses(arg, text, i == 0) ? "(" + text + ")" : text;
         });
 
         output = switch (o.notation) {
@@ -92,14 +96,46 @@ public class OutputVisitor extends Visitor {
     }
 
     /**
-     * Visits a function wrapper (e.g., sqrt(x)) and formats it as "name(argument)".
+     * Tells whether an argument of an infix power must be parenthesized, so that the text parses back to the
+     * same power: since {@code ^} binds more tightly than a sign, a fraction or a complex sum, a base printed
+     * with any of them, and an exponent printed as a fraction or a complex number, would otherwise be split.
+     *
+     * @param arg the argument
+     * @param text the text printed for the argument
+     * @param base true for the base of the power, false for its exponent
+     * @return true if the text must be enclosed in parentheses
+     */
+    private static boolean needsParentheses(Expression arg, String text, boolean base) {
+        if (arg instanceof RationalNumber || arg instanceof ComplexNumber) {
+            return true;
+        }
+        return base && (arg instanceof Negate || (arg instanceof MyNumber && text.startsWith("-")));
+    }
+
+    /**
+     * Visits a function wrapper (e.g., sqrt(x)) and formats it as "name(argument, ...)".
      *
      * @param f the function wrapper
      */
     @Override
     public void visit(FunctionWrapper f) {
-        OutputVisitor argVisitor = new OutputVisitor();
-        f.argument().accept(argVisitor);
-        output = f.functionName() + "(" + argVisitor.getOutput() + ")";
+        StringBuilder s = new StringBuilder(f.functionName()).append('(');
+        for (int i = 0; i < f.arguments().size(); i++) {
+            OutputVisitor argVisitor = new OutputVisitor();
+            f.arguments().get(i).accept(argVisitor);
+            s.append(i == 0 ? "" : ", ").append(argVisitor.getOutput());
+        }
+        output = s.append(')').toString();
+    }
+
+    /**
+     * Visits a negation and formats it as "-argument", parenthesizing a number argument.
+     *
+     * @param n the negation
+     */
+    @Override
+    public void visit(Negate n) {
+        n.argument().accept(this);
+        output = n.argument() instanceof MyNumber ? "-(" + output + ")" : "-" + output;
     }
 }
@@ -0,0 +1,181 @@
+package visitor;
+
+import calculator.*;
+
+import java.util.ArrayDeque;
+import java.util.Deque;
+
+/**
+ * Visitor implementation that statically infers the numeric type of every subtree
+ * of an arithmetic expression, before it is evaluated.
+ * The type of each {@link Operation} is recorded with {@link Operation#setInferredType(NumberType)},
+ * so that the {@link Evaluator} can select the cheapest way to compute it once, instead of
+ * discovering the types of the values node by node.
+ *
+ * <p>The inference mirrors the promotion rules of {@link NumericOps} and the simplifications
+ * performed by the {@link Evaluator}:
+ * <ul>
+ *     <li>a number has its own type;</li>
+ *     <li>an operation is {@link NumberType#COMPLEX} if one of its arguments is complex,
+ *     {@link NumberType#RATIONAL} if one of them is rational, and {@link NumberType#REAL} otherwise;</li>
+ *     <li>a real result becomes {@link NumberType#RATIONAL} when fractions are preserved;</li>
+ *     <li>in integer mode, an {@link Operation#isIntegral() integral} operation is {@link NumberType#INTEGER};</li>
+ *     <li>a negation has the type of its argument, or {@link NumberType#INTEGER} if it is integral in integer mode;</li>
+ *     <li>a function such as sqrt or max is {@link NumberType#REAL}.</li>
+ * </ul>
+ * A division by zero always yields a real NaN, whatever the inferred type.
+ *
+ * <p>The arguments of an operation are analyzed before the operation itself, and their types are kept
+ * on a stack, so that the whole tree is analyzed in a single pass.
+ */
+public class TypeInference extends Visitor {
+
+    private final boolean preserveFractions;
+    private final boolean integerMode;
+
+    /**
+     * Types of the values produced by the subtrees visited so far.
+     * For an integral operation, this is the type it falls back to when it has no integer result.
+     */
+    private final Deque<NumberType> types = new ArrayDeque<>();
+
+    /** Type inferred for the last subtree visited */
+    private NumberType type;
+
+    /**
+     * Constructs a type inference pass for the given evaluation settings.
+     *
+     * @param preserveFractions true if the evaluator keeps fractions, false otherwise
+     * @param integerMode true if the evaluator computes integral operations exactly
+     */
+    public TypeInference(boolean preserveFractions, boolean integerMode) {
+        this.preserveFractions = preserveFractions;
+        this.integerMode = integerMode;
+    }
+
+    /**
+     * Annotates every operation of an expression with its inferred type.
+     *
+     * @param e the expression to analyze
+     * @param preserveFractions true if the evaluator keeps fractions, false otherwise
+     * @param integerMode true if the evaluator computes integral operations exactly
+     * @return the type inferred for the whole expression
+     */
+    public static NumberType infer(Expression e, boolean preserveFractions, boolean integerMode) {
+        TypeInference inference = new TypeInference(preserveFractions, integerMode);
+        e.accept(inference);
+        return inference.getType();
+    }
+
+    /**
+     * Retrieves the type inferred for the last expression visited.
+     *
+     * @return the inferred type, or {@code null} if nothing has been visited
+     */
+    public NumberType getType() {
+        return type;
+    }
+
+    /**
+     * Visits a number, whose type is known.
+     */
+    @Override
+    public void visit(MyNumber n) {
+        type = n.getType();
+        types.push(type);
+    }
+
+    /**
+     * Visits a real number and delegates to the generic number visitor.
+     */
+    @Override
+    public void visit(RealNumber n) {
+        visit((MyNumber) n);
+    }
+
+    /**
+     * Visits a rational number and delegates to the generic number visitor.
+     */
+    @Override
+    public void visit(RationalNumber n) {
+        visit((MyNumber) n);
+    }
+
+    /**
+     * Visits a complex number and delegates to the generic number visitor.
+     */
+    @Override
+    public void visit(ComplexNumber n) {
+        visit((MyNumber) n);
+    }
+
+    /**
+     * Visits an operation, combines the types of its arguments and records the result.
+     *
+     * @param o the operation to analyze
+     */
+    @Override
+    public void visit(Operation o) {
+        for (Expression arg : o.args) {
+            arg.accept(this);
+        }
+        boolean complex = false;
+        boolean rational = false;
+        for (int i = 0; i < o.args.size(); i++) {
+            NumberType arg = types.pop();
+            complex |= arg == NumberType.COMPLEX;
+            rational |= arg == NumberType.RATIONAL;
+        }
+
+        NumberType generic;
+        if (o.args.size() < 2) {
+            generic = NumberType.REAL; // compute() falls back to zero
+        } else if (complex) {
+            generic = NumberType.COMPLEX;
+        } else if (rational) {
+            generic = NumberType.RATIONAL;
+        } else {
+            generic = NumberType.REAL;
+        }
+        if (preserveFractions && generic == NumberType.REAL) {
+            generic = NumberType.RATIONAL;
+        }
+
+        type = integerMode && o.isIntegral() ? NumberType.INTEGER : generic;
+        o.setInferredType(type);
+        types.push(generic);
+    }
+
+    /**
+     * Visits a function, whose result is always real.
+     *
+     * @param f the function wrapper
+     */
+    @Override
+    public void visit(FunctionWrapper f) {
+        for (Expression arg : f.arguments()) {
+            arg.accept(this);
+        }
+        for (int i = 0; i < f.arguments().size(); i++) {
+            types.pop();
+        }
+        type = NumberType.REAL;
+        types.push(type);
+    }
+
+    /**
+     * Visits a negation, whose result has the type of its argument.
+     *
+     * @param n the negation
+     */
+    @Override
+    public void visit(Negate n) {
+        n.argument().accept(this);
+        NumberType generic = types.pop();
+        if (preserveFractions && generic == NumberType.REAL) {
+            generic = NumberType.RATIONAL;
+        }
+        type = integerMode && n.isIntegral() ? NumberType.INTEGER : generic;
+        types.push(generic);
+    }
+}
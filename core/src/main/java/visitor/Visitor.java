@@ -9,7 +9,7 @@ import calculator.*;
  * This class defines a set of overloaded {@code visit} methods
  * that concrete visitor classes must implement in order to handle
  * various expression types such as {@link RealNumber}, {@link RationalNumber},
- * {@link ComplexNumber}, {@link Operation}, and {@link FunctionWrapper}.
+ * {@link ComplexNumber}, {@link Operation}, {@link FunctionWrapper} and {@link Negate}.
  * </p>
  *
  * @see calculator.Expression
@@ -48,7 +48,8 @@ public abstract class Visitor {
     public abstract void visit(ComplexNumber n);
 
     /**
-     * Visit method for an {@link Operation}.
+     * Visit method for an {@link Operation}. Its arguments have not been visited:
+     * the visitor descends into them itself, if needed.
      *
      * @param o the operation expression
      */
@@ -56,9 +57,17 @@ public abstract class Visitor {
 
     /**
      * Visit method for a {@link FunctionWrapper}, which encapsulates
-     * mathematical functions like sqrt, etc.
+     * mathematical functions like sqrt, etc. As for an operation, its arguments have not been visited.
      *
      * @param f the function wrapper expression
      */
     public abstract void visit(FunctionWrapper f);
+
+    /**
+     * Visit method for a {@link Negate}. Its argument has not been visited:
+     * the visitor descends into it itself, if needed.
+     *
+     * @param n the negation expression
+     */
+    public abstract void visit(Negate n);
 }
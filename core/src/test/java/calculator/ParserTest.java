@@ -0,0 +1,369 @@
+package calculator;
+
+import org.junit.jupiter.api.Test;
+import calculator.Parser;
+import visitor.Evaluator;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.Reader;
+import java.io.StringReader;
+import java.nio.channels.Channels;
+import java.nio.charset.StandardCharsets;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ParserTest {
+
+    private void assertEvaluation(String input, Expression expected, boolean preserveFractions) throws IllegalConstruction {
+        Expression e = Parser.parse(input, preserveFractions);
+        Evaluator eval = new Evaluator(preserveFractions);
+        e.accept(eval);
+        assertEquals(expected, eval.getResult());
+    }
+
+    @Test
+    void testSimpleAddition() throws IllegalConstruction {
+        assertEvaluation("2+3", new RealNumber(5.0), false);
+    }
+
+    @Test
+    void testFractionPreserved() throws IllegalConstruction {
+        assertEvaluation("3/4+1/4", new RationalNumber(new RealNumber(1.0)), true);
+    }
+
+    @Test
+    void testFractionReduced() throws IllegalConstruction {
+        assertEvaluation("2/4+2/4", new RationalNumber(new RealNumber(1.0)), true);
+    }
+
+    @Test
+    void testFractionConvertedToDecimal() throws IllegalConstruction {
+        assertEvaluation("1/2+1/2", new RealNumber(1.0), false);
+    }
+
+    @Test
+    void testComplexNumber() throws IllegalConstruction {
+        assertEvaluation("2+3i", new ComplexNumber(
+                new RationalNumber(new RealNumber(2.0)),
+                new RationalNumber(new RealNumber(3.0))
+        ), true);
+    }
+
+    @Test
+    void testImaginaryOnly() throws IllegalConstruction {
+        assertEvaluation("-i", new ComplexNumber(
+                new RationalNumber(new RealNumber(0.0)),
+                new RationalNumber(new RealNumber(-1.0))
+        ), true);
+    }
+
+    @Test
+    void testRealOnlyComplex() throws IllegalConstruction {
+        assertEvaluation("5", new RealNumber(5.0), false);
+    }
+
+    @Test
+    void testSqrtInteger() throws IllegalConstruction {
+        assertEvaluation("sqrt(9)", new RealNumber(3.0), false);
+    }
+
+    @Test
+    void testSqrtFraction() throws IllegalConstruction {
+        assertEvaluation("sqrt(1/4)", new RealNumber(0.5), false);
+    }
+
+    @Test
+    void testSqrtInFractionMode() throws IllegalConstruction {
+        assertEvaluation("sqrt(4/9)", new RealNumber(2.0/3.0), true);
+    }
+
+    @Test
+    void testNestedSqrtAndAddition() throws IllegalConstruction {
+        assertEvaluation("sqrt(4)+1", new RealNumber(3.0), false);
+    }
+
+    @Test
+    void testExpressionWithPi() throws IllegalConstruction {
+        assertEvaluation("π", new RealNumber(Math.PI), false);
+    }
+
+    @Test
+    void testNestedParentheses() throws IllegalConstruction {
+        assertEvaluation("(1+(2+3))", new RealNumber(6.0), false);
+    }
+
+    @Test
+    void testPowerAsDuplication() throws IllegalConstruction {
+        assertEvaluation("2*2", new RealNumber(4.0), false);
+    }
+
+    @Test
+    void testAdditionAndMultiplicationPrecedence() throws IllegalConstruction {
+        assertEvaluation("1+2*3", new RealNumber(7.0), false);
+    }
+
+    @Test
+    void testParenthesesPrecedence() throws IllegalConstruction {
+        assertEvaluation("(1+2)*3", new RealNumber(9.0), false);
+    }
+
+    @Test
+    void testMixedFractionAndReal() throws IllegalConstruction {
+        assertEvaluation("1/2 + 1.5", new RealNumber(2.0), false);
+    }
+
+    @Test
+    void testMixedFractionAndRealPreserve() throws IllegalConstruction {
+        assertEvaluation("1/2 + 1.5", new RationalNumber(new RealNumber(2.0)), true);
+    }
+
+    @Test
+    void testFractionDivisionSimplified() throws IllegalConstruction {
+        assertEvaluation("10/4", new RationalNumber(new RealNumber(5.0), new RealNumber(2.0)), true);
+    }
+
+    @Test
+    void testExpressionEvaluatedAsFraction() throws IllegalConstruction {
+        assertEvaluation("(10-5)/2", new RationalNumber(new RealNumber(5.0), new RealNumber(2.0)), true);
+    }
+
+    @Test
+    void testNegativeFraction() throws IllegalConstruction {
+        assertEvaluation("-1/2", new RationalNumber(new RealNumber(-1.0), new RealNumber(2.0)), true);
+    }
+
+    @Test
+    void testAdditionOfComplexAndReal() throws IllegalConstruction {
+        assertEvaluation("1+2i+3", new ComplexNumber(
+                new RationalNumber(new RealNumber(4.0)),
+                new RationalNumber(new RealNumber(2.0))
+        ), true);
+    }
+
+    @Test
+    void testMultiplicationOfRationals() throws IllegalConstruction {
+        assertEvaluation("2/3*3/4", new RationalNumber(new RealNumber(1.0), new RealNumber(2.0)), true);
+    }
+
+    @Test
+    void testSubtractionResultingInNegativeFraction() throws IllegalConstruction {
+        assertEvaluation("1/4 - 1/2", new RationalNumber(new RealNumber(-1.0), new RealNumber(4.0)), true);
+    }
+
+    @Test
+    void testDivisionOfRealByFraction() throws IllegalConstruction {
+        assertEvaluation("2/(1/2)", new RealNumber(4.0), false);
+    }
+
+    @Test
+    void testDivisionOfRealByFractionPreserved() throws IllegalConstruction {
+        assertEvaluation("2/(1/2)", new RationalNumber(new RealNumber(4.0)), true);
+    }
+
+    @Test
+    void testDivisionOfFractionByRealPreserved() throws IllegalConstruction {
+        assertEvaluation("(1/2)/2", new RationalNumber(new RealNumber(1.0), new RealNumber(4.0)), true);
+    }
+
+    @Test
+    void testComplexWithFractionImaginary() throws IllegalConstruction {
+        assertEvaluation("3+1/2i", new ComplexNumber(
+                new RationalNumber(new RealNumber(3.0)),
+                new RationalNumber(new RealNumber(1.0), new RealNumber(2.0))
+        ), true);
+    }
+
+    @Test
+    void testExpressionWithMultipleOperators() throws IllegalConstruction {
+        assertEvaluation("1+2*3-4/2", new RealNumber(5.0), false);
+    }
+
+    @Test
+    void testNestedParenthesesFraction() throws IllegalConstruction {
+        assertEvaluation("((1/2)+(1/4))/2", new RationalNumber(new RealNumber(3.0), new RealNumber(8.0)), true);
+    }
+
+    @Test
+    void testMultipleFractionSimplification() throws IllegalConstruction {
+        assertEvaluation("6/9 + 2/3", new RationalNumber(new RealNumber(4.0), new RealNumber(3.0)), true);
+    }
+
+    @Test
+    void testExpressionStartingWithMinus() throws IllegalConstruction {
+        assertEvaluation("-2+4", new RealNumber(2.0), false);
+    }
+
+    @Test
+    void testExpressionWithPiAndFractions() throws IllegalConstruction {
+        assertEvaluation("π/2", new RealNumber(Math.PI / 2), false);
+    }
+
+    @Test
+    void testComplexMultiplication() throws IllegalConstruction {
+        assertEvaluation("i*i", new ComplexNumber(
+                new RationalNumber(new RealNumber(-1.0)),
+                new RationalNumber(new RealNumber(0.0))
+        ), true);
+    }
+
+    @Test
+    void testSameOperatorChainIsFlattened() throws IllegalConstruction {
+        Expression e = Parser.parse("10-2-3", false);
+        assertInstanceOf(Minus.class, e);
+        assertEquals(3, ((Operation) e).getArgs().size());
+        assertEvaluation("10-2-3", new RealNumber(5.0), false);
+        assertEvaluation("64/4/2*3", new RealNumber(24.0), false);
+    }
+
+    @Test
+    void testUnaryMinus() throws IllegalConstruction {
+        assertEvaluation("-sqrt(4)+1", new RealNumber(-1.0), false);
+        assertEvaluation("- (2+3) * 2", new RealNumber(-10.0), false);
+        assertEvaluation("1--2", new RealNumber(3.0), false);
+    }
+
+    @Test
+    void testComplexLiteralAroundPower() throws IllegalConstruction {
+        // A complex sum is not merged into the base or the exponent of a power
+        assertEquals(Parser.parse("1+(2i)^2", false), Parser.parse("1+2i^2", false));
+        assertEquals(Parser.parse("1+(i)^2", false), Parser.parse("1+i^2", false));
+        assertEquals(Parser.parse("(2^1)+2i", false), Parser.parse("2^1+2i", false));
+        assertEquals(Parser.parse("(2^1)-i", false), Parser.parse("2^1-i", false));
+        assertInstanceOf(ComplexNumber.class, Parser.parse("1+2i", false));
+    }
+
+    @Test
+    void testMalformedInfix() {
+        assertThrows(IllegalArgumentException.class, () -> Parser.parse("(1+2", false));
+        assertThrows(IllegalArgumentException.class, () -> Parser.parse("1+2)", false));
+        assertThrows(IllegalArgumentException.class, () -> Parser.parse("2+*3", false));
+    }
+
+    @Test
+    void testPrefixAndPostfix() throws IllegalConstruction {
+        assertEvaluation("+(1,*(2,3))", new RealNumber(7.0), false);
+        assertEvaluation("(1,(2,3)*)+", new RealNumber(7.0), false);
+        assertEvaluation("-( 10 , 2 , 3 )", new RealNumber(5.0), false);
+        assertEvaluation("*(2,-3,sqrt(16))", new RealNumber(-24.0), false);
+        assertEvaluation("(1/2,1/4)+", new RationalNumber(3, 4), true);
+        assertEvaluation("+(2+3i,1)", new ComplexNumber(
+                new RationalNumber(new RealNumber(3.0)),
+                new RationalNumber(new RealNumber(3.0))
+        ), true);
+    }
+
+    @Test
+    void testWhitespaceIsIgnored() throws IllegalConstruction, IOException {
+        // As if it were removed before parsing, whatever the notation
+        assertEquals(Parser.parse("1/2", true), Parser.parse(" 1 / 2 ", true));
+        assertInstanceOf(RationalNumber.class, Parser.parse("1 / 2", true));
+        assertEquals(Parser.parse("23", false), Parser.parse("2 3", false));
+        assertEquals(Parser.parse("+(1,2)", false), Parser.parse("+ ( 1 , 2 )", false));
+        assertEquals(Parser.parse("(1,2)+", false), Parser.parse("(1, 2) +", Notation.POSTFIX, false));
+        assertEquals(Parser.parse("sqrt(4)", false), Parser.parse("sqrt (4)", false));
+        // Read from a stream, whitespace separates tokens
+        assertInstanceOf(Divides.class, Parser.parse(new StringReader("1 / 2"), Notation.INFIX, true));
+    }
+
+    @Test
+    void testDeeplyNestedPrefixAndPostfix() throws IllegalConstruction {
+        int depth = 100_000;
+        String prefix = "+(1,".repeat(depth) + "1" + ")".repeat(depth);
+        String postfix = "(1,".repeat(depth) + "1" + ")+".repeat(depth);
+        for (Expression e : new Expression[] {Parser.parse(prefix, false), Parser.parse(postfix, false)}) {
+            int levels = 0;
+            while (e instanceof Plus p) {
+                assertEquals(2, p.getArgs().size());
+                e = p.getArgs().get(1);
+                levels++;
+            }
+            assertEquals(depth, levels);
+        }
+    }
+
+    @Test
+    void testDeeplyNestedPrefixIsEvaluated() throws IllegalConstruction {
+        // Evaluation recurses on the thread stack, unlike parsing, but visits each level once
+        int depth = 1000;
+        Calculator calc = new Calculator();
+        calc.setEvaluator(new Evaluator(false, true));
+        Expression e = Parser.parse("+(1,".repeat(depth) + "1" + ")".repeat(depth), false);
+        assertEquals(IntegerNumber.valueOf(depth + 1), calc.eval(e));
+    }
+
+    @Test
+    void testMalformedPrefixAndPostfix() {
+        assertThrows(IllegalArgumentException.class, () -> Parser.parse("+(1,2", false));
+        assertThrows(IllegalArgumentException.class, () -> Parser.parse("+(1,2))", false));
+        assertThrows(IllegalArgumentException.class, () -> Parser.parse("+(1,,2)", false));
+        assertThrows(IllegalArgumentException.class, () -> Parser.parse("(1,2)(3)+", false));
+    }
+
+    @Test
+    void testParseFromReaderAndChannel() throws IllegalConstruction, IOException {
+        assertEquals(new RealNumber(7.0),
+                new Calculator().eval(Parser.parse(new StringReader(" 1 + 2 * sqrt(9) "), Notation.INFIX, false)));
+        assertEquals(new RealNumber(7.0),
+                new Calculator().eval(Parser.parse(new StringReader("+(1,*(2,sqrt(9)))"), Notation.PREFIX, false)));
+        byte[] bytes = "(1,(2,π)*)+".getBytes(StandardCharsets.UTF_8);
+        Expression e = Parser.parse(Channels.newChannel(new ByteArrayInputStream(bytes)),
+                StandardCharsets.UTF_8, Notation.POSTFIX, false);
+        assertEquals(new RealNumber(1 + 2 * Math.PI), new Calculator().eval(e));
+    }
+
+    @Test
+    void testParseInGivenNotation() throws IllegalConstruction {
+        assertEquals(new RealNumber(7.0),
+                new Calculator().eval(Parser.parse("+(1,*(2,3))", Notation.PREFIX, false)));
+        assertEquals(new RealNumber(7.0),
+                new Calculator().eval(Parser.parse("(1,(2,3)*)+", Notation.POSTFIX, false)));
+        assertEquals(new RealNumber(3.0), new Calculator().eval(Parser.parse("1+2", Notation.INFIX, false)));
+        assertThrows(IllegalArgumentException.class, () -> Parser.parse("1+2", Notation.POSTFIX, false));
+        assertThrows(IllegalArgumentException.class, () -> Parser.parse("+(1,2)", Notation.INFIX, false));
+    }
+
+    @Test
+    void testParseLargeStream() throws IllegalConstruction, IOException {
+        // A 10 MB expression generated on the fly, "+(1,1,...,1)", is never held in memory as a whole
+        int count = 5_000_000;
+        Reader reader = new Reader() {
+            private int written = -2;
+
+            @Override
+            public int read(char[] buffer, int offset, int length) {
+                int n = 0;
+                for (; n < length && written <= 2 * count + 1; n++, written++) {
+                    buffer[offset + n] = written == -2 ? '+' : written == -1 ? '(' : written == 2 * count + 1 ? ')'
+                            : written % 2 == 0 ? '1' : ',';
+                }
+                return n == 0 ? -1 : n;
+            }
+
+            @Override
+            public void close() {
+            }
+        };
+        Expression e = Parser.parse(reader, Notation.PREFIX, false);
+        assertEquals(count + 1, ((Operation) e).getArgs().size());
+    }
+
+    @Test
+    void testStreamErrors() {
+        Reader failing = new Reader() {
+            @Override
+            public int read(char[] buffer, int offset, int length) throws IOException {
+                throw new IOException("broken");
+            }
+
+            @Override
+            public void close() {
+            }
+        };
+        assertThrows(IOException.class, () -> Parser.parse(failing, Notation.INFIX, false));
+        assertThrows(IllegalArgumentException.class,
+                () -> Parser.parse(new StringReader("1+(2"), Notation.INFIX, false));
+        assertThrows(IllegalArgumentException.class, () -> Parser.parse("sqrt(4", false));
+    }
+
+}
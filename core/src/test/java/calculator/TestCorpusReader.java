@@ -0,0 +1,96 @@
+package calculator;
+
+import static org.junit.jupiter.api.Assertions.*;
+import org.junit.jupiter.api.*;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+
+class TestCorpusReader {
+
+    @TempDir
+    Path directory;
+
+    private Path write(String content) throws IOException {
+        return Files.writeString(directory.resolve("corpus.txt"), content, StandardCharsets.UTF_8);
+    }
+
+    /** Reads the records of a file, by offset, with the given segment size and parallelism */
+    private static Map<Long, String> read(Path file, long segmentSize, int parallelism) throws IOException {
+        Map<Long, String> records = new ConcurrentSkipListMap<>();
+        long count = new CorpusReader(file, segmentSize).process(parallelism, () -> (offset, expression) ->
+                assertNull(records.put(offset, expression.toString())));
+        assertEquals(records.size(), count);
+        return records;
+    }
+
+    @Test
+    void testRecords() throws IOException {
+        String content = "1+2\r\n\n   \n3*π\nsqrt(16)/(2-i)\n\t\n7";
+        Map<Long, String> expected = new TreeMap<>();
+        expected.put(0L, "1+2");
+        expected.put(10L, "3*π");
+        expected.put(15L, "sqrt(16)/(2-i)");
+        expected.put(32L, "7");
+        Path file = write(content);
+        for (long segmentSize : List.of(1L, 3L, 8L, 1000L)) {
+            for (int parallelism : List.of(1, 3)) {
+                assertEquals(expected, read(file, segmentSize, parallelism), segmentSize + " " + parallelism);
+            }
+        }
+        assertEquals(Map.of(), read(write(""), 4, 2));
+    }
+
+    @Test
+    void testParseInPlace() throws IOException, IllegalConstruction {
+        List<String> lines = new ArrayList<>();
+        StringBuilder content = new StringBuilder();
+        for (int i = 0; i < 2000; i++) {
+            String line = i + "*(" + (i % 7) + "+1/2)-" + (i % 13) + ".5";
+            lines.add(line);
+            content.append(line).append('\n');
+        }
+        Path file = write(content.toString());
+
+        Map<Long, Expression> results = new ConcurrentSkipListMap<>();
+        long count = new CorpusReader(file, 4096).process(4, () -> {
+            Calculator calculator = new Calculator();
+            return (offset, expression) -> {
+                try {
+                    results.put(offset, calculator.eval(Parser.parse(expression, false)));
+                } catch (IllegalConstruction e) {
+                    throw new IllegalStateException(e);
+                }
+            };
+        });
+        assertEquals(lines.size(), count);
+        Calculator calculator = new Calculator();
+        List<Expression> values = new ArrayList<>(results.values());
+        for (int i = 0; i < lines.size(); i++) {
+            assertEquals(calculator.eval(Parser.parse(lines.get(i), false)), values.get(i), lines.get(i));
+        }
+    }
+
+    @Test
+    void testHandlerFailure() throws IOException {
+        Path file = write("1+1\n2+2\nnot an expression\n4+4\n");
+        IllegalArgumentException e = assertThrows(IllegalArgumentException.class,
+                () -> new CorpusReader(file, 4).process(2, () -> (offset, expression) -> {
+                    try {
+                        Parser.parse(expression, false);
+                    } catch (IllegalConstruction ex) {
+                        throw new IllegalStateException(ex);
+                    }
+                }));
+        assertNotNull(e.getMessage());
+        assertThrows(IOException.class, () -> new CorpusReader(directory.resolve("missing")).process(1, () -> (o, s) -> { }));
+    }
+}
@@ -0,0 +1,81 @@
+package calculator;
+
+//Import Junit5 libraries for unit testing:
+import static org.junit.jupiter.api.Assertions.*;
+import org.junit.jupiter.api.*;
+import visitor.Evaluator;
+
+class TestEvaluator {
+
+    private Calculator calc;
+    private RealNumber value1, value2;
+
+    @BeforeEach
+    void setUp() {
+        calc = new Calculator();
+        value1 = new RealNumber(8.0);
+        value2 = new RealNumber(6.0);
+    }
+
+    @Test
+    void testEvaluatorMyNumber() {
+        assertEquals(value1, calc.eval(new RealNumber(Double.parseDouble(String.valueOf(value1)))));
+        assertEquals(value2, calc.eval(new RealNumber(Double.parseDouble(String.valueOf(value2)))));
+    }
+
+    @Test
+    void testEvaluatorRationalNumber() {
+        RationalNumber rational = new RationalNumber(new RealNumber(28.0), new RealNumber(24.0));
+        assertEquals("7/6", calc.eval(rational.simplify()).toString());
+    }
+
+    @Test
+    void testIntegerMode() throws IllegalConstruction {
+        calc.setEvaluator(new Evaluator(false, true));
+        Expression product = Parser.parse("99999999999*99999999999+1", true);
+        assertTrue(((Operation) product).isIntegral());
+        assertEquals("9999999999800000000002", calc.eval(product).toString());
+        // Fraction literals reducing to an integer take part in the exact evaluation
+        assertEquals(IntegerNumber.valueOf(205), calc.eval(Parser.parse("12*34/2+1", true)));
+    }
+
+    @Test
+    void testIntegerModeFallback() throws IllegalConstruction {
+        calc.setEvaluator(new Evaluator(false, true));
+        // An inexact division has no integer result and falls back to the regular arithmetic
+        assertEquals(new RealNumber(3.5), calc.eval(Parser.parse("(3+4)/2", true)));
+        assertEquals(RealNumber.NaN, calc.eval(Parser.parse("(3+4)/0", true)));
+        assertFalse(((Operation) Parser.parse("3+0.5", true)).isIntegral());
+        assertFalse(((Operation) Parser.parse("3+1/2", true)).isIntegral());
+    }
+
+    @Test
+    void testEachNodeIsEvaluatedOnce() throws IllegalConstruction {
+        int depth = 1000;
+        Expression deep = Parser.parse("(".repeat(depth) + "1" + "+1/3)".repeat(depth) + "+sqrt(9)*-(1+1)", true);
+        int[] visits = new int[3];
+        Evaluator counting = new Evaluator(false) {
+            @Override
+            public void visit(Operation o) {
+                visits[0]++;
+                super.visit(o);
+            }
+
+            @Override
+            public void visit(FunctionWrapper f) {
+                visits[1]++;
+                super.visit(f);
+            }
+
+            @Override
+            public void visit(Negate n) {
+                visits[2]++;
+                super.visit(n);
+            }
+        };
+        deep.accept(counting);
+        // Visiting the arguments both in accept and in the evaluator would take 2^depth visits
+        assertArrayEquals(new int[] {depth + 3, 1, 1}, visits);
+        assertEquals("985/3", counting.getResult().toString());
+    }
+}
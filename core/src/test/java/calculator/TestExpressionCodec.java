@@ -0,0 +1,127 @@
+package calculator;
+
+import static org.junit.jupiter.api.Assertions.*;
+import org.junit.jupiter.api.*;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.math.BigInteger;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.util.Arrays;
+import java.util.List;
+
+class TestExpressionCodec {
+
+    private static Expression roundTrip(Expression e) throws IOException {
+        byte[] bytes = ExpressionCodec.toBytes(e);
+        Expression fromBuffer = ExpressionCodec.read(ByteBuffer.wrap(bytes));
+        Expression fromStream = ExpressionCodec.read(new DataInputStream(new ByteArrayInputStream(bytes)));
+        assertEquals(fromBuffer, fromStream);
+        return fromBuffer;
+    }
+
+    @Test
+    void testAllNodeTypes() throws IllegalConstruction, IOException {
+        for (String s : List.of("1+2*3-4/5", "sqrt(2)+sqrt(3/4)", "-2.5*(3+4i)", "1/2+3/4", "(2+3i)/(1-i)",
+                "2*-(3-2)", "-(1+2)*3", "-sqrt(2)", "2^3^-2*(1/2)^2", "π*sqrt(16)")) {
+            Expression e = Parser.parse(s, true);
+            assertEquals(e, roundTrip(e), s);
+        }
+        for (MyNumber n : List.of(RealNumber.valueOf(-0.0), RealNumber.valueOf(Double.NaN),
+                RationalNumber.valueOf(-3, 7), new ComplexNumber(RationalNumber.valueOf(1, 3), RationalNumber.MINUS_ONE),
+                IntegerNumber.valueOf(-42), IntegerNumber.valueOf(Long.MIN_VALUE),
+                IntegerNumber.valueOf(BigInteger.TEN.pow(40).negate()))) {
+            assertEquals(n, roundTrip(n), n.toString());
+        }
+        Expression empty = new Plus(List.of());
+        assertEquals(empty, roundTrip(empty));
+    }
+
+    @Test
+    void testConstantPoolIsShared() throws IllegalConstruction, IOException {
+        Expression e = Parser.parse("sqrt(1.5)*sqrt(1.5)+sqrt(1.5)", false);
+        Expression f = Parser.parse("1.5-1.5", false);
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        ExpressionCodec.write(List.of(e, f), new DataOutputStream(out));
+        byte[] bytes = out.toByteArray();
+        // header, a pool of one double and one name, the number of expressions, then the nodes
+        // of a byte each
+        assertEquals(5 + 1 + 10 + 6 + 1 + 8 + 3, bytes.length);
+        assertEquals(List.of(e, f), ExpressionCodec.readAll(bytes));
+    }
+
+    @Test
+    void testDeeplyNestedTree() throws IllegalConstruction, IOException {
+        Expression e = RealNumber.valueOf(1);
+        for (int i = 0; i < 100_000; i++) {
+            e = new Minus(List.of(RealNumber.valueOf(i % 7), e));
+        }
+        // Operation.equals recurses, so the trees are compared through their deterministic encoding
+        byte[] bytes = ExpressionCodec.toBytes(e);
+        assertArrayEquals(bytes, ExpressionCodec.toBytes(ExpressionCodec.readAll(bytes).getFirst()));
+    }
+
+    @Test
+    void testBufferPositionAndByteOrder() throws IllegalConstruction, IOException {
+        Expression e = Parser.parse("1.25*3", false);
+        byte[] bytes = ExpressionCodec.toBytes(e);
+        ByteBuffer buffer = ByteBuffer.allocate(bytes.length * 2).order(ByteOrder.LITTLE_ENDIAN);
+        buffer.put(bytes).put(bytes).flip();
+        assertEquals(e, ExpressionCodec.read(buffer));
+        assertEquals(bytes.length, buffer.position());
+        assertEquals(e, ExpressionCodec.read(buffer));
+        assertFalse(buffer.hasRemaining());
+    }
+
+    @Test
+    void testMalformedData() throws IllegalConstruction {
+        byte[] bytes = ExpressionCodec.toBytes(Parser.parse("1+sqrt(2)", false));
+
+        byte[] magic = bytes.clone();
+        magic[0] = 'X';
+        assertThrows(IOException.class, () -> ExpressionCodec.readAll(magic));
+
+        byte[] version = bytes.clone();
+        version[4] = ExpressionCodec.VERSION + 1;
+        assertThrows(IOException.class, () -> ExpressionCodec.readAll(version));
+
+        for (int length = 0; length < bytes.length; length++) {
+            byte[] truncated = Arrays.copyOf(bytes, length);
+            assertThrows(EOFException.class, () -> ExpressionCodec.readAll(truncated));
+            assertThrows(EOFException.class,
+                    () -> ExpressionCodec.read(new DataInputStream(new ByteArrayInputStream(truncated))));
+        }
+
+        byte[] opcode = bytes.clone();
+        opcode[opcode.length - 1] = 0x3F; // the last constant replaced by an unknown index
+        assertThrows(IOException.class, () -> ExpressionCodec.readAll(opcode));
+    }
+
+    @Test
+    void testMalformedConstants() {
+        // A name claiming almost 2 GiB, in a 12-byte message: no array of that length is allocated
+        byte[] huge = {'E', 'X', 'P', 'R', 1, 1, 6, (byte) 0xF0, (byte) 0xFF, (byte) 0xFF, (byte) 0xFF, 0x07};
+        assertThrows(EOFException.class, () -> ExpressionCodec.readAll(huge));
+        assertThrows(EOFException.class,
+                () -> ExpressionCodec.read(new DataInputStream(new ByteArrayInputStream(huge))));
+
+        // A big integer without any byte
+        byte[] empty = {'E', 'X', 'P', 'R', 1, 1, 5, 0, 1, 0};
+        assertThrows(IOException.class, () -> ExpressionCodec.readAll(empty));
+        assertThrows(IOException.class,
+                () -> ExpressionCodec.read(new DataInputStream(new ByteArrayInputStream(empty))));
+    }
+
+    @Test
+    void testLongConstants() throws IOException {
+        // Longer than the first chunk read for a constant
+        BigInteger big = BigInteger.ONE.shiftLeft(600_000).subtract(BigInteger.TEN);
+        Expression e = IntegerNumber.valueOf(big);
+        assertEquals(e, roundTrip(e));
+    }
+}
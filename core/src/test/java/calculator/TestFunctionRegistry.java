@@ -0,0 +1,130 @@
+package calculator;
+
+import static org.junit.jupiter.api.Assertions.*;
+import org.junit.jupiter.api.*;
+
+import java.io.IOException;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+class TestFunctionRegistry {
+
+	private static double eval(String expression) throws IllegalConstruction {
+		return ((RealNumber) new Calculator().eval(Parser.parse(expression, false))).getValue();
+	}
+
+	private static double hypot3(double x, double y, double z) {
+		return Math.sqrt(x * x + y * y + z * z);
+	}
+
+	@Test
+	void testStandardFunctions() throws IllegalConstruction {
+		assertEquals(3.0, eval("sqrt(9)"));
+		assertEquals(1.0, eval("sin(π/2)"), 1e-15);
+		assertEquals(-1.0, eval("cos(π)"), 1e-15);
+		assertEquals(1.0, eval("tan(π/4)"), 1e-15);
+		assertEquals(Math.E, eval("exp(1)"));
+		assertEquals(1.0, eval("ln(exp(1))"));
+		assertEquals(3.0, eval("log(1000)"));
+		assertEquals(2.5, eval("abs(-2.5)"));
+		assertEquals(1024.0, eval("pow(2, 10)"));
+		assertEquals(2.0, eval("min(3, max(1, 2))"));
+		assertEquals(5.0, eval("max(2*2, sqrt(25)) * 1"));
+		assertTrue(FunctionRegistry.names().containsAll(
+				List.of("sin", "cos", "tan", "exp", "ln", "log", "abs", "pow", "min", "max", "sqrt")));
+	}
+
+	@Test
+	void testResolvedAtParseTime() throws IllegalConstruction {
+		FunctionWrapper f = (FunctionWrapper) Parser.parse("max(1, 2)", false);
+		assertSame(FunctionRegistry.resolve("max"), f.function());
+		assertEquals(2, f.arguments().size());
+		assertEquals("max(1, 2)", f.toString());
+		assertEquals(f, Parser.parse("max(1,2)", false));
+		assertEquals(f, new FunctionWrapper("max", RealNumber.valueOf(1), RealNumber.valueOf(2)));
+		assertEquals(new FunctionWrapper("max", RealNumber.valueOf(1), RealNumber.valueOf(2)), Parser.parse("max(1,2)", false));
+		// Prefix and postfix notations
+		assertEquals(9.0, ((RealNumber) new Calculator().eval(Parser.parse("+(max(1,*(2,3)),3)", false))).getValue());
+		assertEquals(3, Parser.parse("max(1+2, 3)", false).countNbs());
+		assertEquals(2, Parser.parse("max(1+2, 3)", false).countOps());
+	}
+
+	@Test
+	void testErrors() {
+		IllegalArgumentException e = assertThrows(IllegalArgumentException.class, () -> Parser.parse("foo(2)", false));
+		assertEquals("Unknown function: foo", e.getMessage());
+		assertThrows(IllegalArgumentException.class, () -> Parser.parse("max(2)", false));
+		assertThrows(IllegalArgumentException.class, () -> Parser.parse("sqrt(1, 2)", false));
+		assertThrows(IllegalArgumentException.class, () -> Parser.parse("max(1, 2", false));
+		assertThrows(IllegalArgumentException.class, () -> eval("sin(1+i)"));
+		assertThrows(IllegalArgumentException.class, () -> FunctionRegistry.register("2x", Math::abs, true));
+		assertThrows(IllegalArgumentException.class, () -> FunctionRegistry.register("f",
+				MethodHandles.constant(double.class, 1.0), true));
+	}
+
+	@Test
+	void testUserDefinedFunctions() throws ReflectiveOperationException, IllegalConstruction {
+		try {
+			FunctionRegistry.register("cube", x -> x * x * x, true);
+			FunctionRegistry.register("hypot3", MethodHandles.lookup().findStatic(TestFunctionRegistry.class, "hypot3",
+					MethodType.methodType(double.class, double.class, double.class, double.class)), true);
+			assertEquals(-8.0, eval("cube(-2)"));
+			assertEquals(7.0, eval("hypot3(2, 3, 6)"));
+			// A function whose name starts like the imaginary unit
+			FunctionRegistry.register("inv", x -> 1 / x, true);
+			assertEquals(0.75, eval("1-inv(4)"));
+			assertEquals(-0.25, eval("-inv(4)"));
+			assertEquals(new ComplexNumber(RationalNumber.valueOf(2, 1), RationalNumber.ONE),
+					new Calculator().eval(Parser.parse("2+i", false)));
+		} finally {
+			FunctionRegistry.unregister("cube");
+			FunctionRegistry.unregister("hypot3");
+			FunctionRegistry.unregister("inv");
+		}
+		assertThrows(IllegalArgumentException.class, () -> Parser.parse("cube(2)", false));
+	}
+
+	@Test
+	void testMemoization() throws IllegalConstruction {
+		AtomicInteger calls = new AtomicInteger();
+		try {
+			MathFunction pure = FunctionRegistry.register("slow", x -> {
+				calls.incrementAndGet();
+				return x + 1;
+			}, true);
+			assertTrue(pure.isMemoized());
+			assertEquals(5.0, eval("slow(1)*slow(1)+slow(2)-slow(1)"));
+			assertEquals(2, calls.get());
+			assertEquals(Double.NaN, pure.apply(Double.NaN));
+			assertEquals(1.0, pure.apply(0.0));
+			assertEquals(1.0, pure.apply(-0.0));
+			assertEquals(5, calls.get());
+
+			calls.set(0);
+			MathFunction impure = FunctionRegistry.register("slow", x -> calls.incrementAndGet(), false);
+			assertFalse(impure.isMemoized());
+			assertEquals(1.0, eval("slow(1)"));
+			assertEquals(2.0, eval("slow(1)"));
+		} finally {
+			FunctionRegistry.unregister("slow");
+		}
+		assertFalse(FunctionRegistry.resolve("sqrt").isMemoized());
+		assertTrue(FunctionRegistry.resolve("sin").isMemoized());
+	}
+
+	@Test
+	void testCodec() throws IllegalConstruction, IOException {
+		Expression e = Parser.parse("max(1, min(2, 3)) + pow(2, sqrt(4))", false);
+		assertEquals(e, ExpressionCodec.readAll(ExpressionCodec.toBytes(e)).getFirst());
+		try {
+			FunctionRegistry.register("twice", x -> 2 * x, true);
+			byte[] bytes = ExpressionCodec.toBytes(Parser.parse("twice(3)", false));
+			FunctionRegistry.unregister("twice");
+			assertThrows(IOException.class, () -> ExpressionCodec.readAll(bytes));
+		} finally {
+			FunctionRegistry.unregister("twice");
+		}
+	}
+}
@@ -0,0 +1,45 @@
+package calculator;
+
+import static org.junit.jupiter.api.Assertions.*;
+import org.junit.jupiter.api.*;
+
+import java.math.BigInteger;
+
+class TestIntegerNumber {
+
+    @Test
+    void testValueOf() {
+        assertSame(IntegerNumber.valueOf(42), IntegerNumber.valueOf(42));
+        assertEquals(IntegerNumber.valueOf(1000), IntegerNumber.valueOf(BigInteger.valueOf(1000)));
+        assertTrue(IntegerNumber.valueOf(BigInteger.valueOf(Long.MAX_VALUE)).isLong());
+        assertFalse(IntegerNumber.valueOf(BigInteger.valueOf(Long.MAX_VALUE).add(BigInteger.ONE)).isLong());
+    }
+
+    @Test
+    void testToString() {
+        assertEquals("-12", IntegerNumber.valueOf(-12).toString());
+        assertEquals("9223372036854775808",
+                IntegerNumber.valueOf(BigInteger.valueOf(Long.MAX_VALUE).add(BigInteger.ONE)).toString());
+    }
+
+    @Test
+    void testEquals() {
+        BigInteger big = BigInteger.TEN.pow(30);
+        assertEquals(IntegerNumber.valueOf(big), IntegerNumber.valueOf(new BigInteger(big.toString())));
+        assertEquals(IntegerNumber.valueOf(big).hashCode(), IntegerNumber.valueOf(new BigInteger(big.toString())).hashCode());
+        assertNotEquals(IntegerNumber.valueOf(3), new RealNumber(3.0));
+    }
+
+    @Test
+    void testNumericOps() {
+        IntegerNumber max = IntegerNumber.valueOf(Long.MAX_VALUE);
+        assertEquals(IntegerNumber.valueOf(BigInteger.valueOf(Long.MAX_VALUE).add(BigInteger.ONE)),
+                NumericOps.add(max, IntegerNumber.valueOf(1)));
+        assertEquals(IntegerNumber.valueOf(-6), NumericOps.mul(IntegerNumber.valueOf(2), IntegerNumber.valueOf(-3)));
+        // Mixed with other types, integers are promoted to real numbers
+        assertEquals(new RealNumber(3.5), NumericOps.add(IntegerNumber.valueOf(3), new RealNumber(0.5)));
+        assertEquals(new RealNumber(3.5), NumericOps.div(IntegerNumber.valueOf(7), IntegerNumber.valueOf(2)));
+        assertEquals("5/2", NumericOps.add(IntegerNumber.valueOf(2),
+                new RationalNumber(new RealNumber(1.0), new RealNumber(2.0))).toString());
+    }
+}
@@ -0,0 +1,83 @@
+package calculator;
+
+import static org.junit.jupiter.api.Assertions.*;
+import org.junit.jupiter.api.*;
+
+import calculator.Lexer.Token;
+import calculator.Lexer.TokenType;
+
+import java.io.StringReader;
+import java.util.ArrayList;
+import java.util.List;
+
+class TestLexer {
+
+    private static List<TokenType> types(String input) {
+        return new Lexer(input).tokenize().stream().map(Token::type).toList();
+    }
+
+    private static List<String> texts(String input) {
+        return new Lexer(input).tokenize().stream().map(t -> input.substring(t.start(), t.end())).toList();
+    }
+
+    @Test
+    void testLiterals() {
+        assertEquals(List.of(TokenType.INTEGER, TokenType.OPERATOR, TokenType.REAL, TokenType.OPERATOR,
+                TokenType.RATIONAL, TokenType.OPERATOR, TokenType.PI), types("12+2.5*3/4-π"));
+        assertEquals(List.of("12", "+", "2.5", "*", "3/4", "-", "π"), texts("12+2.5*3/4-π"));
+        assertEquals(List.of(".5"), texts(".5"));
+    }
+
+    @Test
+    void testComplexLiterals() {
+        assertEquals(List.of("2+3i"), texts("2+3i"));
+        assertEquals(List.of("-1.5-i"), texts("-1.5-i"));
+        assertEquals(List.of("3+1/2i"), texts("3+1/2i"));
+        assertEquals(List.of("i", "*", "4i"), texts("i*4i"));
+        // A plain fraction is not part of a complex literal
+        assertEquals(List.of("1/2", "i"), texts("1/2i"));
+    }
+
+    @Test
+    void testMinusSign() {
+        assertEquals(List.of("-2", "+", "4"), texts("-2+4"));
+        assertEquals(List.of("2", "-", "3"), texts("2-3"));
+        assertEquals(List.of("(", "1", ")", "-", "2"), texts("(1)-2"));
+        assertEquals(List.of("2", "*", "-3"), texts("2*-3"));
+        assertEquals(List.of(TokenType.NEGATE, TokenType.LEFT_PAREN, TokenType.INTEGER, TokenType.RIGHT_PAREN),
+                types("-(1)"));
+    }
+
+    @Test
+    void testFunctionAndOffsets() {
+        List<Token> tokens = new Lexer("sqrt((1+2)*3) - 1").tokenize();
+        assertEquals(new Token(TokenType.FUNCTION, 0, 4), tokens.getFirst());
+        assertEquals(new Token(TokenType.LEFT_PAREN, 5, 6), tokens.get(1));
+        assertEquals(new Token(TokenType.RIGHT_PAREN, 12, 13), tokens.get(8));
+        assertEquals(new Token(TokenType.OPERATOR, 14, 15), tokens.get(9));
+        assertEquals(new Token(TokenType.INTEGER, 16, 17), tokens.get(10));
+        assertEquals(List.of("sqrt", "-4"), texts("sqrt(-4)").subList(0, 2));
+    }
+
+    @Test
+    void testReaderWindow() {
+        String input = "  123456789 +\t-2.5/  (3+4i)  ";
+        Lexer lexer = new Lexer(new StringReader(input), 2);
+        List<String> texts = new ArrayList<>();
+        for (Token t = lexer.next(); t.type() != TokenType.EOF; t = lexer.next()) {
+            assertEquals(input.substring(t.start(), t.end()), lexer.text(t));
+            texts.add(lexer.text(t));
+        }
+        assertEquals(List.of("123456789", "+", "-2.5", "/", "(", "3+4i", ")"), texts);
+    }
+
+    @Test
+    void testWhitespaceAndErrors() {
+        assertEquals(List.of("1", "+", "2"), texts("  1 +\t2 "));
+        assertThrows(IllegalArgumentException.class, () -> new Lexer("1+x").tokenize());
+        assertThrows(IllegalArgumentException.class, () -> new Lexer("sqrt (4)").tokenize());
+        // Any name followed by a parenthesis is a function call, resolved by the parser
+        assertEquals(List.of(TokenType.FUNCTION, TokenType.INTEGER, TokenType.RIGHT_PAREN), types("sqr(4)"));
+        assertThrows(IllegalArgumentException.class, () -> Parser.parse("sqr(4)", false));
+    }
+}
@@ -0,0 +1,93 @@
+package calculator;
+
+import static org.junit.jupiter.api.Assertions.*;
+import org.junit.jupiter.api.*;
+
+import visitor.Evaluator;
+import visitor.TypeInference;
+
+import java.math.BigInteger;
+import java.util.List;
+
+class TestNegate {
+
+	private static Expression eval(String expression, boolean preserveFractions, boolean integerMode)
+			throws IllegalConstruction {
+		Calculator calculator = new Calculator();
+		calculator.getEvaluator().setPreserveFractions(preserveFractions);
+		calculator.getEvaluator().setIntegerMode(integerMode);
+		return calculator.eval(Parser.parse(expression, preserveFractions));
+	}
+
+	@Test
+	void testParserEmitsNegate() throws IllegalConstruction {
+		Expression e = Parser.parse("-(1+2)*3", false);
+		Plus sum = new Plus(List.of(RealNumber.valueOf(1), RealNumber.valueOf(2)));
+		assertEquals(new Times(List.of(new Negate(sum), RealNumber.valueOf(3))), e);
+		// A leading negated group is infix, while "-(a, b)" remains a prefix subtraction
+		assertEquals(new Negate(new Minus(List.of(RealNumber.valueOf(3), RealNumber.valueOf(2)))),
+				Parser.parse("-(3-2)", false));
+		assertEquals(new Minus(List.of(RealNumber.valueOf(3), RealNumber.valueOf(2))), Parser.parse("-(3,2)", false));
+	}
+
+	@Test
+	void testFolding() throws IllegalConstruction {
+		Plus sum = new Plus(List.of(RealNumber.valueOf(1), RealNumber.valueOf(2)));
+		assertEquals(sum, Negate.of(Negate.of(sum)));
+		assertEquals(sum, Parser.parse("-(-(1+2))", false));
+		assertEquals(RealNumber.valueOf(-3), Parser.parse("-(3)", false));
+		assertEquals(RealNumber.valueOf(3), Parser.parse("-(-(3))", false));
+		assertEquals(new Times(List.of(RealNumber.valueOf(2), RealNumber.valueOf(-3))), Parser.parse("2*-(3)", false));
+	}
+
+	@Test
+	void testNumbers() {
+		assertEquals(RealNumber.valueOf(-2.5), RealNumber.valueOf(2.5).negate());
+		assertEquals(RationalNumber.valueOf(3, 4), RationalNumber.valueOf(-3, 4).negate());
+		assertEquals(RationalNumber.ZERO, RationalNumber.ZERO.negate());
+		assertEquals(new ComplexNumber(RationalNumber.valueOf(-1, 2), RationalNumber.ONE),
+				new ComplexNumber(RationalNumber.HALF, RationalNumber.MINUS_ONE).negate());
+		assertEquals(IntegerNumber.valueOf(-7), IntegerNumber.valueOf(7).negate());
+		assertEquals(IntegerNumber.valueOf(BigInteger.valueOf(Long.MIN_VALUE).negate()),
+				IntegerNumber.valueOf(Long.MIN_VALUE).negate());
+		assertEquals(IntegerNumber.valueOf(Long.MIN_VALUE),
+				IntegerNumber.valueOf(BigInteger.valueOf(Long.MIN_VALUE).negate()).negate());
+	}
+
+	@Test
+	void testEvaluation() throws IllegalConstruction {
+		assertEquals(RealNumber.valueOf(-9), eval("-(1+2)*3", false, false));
+		assertEquals(RealNumber.valueOf(-1.5), eval("-sqrt(4)+1/2", false, false));
+		assertEquals(RationalNumber.valueOf(-5, 6), eval("-(1/2+1/3)", true, false));
+		assertEquals(RationalNumber.valueOf(5, 6), eval("-(1/2+1/3)*-(1)", true, false));
+		assertEquals(new ComplexNumber(RationalNumber.valueOf(-2, 1), RationalNumber.valueOf(-3, 1)),
+				eval("-(2+3i+0)", false, false));
+		assertEquals(IntegerNumber.valueOf(-15), eval("-(7+8)", false, true));
+		assertEquals(IntegerNumber.valueOf(30), eval("2*-(7+8)*-(1)", false, true));
+		assertEquals(RealNumber.valueOf(-0.5), eval("-(1/2)", false, true));
+	}
+
+	@Test
+	void testTypeInference() throws IllegalConstruction {
+		assertEquals(NumberType.REAL, TypeInference.infer(Parser.parse("-(1+2)", false), false, false));
+		assertEquals(NumberType.RATIONAL, TypeInference.infer(Parser.parse("-(1+2)", false), true, false));
+		assertEquals(NumberType.INTEGER, TypeInference.infer(Parser.parse("-(1+2)", false), false, true));
+		assertEquals(NumberType.COMPLEX, TypeInference.infer(Parser.parse("-(1+i+2)", false), false, false));
+		// The real kernel computes negated subtrees on primitive doubles
+		Expression e = Parser.parse("1.5*-(2.5+1)", false);
+		assertEquals(NumberType.REAL, TypeInference.infer(e, false, false));
+		Evaluator evaluator = new Evaluator(false);
+		e.accept(evaluator);
+		assertEquals(RealNumber.valueOf(-5.25), evaluator.getResult());
+	}
+
+	@Test
+	void testCountsAndOutput() throws IllegalConstruction {
+		Expression e = Parser.parse("-(1+2)*3", false);
+		assertEquals(3, e.countOps());
+		assertEquals(3, e.countDepth());
+		assertEquals(3, e.countNbs());
+		assertEquals("( -( 1 + 2 ) * 3 )", e.toString());
+		assertEquals("-(2.5)", new Negate(RealNumber.valueOf(2.5)).toString());
+	}
+}
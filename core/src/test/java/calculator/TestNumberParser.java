@@ -0,0 +1,104 @@
+package calculator;
+
+import static org.junit.jupiter.api.Assertions.*;
+import org.junit.jupiter.api.*;
+
+import calculator.Lexer.TokenType;
+
+import java.util.List;
+import java.util.Random;
+
+class TestNumberParser {
+
+    private static double parse(String s) {
+        return NumberParser.parseDouble(s, 0, s.length());
+    }
+
+    private static void assertSameAsJdk(String s) {
+        assertEquals(Double.doubleToRawLongBits(Double.parseDouble(s)), Double.doubleToRawLongBits(parse(s)), s);
+    }
+
+    @Test
+    void testSimpleLiterals() {
+        for (String s : List.of("0", "-0", "12", "-2.5", ".5", "-.25", "0.1", "3.14159", "007", "1.000")) {
+            assertSameAsJdk(s);
+        }
+        assertEquals(-2.5, NumberParser.parseDouble("x-2.5y", 1, 5));
+    }
+
+    @Test
+    void testHardRoundingCases() {
+        for (String s : List.of(
+                "9007199254740993",                  // 2^53 + 1, halfway: rounds to even
+                "9007199254740995",                  // 2^53 + 3, halfway: rounds up to even
+                "1234567890123456789",               // 19 digits
+                "12345678901234567890123",           // more than 19 digits
+                "0.30000000000000004",
+                "2.2250738585072014",
+                "0.000000000000000000000000000000000000000001234",
+                "179769313486231570000000000000000000000000000000000000000",
+                "4.9406564584124654",
+                "1.7976931348623157",
+                "0.1000000000000000055511151231257827")) {
+            assertSameAsJdk(s);
+        }
+    }
+
+    @Test
+    void testRandomLiterals() {
+        Random random = new Random(7);
+        for (int n = 0; n < 100_000; n++) {
+            StringBuilder sb = new StringBuilder();
+            if (random.nextBoolean()) {
+                sb.append('-');
+            }
+            int integerDigits = random.nextInt(22);
+            for (int k = 0; k < integerDigits; k++) {
+                sb.append((char) ('0' + random.nextInt(10)));
+            }
+            int fractionDigits = integerDigits == 0 ? 1 + random.nextInt(30) : random.nextInt(30);
+            if (fractionDigits > 0) {
+                sb.append('.');
+                int zeros = random.nextInt(4) == 0 ? random.nextInt(25) : 0;
+                for (int k = 0; k < fractionDigits; k++) {
+                    sb.append(k < zeros ? '0' : (char) ('0' + random.nextInt(10)));
+                }
+            }
+            assertSameAsJdk(sb.toString());
+        }
+    }
+
+    @Test
+    void testMalformedLiterals() {
+        for (String s : List.of("", "-", ".", "1.2.3", "1a", "+")) {
+            assertThrows(NumberFormatException.class, () -> parse(s), s);
+        }
+    }
+
+    private static Expression create(TokenType type, String s) {
+        return NumberParser.createNumber(type, s, 0, s.length(), true);
+    }
+
+    @Test
+    void testComplexLiterals() {
+        assertEquals(new ComplexNumber(RationalNumber.ZERO, RationalNumber.ONE), create(TokenType.COMPLEX, "i"));
+        assertEquals(new ComplexNumber(RationalNumber.ZERO, RationalNumber.MINUS_ONE), create(TokenType.COMPLEX, "-i"));
+        assertEquals(new ComplexNumber(RationalNumber.ZERO, RationalNumber.valueOf(5, 4)),
+                create(TokenType.COMPLEX, "5/4i"));
+        assertEquals(new ComplexNumber(RationalNumber.valueOf(-1, 5), RationalNumber.valueOf(2, 3)),
+                create(TokenType.COMPLEX, "-1/5+2/3i"));
+        assertEquals(new ComplexNumber(RationalNumber.valueOf(2.5, 1), RationalNumber.valueOf(-3.2, 1)),
+                create(TokenType.COMPLEX, "2.5-3.2i"));
+        assertEquals(new ComplexNumber(RationalNumber.valueOf(-2, 1), RationalNumber.MINUS_ONE),
+                create(TokenType.COMPLEX, "-2-i"));
+        assertEquals(new ComplexNumber(RationalNumber.valueOf(1, -2), RationalNumber.valueOf(3, 1)),
+                create(TokenType.COMPLEX, "1/-2+3i"));
+    }
+
+    @Test
+    void testRationalAndPi() {
+        assertEquals(RationalNumber.valueOf(3, 4), create(TokenType.RATIONAL, "6/8"));
+        assertInstanceOf(Divides.class, NumberParser.createNumber(TokenType.RATIONAL, "6/8", 0, 3, false));
+        assertEquals(new RealNumber(-Math.PI), create(TokenType.PI, "-π"));
+    }
+}
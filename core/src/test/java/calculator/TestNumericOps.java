@@ -0,0 +1,63 @@
+package calculator;
+
+import static org.junit.jupiter.api.Assertions.*;
+import org.junit.jupiter.api.*;
+
+class TestNumericOps {
+
+    private RealNumber two;
+    private RationalNumber half;
+    private ComplexNumber complex;
+
+    @BeforeEach
+    void setUp() {
+        two = new RealNumber(2.0);
+        half = new RationalNumber(new RealNumber(1.0), new RealNumber(2.0));
+        complex = new ComplexNumber(
+                new RationalNumber(new RealNumber(1.0)),
+                new RationalNumber(new RealNumber(2.0)));
+    }
+
+    @Test
+    void testRealKernels() {
+        assertEquals(new RealNumber(8.0), NumericOps.add(new RealNumber(6.0), two));
+        assertEquals(new RealNumber(4.0), NumericOps.sub(new RealNumber(6.0), two));
+        assertEquals(new RealNumber(12.0), NumericOps.mul(new RealNumber(6.0), two));
+        assertEquals(new RealNumber(3.0), NumericOps.div(new RealNumber(6.0), two));
+    }
+
+    @Test
+    void testMixedRealAndRational() {
+        assertEquals("5/2", NumericOps.add(two, half).toString());
+        assertEquals(new RationalNumber(new RealNumber(-3.0), new RealNumber(2.0)), NumericOps.sub(half, two));
+        assertEquals(new RationalNumber(new RealNumber(1.0)), NumericOps.mul(half, two));
+        assertEquals(new RationalNumber(new RealNumber(4.0)), NumericOps.div(two, half));
+    }
+
+    @Test
+    void testComplexKernels() {
+        ComplexNumber sum = (ComplexNumber) NumericOps.add(complex, two);
+        assertEquals("3 + 2i", sum.simplify().toString());
+        ComplexNumber difference = (ComplexNumber) NumericOps.sub(two, complex);
+        assertEquals("1 - 2i", difference.simplify().toString());
+        ComplexNumber product = (ComplexNumber) NumericOps.mul(complex, complex);
+        assertEquals("-3 + 4i", product.simplify().toString());
+        ComplexNumber quotient = (ComplexNumber) NumericOps.div(half, complex);
+        assertEquals("1/10 - 1/5i", quotient.simplify().toString());
+    }
+
+    @Test
+    void testDivisionByZero() {
+        assertEquals(RealNumber.NaN, NumericOps.div(two, new RealNumber(0.0)));
+        assertEquals(RealNumber.NaN, NumericOps.div(half, new RationalNumber(new RealNumber(0.0))));
+        ComplexNumber zero = new ComplexNumber(
+                new RationalNumber(new RealNumber(0.0)),
+                new RationalNumber(new RealNumber(0.0)));
+        assertEquals(RealNumber.NaN, NumericOps.div(complex, zero));
+    }
+
+    @Test
+    void testNullOperand() {
+        assertThrows(IllegalArgumentException.class, () -> NumericOps.add(two, null));
+    }
+}
@@ -0,0 +1,107 @@
+package calculator;
+
+import static org.junit.jupiter.api.Assertions.*;
+import org.junit.jupiter.api.*;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+class TestParseCache {
+
+    @Test
+    void testHitsAndMisses() throws IllegalConstruction {
+        ParseCache cache = new ParseCache(10, 1000);
+        Expression e = cache.parse("1 + 2*3", false);
+        assertSame(e, cache.parse("1 + 2*3", false));
+        assertSame(e, cache.parse("  1   +\t2*3 ", false));
+        assertNotSame(e, cache.parse("1 + 2*3", true));
+
+        ParseCache.Stats stats = cache.stats();
+        assertEquals(2, stats.hits());
+        assertEquals(2, stats.misses());
+        assertEquals(2, stats.size());
+        assertEquals(0.5, stats.hitRatio());
+    }
+
+    @Test
+    void testNormalize() {
+        assertEquals("1+2", ParseCache.normalize(" 1   + 2 "));
+        assertEquals("+(1,2)", ParseCache.normalize("+( 1 , 2 )"));
+        assertEquals("sqrt(4)", ParseCache.normalize("sqrt  ( 4 )"));
+        assertEquals("1/2", ParseCache.normalize("1 / 2"));
+        String unchanged = "1/2";
+        assertSame(unchanged, ParseCache.normalize(unchanged));
+    }
+
+    @Test
+    void testNormalizedTextParsesLikeTheOriginal() throws IllegalConstruction {
+        for (String s : List.of(" 1 / 2 ", "( 1 + 2 ) * 3", "(1 , (2 , 3)*)+", "- ( 2 )", "2 - -3")) {
+            assertEquals(Parser.parse(s, true), Parser.parse(ParseCache.normalize(s), true), s);
+        }
+    }
+
+    @Test
+    void testLeastRecentlyUsedEviction() throws IllegalConstruction {
+        ParseCache cache = new ParseCache(2, 1000);
+        Expression first = cache.parse("1+1", false);
+        cache.parse("2+2", false);
+        cache.parse("1+1", false);
+        cache.parse("3+3", false); // evicts 2+2, the least recently used
+
+        assertSame(first, cache.parse("1+1", false));
+        ParseCache.Stats stats = cache.stats();
+        assertEquals(1, stats.evictions());
+        assertEquals(2, stats.size());
+        cache.parse("2+2", false);
+        assertEquals(4, cache.stats().misses());
+    }
+
+    @Test
+    void testWeightEviction() throws IllegalConstruction {
+        ParseCache cache = new ParseCache(100, 10);
+        cache.parse("1+2+3", false);
+        cache.parse("4+5+6", false);
+        assertEquals(10, cache.stats().weight());
+        cache.parse("7", false);
+        assertEquals(1, cache.stats().evictions());
+        assertEquals(6, cache.stats().weight());
+
+        // An entry heavier than the cache is kept on its own
+        cache.parse("1+2+3+4+5+6", false);
+        assertEquals(1, cache.stats().size());
+    }
+
+    @Test
+    void testFailuresAreNotCached() {
+        ParseCache cache = new ParseCache(10, 1000);
+        assertThrows(IllegalArgumentException.class, () -> cache.parse("1+", false));
+        assertEquals(0, cache.stats().size());
+        assertThrows(IllegalArgumentException.class, () -> new ParseCache(0, 10));
+    }
+
+    @Test
+    void testConcurrentAccess() throws Exception {
+        ParseCache cache = new ParseCache(16, 1 << 16);
+        try (ExecutorService executor = Executors.newFixedThreadPool(4)) {
+            List<Future<?>> futures = new ArrayList<>();
+            for (int t = 0; t < 4; t++) {
+                futures.add(executor.submit(() -> {
+                    for (int i = 0; i < 2000; i++) {
+                        Expression e = cache.parse((i % 32) + "*2", false);
+                        assertEquals(new RealNumber(i % 32 * 2.0), new Calculator().eval(e));
+                    }
+                    return null;
+                }));
+            }
+            for (Future<?> f : futures) {
+                f.get();
+            }
+        }
+        ParseCache.Stats stats = cache.stats();
+        assertEquals(8000, stats.hits() + stats.misses());
+        assertTrue(stats.size() <= 16);
+    }
+}
@@ -0,0 +1,160 @@
+package calculator;
+
+import static org.junit.jupiter.api.Assertions.*;
+import org.junit.jupiter.api.*;
+
+import java.math.BigInteger;
+import java.util.List;
+
+class TestPower {
+
+	private static Expression eval(String expression, boolean preserveFractions, boolean integerMode)
+			throws IllegalConstruction {
+		Calculator calculator = new Calculator();
+		calculator.getEvaluator().setPreserveFractions(preserveFractions);
+		calculator.getEvaluator().setIntegerMode(integerMode);
+		return calculator.eval(Parser.parse(expression, preserveFractions));
+	}
+
+	private static Power power(Expression base, Expression exponent) throws IllegalConstruction {
+		return new Power(List.of(base, exponent));
+	}
+
+	@Test
+	void testConstructor() {
+		assertThrows(IllegalConstruction.class, () -> new Power(null));
+		// A power has exactly a base and an exponent
+		assertThrows(IllegalConstruction.class, () -> new Power(List.of(RealNumber.ONE)));
+		assertThrows(IllegalConstruction.class,
+				() -> new Power(List.of(RealNumber.ONE, RealNumber.ONE, RealNumber.ONE)));
+	}
+
+	@Test
+	void testParsing() throws IllegalConstruction {
+		RealNumber two = RealNumber.valueOf(2);
+		RealNumber three = RealNumber.valueOf(3);
+		// Right-associative, and binding more tightly than the other operators
+		assertEquals(power(two, power(three, two)), Parser.parse("2^3^2", false));
+		assertEquals(new Times(List.of(two, power(three, two))), Parser.parse("2*3^2", false));
+		assertEquals(new Negate(power(two, two)), Parser.parse("-(2)^2", false));
+		assertEquals(new Negate(power(two, two)), Parser.parse("-2^2", false));
+		assertEquals(new Negate(power(two, two)), Parser.parse("- 2 ^ 2", false));
+		assertEquals(power(two, RealNumber.valueOf(-1)), Parser.parse("2 ^ -1", false));
+		assertEquals(power(two, three), Parser.parse("^(2,3)", false));
+		assertEquals(power(two, three), Parser.parse("(2,3)^", false));
+		assertEquals("( 2 ^ ( 3 ^ 2 ) )", Parser.parse("2^3^2", false).toString());
+	}
+
+	@Test
+	void testSignsAndFractionsAroundPower() throws IllegalConstruction {
+		// Neither a sign nor a fraction literal binds more tightly than ^, as with --eval
+		assertEquals(IntegerNumber.valueOf(2), eval("8/2^2", true, true));
+		assertEquals(IntegerNumber.valueOf(1), eval("2^1/2", true, true));
+		assertEquals(IntegerNumber.valueOf(-4), eval("-2^2", true, true));
+		assertEquals(RationalNumber.valueOf(1, 4), eval("2^-1/2", true, false));
+		assertEquals(RationalNumber.valueOf(1, 4), eval("1/2^2", true, false));
+		// Elsewhere, fractions and signed numbers are still single literals
+		assertEquals(RationalNumber.valueOf(1, 2), Parser.parse("1/2", true));
+		assertEquals(RationalNumber.valueOf(-1, 4), Parser.parse("-1/4", true));
+		assertEquals(power(RationalNumber.valueOf(1, 2), RealNumber.valueOf(2)), Parser.parse("(1/2)^2", true));
+		// Nor is a complex sum: only its imaginary part is raised, or only its real part is an exponent
+		assertEquals("-3", eval("1+2i^2", true, true).toString());
+		assertEquals("2 + 2i", eval("2^1+2i", true, true).toString());
+	}
+
+	@Test
+	void testPrintedPowerParsesBack() throws IllegalConstruction {
+		String[] expressions = {"(-8)^(1/3)", "(1+2i)^2", "(-(2+1))^2", "2^(1/3)", "(1/3)^2", "2^(1+2i)",
+				"(-2)^-1", "-(2^2)", "(2i)^2", "(-2.5)^2^3"};
+		for (String s : expressions) {
+			Expression e = Parser.parse(s, true);
+			assertEquals(e, Parser.parse(e.toString(), true), e.toString());
+		}
+		assertEquals("( (-8) ^ ( 1 / 3 ) )", Parser.parse("(-8)^(1/3)", false).toString());
+	}
+
+	@Test
+	void testReal() throws IllegalConstruction {
+		assertEquals(RealNumber.valueOf(512), eval("2^3^2", false, false));
+		assertEquals(RealNumber.valueOf(-4), eval("-(2)^2", false, false));
+		assertEquals(RealNumber.valueOf(-4), eval("-2^2", false, false));
+		assertEquals(RealNumber.valueOf(0.125), eval("2^-3", false, false));
+		assertEquals(RealNumber.valueOf(3), eval("9^0.5", false, false));
+		assertEquals(RealNumber.valueOf(19), eval("1+2*3^2", false, false));
+	}
+
+	@Test
+	void testRational() throws IllegalConstruction {
+		assertEquals(RationalNumber.valueOf(8, 27), eval("(2/3)^3", true, false));
+		assertEquals(RationalNumber.valueOf(9, 4), eval("(2/3)^-2", true, false));
+		assertEquals(RationalNumber.ONE, eval("(2/3)^0", true, false));
+		// Past 2^53, numerators and denominators are no longer exact on doubles: the power becomes real
+		RationalNumber third = RationalNumber.valueOf(1, 3);
+		assertEquals(RationalNumber.valueOf(1, Math.pow(3, 33)), NumericOps.pow(third, RealNumber.valueOf(33)));
+		assertEquals(RealNumber.valueOf(Math.pow(1 / 3.0, 34)), NumericOps.pow(third, RealNumber.valueOf(34)));
+		assertEquals("1/5559060566555523", NumericOps.pow(third, RealNumber.valueOf(33)).toString());
+		assertEquals(RealNumber.valueOf(0), NumericOps.pow(third, RealNumber.valueOf(2000)));
+		assertEquals(RealNumber.valueOf(Double.POSITIVE_INFINITY), NumericOps.pow(third, RealNumber.valueOf(-2000)));
+		assertEquals(RealNumber.NaN, NumericOps.pow(RationalNumber.ZERO, RealNumber.valueOf(-1)));
+		// A fractional exponent has a real result
+		assertEquals(RealNumber.valueOf(2), NumericOps.pow(RationalNumber.valueOf(4, 1), RationalNumber.HALF));
+	}
+
+	@Test
+	void testComplex() throws IllegalConstruction {
+		ComplexNumber i = new ComplexNumber(RationalNumber.ZERO, RationalNumber.ONE);
+		ComplexNumber onePlusI = new ComplexNumber(RationalNumber.ONE, RationalNumber.ONE);
+		assertEquals(new ComplexNumber(RationalNumber.MINUS_ONE, RationalNumber.ZERO), NumericOps.pow(i, RealNumber.valueOf(2)));
+		assertEquals(new ComplexNumber(RationalNumber.valueOf(16, 1), RationalNumber.ZERO),
+				NumericOps.pow(onePlusI, RealNumber.valueOf(8)));
+		assertEquals(new ComplexNumber(RationalNumber.HALF, RationalNumber.valueOf(-1, 2)),
+				NumericOps.pow(onePlusI, RealNumber.valueOf(-1)));
+		assertThrows(IllegalArgumentException.class, () -> NumericOps.pow(i, RealNumber.valueOf(0.5)));
+		assertThrows(IllegalArgumentException.class, () -> NumericOps.pow(RealNumber.valueOf(2), i));
+		assertThrows(IllegalArgumentException.class, () -> eval("(1+i)^0.5", false, false));
+		assertEquals(new ComplexNumber(RationalNumber.valueOf(-Math.pow(2, 50), 1), RationalNumber.ZERO),
+				NumericOps.pow(onePlusI, RealNumber.valueOf(100)));
+		assertThrows(IllegalArgumentException.class, () -> NumericOps.pow(onePlusI, RealNumber.valueOf(200)));
+	}
+
+	@Test
+	void testIntegerMode() throws IllegalConstruction {
+		assertEquals(IntegerNumber.valueOf(1024), eval("2^10", false, true));
+		assertEquals(IntegerNumber.valueOf(BigInteger.TWO.pow(100)), eval("2^100", false, true));
+		assertEquals(IntegerNumber.valueOf(BigInteger.valueOf(-3).pow(41)), eval("(0-3)^41", false, true));
+		// A negative exponent has no integer result
+		assertEquals(RealNumber.valueOf(0.5), eval("2^-1", false, true));
+		// Neither has a power too large to be computed exactly
+		assertEquals(RealNumber.valueOf(Double.POSITIVE_INFINITY), eval("2^1000000", false, true));
+		assertEquals(IntegerNumber.valueOf(-1), eval("(0-1)^1000001", false, true));
+	}
+
+	@Test
+	void testExactKernels() {
+		assertEquals(1L, NumericOps.powExact(7, 0));
+		assertEquals(1L << 62, NumericOps.powExact(2, 62));
+		assertEquals(Long.MIN_VALUE, NumericOps.powExact(-2, 63));
+		assertThrows(ArithmeticException.class, () -> NumericOps.powExact(2, 63));
+		assertThrows(ArithmeticException.class, () -> NumericOps.powExact(2, -1));
+		assertEquals(BigInteger.TEN.pow(30), NumericOps.powExact(BigInteger.TEN, BigInteger.valueOf(30)));
+		assertEquals(BigInteger.ZERO, NumericOps.powExact(BigInteger.ZERO, BigInteger.TEN.pow(30)));
+		assertThrows(ArithmeticException.class, () -> NumericOps.powExact(BigInteger.TWO, BigInteger.TEN.pow(30)));
+		// The size of a power is bounded by the number of bits of its base times the exponent
+		int exponent = NumericOps.MAX_EXACT_POWER_BITS / 2;
+		assertEquals(BigInteger.TWO.pow(exponent), NumericOps.powExact(BigInteger.TWO, BigInteger.valueOf(exponent)));
+		assertThrows(ArithmeticException.class,
+				() -> NumericOps.powExact(BigInteger.TWO, BigInteger.valueOf(exponent + 1)));
+	}
+
+	@Test
+	void testRepeatedSquaring() throws IllegalConstruction {
+		// Each squaring wraps the expression once, instead of doubling it
+		String expression = "3";
+		for (int k = 0; k < 6; k++) {
+			expression = "(" + expression + ")^2";
+		}
+		assertEquals(25, expression.length());
+		assertEquals(RealNumber.valueOf(Math.pow(3, 64)), eval(expression, false, false));
+		assertEquals(IntegerNumber.valueOf(BigInteger.valueOf(3).pow(64)), eval(expression, false, true));
+	}
+}
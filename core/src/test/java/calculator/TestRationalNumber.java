@@ -0,0 +1,71 @@
+package calculator;
+
+import static org.junit.jupiter.api.Assertions.*;
+import org.junit.jupiter.api.*;
+
+class TestRationalNumber {
+
+    private RationalNumber rational;
+
+    @BeforeEach
+    void setUp() {
+        rational = new RationalNumber(new RealNumber(28.0), new RealNumber(24.0));
+    }
+
+    @Test
+    void testSimplify() {
+        assertEquals("7/6", rational.simplify().toString());
+    }
+
+    @Test
+    void testEquals() {
+        RationalNumber other = new RationalNumber(new RealNumber(28.0), new RealNumber(24.0));
+        assertEquals(rational, other);
+    }
+
+    @Test
+    void testNotEquals() {
+        RationalNumber other = new RationalNumber(new RealNumber(29.0), new RealNumber(24.0));
+        assertNotEquals(rational, other);
+    }
+
+    @Test
+    void testToString() {
+        // Fractions are reduced at construction
+        assertEquals("7/6", rational.toString());
+    }
+
+    @Test
+    void testGetNominator() {
+        assertEquals(new RealNumber(7.0), rational.getNominator());
+    }
+
+    @Test
+    void testGetDenominator() {
+        assertEquals(new RealNumber(6.0), rational.getDenominator());
+    }
+
+    @Test
+    void testNormalizedSign() {
+        RationalNumber negative = new RationalNumber(new RealNumber(3.0), new RealNumber(-6.0));
+        assertEquals("-1/2", negative.toString());
+        assertEquals(new RationalNumber(new RealNumber(-1.0), new RealNumber(2.0)), negative);
+        assertEquals(RationalNumber.ZERO, new RationalNumber(new RealNumber(0.0), new RealNumber(-5.0)));
+    }
+
+    @Test
+    void testHashCodeConsistentWithEquals() {
+        RationalNumber other = new RationalNumber(new RealNumber(-14.0), new RealNumber(-12.0));
+        assertEquals(rational, other);
+        assertEquals(rational.hashCode(), other.hashCode());
+    }
+
+    @Test
+    void testValueOf() {
+        assertSame(RationalNumber.HALF, RationalNumber.valueOf(1.0, 2.0));
+        assertSame(RationalNumber.ZERO, RationalNumber.valueOf(0.0, 1.0));
+        assertEquals(rational, RationalNumber.valueOf(28.0, 24.0));
+        assertEquals(7.0, rational.getNominatorValue());
+        assertEquals(6.0, rational.getDenominatorValue());
+    }
+}
@@ -34,6 +34,10 @@ class TestRealNumber {
     void testToString() {
         assertEquals("42", real.toString());
         assertEquals("42.5", real2.toString());
+        // Whole numbers beyond the range of an int are not truncated
+        assertEquals("9007199254740992", RealNumber.valueOf(0x1p53).toString());
+        assertEquals("1.0E20", RealNumber.valueOf(1e20).toString());
+        assertEquals("Infinity", RealNumber.valueOf(Double.POSITIVE_INFINITY).toString());
     }
 
     @Test
@@ -41,4 +45,13 @@ class TestRealNumber {
         assertEquals(42.0, real.getValue());
         assertEquals(42.5, real2.getValue());
     }
+
+    @Test
+    void testValueOf() {
+        assertSame(RealNumber.ONE, RealNumber.valueOf(1.0));
+        assertSame(RealNumber.valueOf(42.0), RealNumber.valueOf(42.0));
+        assertEquals(real, RealNumber.valueOf(42.0));
+        assertEquals(real2, RealNumber.valueOf(42.5));
+        assertNotEquals(RealNumber.ZERO, RealNumber.valueOf(-0.0));
+    }
 }
@@ -0,0 +1,191 @@
+package calculator;
+
+import static org.junit.jupiter.api.Assertions.*;
+import org.junit.jupiter.api.*;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+class TestResultCache {
+
+    private final AtomicLong time = new AtomicLong();
+
+    private Expression get(ResultCache cache, String expression, AtomicInteger evaluations) throws IllegalConstruction {
+        Expression e = Parser.parse(expression, false);
+        return cache.get(e, false, false, () -> {
+            evaluations.incrementAndGet();
+            time.addAndGet(1000);
+            return new Calculator().eval(e);
+        });
+    }
+
+    @Test
+    void testCalculatorUsesCache() throws IllegalConstruction {
+        Calculator calculator = new Calculator();
+        calculator.setResultCache(ResultCache.builder().maximumEntries(100).build());
+        assertEquals(new RealNumber(7.0), calculator.eval(Parser.parse("1+2*3", false)));
+        // A tree parsed again is structurally equal, and found in the cache
+        assertEquals(new RealNumber(7.0), calculator.eval(Parser.parse("1 + 2 * 3", false)));
+        ResultCache.Stats stats = calculator.getResultCache().stats();
+        assertEquals(1, stats.hits());
+        assertEquals(1, stats.misses());
+        assertEquals(0.5, stats.hitRatio());
+
+        // The evaluator settings are part of the key
+        calculator.getEvaluator().setIntegerMode(true);
+        assertEquals(IntegerNumber.valueOf(7), calculator.eval(Parser.parse("1+2*3", false)));
+        assertEquals(2, calculator.getResultCache().stats().misses());
+    }
+
+    @Test
+    void testLatencyMetrics() throws IllegalConstruction {
+        ResultCache cache = ResultCache.builder().maximumEntries(100).ticker(time::get).build();
+        AtomicInteger evaluations = new AtomicInteger();
+        get(cache, "2*3", evaluations);
+        get(cache, "2*3", evaluations);
+        get(cache, "2*3", evaluations);
+        assertEquals(1, evaluations.get());
+
+        ResultCache.Stats stats = cache.stats();
+        assertEquals(1000, stats.loadNanos());
+        assertEquals(2000, stats.savedNanos());
+        assertEquals(1000.0, stats.averageLoadNanos());
+    }
+
+    @Test
+    void testLeastRecentlyUsedEviction() throws IllegalConstruction {
+        ResultCache cache = ResultCache.builder().maximumEntries(2).build();
+        AtomicInteger evaluations = new AtomicInteger();
+        get(cache, "1+1", evaluations);
+        get(cache, "2+2", evaluations);
+        get(cache, "1+1", evaluations);
+        get(cache, "3+3", evaluations); // evicts 2+2
+        get(cache, "1+1", evaluations);
+        assertEquals(3, evaluations.get());
+        get(cache, "2+2", evaluations);
+        assertEquals(4, evaluations.get());
+        assertEquals(2, cache.stats().evictions());
+        assertEquals(2, cache.stats().size());
+    }
+
+    @Test
+    void testTinyLfuKeepsHotEntries() throws IllegalConstruction {
+        ResultCache cache = ResultCache.builder().policy(ResultCache.Policy.TINY_LFU).maximumEntries(4).build();
+        AtomicInteger evaluations = new AtomicInteger();
+        for (int i = 0; i < 5; i++) {
+            for (String hot : List.of("1+1", "2+2", "3+3", "4+4")) {
+                get(cache, hot, evaluations);
+            }
+        }
+        assertEquals(4, evaluations.get());
+
+        // A scan of one-off expressions is not admitted in place of the hot ones
+        for (int i = 0; i < 50; i++) {
+            get(cache, i + "*7", evaluations);
+        }
+        evaluations.set(0);
+        for (String hot : List.of("1+1", "2+2", "3+3", "4+4")) {
+            get(cache, hot, evaluations);
+        }
+        assertEquals(0, evaluations.get());
+        assertEquals(50, cache.stats().rejections());
+    }
+
+    @Test
+    void testMaximumBytes() throws IllegalConstruction {
+        ResultCache cache = ResultCache.builder().maximumBytes(2000).build();
+        AtomicInteger evaluations = new AtomicInteger();
+        for (int i = 0; i < 100; i++) {
+            get(cache, i + "+1", evaluations);
+        }
+        ResultCache.Stats stats = cache.stats();
+        assertTrue(stats.weight() <= 2000, "weight " + stats.weight());
+        assertTrue(stats.size() > 0 && stats.size() < 100);
+        assertEquals(100 - stats.size(), stats.evictions());
+    }
+
+    @Test
+    void testExpiration() throws IllegalConstruction {
+        ResultCache cache = ResultCache.builder()
+                .maximumEntries(100)
+                .expireAfterWrite(Duration.ofNanos(5000))
+                .ticker(time::get)
+                .build();
+        AtomicInteger evaluations = new AtomicInteger();
+        get(cache, "6/3", evaluations);
+        time.addAndGet(3000);
+        get(cache, "6/3", evaluations);
+        assertEquals(1, evaluations.get());
+        time.addAndGet(3000);
+        get(cache, "6/3", evaluations);
+        assertEquals(2, evaluations.get());
+        assertEquals(1, cache.stats().expirations());
+    }
+
+    @Test
+    void testFailuresAreNotCached() throws IllegalConstruction {
+        ResultCache cache = ResultCache.builder().maximumEntries(10).build();
+        Expression e = Parser.parse("1+1", false);
+        assertThrows(ArithmeticException.class, () -> cache.get(e, false, false, () -> {
+            throw new ArithmeticException();
+        }));
+        assertEquals(0, cache.stats().size());
+        assertThrows(IllegalStateException.class, () -> ResultCache.builder().build());
+        assertThrows(IllegalArgumentException.class, () -> ResultCache.builder().maximumEntries(0));
+    }
+
+    @Test
+    void testImpureFunctionsAreNotCached() throws IllegalConstruction {
+        AtomicInteger calls = new AtomicInteger();
+        Calculator calculator = new Calculator();
+        calculator.setResultCache(ResultCache.builder().maximumEntries(10).build());
+        try {
+            FunctionRegistry.register("counter", x -> calls.incrementAndGet(), false);
+            for (int i = 1; i <= 3; i++) {
+                assertEquals(new RealNumber(i + 1.0), calculator.eval(Parser.parse("1 + counter(0)", false)));
+            }
+            assertEquals(0, calculator.getResultCache().stats().size());
+            assertEquals(0, calculator.getResultCache().stats().hits());
+
+            // A pure function under the same name is cached again
+            FunctionRegistry.register("counter", x -> 10, true);
+            Expression e = Parser.parse("counter(0)", false);
+            assertEquals(new RealNumber(10.0), calculator.eval(e));
+            assertEquals(new RealNumber(10.0), calculator.eval(e));
+            assertEquals(1, calculator.getResultCache().stats().hits());
+        } finally {
+            FunctionRegistry.unregister("counter");
+        }
+    }
+
+    @Test
+    void testConcurrentAccess() throws Exception {
+        ResultCache cache = ResultCache.builder().policy(ResultCache.Policy.TINY_LFU).maximumEntries(64).build();
+        try (ExecutorService executor = Executors.newFixedThreadPool(4)) {
+            List<Future<?>> futures = new ArrayList<>();
+            for (int t = 0; t < 4; t++) {
+                futures.add(executor.submit(() -> {
+                    Calculator calculator = new Calculator();
+                    calculator.setResultCache(cache);
+                    for (int i = 0; i < 2000; i++) {
+                        int n = i % 100;
+                        assertEquals(new RealNumber(n * 3.0), calculator.eval(Parser.parse(n + "*3", false)));
+                    }
+                    return null;
+                }));
+            }
+            for (Future<?> f : futures) {
+                f.get();
+            }
+        }
+        ResultCache.Stats stats = cache.stats();
+        assertEquals(8000, stats.hits() + stats.misses());
+        assertTrue(stats.size() <= 64);
+    }
+}
@@ -0,0 +1,45 @@
+package calculator;
+
+import static org.junit.jupiter.api.Assertions.*;
+import org.junit.jupiter.api.*;
+import visitor.Evaluator;
+import visitor.TypeInference;
+
+class TestTypeInference {
+
+    @Test
+    void testRealExpression() throws IllegalConstruction {
+        Operation e = (Operation) Parser.parse("1+2*3.5", true);
+        assertEquals(NumberType.REAL, TypeInference.infer(e, false, false));
+        assertEquals(NumberType.REAL, ((Operation) e.getArgs().get(1)).getInferredType());
+        // Real results are turned into fractions when they are preserved
+        assertEquals(NumberType.RATIONAL, TypeInference.infer(e, true, false));
+    }
+
+    @Test
+    void testPromotion() throws IllegalConstruction {
+        assertEquals(NumberType.RATIONAL, TypeInference.infer(Parser.parse("1/3+2", true), false, false));
+        assertEquals(NumberType.COMPLEX, TypeInference.infer(Parser.parse("(1/3+2)*i", true), false, false));
+        assertEquals(NumberType.REAL, TypeInference.infer(Parser.parse("sqrt(4)+1", true), false, false));
+    }
+
+    @Test
+    void testIntegerMode() throws IllegalConstruction {
+        Operation e = (Operation) Parser.parse("2*3+0.5", true);
+        assertEquals(NumberType.REAL, TypeInference.infer(e, false, true));
+        assertEquals(NumberType.INTEGER, ((Operation) e.getArgs().getFirst()).getInferredType());
+    }
+
+    @Test
+    void testRealKernelMatchesGenericEvaluation() throws IllegalConstruction {
+        String[] expressions = {"1+2*3.5", "(1.5-4)/0", "(2*3-4*0.5)*0.25", "sqrt(16)*2.5"};
+        for (String s : expressions) {
+            Expression annotated = Parser.parse(s, true);
+            Expression plain = Parser.parse(s, true);
+            Calculator calc = new Calculator();
+            Evaluator generic = new Evaluator(false);
+            plain.accept(generic);
+            assertEquals(generic.getResult(), calc.eval(annotated), s);
+        }
+    }
+}
@@ -24,6 +24,7 @@ public class CalculatorController {
 
     private final StringBuilder currentInput = new StringBuilder();
     private final Calculator calculator = new Calculator();
+    private final ParseCache parseCache = new ParseCache(256, 64 * 1024);
 
     private boolean startNew = true;
     private boolean preserveFractions = false;
@@ -69,13 +70,7 @@ public class CalculatorController {
         String value = ((Button) event.getSource()).getText();
         switch (value) {
             case "√" -> currentInput.append("sqrt(");
-            case "x²" -> {
-                if (!currentInput.isEmpty()) {
-                    String expr = currentInput.toString();
-                    currentInput.setLength(0);
-                    currentInput.append("(").append(expr).append(")*(").append(expr).append(")");
-                }
-            }
+            case "x²" -> square();
             case "π" -> currentInput.append("π");
             default -> throw new IllegalArgumentException("Unknown scientific value: " + value);
         }
@@ -93,7 +88,7 @@ public class CalculatorController {
         try {
             Evaluator eval = new Evaluator(preserveFractions);
             calculator.setEvaluator(eval);
-            Expression expr = Parser.parse(currentInput.toString(), preserveFractions);
+            Expression expr = parseCache.parse(currentInput.toString(), preserveFractions);
             expr.accept(eval);
             Expression result = eval.getResult();
             inputField.setText(result.toString());
@@ -118,6 +113,16 @@ public class CalculatorController {
         startNew = true;
     }
 
+    /**
+     * Squares the current expression by raising it to the power 2.
+     * The expression is written once, so squaring it repeatedly only makes it a few characters longer.
+     */
+    private void square() {
+        if (!currentInput.isEmpty()) {
+            currentInput.insert(0, '(').append(")^2");
+        }
+    }
+
     /**
      * Processes button or key input and appends it to the current expression buffer.
      * Handles special symbols (×, ÷, −) and replaces them with standard operators.
@@ -128,7 +133,7 @@ public class CalculatorController {
         if (startNew) {
             String current = currentInput.toString();
             boolean isFunctionStart = current.endsWith("(") || current.matches(".*(sqrt)\\($");
-            if (!value.matches("[+\\-*/]") && !isFunctionStart && !current.matches(".*[πi]$")) {
+            if (!value.matches("[+\\-*/^]") && !isFunctionStart && !current.matches(".*[πi]$")) {
                 currentInput.setLength(0);
             }
         }
@@ -163,16 +168,12 @@ public class CalculatorController {
             handleClear();
         } else if (Objects.equals(text, "²")) {
             // Handle square character typed from keyboard
-            if (!currentInput.isEmpty()) {
-                String expr = currentInput.toString();
-                currentInput.setLength(0);
-                currentInput.append("(").append(expr).append(")*(").append(expr).append(")");
-                inputField.setText(currentInput.toString());
-            }
+            square();
+            inputField.setText(currentInput.toString());
         } else if (Objects.equals(text.toLowerCase(), "i")) {
             currentInput.append("i");
             inputField.setText(currentInput.toString());
-        } else if (text.matches("[0-9+\\-*/().]") || text.equals("π")) {
+        } else if (text.matches("[0-9+\\-*/^().]") || text.equals("π")) {
             processInput(text);
         }
     }